@@ -0,0 +1,23 @@
+package com.kintai.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 申請の承認・却下エンドポイントの処理時間を計測する（RequestMetricsInterceptor が kintai.approval に記録）
+ * トランザクションのコミットを含めたリクエスト全体の時間を、申請種別・操作・結果ごとに集計する。
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ApprovalTimed {
+
+    /** 申請種別（LEAVE / ADJUSTMENT / HOLIDAY / WORK_PATTERN / MONTHLY_ATTENDANCE） */
+    String type();
+
+    /** 操作（approve / reject / decide（承認・却下の指定） / bulk） */
+    String action();
+}
@@ -0,0 +1,108 @@
+package com.kintai.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 非同期処理用スレッドプール設定
+ * 重い処理をサーブレットスレッドから切り離し、プールとキューの上限で同時実行数を抑える
+ */
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * 勤怠一括再計算（長期間の勤務時間変更承認など）用の実行プール
+     * 再計算は取りこぼせないため、キューが満杯の場合は呼び出し元スレッドで実行する
+     */
+    @Bean(name = "attendanceRecalcExecutor")
+    public ThreadPoolTaskExecutor attendanceRecalcExecutor(
+            @Value("${kintai.async.recalc.pool-size:2}") int poolSize,
+            @Value("${kintai.async.recalc.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("attendance-recalc-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Spring MVC の非同期応答（StreamingResponseBody など）用の実行プール
+     * 独自の実行プールを定義すると既定の applicationTaskExecutor が作成されないため、明示的に用意する
+     */
+    @Bean(name = "mvcAsyncExecutor")
+    public ThreadPoolTaskExecutor mvcAsyncExecutor(
+            @Value("${kintai.async.mvc.pool-size:8}") int poolSize,
+            @Value("${kintai.async.mvc.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 月次レポート一括出力でPDFを並列生成する実行プール
+     * キューが満杯の場合は出力中のスレッドで生成し、それ以上の投入を抑える
+     */
+    @Bean(name = "reportExportExecutor")
+    public ThreadPoolTaskExecutor reportExportExecutor(
+            @Value("${kintai.report.bulk.pool-size:4}") int poolSize,
+            @Value("${kintai.report.bulk.queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-export-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 勤怠レポートの非同期生成ジョブ用の実行プール
+     * 投入元はリクエストスレッドのため呼び出し元では実行せず、キューが満杯の場合は受付を拒否する
+     */
+    @Bean(name = "reportJobExecutor")
+    public ThreadPoolTaskExecutor reportJobExecutor(
+            @Value("${kintai.report.jobs.pool-size:2}") int poolSize,
+            @Value("${kintai.report.jobs.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-job-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * ログイン時のパスワードハッシュ照合（BCrypt）用の実行プール
+     * ログインが集中しても打刻などの処理がCPUを奪われないよう照合の同時実行数を抑え、
+     * キューが満杯の場合は呼び出し元では実行せず受付を拒否する
+     */
+    @Bean(name = "passwordHashExecutor")
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${kintai.auth.hash.pool-size:2}") int poolSize,
+            @Value("${kintai.auth.hash.queue-capacity:32}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+}
@@ -1,7 +1,7 @@
 package com.kintai.config;
 
 import com.kintai.entity.UserAccount;
-import com.kintai.repository.UserAccountRepository;
+import com.kintai.service.PrincipalCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -12,16 +12,17 @@ import java.util.Optional;
 
 /**
  * カスタムUserDetailsService
+ * 有効なアカウントは PrincipalCache に短期間保持し、認証のたびにDBを参照しない
  */
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
     
     @Autowired
-    private UserAccountRepository userAccountRepository;
+    private PrincipalCache principalCache;
     
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Optional<UserAccount> userOpt = userAccountRepository.findByUsernameAndEnabled(username, true);
+        Optional<UserAccount> userOpt = principalCache.findEnabledAccount(username);
         
         if (userOpt.isEmpty()) {
             throw new UsernameNotFoundException("ユーザーが見つかりません: " + username);
@@ -11,6 +11,8 @@ import com.kintai.repository.UserAccountRepository;
 import com.kintai.repository.AdminRepository;
 import com.kintai.repository.AdminAccountRepository;
 import com.kintai.repository.LeaveBalanceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -23,6 +25,8 @@ import java.time.LocalDateTime;
 @Component
 @Profile("!test")
 public class DataInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
     
     @Autowired
     private UserAccountRepository userAccountRepository;
@@ -45,7 +49,7 @@ public class DataInitializer {
     @PostConstruct
     public void initData() {
         try {
-            System.out.println("DataInitializer: Starting data initialization...");
+            log.info("初期データの投入を開始");
             // 既存のデータをクリア（外部キー制約があるため、依存関係を考慮して削除）
             try {
                 leaveBalanceRepository.deleteAll(); // LeaveBalanceを最初に削除
@@ -53,9 +57,9 @@ public class DataInitializer {
                 adminAccountRepository.deleteAll();
                 adminRepository.deleteAll();
                 employeeRepository.deleteAll();
-                System.out.println("DataInitializer: Cleared existing data");
+                log.debug("既存データをクリア");
             } catch (Exception e) {
-                System.out.println("DataInitializer: Could not clear existing data (may have dependencies): " + e.getMessage());
+                log.warn("既存データをクリアできませんでした（依存関係がある可能性があります）: {}", e.getMessage());
                 // データクリアに失敗しても続行
             }
         
@@ -71,15 +75,15 @@ public class DataInitializer {
             // 入社日を設定
             emp1Employee.setHireDate(java.time.LocalDate.of(2025, 8, 1));
             Employee savedEmp1 = employeeRepository.save(emp1Employee);
-            System.out.println("Created emp1 employee with ID: " + savedEmp1.getEmployeeId());
+            log.debug("emp1 の従業員データを作成: ID={}", savedEmp1.getEmployeeId());
         } else {
             // 既存のemp1の入社日を設定（未設定の場合）
             if (emp1Employee.getHireDate() == null) {
                 emp1Employee.setHireDate(java.time.LocalDate.of(2025, 8, 1));
                 employeeRepository.save(emp1Employee);
-                System.out.println("Updated emp1 employee hire date to 2025/8/1");
+                log.debug("emp1 の入社日を 2025/8/1 に更新");
             }
-            System.out.println("emp1 employee already exists");
+            log.debug("emp1 の従業員データは作成済み");
         }
         
         // emp1ユーザーアカウントを作成
@@ -91,9 +95,9 @@ public class DataInitializer {
             emp1.setEmployeeId(1L);
             emp1.setEnabled(true);
             userAccountRepository.save(emp1);
-            System.out.println("Created emp1 user with employeeId: 1");
+            log.debug("emp1 のユーザーアカウントを作成: 従業員ID=1");
         } else {
-            System.out.println("emp1 user already exists");
+            log.debug("emp1 のユーザーアカウントは作成済み");
         }
         
         // emp2/emp3 は生成しない（サンプルデータは emp1 のみ）
@@ -103,7 +107,7 @@ public class DataInitializer {
         adminData.setAdminId(1L);
         adminData.setIsActive(true);
         Admin savedAdmin = adminRepository.save(adminData);
-        System.out.println("Created admin data with ID: " + savedAdmin.getAdminId());
+        log.debug("管理者データを作成: ID={}", savedAdmin.getAdminId());
         
         // adminアカウントを作成
         AdminAccount admin = new AdminAccount();
@@ -113,15 +117,14 @@ public class DataInitializer {
         admin.setAdminId(savedAdmin.getAdminId());
         admin.setEnabled(true);
         adminAccountRepository.save(admin);
-        System.out.println("Created admin account with adminId: " + savedAdmin.getAdminId());
+        log.debug("管理者アカウントを作成: 管理者ID={}", savedAdmin.getAdminId());
         
         // 休暇残数の初期化
         initializeLeaveBalances();
         
-        System.out.println("DataInitializer: Data initialization completed successfully");
+        log.info("初期データの投入が完了");
         } catch (Exception e) {
-            System.err.println("DataInitializer: Error during data initialization: " + e.getMessage());
-            e.printStackTrace();
+            log.error("初期データの投入に失敗", e);
         }
     }
     
@@ -130,7 +133,7 @@ public class DataInitializer {
      */
     private void initializeLeaveBalances() {
         try {
-            System.out.println("DataInitializer: Initializing leave balances...");
+            log.debug("休暇残数の初期化を開始");
             
             // サンプル従業員（emp1 のみ）に対して休暇残数を初期化
             Long[] employeeIds = {1L};
@@ -143,11 +146,11 @@ public class DataInitializer {
                     if (leaveBalanceRepository.findByEmployeeIdAndLeaveType(employeeId, leaveType).isPresent()) {
                         // 既存のレコードを取得
                         balance = leaveBalanceRepository.findByEmployeeIdAndLeaveType(employeeId, leaveType).get();
-                        System.out.println("Updating existing leave balance for employee " + employeeId + ", type " + leaveType);
+                        log.debug("既存の休暇残数を更新: 従業員ID={}, 種別={}", employeeId, leaveType);
                     } else {
                         // 新しいレコードを作成
                         balance = new LeaveBalance(employeeId, leaveType);
-                        System.out.println("Creating new leave balance for employee " + employeeId + ", type " + leaveType);
+                        log.debug("休暇残数を作成: 従業員ID={}, 種別={}", employeeId, leaveType);
                     }
                         
                         if (leaveType == LeaveType.PAID_LEAVE) {
@@ -184,15 +187,14 @@ public class DataInitializer {
                         balance.setUpdatedAt(LocalDateTime.now());
                         
                         leaveBalanceRepository.save(balance);
-                        System.out.println("Saved leave balance for employee " + employeeId + ", type " + leaveType + 
-                                         ", total: " + balance.getTotalDays() + ", remaining: " + balance.getRemainingDays());
+                        log.debug("休暇残数を保存: 従業員ID={}, 種別={}, 付与={}, 残={}", employeeId, leaveType,
+                                balance.getTotalDays(), balance.getRemainingDays());
                 }
             }
             
-            System.out.println("DataInitializer: Leave balances initialization completed");
+            log.debug("休暇残数の初期化が完了");
         } catch (Exception e) {
-            System.err.println("DataInitializer: Error during leave balances initialization: " + e.getMessage());
-            e.printStackTrace();
+            log.error("休暇残数の初期化に失敗", e);
         }
     }
 }
@@ -0,0 +1,18 @@
+package com.kintai.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * ログ出力を別スレッドで行う非同期アペンダー（logback-spring.xml で使用）
+ * キューの空きが discardingThreshold を下回った場合は DEBUG / TRACE のみ破棄し、
+ * INFO 以上（アクセスログ・警告・エラー）は破棄しない。キューが満杯の場合は空くまで待つ。
+ */
+public class DebugDiscardingAsyncAppender extends AsyncAppender {
+
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        return event.getLevel().toInt() <= Level.DEBUG_INT;
+    }
+}
@@ -0,0 +1,43 @@
+package com.kintai.config;
+
+import com.kintai.entity.UserAccount;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+/**
+ * ログのMDCに従業員ID（employeeId）を設定するインターセプター
+ * 社員としてログインしている場合はその従業員ID、それ以外（管理者・未認証）はパス変数 employeeId を使用する。
+ * MDCの破棄は RequestLoggingFilter がリクエスト完了時に行う。
+ */
+@Component
+public class LoggingContextInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object employeeId = resolveEmployeeId(request);
+        if (employeeId != null) {
+            MDC.put(RequestLoggingFilter.MDC_EMPLOYEE_ID, employeeId.toString());
+        }
+        return true;
+    }
+
+    private Object resolveEmployeeId(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserAccount account
+                && account.getEmployeeId() != null) {
+            return account.getEmployeeId();
+        }
+        if (request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE) instanceof Map<?, ?> variables) {
+            return variables.get("employeeId");
+        }
+        return null;
+    }
+}
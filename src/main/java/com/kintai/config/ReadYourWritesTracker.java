@@ -0,0 +1,96 @@
+package com.kintai.config;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 自分の書き込みの読み取り保証（read-your-writes）
+ * ユーザーの更新トランザクションがコミットされてから一定時間は、そのユーザーの参照をプライマリで行わせ、
+ * レプリカへの反映待ちで直前の更新が見えなくなることを防ぐ。
+ * 未ログイン（匿名）の処理は対象外。
+ */
+public class ReadYourWritesTracker {
+
+    private final Map<String, Long> lastWriteMillis = new ConcurrentHashMap<>();
+
+    private final long stickyMillis;
+
+    /**
+     * @param stickyDuration 書き込み後にプライマリを参照させる期間
+     */
+    public ReadYourWritesTracker(Duration stickyDuration) {
+        this.stickyMillis = stickyDuration.toMillis();
+    }
+
+    /**
+     * 現在のユーザーの書き込みを記録（トランザクション中であればコミット後に記録）
+     */
+    public void recordWrite() {
+        String username = currentUsername();
+        if (username == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lastWriteMillis.put(username, System.currentTimeMillis());
+            return;
+        }
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof WriteSynchronization) {
+                return;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new WriteSynchronization(username));
+    }
+
+    /**
+     * 現在のユーザーが直近に書き込んでおり、参照をプライマリで行うべきか
+     */
+    public boolean isSticky() {
+        String username = currentUsername();
+        if (username == null) {
+            return false;
+        }
+        Long writtenAt = lastWriteMillis.get(username);
+        if (writtenAt == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - writtenAt > stickyMillis) {
+            lastWriteMillis.remove(username, writtenAt);
+            return false;
+        }
+        return true;
+    }
+
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * コミット時にユーザーの書き込み時刻を記録する
+     */
+    private final class WriteSynchronization implements TransactionSynchronization {
+
+        private final String username;
+
+        WriteSynchronization(String username) {
+            this.username = username;
+        }
+
+        @Override
+        public void afterCommit() {
+            lastWriteMillis.put(username, System.currentTimeMillis());
+        }
+    }
+}
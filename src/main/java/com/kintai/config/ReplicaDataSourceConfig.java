@@ -0,0 +1,86 @@
+package com.kintai.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * 参照系のレプリカ振り分け設定
+ * kintai.datasource.replica.enabled=true の場合のみ有効になり、spring.datasource をプライマリ、
+ * kintai.datasource.replica をレプリカとする接続プールを作成して、振り分けデータソースをアプリケーションの DataSource とする。
+ * 無効の場合は Spring Boot の既定どおり spring.datasource の単一データソースを使う。
+ */
+@Configuration
+@ConditionalOnProperty(name = "kintai.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    private static final String REPLICA_PREFIX = "kintai.datasource.replica";
+
+    /**
+     * プライマリの接続プール（spring.datasource.hikari の設定を適用）
+     */
+    @Bean(name = "primaryDataSource")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * レプリカの接続プール（kintai.datasource.replica.url/username/password、hikari 配下にプール設定）
+     */
+    @Bean(name = "replicaDataSource")
+    public HikariDataSource replicaDataSource(Environment environment) {
+        Binder binder = Binder.get(environment);
+        DataSourceProperties properties = binder.bind(REPLICA_PREFIX, DataSourceProperties.class)
+                .orElseThrow(() -> new IllegalStateException(REPLICA_PREFIX + ".url が設定されていません"));
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind(REPLICA_PREFIX + ".hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName("replica");
+        // 誤ってレプリカへ書き込まないよう接続を読み取り専用にする
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            @Value("${kintai.datasource.replica.max-lag-ms:2000}") long maxLagMillis) {
+        return new ReplicaLagMonitor(primaryDataSource, replicaDataSource, maxLagMillis);
+    }
+
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(
+            @Value("${kintai.datasource.replica.sticky-seconds:5}") long stickySeconds) {
+        return new ReadYourWritesTracker(Duration.ofSeconds(stickySeconds));
+    }
+
+    /**
+     * アプリケーションが使う DataSource（JPA・JdbcTemplate はこちらを使う）
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Qualifier("primaryDataSource") DataSource primaryDataSource,
+            @Qualifier("replicaDataSource") DataSource replicaDataSource,
+            ReplicaLagMonitor replicaLagMonitor,
+            ReadYourWritesTracker readYourWritesTracker) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(
+                primaryDataSource, replicaDataSource, replicaLagMonitor, readYourWritesTracker);
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
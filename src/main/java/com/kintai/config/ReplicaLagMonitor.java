@@ -0,0 +1,111 @@
+package com.kintai.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * レプリカの遅延監視
+ * プライマリのハートビート行へ現在時刻を書き込み、レプリカに反映済みの時刻との差を遅延として計測する。
+ * 遅延が上限を超えた場合や計測に失敗した場合はレプリカを利用不可とし、参照もプライマリで行わせる。
+ * 起動直後は最初の計測が終わるまで利用不可として扱う。
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final int HEARTBEAT_ID = 1;
+
+    private final JdbcTemplate primaryJdbcTemplate;
+
+    private final JdbcTemplate replicaJdbcTemplate;
+
+    private final long maxLagMillis;
+
+    private volatile boolean replicaUsable;
+
+    private volatile long lagMillis = -1;
+
+    /**
+     * @param primary プライマリのデータソース
+     * @param replica レプリカのデータソース
+     * @param maxLagMillis レプリカを参照に使う遅延の上限（ミリ秒）
+     */
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMillis) {
+        this.primaryJdbcTemplate = new JdbcTemplate(primary);
+        this.replicaJdbcTemplate = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    /**
+     * ハートビートを書き込み、レプリカの遅延を計測
+     */
+    @Scheduled(fixedDelayString = "${kintai.datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            writeHeartbeat(now);
+        } catch (DataAccessException e) {
+            log.warn("[Replica] ハートビートの書き込みに失敗しました", e);
+        }
+
+        try {
+            LocalDateTime replicated = replicaJdbcTemplate.queryForObject(
+                    "SELECT beat_at FROM replica_heartbeats WHERE id = ?", LocalDateTime.class, HEARTBEAT_ID);
+            long lag = Math.max(0, Duration.between(replicated, now).toMillis());
+            lagMillis = lag;
+            updateState(lag <= maxLagMillis, "遅延 " + lag + "ms");
+        } catch (DataAccessException e) {
+            lagMillis = -1;
+            updateState(false, "遅延の計測に失敗: " + e.getMessage());
+        }
+    }
+
+    /**
+     * レプリカへの接続に失敗したことを通知（次回の計測で回復するまで利用不可とする）
+     */
+    public void markUnavailable(Throwable cause) {
+        updateState(false, "接続に失敗: " + cause.getMessage());
+    }
+
+    /**
+     * レプリカを参照に使えるか
+     */
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * 直近に計測した遅延（ミリ秒、未計測・計測失敗時は -1）
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    private void writeHeartbeat(LocalDateTime now) {
+        int updated = primaryJdbcTemplate.update(
+                "UPDATE replica_heartbeats SET beat_at = ? WHERE id = ?", now, HEARTBEAT_ID);
+        if (updated == 0) {
+            primaryJdbcTemplate.update(
+                    "INSERT INTO replica_heartbeats (id, beat_at) VALUES (?, ?)", HEARTBEAT_ID, now);
+        }
+    }
+
+    private void updateState(boolean usable, String detail) {
+        boolean previous = replicaUsable;
+        replicaUsable = usable;
+        if (previous != usable) {
+            if (usable) {
+                log.info("[Replica] レプリカへの参照振り分けを再開します（{}）", detail);
+            } else {
+                log.warn("[Replica] レプリカを利用不可とし、参照をプライマリで行います（{}）", detail);
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.kintai.config;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+/**
+ * リクエストIDの採番とアクセスログの出力を行うフィルター
+ * リクエストID（X-Request-Id ヘッダー、未指定なら採番）をログのMDC（requestId）に設定し、レスポンスヘッダーにも返す。
+ * /api/** はレスポンス完了時にステータスと処理時間（latencyMs）をアクセスログとして出力する。
+ * 従業員IDのMDC（employeeId）は LoggingContextInterceptor が設定する。
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLoggingFilter extends OncePerRequestFilter {
+
+    public static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    public static final String MDC_REQUEST_ID = "requestId";
+
+    public static final String MDC_EMPLOYEE_ID = "employeeId";
+
+    private static final Logger log = LoggerFactory.getLogger(RequestLoggingFilter.class);
+
+    /** 受け付けるリクエストIDの形式（ログへの不正な文字の混入を防ぐ） */
+    private static final Pattern REQUEST_ID_PATTERN = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long startNanos = System.nanoTime();
+        String requestId = resolveRequestId(request);
+        MDC.put(MDC_REQUEST_ID, requestId);
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                // 非同期応答（PDF・ZIPのストリーミング出力など）は完了時に出力する
+                Map<String, String> context = MDC.getCopyOfContextMap();
+                request.getAsyncContext().addListener(new AccessLogListener(request, response, startNanos, context));
+            } else {
+                logAccess(request, response, startNanos);
+            }
+            MDC.remove(MDC_EMPLOYEE_ID);
+            MDC.remove(MDC_REQUEST_ID);
+        }
+    }
+
+    private String resolveRequestId(HttpServletRequest request) {
+        String requestId = request.getHeader(REQUEST_ID_HEADER);
+        if (requestId != null && REQUEST_ID_PATTERN.matcher(requestId).matches()) {
+            return requestId;
+        }
+        return UUID.randomUUID().toString();
+    }
+
+    private static void logAccess(HttpServletRequest request, HttpServletResponse response, long startNanos) {
+        if (!request.getRequestURI().startsWith("/api/")) {
+            return;
+        }
+        long latencyMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        log.info("{} {} {} {}", request.getMethod(), request.getRequestURI(),
+                kv("status", response.getStatus()), kv("latencyMs", latencyMs));
+    }
+
+    private record AccessLogListener(HttpServletRequest request, HttpServletResponse response, long startNanos,
+                                     Map<String, String> context) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            if (context != null) {
+                MDC.setContextMap(context);
+            }
+            try {
+                logAccess(request, response, startNanos);
+            } finally {
+                MDC.clear();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
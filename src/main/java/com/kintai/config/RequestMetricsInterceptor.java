@@ -0,0 +1,95 @@
+package com.kintai.config;
+
+import com.kintai.service.KintaiMetrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * リクエスト単位のメトリクスを記録するインターセプター
+ * ・@ApprovalTimed が付いたエンドポイントの処理時間（kintai.approval）
+ * ・リクエスト内で実行した勤務パターン解決クエリ数（kintai.workpattern.queries.per.request）
+ * ・エンドポイントごとのSQL文の数と実行時間（kintai.sql.statements / kintai.sql.time）。上限を超えた場合は警告を出力する
+ */
+@Component
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsInterceptor.class);
+
+    private static final String SAMPLE_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".approvalSample";
+
+    private static final String SQL_SCOPE_ATTRIBUTE = RequestMetricsInterceptor.class.getName() + ".sqlScope";
+
+    @Autowired
+    private KintaiMetrics kintaiMetrics;
+
+    /** 1リクエストあたりのSQL文の数の上限（超えた場合に警告、0以下で警告しない） */
+    @Value("${kintai.sql.statement-budget:50}")
+    private int statementBudget;
+
+    /** 1リクエストあたりのSQL文の実行時間の上限（ミリ秒、超えた場合に警告、0以下で警告しない） */
+    @Value("${kintai.sql.time-budget-ms:500}")
+    private long timeBudgetMs;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(SQL_SCOPE_ATTRIBUTE, SqlStatementCounter.open());
+        if (handler instanceof HandlerMethod method && method.hasMethodAnnotation(ApprovalTimed.class)) {
+            request.setAttribute(SAMPLE_ATTRIBUTE, kintaiMetrics.start());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // 非同期処理は別スレッドで続くため、このスレッドの計測はここで終える
+        closeSqlScope(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        closeSqlScope(request);
+        if (request.getAttribute(KintaiMetrics.PATTERN_QUERY_ATTRIBUTE) instanceof AtomicInteger count) {
+            kintaiMetrics.recordPatternQueriesPerRequest(count.get());
+        }
+        if (request.getAttribute(SAMPLE_ATTRIBUTE) instanceof Timer.Sample sample
+                && handler instanceof HandlerMethod method) {
+            ApprovalTimed timed = method.getMethodAnnotation(ApprovalTimed.class);
+            String outcome = ex == null && response.getStatus() < 400
+                    ? KintaiMetrics.OUTCOME_SUCCESS : KintaiMetrics.OUTCOME_ERROR;
+            kintaiMetrics.recordApproval(sample, timed.type(), timed.action(), outcome);
+        }
+    }
+
+    private void closeSqlScope(HttpServletRequest request) {
+        if (!(request.getAttribute(SQL_SCOPE_ATTRIBUTE) instanceof SqlStatementCounter.Scope scope)) {
+            return;
+        }
+        request.removeAttribute(SQL_SCOPE_ATTRIBUTE);
+        scope.close();
+
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String endpoint = pattern != null ? pattern.toString() : "UNKNOWN";
+        long executionMs = TimeUnit.NANOSECONDS.toMillis(scope.getExecutionNanos());
+        kintaiMetrics.recordSqlStatements(request.getMethod(), endpoint, scope.getStatements(), scope.getExecutionNanos());
+
+        if (statementBudget > 0 && scope.getStatements() > statementBudget) {
+            log.warn("[SQL] {} {} のSQL文の数が上限を超えました: {} 件（上限 {} 件、実行時間 {} ms）",
+                    request.getMethod(), endpoint, scope.getStatements(), statementBudget, executionMs);
+        } else if (timeBudgetMs > 0 && executionMs > timeBudgetMs) {
+            log.warn("[SQL] {} {} のSQL文の実行時間が上限を超えました: {} ms（上限 {} ms、{} 件）",
+                    request.getMethod(), endpoint, executionMs, timeBudgetMs, scope.getStatements());
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.kintai.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate 二次キャッシュ・クエリキャッシュ設定（JCache / Caffeine）
+ * kintai.cache.enabled=true の場合のみ有効。変更の少ない参照系エンティティ（従業員・アカウント・カスタム休日・勤務時間変更申請）を
+ * リージョンごとに件数上限と有効期間を指定してキャッシュする。
+ * 同じノードでの更新は Hibernate がコミット時に反映するが、他ノードでの更新は有効期間が切れるまで反映されない。
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /** クエリキャッシュの結果リージョン */
+    public static final String QUERY_RESULTS_REGION = "default-query-results-region";
+
+    /** クエリキャッシュの更新時刻リージョン（テーブルごとの最終更新時刻。期限切れ・追い出しがあると古い結果を返しうるため上限なし） */
+    public static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    /** リージョンごとの既定値（kintai.cache.regions.<リージョン名>.max-entries / ttl-seconds で上書き） */
+    public static final Map<String, RegionSpec> DEFAULT_REGIONS = defaultRegions();
+
+    @Value("${kintai.cache.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * キャッシュの有効・無効に応じて Hibernate の設定を切り替える
+     * hibernate-jcache がクラスパスにあると既定で二次キャッシュが有効になるため、無効時は明示的に止める
+     */
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(ObjectProvider<CacheManager> hibernateCacheManager) {
+        return properties -> {
+            if (!enabled) {
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+                return;
+            }
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager.getObject());
+            // 設定漏れのリージョンを既定値で黙って作らないよう、未定義の場合は起動を失敗させる
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // ヒット率の集計に使用
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+
+    /**
+     * 二次キャッシュ用の CacheManager（リージョンを件数上限・有効期間つきで作成）
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "kintai.cache.enabled", havingValue = "true")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        // コンテキストごとに別の CacheManager を使う（同一JVM内の複数コンテキストでリージョン名が衝突しないように）
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("kintai-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        DEFAULT_REGIONS.forEach((region, defaults) -> {
+            String prefix = "kintai.cache.regions." + region;
+            long maxEntries = environment.getProperty(prefix + ".max-entries", Long.class, defaults.maxEntries());
+            long ttlSeconds = environment.getProperty(prefix + ".ttl-seconds", Long.class, defaults.ttlSeconds());
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setStatisticsEnabled(true);
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+            configuration.setExpireAfterWrite(OptionalLong.of(Duration.ofSeconds(ttlSeconds).toNanos()));
+            cacheManager.createCache(region, configuration);
+        });
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, timestamps);
+        return cacheManager;
+    }
+
+    private static Map<String, RegionSpec> defaultRegions() {
+        Map<String, RegionSpec> regions = new LinkedHashMap<>();
+        regions.put("employees", new RegionSpec(20_000, 600));
+        regions.put("user-accounts", new RegionSpec(20_000, 600));
+        regions.put("admin-accounts", new RegionSpec(1_000, 600));
+        regions.put("custom-holidays", new RegionSpec(50_000, 3_600));
+        regions.put("work-pattern-changes", new RegionSpec(20_000, 600));
+        regions.put(QUERY_RESULTS_REGION, new RegionSpec(50_000, 300));
+        return Collections.unmodifiableMap(regions);
+    }
+
+    /**
+     * リージョンの件数上限と有効期間（秒）
+     */
+    public record RegionSpec(long maxEntries, long ttlSeconds) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.kintai.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 二次キャッシュのリージョン別統計（actuator の /actuator/hibernatecache と、メトリクス kintai.cache.*）
+ * ヒット率はアプリケーション起動からの累計で算出する（リクエストがない場合は 0）。
+ */
+@Component
+@Endpoint(id = "hibernatecache")
+@ConditionalOnProperty(name = "kintai.cache.enabled", havingValue = "true")
+public class SecondLevelCacheEndpoint implements MeterBinder {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * リージョン別のヒット・ミス・格納件数とヒット率
+     */
+    @ReadOperation
+    public Map<String, Object> regions() {
+        Map<String, Object> regions = new LinkedHashMap<>();
+        for (String region : SecondLevelCacheConfig.DEFAULT_REGIONS.keySet()) {
+            CacheRegionStatistics statistics = regionStatistics(region);
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("hitCount", statistics.getHitCount());
+            values.put("missCount", statistics.getMissCount());
+            values.put("putCount", statistics.getPutCount());
+            values.put("hitRatio", hitRatio(statistics));
+            regions.put(region, values);
+        }
+        return regions;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : SecondLevelCacheConfig.DEFAULT_REGIONS.keySet()) {
+            Gauge.builder("kintai.cache.hit.ratio", this, endpoint -> hitRatio(endpoint.regionStatistics(region)))
+                    .tag("region", region)
+                    .description("二次キャッシュのヒット率（起動からの累計）")
+                    .register(registry);
+            FunctionCounter.builder("kintai.cache.requests", this, endpoint -> endpoint.regionStatistics(region).getHitCount())
+                    .tag("region", region)
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("kintai.cache.requests", this, endpoint -> endpoint.regionStatistics(region).getMissCount())
+                    .tag("region", region)
+                    .tag("result", "miss")
+                    .register(registry);
+        }
+    }
+
+    private CacheRegionStatistics regionStatistics(String region) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (SecondLevelCacheConfig.QUERY_RESULTS_REGION.equals(region)) {
+            return statistics.getQueryRegionStatistics(region);
+        }
+        return statistics.getDomainDataRegionStatistics(region);
+    }
+
+    private static double hitRatio(CacheRegionStatistics statistics) {
+        long requests = statistics.getHitCount() + statistics.getMissCount();
+        return requests == 0 ? 0.0 : (double) statistics.getHitCount() / requests;
+    }
+}
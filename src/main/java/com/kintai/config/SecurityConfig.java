@@ -1,5 +1,8 @@
 package com.kintai.config;
 
+import com.kintai.service.SessionTokenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -9,15 +12,25 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.csrf.CookieCsrfTokenRepository;
 import org.springframework.security.web.csrf.CsrfTokenRepository;
+import org.springframework.security.web.csrf.CsrfTokenRequestAttributeHandler;
 import org.springframework.security.web.csrf.HttpSessionCsrfTokenRepository;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
     
+    @Autowired
+    private SessionTokenService sessionTokenService;
+    
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
@@ -34,6 +47,7 @@ public class SecurityConfig {
     @Bean
     @Profile("dev")
     public SecurityFilterChain devFilterChain(HttpSecurity http) throws Exception {
+        addTokenFilterIfEnabled(http);
         return http
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(authz -> authz
@@ -54,6 +68,7 @@ public class SecurityConfig {
     @Bean
     @Profile("test")
     public SecurityFilterChain testFilterChain(HttpSecurity http) throws Exception {
+        addTokenFilterIfEnabled(http);
         return http
             .csrf(csrf -> csrf.disable())
             .authorizeHttpRequests(authz -> authz
@@ -73,32 +88,14 @@ public class SecurityConfig {
      */
     @Bean
     @Profile("prod")
+    @ConditionalOnProperty(name = "kintai.auth.mode", havingValue = "session", matchIfMissing = true)
     public SecurityFilterChain prodFilterChain(HttpSecurity http) throws Exception {
+        authorizeProdRequests(http);
         return http
             .csrf(csrf -> csrf
                 .csrfTokenRepository(csrfTokenRepository())
                 .ignoringRequestMatchers("/api/reports/**") // PDF生成は除外
             )
-            .authorizeHttpRequests(authz -> authz
-                // 静的リソースは認証なし
-                .requestMatchers("/css/**", "/js/**", "/images/**", "/favicon.ico").permitAll()
-                // H2コンソールは本番では無効
-                .requestMatchers("/h2-console/**").denyAll()
-                // ヘルスチェックエンドポイント
-                .requestMatchers("/api/health").permitAll()
-                // 認証関連エンドポイントは認証なし
-                .requestMatchers("/api/auth/**").permitAll()
-                // 従業員用エンドポイント
-                .requestMatchers("/api/attendance/**", "/api/leave/**", "/api/work-pattern-change/**", "/api/holiday/**").hasRole("EMPLOYEE")
-                // 管理者用エンドポイント
-                .requestMatchers("/api/admin/**").hasRole("ADMIN")
-                // PDF生成
-                .requestMatchers("/api/reports/**").authenticated()
-                // その他すべてのAPIエンドポイント
-                .requestMatchers("/api/**").authenticated()
-                // その他は認証なし
-                .anyRequest().permitAll()
-            )
             .formLogin(form -> form
                 .loginPage("/login")
                 .defaultSuccessUrl("/", true)
@@ -121,6 +118,76 @@ public class SecurityConfig {
             .build();
     }
     
+    /**
+     * prodプロファイル・トークン認証モード用の設定（認可ルールは prodFilterChain と同じ）
+     * セッションを作成・参照せず、リクエストごとに署名付きトークンから認証情報を復元する。
+     * CSRFトークンはCookieで受け渡し、Authorization ヘッダーでトークンを送るリクエストは対象外とする。
+     */
+    @Bean
+    @Profile("prod")
+    @ConditionalOnProperty(name = "kintai.auth.mode", havingValue = "token")
+    public SecurityFilterChain prodTokenFilterChain(HttpSecurity http) throws Exception {
+        authorizeProdRequests(http);
+        CookieCsrfTokenRepository cookieCsrfTokenRepository = CookieCsrfTokenRepository.withHttpOnlyFalse();
+        cookieCsrfTokenRepository.setHeaderName("X-XSRF-TOKEN");
+        return http
+            .csrf(csrf -> csrf
+                .csrfTokenRepository(cookieCsrfTokenRepository)
+                .csrfTokenRequestHandler(new CsrfTokenRequestAttributeHandler())
+                .ignoringRequestMatchers("/api/reports/**") // PDF生成は除外
+                .ignoringRequestMatchers(request -> request.getHeader(HttpHeaders.AUTHORIZATION) != null)
+            )
+            .addFilterBefore(new SignedTokenAuthenticationFilter(sessionTokenService),
+                UsernamePasswordAuthenticationFilter.class)
+            .securityContext(context -> context.securityContextRepository(new RequestAttributeSecurityContextRepository()))
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+            .httpBasic(basic -> basic.disable())
+            .formLogin(form -> form.disable())
+            .logout(logout -> logout.disable())
+            .build();
+    }
+    
+    /**
+     * prodプロファイルの認可ルール
+     */
+    private void authorizeProdRequests(HttpSecurity http) throws Exception {
+        http.authorizeHttpRequests(authz -> authz
+            // 静的リソースは認証なし
+            .requestMatchers("/css/**", "/js/**", "/images/**", "/favicon.ico").permitAll()
+            // H2コンソールは本番では無効
+            .requestMatchers("/h2-console/**").denyAll()
+            // ヘルスチェックエンドポイント
+            .requestMatchers("/api/health").permitAll()
+            .requestMatchers("/actuator/health").permitAll()
+            // メトリクス・キャッシュ統計などの actuator は管理者のみ
+            .requestMatchers("/actuator/**").hasRole("ADMIN")
+            // 認証関連エンドポイントは認証なし
+            .requestMatchers("/api/auth/**").permitAll()
+            // 従業員用エンドポイント
+            .requestMatchers("/api/attendance/**", "/api/leave/**", "/api/work-pattern-change/**", "/api/holiday/**").hasRole("EMPLOYEE")
+            // 管理者用エンドポイント
+            .requestMatchers("/api/admin/**").hasRole("ADMIN")
+            // PDF生成
+            .requestMatchers("/api/reports/**").authenticated()
+            // その他すべてのAPIエンドポイント
+            .requestMatchers("/api/**").authenticated()
+            // その他は認証なし
+            .anyRequest().permitAll()
+        );
+    }
+    
+    /**
+     * トークン認証モードの場合、dev・testプロファイルでもトークンから認証情報を復元する
+     */
+    private void addTokenFilterIfEnabled(HttpSecurity http) {
+        if (sessionTokenService.isEnabled()) {
+            http.addFilterBefore(new SignedTokenAuthenticationFilter(sessionTokenService),
+                UsernamePasswordAuthenticationFilter.class);
+        }
+    }
+    
     /**
      * CSRFトークンリポジトリ
      */
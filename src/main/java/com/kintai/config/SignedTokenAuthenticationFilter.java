@@ -0,0 +1,84 @@
+package com.kintai.config;
+
+import com.kintai.entity.AdminAccount;
+import com.kintai.entity.UserAccount;
+import com.kintai.service.SessionTokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 署名付きトークンによる認証フィルター（kintai.auth.mode=token の場合に使用）
+ * Authorization: Bearer ヘッダー、なければ認証Cookieからトークンを取り出して検証し、
+ * 有効であればトークンの内容から認証情報を組み立てる。DBやセッションは参照しない。
+ * トークンがない・無効な場合は未認証のまま後続に渡し、アクセス可否は認可設定に任せる。
+ */
+public class SignedTokenAuthenticationFilter extends OncePerRequestFilter {
+
+    /** 認証Cookie名 */
+    public static final String COOKIE_NAME = "KINTAI_TOKEN";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final SessionTokenService sessionTokenService;
+
+    public SignedTokenAuthenticationFilter(SessionTokenService sessionTokenService) {
+        this.sessionTokenService = sessionTokenService;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        SessionTokenService.TokenClaims claims = sessionTokenService.verify(resolveToken(request));
+        if (claims != null) {
+            UserDetails principal = toPrincipal(claims);
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+            SecurityContextHolder.setContext(context);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * リクエストからトークンを取り出す
+     * @return トークン（ない場合はnull）
+     */
+    public static String resolveToken(HttpServletRequest request) {
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            return authorization.substring(BEARER_PREFIX.length());
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * トークンの内容から認証主体を組み立てる（パスワードは保持しない）
+     */
+    private UserDetails toPrincipal(SessionTokenService.TokenClaims claims) {
+        return switch (claims.role()) {
+            case SessionTokenService.ROLE_ADMIN ->
+                    new AdminAccount(claims.username(), null, AdminAccount.UserRole.ADMIN, claims.subjectId());
+            case SessionTokenService.ROLE_USER_ADMIN ->
+                    new UserAccount(claims.username(), null, UserAccount.UserRole.ADMIN, claims.subjectId());
+            default -> new UserAccount(claims.username(), null, UserAccount.UserRole.EMPLOYEE, claims.subjectId());
+        };
+    }
+}
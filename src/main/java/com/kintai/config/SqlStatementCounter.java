@@ -0,0 +1,98 @@
+package com.kintai.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * SQL文の実行数・実行時間の計測（Hibernate の StatementInspector として登録）
+ * {@link #open()} で開始した計測範囲に、同じスレッドで Hibernate が準備したSQL文の数と、
+ * {@link SqlTimingListener} が計測した実行時間を加算する。計測範囲は入れ子にでき、内側の文は外側にも加算される。
+ * JdbcTemplate など Hibernate を経由しないSQLは対象外。
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    /**
+     * 現在のスレッドで計測を開始
+     * @return 計測範囲（終了時に close すること）
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * 現在のスレッドで計測中の範囲（計測していない場合はnull）
+     */
+    public static Scope current() {
+        return CURRENT.get();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.statements++;
+        }
+        return sql;
+    }
+
+    /**
+     * SQL文の実行時間を加算
+     */
+    static void addExecutionNanos(long nanos) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.executionNanos += nanos;
+        }
+    }
+
+    /**
+     * 計測範囲
+     */
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+
+        private int statements;
+
+        private long executionNanos;
+
+        private boolean closed;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        /**
+         * 準備されたSQL文の数
+         */
+        public int getStatements() {
+            return statements;
+        }
+
+        /**
+         * SQL文の実行時間の合計（ナノ秒）
+         */
+        public long getExecutionNanos() {
+            return executionNanos;
+        }
+
+        /**
+         * 計測を終了し、外側の計測範囲に戻す
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (CURRENT.get() == this) {
+                if (parent == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(parent);
+                }
+            }
+        }
+    }
+}
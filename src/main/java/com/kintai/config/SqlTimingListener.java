@@ -0,0 +1,34 @@
+package com.kintai.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * SQL文の実行時間を計測し、{@link SqlStatementCounter} の計測範囲に加算するセッションイベントリスナー
+ * Hibernate がセッションごとに生成する（hibernate.session.events.auto）。
+ */
+public class SqlTimingListener implements SessionEventListener {
+
+    private long statementStart;
+
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        SqlStatementCounter.addExecutionNanos(System.nanoTime() - statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        SqlStatementCounter.addExecutionNanos(System.nanoTime() - batchStart);
+    }
+}
@@ -0,0 +1,53 @@
+package com.kintai.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ストリーミング応答の開始前に確保した資源（生成枠・ジョブの実行権など）を確実に解放するためのガード
+ * 応答本体が実行された場合は本体の終了時に解放する。
+ * 非同期処理の受付拒否、実行前のタイムアウト、実行前のクライアント切断などで本体が実行されなかった場合は、
+ * 非同期処理の完了時に解放する。
+ */
+public final class StreamingResponseGuard {
+
+    private StreamingResponseGuard() {
+    }
+
+    /**
+     * 解放処理を確実に1回だけ呼び出す応答本体を返す
+     * @param request 現在のリクエスト（非同期処理の完了を検知するために使用）
+     * @param release 確保した資源の解放処理
+     * @param body 応答本体
+     * @return 解放処理を組み込んだ応答本体
+     */
+    public static StreamingResponseBody guard(HttpServletRequest request, Runnable release, StreamingResponseBody body) {
+        // 本体と完了時のどちらが解放するかを先に取った側で決める
+        AtomicBoolean claimed = new AtomicBoolean();
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(new Object(), new CallableProcessingInterceptor() {
+            @Override
+            public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                if (claimed.compareAndSet(false, true)) {
+                    release.run();
+                }
+            }
+        });
+        return outputStream -> {
+            if (!claimed.compareAndSet(false, true)) {
+                // 完了済み（タイムアウトなど）のため出力しない
+                return;
+            }
+            try {
+                body.writeTo(outputStream);
+            } finally {
+                release.run();
+            }
+        };
+    }
+}
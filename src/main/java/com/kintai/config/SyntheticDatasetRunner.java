@@ -0,0 +1,83 @@
+package com.kintai.config;
+
+import com.kintai.service.SyntheticDatasetGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * 起動時に性能検証用の大規模データを生成する（dev・test プロファイルで kintai.dataset.generate=true の場合のみ）
+ * 例: java -jar kintai.jar --spring.profiles.active=dev --kintai.dataset.generate=true --kintai.dataset.employees=50000
+ *     --kintai.dataset.password=... --kintai.dataset.exit=true
+ * 既存データは削除せずに追加する。期間の最終日（end-date）とシード値を固定すれば同じ内容を再生成できる。
+ * 本番データへの混入を防ぐため、prod プロファイルが有効な場合は実行しない。
+ */
+@Component
+@Profile({"dev", "test"})
+@ConditionalOnProperty(name = "kintai.dataset.generate", havingValue = "true")
+public class SyntheticDatasetRunner implements ApplicationRunner {
+
+    @Autowired
+    private SyntheticDatasetGenerator syntheticDatasetGenerator;
+
+    @Autowired
+    private ConfigurableApplicationContext applicationContext;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${kintai.dataset.employees:10000}")
+    private int employees;
+
+    @Value("${kintai.dataset.years:5}")
+    private int years;
+
+    /** 期間の最終日（yyyy-MM-dd、未指定の場合は当日） */
+    @Value("${kintai.dataset.end-date:}")
+    private String endDate;
+
+    @Value("${kintai.dataset.seed:20240401}")
+    private long seed;
+
+    @Value("${kintai.dataset.rows-per-statement:500}")
+    private int rowsPerStatement;
+
+    /** ログインアカウントを作成するか */
+    @Value("${kintai.dataset.create-accounts:true}")
+    private boolean createAccounts;
+
+    /** ログインアカウントのパスワード（アカウントを作成する場合は必須、既定値なし） */
+    @Value("${kintai.dataset.password:}")
+    private String password;
+
+    /** 生成後にアプリケーションを終了するか */
+    @Value("${kintai.dataset.exit:false}")
+    private boolean exit;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (environment.acceptsProfiles(Profiles.of("prod"))) {
+            throw new IllegalStateException("prod プロファイルでは検証用データを生成できません");
+        }
+        if (createAccounts && password.isBlank()) {
+            throw new IllegalStateException(
+                    "kintai.dataset.password を指定してください（アカウントを作成しない場合は kintai.dataset.create-accounts=false）");
+        }
+        syntheticDatasetGenerator.generate(new SyntheticDatasetGenerator.Options(
+                employees, years, endDate.isBlank() ? LocalDate.now() : LocalDate.parse(endDate),
+                seed, rowsPerStatement, createAccounts ? password : null));
+        if (exit) {
+            System.exit(SpringApplication.exit(applicationContext));
+        }
+    }
+}
@@ -1,16 +1,48 @@
 package com.kintai.config;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ViewControllerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
  * Web設定クラス
- * SPA ルーティングのためのフォワード設定を追加
+ * SPA ルーティングのためのフォワード設定と、非同期応答の実行プール、リクエスト単位のメトリクス記録・ログのMDC設定を設定
  */
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    @Qualifier("mvcAsyncExecutor")
+    private ThreadPoolTaskExecutor mvcAsyncExecutor;
+
+    @Autowired
+    private RequestMetricsInterceptor requestMetricsInterceptor;
+
+    @Autowired
+    private LoggingContextInterceptor loggingContextInterceptor;
+
+    /** 非同期応答（PDF・ZIPのストリーミング出力など）のタイムアウト（ミリ秒） */
+    @Value("${kintai.async.mvc.timeout-ms:600000}")
+    private long asyncTimeoutMs;
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor);
+        configurer.setDefaultTimeout(asyncTimeoutMs);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(loggingContextInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(requestMetricsInterceptor).addPathPatterns("/api/**");
+    }
+
     @Override
     public void addViewControllers(ViewControllerRegistry registry) {
         // /history/YYYYMM 直リンクを SPA の index.html にフォワード
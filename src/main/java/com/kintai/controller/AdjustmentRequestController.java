@@ -9,6 +9,8 @@ import java.time.LocalDateTime;
 import java.time.LocalTime;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -27,6 +29,8 @@ import java.util.ArrayList;
 @RequestMapping("/api/attendance")
 @Validated
 public class AdjustmentRequestController {
+
+    private static final Logger log = LoggerFactory.getLogger(AdjustmentRequestController.class);
     
     @Autowired
     private AdjustmentRequestService adjustmentRequestService;
@@ -173,7 +177,7 @@ public class AdjustmentRequestController {
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("修正申請一覧の取得に失敗: 従業員ID={}", employeeId, e);
             // エラーの場合は空のリストを返す
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
@@ -1,5 +1,8 @@
 package com.kintai.controller;
 
+import com.kintai.config.ApprovalTimed;
+import com.kintai.dto.BulkDecisionRequest;
+import com.kintai.dto.BulkDecisionResult;
 import com.kintai.entity.AdjustmentRequest;
 import com.kintai.exception.AttendanceException;
 import com.kintai.service.AdjustmentRequestService;
@@ -8,6 +11,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import jakarta.validation.Valid;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
@@ -32,6 +36,7 @@ public class AdminAdjustmentRequestController {
      * @return 承認結果
      */
     @PostMapping("/adjustment/approve/{adjustmentRequestId}")
+    @ApprovalTimed(type = "ADJUSTMENT", action = "approve")
     public ResponseEntity<Map<String, Object>> approveAdjustmentRequest(@PathVariable Long adjustmentRequestId, jakarta.servlet.http.HttpServletRequest request) {
         try {
             Long approverEmployeeId = resolveApproverEmployeeId(request);
@@ -67,6 +72,7 @@ public class AdminAdjustmentRequestController {
      * @return 却下結果
      */
     @PostMapping("/adjustment/reject/{adjustmentRequestId}")
+    @ApprovalTimed(type = "ADJUSTMENT", action = "reject")
     public ResponseEntity<Map<String, Object>> rejectAdjustmentRequest(@PathVariable Long adjustmentRequestId, @RequestParam String comment, jakarta.servlet.http.HttpServletRequest request) {
         try {
             Long approverEmployeeId = resolveApproverEmployeeId(request);
@@ -96,6 +102,38 @@ public class AdminAdjustmentRequestController {
         }
     }
 
+    /**
+     * 修正申請一括承認・却下API
+     * @param bulkRequest 申請IDリストと承認/却下の指定
+     * @return 申請ごとの処理結果
+     */
+    @PostMapping("/adjustment/bulk-decision")
+    @ApprovalTimed(type = "ADJUSTMENT", action = "bulk")
+    public ResponseEntity<Map<String, Object>> decideAdjustmentRequests(@Valid @RequestBody BulkDecisionRequest bulkRequest, jakarta.servlet.http.HttpServletRequest request) {
+        try {
+            Long approverEmployeeId = resolveApproverEmployeeId(request);
+            List<BulkDecisionResult> results = adjustmentRequestService.decideAdjustmentRequests(
+                    bulkRequest.getRequestIds(), bulkRequest.isApproved(), approverEmployeeId, bulkRequest.getComment());
+            long succeeded = BulkDecisionResult.countSucceeded(results);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", bulkRequest.isApproved() ? "修正申請を一括承認しました" : "修正申請を一括却下しました");
+            response.put("data", results);
+            response.put("count", results.size());
+            response.put("succeededCount", succeeded);
+            response.put("failedCount", results.size() - succeeded);
+            
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> errorResponse = new HashMap<>();
+            errorResponse.put("success", false);
+            errorResponse.put("errorCode", "INTERNAL_ERROR");
+            errorResponse.put("message", "内部エラーが発生しました");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+
     private Long resolveApproverEmployeeId(jakarta.servlet.http.HttpServletRequest request) {
         // 1) Spring Security認証情報から取得
         try {
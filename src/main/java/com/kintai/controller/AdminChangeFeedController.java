@@ -0,0 +1,43 @@
+package com.kintai.controller;
+
+import com.kintai.service.ChangeFeedService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 管理者向け 変更フィードAPI（給与システムとの差分同期用）
+ */
+@RestController
+@RequestMapping("/api/admin/changes")
+public class AdminChangeFeedController {
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    /**
+     * 前回のカーソル以降に変更された勤怠記録・休暇申請・打刻修正申請を取得
+     * 応答の nextCursor を次回の cursor に指定し、hasMore が false になるまで繰り返す
+     * @param cursor 前回取得時の nextCursor（初回は省略）
+     * @param limit 最大件数
+     * @return 変更一覧
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getChanges(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(defaultValue = "500") int limit) {
+        ChangeFeedService.ChangeFeedPage page = changeFeedService.fetchChanges(cursor, limit);
+        Map<String, Object> body = new HashMap<>();
+        body.put("success", true);
+        body.put("data", page.items());
+        body.put("count", page.items().size());
+        body.put("nextCursor", page.nextCursor());
+        body.put("hasMore", page.hasMore());
+        return ResponseEntity.ok(body);
+    }
+}
@@ -1,13 +1,17 @@
 package com.kintai.controller;
 
+import com.kintai.config.ApprovalTimed;
 import com.kintai.entity.Employee;
 import com.kintai.service.AdminService;
+import com.kintai.service.EmployeeTableVersion;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.web.csrf.CsrfToken;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
@@ -22,14 +26,21 @@ public class AdminController {
     
     @Autowired
     private AdminService adminService;
+
+    @Autowired
+    private EmployeeTableVersion employeeTableVersion;
     
     /**
      * 全社員一覧取得API
      * @return 社員一覧
      */
     @GetMapping("/employees")
-    public ResponseEntity<Map<String, Object>> getAllEmployees() {
+    public ResponseEntity<Map<String, Object>> getAllEmployees(WebRequest webRequest) {
         try {
+            String etag = employeeTableVersion.etag("admin-all");
+            if (webRequest.checkNotModified(etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
             List<Employee> employees = adminService.getAllEmployees();
             
             Map<String, Object> response = new HashMap<>();
@@ -37,7 +48,10 @@ public class AdminController {
             response.put("message", "社員一覧を取得しました");
             response.put("data", employees);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noCache().cachePrivate())
+                    .eTag(etag)
+                    .body(response);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -52,6 +66,7 @@ public class AdminController {
      * @return 承認結果
      */
     @PostMapping("/attendance/approve")
+    @ApprovalTimed(type = "MONTHLY_ATTENDANCE", action = "approve")
     public ResponseEntity<Map<String, Object>> approveAttendance(@RequestBody AttendanceApprovalRequest request) {
         try {
             boolean success = adminService.approveAttendance(request.getEmployeeId(), request.getYearMonth());
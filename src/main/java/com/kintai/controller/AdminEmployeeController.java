@@ -1,25 +1,42 @@
 package com.kintai.controller;
 
+import com.kintai.dto.EmployeeSummaryView;
 import com.kintai.entity.Employee;
 import com.kintai.entity.AttendanceRecord;
 import com.kintai.entity.AdjustmentRequest;
 import com.kintai.entity.LeaveRequest;
+import com.kintai.exception.AttendanceException;
 import com.kintai.repository.EmployeeRepository;
 import com.kintai.entity.UserAccount;
 import com.kintai.repository.UserAccountRepository;
 import com.kintai.repository.AttendanceRecordRepository;
 import com.kintai.repository.AdjustmentRequestRepository;
 import com.kintai.repository.LeaveRequestRepository;
+import com.kintai.service.AdminService;
 import com.kintai.service.AuthService;
+import com.kintai.service.EmployeeCodeAllocator;
+import com.kintai.service.EmployeeTableVersion;
+import com.kintai.service.PendingRequestCounter;
+import com.kintai.service.ReferenceCacheEvictor;
+import com.kintai.service.SessionTokenService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * 管理者向け 社員管理API
@@ -30,9 +47,20 @@ import java.util.Map;
 @Validated
 public class AdminEmployeeController {
 
+    private static final Logger log = LoggerFactory.getLogger(AdminEmployeeController.class);
+
+    /** 社員一覧ビューの1ページあたり最大件数 */
+    private static final int MAX_PAGE_SIZE = 200;
+
+    /** 社員一覧ビューでソート可能な項目 */
+    private static final Set<String> SORTABLE_PROPERTIES =
+            Set.of("employeeId", "employeeCode", "lastName", "hireDate", "retirementDate", "isActive");
+
     @Autowired
     private EmployeeRepository employeeRepository;
     @Autowired
+    private EmployeeTableVersion employeeTableVersion;
+    @Autowired
     private UserAccountRepository userAccountRepository;
     @Autowired
     private AttendanceRecordRepository attendanceRecordRepository;
@@ -42,17 +70,94 @@ public class AdminEmployeeController {
     private LeaveRequestRepository leaveRequestRepository;
     @Autowired
     private AuthService authService;
+    @Autowired
+    private EmployeeCodeAllocator employeeCodeAllocator;
+    @Autowired
+    private ReferenceCacheEvictor referenceCacheEvictor;
+    @Autowired
+    private PendingRequestCounter pendingRequestCounter;
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private SessionTokenService sessionTokenService;
 
     @Autowired
     private com.kintai.service.LeaveRequestService leaveRequestService;
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> listEmployees() {
+    public ResponseEntity<Map<String, Object>> listEmployees(WebRequest webRequest) {
+        String etag = employeeTableVersion.etag("all");
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
         List<Employee> list = employeeRepository.findAll();
         Map<String, Object> body = new HashMap<>();
         body.put("success", true);
         body.put("data", list);
-        return ResponseEntity.ok(body);
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(body);
+    }
+
+    /**
+     * 社員一覧（軽量ビュー・ページング）
+     * ID・社員コード・氏名・在職状態・入退社日のみを返す。
+     * 従業員テーブルに変更がなければ If-None-Match に対して 304 を返す。
+     */
+    @GetMapping("/summaries")
+    public ResponseEntity<Map<String, Object>> listEmployeeSummaries(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(defaultValue = "employeeId") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Boolean active,
+            WebRequest webRequest) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            Map<String, Object> body = new HashMap<>();
+            body.put("success", false);
+            body.put("errorCode", "INVALID_PAGE");
+            body.put("message", "page は0以上、size は1〜" + MAX_PAGE_SIZE + "で指定してください");
+            return ResponseEntity.badRequest().body(body);
+        }
+        if (!SORTABLE_PROPERTIES.contains(sort)) {
+            Map<String, Object> body = new HashMap<>();
+            body.put("success", false);
+            body.put("errorCode", "INVALID_SORT");
+            body.put("message", "ソートできない項目です: " + sort);
+            return ResponseEntity.badRequest().body(body);
+        }
+
+        String keyword = q == null || q.isBlank() ? null : q.trim().toLowerCase(Locale.ROOT);
+        Sort.Direction sortDirection = "desc".equalsIgnoreCase(direction) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        String etag = employeeTableVersion.etag(String.join("|",
+                String.valueOf(page), String.valueOf(size), sort, sortDirection.name(),
+                String.valueOf(keyword), String.valueOf(active)));
+        if (webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        Sort order = Sort.by(sortDirection, sort);
+        if (!"employeeId".equals(sort)) {
+            order = order.and(Sort.by(Sort.Direction.ASC, "employeeId"));
+        }
+        Page<EmployeeSummaryView> result = employeeRepository.searchSummaries(
+                keyword == null ? null : "%" + keyword + "%", active, PageRequest.of(page, size, order));
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("success", true);
+        body.put("data", result.getContent());
+        body.put("count", result.getNumberOfElements());
+        body.put("page", result.getNumber());
+        body.put("size", result.getSize());
+        body.put("totalElements", result.getTotalElements());
+        body.put("totalPages", result.getTotalPages());
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .eTag(etag)
+                .body(body);
     }
 
     /**
@@ -61,18 +166,15 @@ public class AdminEmployeeController {
     @GetMapping("/next-number")
     public ResponseEntity<Map<String, Object>> getNextEmployeeNumber() {
         try {
-            String nextCode = generateEmployeeCode();
-            // EMPプレフィックスを除去して番号のみを取得（ゼロパディングも除去）
-            String nextNumber = nextCode.replace("EMP", "");
-            // ゼロパディングを除去（"005" -> "5"）
-            nextNumber = String.valueOf(Integer.parseInt(nextNumber));
+            // 採番シーケンスを参照するのみで、番号は消費しない
+            String nextNumber = String.valueOf(employeeCodeAllocator.peekNextNumber());
             
             Map<String, Object> body = new HashMap<>();
             body.put("success", true);
             body.put("nextNumber", nextNumber);
             return ResponseEntity.ok(body);
         } catch (Exception e) {
-            System.err.println("次の社員番号取得エラー: " + e.getMessage());
+            log.error("次の社員番号取得エラー", e);
             Map<String, Object> body = new HashMap<>();
             body.put("success", false);
             body.put("message", "次の社員番号の取得に失敗しました");
@@ -87,10 +189,10 @@ public class AdminEmployeeController {
     @PostMapping(value = "", consumes = "application/json", produces = "application/json")
     public ResponseEntity<Map<String, Object>> addEmployee(@RequestBody AddEmployeeRequest req) {
         try {
-            System.out.println("社員追加リクエスト受信: " + (req != null ? req.toString() : "null"));
+            log.debug("社員追加リクエスト受信: {}", req);
             
             if (req == null || req.username == null || req.password == null) {
-                System.out.println("必須パラメータ不足: username=" + (req != null ? req.username : "null") + ", password=" + (req != null ? "[設定済み]" : "null"));
+                log.debug("必須パラメータ不足: username={}", req != null ? req.username : null);
                 Map<String, Object> body = new HashMap<>();
                 body.put("success", false);
                 body.put("message", "username と password は必須です");
@@ -100,7 +202,7 @@ public class AdminEmployeeController {
             // バリデーションを先に実行
             // パスワードの最小長チェックのみ（強度チェックは撤廃）
             if (req.password.length() < 4) {
-                System.out.println("パスワード長不足: " + req.password.length());
+                log.debug("パスワード長不足: {}", req.password.length());
                 Map<String, Object> body = new HashMap<>();
                 body.put("success", false);
                 body.put("message", "パスワードは4文字以上で入力してください");
@@ -109,7 +211,7 @@ public class AdminEmployeeController {
             
             // 入社日の必須チェック
             if (req.hireDate == null || req.hireDate.isBlank()) {
-                System.out.println("入社日が未設定");
+                log.debug("入社日が未設定");
                 Map<String, Object> body = new HashMap<>();
                 body.put("success", false);
                 body.put("message", "入社日は必須です");
@@ -119,18 +221,17 @@ public class AdminEmployeeController {
             // ユーザー名の重複チェックは不要（自動生成のため）
 
             // 社員コードを自動生成（EMP + 3桁番号）
-            String employeeCode = generateEmployeeCode();
-            System.out.println("生成された社員コード: " + employeeCode);
+            String employeeCode = employeeCodeAllocator.allocate();
+            log.debug("生成された社員コード: {}", employeeCode);
             
             // ユーザー名はemp + 番号の形式（既存データと一貫性を保つ）
             // EMP001 -> emp1, EMP002 -> emp2 の形式に変換
             String numberPart = employeeCode.substring(3); // "001" -> "1"
             String username = "emp" + Integer.parseInt(numberPart);
             
-            // 社員コードの重複チェックは既にgenerateEmployeeCode内で実施済み
+            // 社員コードの重複チェックは採番時に実施済み
 
             // 社員作成
-            System.out.println("社員作成開始...");
             Employee emp = new Employee(employeeCode);
             // 任意項目を保存
             if (req.lastName != null) emp.setLastName(req.lastName);
@@ -151,29 +252,25 @@ public class AdminEmployeeController {
                 return ResponseEntity.badRequest().body(body);
             }
             emp = employeeRepository.save(emp);
-            System.out.println("社員作成完了: ID=" + emp.getEmployeeId());
+            log.info("社員作成完了: ID={}, 社員コード={}", emp.getEmployeeId(), employeeCode);
 
             // ログインアカウント作成（社員ロール）
-            System.out.println("ユーザーアカウント作成開始...");
             String encoded = authService.encodePassword(req.password);
             UserAccount account = new UserAccount(username, encoded, UserAccount.UserRole.EMPLOYEE, emp.getEmployeeId());
             userAccountRepository.save(account);
-            System.out.println("ユーザーアカウント作成完了: ID=" + account.getId());
+            log.info("ユーザーアカウント作成完了: ID={}, 従業員ID={}", account.getId(), emp.getEmployeeId());
 
             // 新規社員の勤怠データをクリア（念のため）
             clearNewEmployeeData(emp.getEmployeeId());
-            System.out.println("新規社員の勤怠データをクリアしました: EmployeeID=" + emp.getEmployeeId());
 
             Map<String, Object> body = new HashMap<>();
             body.put("success", true);
             body.put("message", "新規社員のアカウントを作成しました");
             body.put("employeeId", emp.getEmployeeId());
             body.put("data", emp);
-            System.out.println("社員追加処理完了");
             return ResponseEntity.ok(body);
         } catch (Exception e) {
-            System.err.println("社員追加エラー: " + e.getClass().getSimpleName() + " - " + e.getMessage());
-            e.printStackTrace();
+            log.error("社員追加エラー", e);
             Map<String, Object> body = new HashMap<>();
             body.put("success", false);
             body.put("message", "作成に失敗しました: " + e.getMessage());
@@ -181,22 +278,6 @@ public class AdminEmployeeController {
         }
     }
 
-    private String generateEmployeeCode() {
-        // 社員コードを「EMP」で固定し、番号を自動採番（既存データと一貫性を保つ）
-        String baseCode = "EMP";
-        
-        // 重複チェックとカウンター付加（1からスタート）
-        int counter = 1;
-        String employeeCode;
-        do {
-            // 3桁のゼロパディングで統一（EMP001, EMP002, ...）
-            employeeCode = baseCode + String.format("%03d", counter);
-            counter++;
-        } while (employeeRepository.findByEmployeeCode(employeeCode).isPresent());
-        
-        return employeeCode;
-    }
-
     /**
      * 新規社員の勤怠データをクリアする
      * @param employeeId 社員ID
@@ -215,9 +296,9 @@ public class AdminEmployeeController {
             List<LeaveRequest> leaveRequests = leaveRequestRepository.findByEmployeeIdOrderByCreatedAtDesc(employeeId);
             leaveRequestRepository.deleteAll(leaveRequests);
             
-            System.out.println("新規社員の勤怠データをクリア完了: EmployeeID=" + employeeId);
+            log.debug("新規社員の勤怠データをクリア完了: 従業員ID={}", employeeId);
         } catch (Exception e) {
-            System.err.println("新規社員の勤怠データクリアエラー: " + e.getMessage());
+            log.warn("新規社員の勤怠データクリアエラー: 従業員ID={}", employeeId, e);
             // エラーが発生しても社員作成は継続する
         }
     }
@@ -259,13 +340,15 @@ public class AdminEmployeeController {
                                 userAccount.setEnabled(isActive);
                                 userAccountRepository.save(userAccount);
                             });
-                    // 退職(非アクティブ化)時は全休暇残数を0日にリセット
+                    // 退職(非アクティブ化)時は全休暇残数を0日にリセットし、発行済みトークンを失効させる
                     if (!isActive) {
                         try {
                             leaveRequestService.resetAllLeaveBalancesToZero(employeeId);
                         } catch (Exception ignored) {
                         }
+                        sessionTokenService.revokeSubject(SessionTokenService.ROLE_EMPLOYEE, employeeId);
                     }
+                    referenceCacheEvictor.evictEmployee(employeeId);
                     
                     Map<String, Object> body = new HashMap<>();
                     body.put("success", true);
@@ -292,36 +375,33 @@ public class AdminEmployeeController {
 
     /**
      * 社員削除（データベースから完全削除）
+     * 勤怠記録がある社員は勤怠が宙に浮かないよう削除せず 409 を返す（退職処理を使用する）
      */
     @DeleteMapping("/{employeeId}")
     public ResponseEntity<Map<String, Object>> deleteEmployee(@PathVariable Long employeeId) {
         try {
-            // 社員が存在するかチェック
-            if (!employeeRepository.existsById(employeeId)) {
-                Map<String, Object> body = new HashMap<>();
-                body.put("success", false);
-                body.put("message", "従業員が見つかりません");
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
-            }
-
-            // 関連するUserAccountを先に削除
-            userAccountRepository.findByEmployeeId(employeeId)
-                    .ifPresent(userAccount -> {
-                        userAccountRepository.delete(userAccount);
-                        System.out.println("Deleted user account for employee ID: " + employeeId);
-                    });
-
-            // 社員データを削除
-            employeeRepository.deleteById(employeeId);
-            System.out.println("Deleted employee with ID: " + employeeId);
+            // 存在確認・勤怠記録の有無の確認とアカウント・社員データの削除を同じトランザクションで行う
+            adminService.deleteEmployee(employeeId);
+            log.info("社員データを削除: 従業員ID={}", employeeId);
+            referenceCacheEvictor.evictEmployee(employeeId);
+            // 社員と一緒に削除された未承認申請は申請サービスの増減を経由しないため、DBと突き合わせる
+            pendingRequestCounter.reconcileAfterCommit();
+            sessionTokenService.revokeSubject(SessionTokenService.ROLE_EMPLOYEE, employeeId);
 
             Map<String, Object> body = new HashMap<>();
             body.put("success", true);
             body.put("message", "社員データを削除しました");
             return ResponseEntity.ok(body);
+        } catch (AttendanceException e) {
+            Map<String, Object> body = new HashMap<>();
+            body.put("success", false);
+            body.put("errorCode", e.getErrorCode());
+            body.put("message", e.getMessage());
+            HttpStatus status = AttendanceException.EMPLOYEE_NOT_FOUND.equals(e.getErrorCode())
+                    ? HttpStatus.NOT_FOUND : HttpStatus.CONFLICT;
+            return ResponseEntity.status(status).body(body);
         } catch (Exception e) {
-            System.err.println("社員削除エラー: " + e.getClass().getSimpleName() + " - " + e.getMessage());
-            e.printStackTrace();
+            log.error("社員削除エラー: 従業員ID={}", employeeId, e);
             Map<String, Object> body = new HashMap<>();
             body.put("success", false);
             body.put("message", "削除に失敗しました: " + e.getMessage());
@@ -414,6 +494,7 @@ public class AdminEmployeeController {
                         return ResponseEntity.badRequest().body(body);
                     }
                     employeeRepository.save(emp);
+                    referenceCacheEvictor.evictEmployee(employeeId);
 
                     Map<String, Object> body = new HashMap<>();
                     body.put("success", true);
@@ -0,0 +1,84 @@
+package com.kintai.controller;
+
+import com.kintai.exception.AttendanceException;
+import com.kintai.service.AttendanceCsvExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 管理者向け データ一括出力API
+ */
+@RestController
+@RequestMapping("/api/admin/export")
+public class AdminExportController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    /** gzip 出力時のバッファサイズ */
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private AttendanceCsvExportService attendanceCsvExportService;
+
+    /**
+     * 期間内の全従業員の勤怠記録をCSVでストリーミング出力（給与計算連携用）
+     * クライアントが gzip を受け付ける場合は出力しながら圧縮する
+     * @param from 開始日（yyyy-MM-dd）
+     * @param to 終了日（yyyy-MM-dd）
+     * @param acceptEncoding Accept-Encoding ヘッダー
+     * @return CSVストリーム
+     */
+    @GetMapping("/attendance.csv")
+    public ResponseEntity<StreamingResponseBody> exportAttendanceCsv(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        if (to.isBefore(from)) {
+            throw new AttendanceException(AttendanceException.INVALID_REQUEST, "終了日は開始日以降を指定してください");
+        }
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        StreamingResponseBody body = outputStream -> {
+            if (!gzip) {
+                attendanceCsvExportService.writeCsv(from, to, outputStream);
+                return;
+            }
+            GZIPOutputStream gzipStream = new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE);
+            attendanceCsvExportService.writeCsv(from, to, gzipStream);
+            gzipStream.finish();
+        };
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(TEXT_CSV);
+        headers.setContentDispositionFormData("attachment", String.format("attendance_%s_%s.csv", from, to));
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        if (gzip) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * CSV出力開始前のエラーをJSONで返す
+     */
+    @ExceptionHandler(AttendanceException.class)
+    public ResponseEntity<Map<String, Object>> handleExportError(AttendanceException e) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("success", false);
+        body.put("errorCode", e.getErrorCode());
+        body.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+}
@@ -1,10 +1,19 @@
 package com.kintai.controller;
 
+import com.kintai.config.ApprovalTimed;
+import com.kintai.dto.BulkDecisionRequest;
+import com.kintai.dto.BulkDecisionResult;
 import com.kintai.dto.HolidayRequestDto;
+import com.kintai.entity.CustomHoliday;
 import com.kintai.entity.HolidayRequest;
 import com.kintai.service.HolidayRequestService;
+import com.kintai.service.ReferenceCacheEvictor;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -18,6 +27,9 @@ public class AdminHolidayController {
     @Autowired
     private HolidayRequestService service;
 
+    @Autowired
+    private ReferenceCacheEvictor referenceCacheEvictor;
+
     @GetMapping("/requests/pending")
     public ResponseEntity<Map<String, Object>> pending() {
         List<HolidayRequest> list = service.listPending();
@@ -48,9 +60,11 @@ public class AdminHolidayController {
     }
 
     @PostMapping("/requests/{id}/approve")
+    @ApprovalTimed(type = "HOLIDAY", action = "approve")
     public ResponseEntity<Map<String, Object>> approve(@PathVariable Long id, @RequestParam Long approverId) {
         try {
             HolidayRequestDto dto = service.approve(id, approverId);
+            referenceCacheEvictor.evictAll(CustomHoliday.class);
             Map<String, Object> body = new HashMap<>();
             body.put("success", true);
             body.put("message", dto.getMessage());
@@ -59,12 +73,40 @@ public class AdminHolidayController {
         } catch (Exception e) {
             Map<String, Object> body = new HashMap<>();
             body.put("success", false);
+            body.put("errorCode", errorCode(e));
             body.put("message", e.getMessage());
             return ResponseEntity.badRequest().body(body);
         }
     }
 
+    @PostMapping("/requests/bulk-decision")
+    @ApprovalTimed(type = "HOLIDAY", action = "bulk")
+    public ResponseEntity<Map<String, Object>> decide(@Valid @RequestBody BulkDecisionRequest request) {
+        try {
+            Long approverId = request.getApproverId() != null ? request.getApproverId() : resolveApproverId();
+            List<BulkDecisionResult> results = service.decideRequests(
+                    request.getRequestIds(), request.isApproved(), approverId, request.getComment());
+            referenceCacheEvictor.evictAll(CustomHoliday.class);
+            long succeeded = BulkDecisionResult.countSucceeded(results);
+            Map<String, Object> body = new HashMap<>();
+            body.put("success", true);
+            body.put("message", request.isApproved() ? "一括承認しました" : "一括却下しました");
+            body.put("data", results);
+            body.put("count", results.size());
+            body.put("succeededCount", succeeded);
+            body.put("failedCount", results.size() - succeeded);
+            return ResponseEntity.ok(body);
+        } catch (Exception e) {
+            Map<String, Object> body = new HashMap<>();
+            body.put("success", false);
+            body.put("errorCode", "INTERNAL_ERROR");
+            body.put("message", "内部エラーが発生しました");
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(body);
+        }
+    }
+
     @PostMapping("/requests/{id}/reject")
+    @ApprovalTimed(type = "HOLIDAY", action = "reject")
     public ResponseEntity<Map<String, Object>> reject(@PathVariable Long id, @RequestParam Long approverId, @RequestParam(required = false) String comment) {
         try {
             HolidayRequestDto dto = service.reject(id, approverId, comment);
@@ -76,10 +118,33 @@ public class AdminHolidayController {
         } catch (Exception e) {
             Map<String, Object> body = new HashMap<>();
             body.put("success", false);
+            body.put("errorCode", errorCode(e));
             body.put("message", e.getMessage());
             return ResponseEntity.badRequest().body(body);
         }
     }
-}
 
+    /**
+     * 承認・却下の失敗理由をエラーコードに変換
+     */
+    private String errorCode(Exception e) {
+        if (e instanceof IllegalStateException) {
+            return "INVALID_STATUS";
+        }
+        if (e instanceof IllegalArgumentException) {
+            return "REQUEST_NOT_FOUND";
+        }
+        return "INTERNAL_ERROR";
+    }
 
+    private Long resolveApproverId() {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof com.kintai.entity.UserAccount userAccount) {
+                return userAccount.getEmployeeId();
+            }
+        } catch (Exception ignored) {
+        }
+        return null;
+    }
+}
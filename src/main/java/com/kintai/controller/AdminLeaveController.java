@@ -1,5 +1,8 @@
 package com.kintai.controller;
 
+import com.kintai.config.ApprovalTimed;
+import com.kintai.dto.BulkDecisionRequest;
+import com.kintai.dto.BulkDecisionResult;
 import com.kintai.dto.LeaveRequestDto;
 import com.kintai.entity.LeaveRequest;
 import com.kintai.entity.LeaveStatus;
@@ -39,6 +42,7 @@ public class AdminLeaveController {
     // adjustPaidLeave エンドポイントは廃止（有休調整機能の廃止により）
 
     @PostMapping("/requests/{leaveRequestId}/decision")
+    @ApprovalTimed(type = "LEAVE", action = "decide")
     public ResponseEntity<Map<String, Object>> decideRequest(@PathVariable Long leaveRequestId,
                                                              @Valid @RequestBody DecisionRequest request) {
         try {
@@ -65,6 +69,32 @@ public class AdminLeaveController {
         }
     }
 
+    @PostMapping("/requests/bulk-decision")
+    @ApprovalTimed(type = "LEAVE", action = "bulk")
+    public ResponseEntity<Map<String, Object>> decideRequests(@Valid @RequestBody BulkDecisionRequest request) {
+        try {
+            Long approverId = Optional.ofNullable(request.getApproverId()).orElseGet(this::resolveApproverId);
+            List<BulkDecisionResult> results = leaveRequestService.decideRequests(
+                    request.getRequestIds(), request.isApproved(), approverId, request.getComment());
+            long succeeded = BulkDecisionResult.countSucceeded(results);
+
+            Map<String, Object> body = new HashMap<>();
+            body.put("success", true);
+            body.put("message", request.isApproved() ? "休暇申請を一括承認しました" : "休暇申請を一括却下しました");
+            body.put("data", results);
+            body.put("count", results.size());
+            body.put("succeededCount", succeeded);
+            body.put("failedCount", results.size() - succeeded);
+            return ResponseEntity.ok(body);
+        } catch (Exception e) {
+            Map<String, Object> body = new HashMap<>();
+            body.put("success", false);
+            body.put("errorCode", "INTERNAL_ERROR");
+            body.put("message", "休暇申請処理中にエラーが発生しました: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(body);
+        }
+    }
+
     @GetMapping("/requests/pending")
     public ResponseEntity<Map<String, Object>> pendingRequests() {
         List<LeaveRequest> pending = leaveRequestRepository.findByStatusOrderByCreatedAtDesc(LeaveStatus.PENDING);
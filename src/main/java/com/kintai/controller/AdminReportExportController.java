@@ -0,0 +1,117 @@
+package com.kintai.controller;
+
+import com.kintai.config.StreamingResponseGuard;
+import com.kintai.exception.AttendanceException;
+import com.kintai.service.BulkReportExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 管理者向け 月次勤怠レポート一括出力API
+ */
+@RestController
+@RequestMapping("/api/admin/reports")
+public class AdminReportExportController {
+
+    /** 一括出力ジョブIDを返すレスポンスヘッダー */
+    public static final String JOB_ID_HEADER = "X-Export-Job-Id";
+
+    private static final String EXPORT_JOB_NOT_FOUND = "EXPORT_JOB_NOT_FOUND";
+    private static final String EXPORT_JOB_RUNNING = "EXPORT_JOB_RUNNING";
+
+    private static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
+    @Autowired
+    private BulkReportExportService bulkReportExportService;
+
+    /**
+     * 在職中の全従業員の月次勤怠レポートをZIPでストリーミング出力
+     * jobId を指定すると、そのジョブで未出力の従業員分のみを出力する（中断時の再開用）
+     * ジョブの実行権は出力の終了時、または出力が始まらないまま非同期処理が終了した時点で解放する
+     * @param yearMonth 年月（yyyy-MM形式）
+     * @param jobId 再開するジョブID（任意）
+     * @return ZIPストリーム
+     */
+    @GetMapping("/monthly/{yearMonth}/archive")
+    public ResponseEntity<StreamingResponseBody> exportMonthlyArchive(@PathVariable String yearMonth,
+                                                                      @RequestParam(required = false) String jobId,
+                                                                      HttpServletRequest request) {
+        YearMonth target;
+        try {
+            target = YearMonth.parse(yearMonth);
+        } catch (DateTimeParseException e) {
+            throw new AttendanceException(AttendanceException.INVALID_REQUEST, "年月フォーマットが不正です。yyyy-MM形式で入力してください。");
+        }
+
+        BulkReportExportService.ExportJob job;
+        if (jobId == null || jobId.isBlank()) {
+            job = bulkReportExportService.createJob(target);
+        } else {
+            job = bulkReportExportService.findJob(jobId)
+                    .filter(existing -> existing.getYearMonth().equals(target))
+                    .orElseThrow(() -> new AttendanceException(EXPORT_JOB_NOT_FOUND, "一括出力ジョブが見つかりません: " + jobId));
+        }
+        if (!bulkReportExportService.tryStart(job)) {
+            throw new AttendanceException(EXPORT_JOB_RUNNING, "一括出力ジョブは実行中です: " + job.getJobId());
+        }
+
+        StreamingResponseBody body = StreamingResponseGuard.guard(request, () -> bulkReportExportService.finish(job),
+                outputStream -> bulkReportExportService.export(job, outputStream));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(APPLICATION_ZIP);
+        headers.setContentDispositionFormData("attachment", String.format("attendance_reports_%s.zip", target));
+        headers.set(JOB_ID_HEADER, job.getJobId());
+        headers.setAccessControlExposeHeaders(List.of(JOB_ID_HEADER));
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * 一括出力ジョブの状態を取得
+     */
+    @GetMapping("/monthly/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getJobStatus(@PathVariable String jobId) {
+        Optional<BulkReportExportService.ExportJob> job = bulkReportExportService.findJob(jobId);
+        if (job.isEmpty()) {
+            return error(HttpStatus.NOT_FOUND, EXPORT_JOB_NOT_FOUND, "一括出力ジョブが見つかりません: " + jobId);
+        }
+        Map<String, Object> body = new HashMap<>();
+        body.put("success", true);
+        body.put("data", bulkReportExportService.toStatus(job.get()));
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * ZIP出力開始前のエラーをJSONで返す
+     */
+    @ExceptionHandler(AttendanceException.class)
+    public ResponseEntity<Map<String, Object>> handleExportError(AttendanceException e) {
+        HttpStatus status = switch (e.getErrorCode()) {
+            case EXPORT_JOB_NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case EXPORT_JOB_RUNNING -> HttpStatus.CONFLICT;
+            default -> HttpStatus.BAD_REQUEST;
+        };
+        return error(status, e.getErrorCode(), e.getMessage());
+    }
+
+    private ResponseEntity<Map<String, Object>> error(HttpStatus status, String errorCode, String message) {
+        Map<String, Object> body = new HashMap<>();
+        body.put("success", false);
+        body.put("errorCode", errorCode);
+        body.put("message", message);
+        return ResponseEntity.status(status).body(body);
+    }
+}
@@ -1,9 +1,16 @@
 package com.kintai.controller;
 
+import com.kintai.config.ApprovalTimed;
+import com.kintai.dto.BulkDecisionRequest;
+import com.kintai.dto.BulkDecisionResult;
+import com.kintai.dto.RecalculationProgressDto;
 import com.kintai.entity.WorkPatternChangeRequest;
 import com.kintai.exception.AttendanceException;
+import com.kintai.service.ReferenceCacheEvictor;
 import com.kintai.service.WorkPatternChangeRequestService;
+import com.kintai.service.WorkPatternRecalculationJobService;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -15,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/admin/work-pattern-change")
@@ -24,11 +32,19 @@ public class AdminWorkPatternChangeController {
     @Autowired
     private WorkPatternChangeRequestService service;
 
+    @Autowired
+    private WorkPatternRecalculationJobService recalculationJobService;
+
+    @Autowired
+    private ReferenceCacheEvictor referenceCacheEvictor;
+
     @PostMapping("/requests/{requestId}/approve")
+    @ApprovalTimed(type = "WORK_PATTERN", action = "approve")
     public ResponseEntity<Map<String, Object>> approve(@PathVariable Long requestId, HttpServletRequest request) {
         try {
             Long approverId = resolveApproverEmployeeId(request);
             WorkPatternChangeRequest approved = service.approveRequest(requestId, approverId);
+            referenceCacheEvictor.evictAll(WorkPatternChangeRequest.class);
 
             Map<String, Object> body = new HashMap<>();
             body.put("success", true);
@@ -51,12 +67,14 @@ public class AdminWorkPatternChangeController {
     }
 
     @PostMapping("/requests/{requestId}/reject")
+    @ApprovalTimed(type = "WORK_PATTERN", action = "reject")
     public ResponseEntity<Map<String, Object>> reject(@PathVariable Long requestId,
                                                       @RequestParam String comment,
                                                       HttpServletRequest request) {
         try {
             Long approverId = resolveApproverEmployeeId(request);
             WorkPatternChangeRequest rejected = service.rejectRequest(requestId, approverId, comment);
+            referenceCacheEvictor.evictAll(WorkPatternChangeRequest.class);
 
             Map<String, Object> body = new HashMap<>();
             body.put("success", true);
@@ -78,6 +96,34 @@ public class AdminWorkPatternChangeController {
         }
     }
 
+    @PostMapping("/requests/bulk-decision")
+    @ApprovalTimed(type = "WORK_PATTERN", action = "bulk")
+    public ResponseEntity<Map<String, Object>> decide(@Valid @RequestBody BulkDecisionRequest bulkRequest,
+                                                      HttpServletRequest request) {
+        try {
+            Long approverId = resolveApproverEmployeeId(request);
+            List<BulkDecisionResult> results = service.decideRequests(
+                    bulkRequest.getRequestIds(), bulkRequest.isApproved(), approverId, bulkRequest.getComment());
+            referenceCacheEvictor.evictAll(WorkPatternChangeRequest.class);
+            long succeeded = BulkDecisionResult.countSucceeded(results);
+
+            Map<String, Object> body = new HashMap<>();
+            body.put("success", true);
+            body.put("message", bulkRequest.isApproved() ? "勤務時間変更申請を一括承認しました" : "勤務時間変更申請を一括却下しました");
+            body.put("data", results);
+            body.put("count", results.size());
+            body.put("succeededCount", succeeded);
+            body.put("failedCount", results.size() - succeeded);
+            return ResponseEntity.ok(body);
+        } catch (Exception e) {
+            Map<String, Object> body = new HashMap<>();
+            body.put("success", false);
+            body.put("errorCode", "INTERNAL_ERROR");
+            body.put("message", "勤務時間変更申請の一括処理に失敗しました: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(body);
+        }
+    }
+
     @GetMapping("/requests/status/{status}")
     public ResponseEntity<Map<String, Object>> findByStatus(@PathVariable String status) {
         WorkPatternChangeRequest.Status parsedStatus;
@@ -99,6 +145,24 @@ public class AdminWorkPatternChangeController {
         return ResponseEntity.ok(body);
     }
 
+    /**
+     * 長期間の申請承認に伴う勤怠再計算ジョブの進捗を取得
+     */
+    @GetMapping("/requests/{requestId}/recalculation")
+    public ResponseEntity<Map<String, Object>> recalculationProgress(@PathVariable Long requestId) {
+        Optional<RecalculationProgressDto> progress = recalculationJobService.getProgress(requestId);
+        Map<String, Object> body = new HashMap<>();
+        if (progress.isEmpty()) {
+            body.put("success", false);
+            body.put("errorCode", "RECALCULATION_NOT_FOUND");
+            body.put("message", "再計算ジョブが見つかりません: " + requestId);
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
+        }
+        body.put("success", true);
+        body.put("data", progress.get());
+        return ResponseEntity.ok(body);
+    }
+
     @GetMapping("/requests/pending-count")
     public ResponseEntity<Map<String, Object>> pendingCount() {
         long count = service.countPendingRequests();
@@ -1,15 +1,25 @@
 package com.kintai.controller;
 
+import com.kintai.config.StreamingResponseGuard;
 import com.kintai.service.AttendanceReportService;
+import com.kintai.service.ReportConcurrencyLimiter;
+import com.kintai.service.ReportFileCache;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Optional;
 
 /**
  * 勤怠レポートPDF出力コントローラー
@@ -18,36 +28,75 @@ import java.time.format.DateTimeParseException;
 @RequestMapping("/api/attendance")
 @CrossOrigin(origins = "*")
 public class AttendanceReportController {
+
+    // Tomcat の sendfile 連携用リクエスト属性
+    private static final String SENDFILE_SUPPORT_ATTR = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME_ATTR = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START_ATTR = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END_ATTR = "org.apache.tomcat.sendfile.end";
     
     @Autowired
     private AttendanceReportService attendanceReportService;
+
+    @Autowired
+    private ReportConcurrencyLimiter reportConcurrencyLimiter;
     
     /**
      * 勤怠レポートPDFを生成・ダウンロード
+     * 元データが変わらない限り生成済みのPDFファイルを返し、条件付きリクエストには 304 を返す
      * @param employeeId 従業員ID
      * @param yearMonth 年月（yyyy-MM形式）
      * @return PDFファイル
      */
     @GetMapping("/report/{employeeId}/{yearMonth}")
-    public ResponseEntity<byte[]> generateAttendanceReport(
+    public ResponseEntity<Resource> generateAttendanceReport(
             @PathVariable Long employeeId,
-            @PathVariable String yearMonth) {
+            @PathVariable String yearMonth,
+            WebRequest webRequest,
+            HttpServletRequest request) {
         
         try {
             // 年月フォーマットの検証
             validateYearMonthFormat(yearMonth);
             
-            // PDF生成
-            byte[] pdfBytes = attendanceReportService.generateAttendanceReportPdf(employeeId, yearMonth);
+            AttendanceReportService.ReportSource source = attendanceReportService.prepareReport(employeeId, yearMonth);
+            AttendanceReportService.ReportFingerprint fingerprint = attendanceReportService.fingerprint(source);
+            if (webRequest.checkNotModified(fingerprint.etag(), fingerprint.lastModified().toEpochMilli())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(fingerprint.etag()).build();
+            }
+            
+            // キャッシュにない場合のみPDF生成（同時生成数の上限を超える場合は拒否）
+            Optional<ReportFileCache.CachedReport> cached = attendanceReportService.findCachedReport(source, fingerprint);
+            if (cached.isEmpty()) {
+                if (!reportConcurrencyLimiter.tryAcquire()) {
+                    return tooManyReports();
+                }
+                try {
+                    cached = Optional.of(attendanceReportService.renderToCache(source, fingerprint));
+                } finally {
+                    reportConcurrencyLimiter.release();
+                }
+            }
+            ReportFileCache.CachedReport report = cached.get();
             
             // レスポンスヘッダーを設定
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_PDF);
             headers.setContentDispositionFormData("attachment", 
                 String.format("attendance_%d_%s.pdf", employeeId, yearMonth));
-            headers.setContentLength(pdfBytes.length);
+            headers.setContentLength(report.size());
+            headers.setETag(fingerprint.etag());
+            headers.setLastModified(fingerprint.lastModified());
+            headers.setCacheControl(CacheControl.noCache().cachePrivate());
             
-            return new ResponseEntity<>(pdfBytes, headers, HttpStatus.OK);
+            // Tomcat の sendfile が使える場合はファイルをカーネル経由で直接送信する
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT_ATTR))) {
+                request.setAttribute(SENDFILE_FILENAME_ATTR, report.path().toString());
+                request.setAttribute(SENDFILE_START_ATTR, 0L);
+                request.setAttribute(SENDFILE_END_ATTR, report.size());
+                return new ResponseEntity<>(headers, HttpStatus.OK);
+            }
+            return new ResponseEntity<>(new FileSystemResource(report.path()), headers, HttpStatus.OK);
             
         } catch (IllegalArgumentException e) {
             // 従業員が見つからない場合
@@ -61,6 +110,51 @@ public class AttendanceReportController {
         }
     }
     
+    /**
+     * 勤怠レポートPDFをレスポンスへ直接ストリーミング出力
+     * PDF全体をメモリに保持せず、生成したページから順にチャンク転送する
+     * 生成枠は出力の終了時、または出力が始まらないまま非同期処理が終了した時点で返却する
+     * @param employeeId 従業員ID
+     * @param yearMonth 年月（yyyy-MM形式）
+     * @return PDFストリーム
+     */
+    @GetMapping("/report/{employeeId}/{yearMonth}/stream")
+    public ResponseEntity<StreamingResponseBody> streamAttendanceReport(
+            @PathVariable Long employeeId,
+            @PathVariable String yearMonth,
+            HttpServletRequest request) {
+        AttendanceReportService.ReportSource source;
+        try {
+            validateYearMonthFormat(yearMonth);
+            source = attendanceReportService.prepareReport(employeeId, yearMonth);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (!reportConcurrencyLimiter.tryAcquire()) {
+            return tooManyReports();
+        }
+        StreamingResponseBody body = StreamingResponseGuard.guard(request, reportConcurrencyLimiter::release,
+            outputStream -> attendanceReportService.writePdf(source, outputStream));
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("attachment",
+            String.format("attendance_%d_%s.pdf", employeeId, yearMonth));
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    /**
+     * 同時生成数の上限超過時のレスポンス
+     */
+    private <T> ResponseEntity<T> tooManyReports() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "5")
+            .build();
+    }
+
     /**
      * 年月フォーマットを検証
      * @param yearMonth 年月文字列
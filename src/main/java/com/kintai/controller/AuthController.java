@@ -2,12 +2,19 @@ package com.kintai.controller;
 
 import com.kintai.entity.UserAccount;
 import com.kintai.entity.AdminAccount;
+import com.kintai.config.SignedTokenAuthenticationFilter;
 import com.kintai.service.AuthService;
+import com.kintai.service.LoginThrottle;
+import com.kintai.service.PasswordVerifier;
+import com.kintai.service.SessionTokenService;
 import com.kintai.util.PasswordValidator;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -28,8 +35,16 @@ public class AuthController {
     @Autowired
     private AuthService authService;
     
+    @Autowired
+    private SessionTokenService sessionTokenService;
+    
+    /** 認証Cookieに Secure 属性を付けるか（トークン認証モード） */
+    @Value("${kintai.auth.token.cookie-secure:true}")
+    private boolean tokenCookieSecure;
+    
     /**
      * ログイン
+     * トークン認証モードの場合はセッションを作成せず、署名付きトークンをレスポンスと認証Cookieで返す
      * @param loginRequest ログインリクエスト
      * @param request HTTPリクエスト
      * @return ログイン結果
@@ -39,7 +54,27 @@ public class AuthController {
                                                    HttpServletRequest request) {
         try {
             // 統合認証（従業員または管理者）
-            AuthService.AuthResult authResult = authService.authenticate(loginRequest.getUsername(), loginRequest.getPassword());
+            // 接続元IPは信頼するプロキシの X-Forwarded-For を反映済み（server.forward-headers-strategy: native）
+            AuthService.AuthResult authResult = authService.authenticate(
+                loginRequest.getUsername(), loginRequest.getPassword(), request.getRemoteAddr());
+            
+            // 失敗回数の上限超過・照合待ちの混雑時はパスワードを照合せずに拒否
+            if (authResult.isRejected()) {
+                boolean throttled = "THROTTLED".equals(authResult.getRole());
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", false);
+                response.put("errorCode", throttled ? LoginThrottle.LOGIN_THROTTLED : PasswordVerifier.LOGIN_BUSY);
+                response.put("message", throttled
+                    ? "ログインの失敗が続いたため一時的にログインできません。しばらくしてから再度お試しください"
+                    : "ログインが混み合っています。しばらくしてから再度お試しください");
+                return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(authResult.getRetryAfterSeconds()))
+                    .body(response);
+            }
+            
+            if (authResult.isSuccess() && sessionTokenService.isEnabled()) {
+                return tokenLoginResponse(authResult);
+            }
             
             if (authResult.isSuccess()) {
                 // セッション作成
@@ -148,6 +183,24 @@ public class AuthController {
     @PostMapping("/logout")
     public ResponseEntity<Map<String, Object>> logout(HttpServletRequest request) {
         try {
+            if (sessionTokenService.isEnabled()) {
+                // トークンを失効させ、認証Cookieを削除
+                SessionTokenService.TokenClaims claims = sessionTokenService.verify(
+                    SignedTokenAuthenticationFilter.resolveToken(request));
+                if (claims != null) {
+                    sessionTokenService.revoke(claims);
+                }
+                SecurityContextHolder.clearContext();
+                
+                Map<String, Object> response = new HashMap<>();
+                response.put("success", true);
+                response.put("message", "ログアウトしました");
+                
+                return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, tokenCookie("", 0).toString())
+                    .body(response);
+            }
+            
             HttpSession session = request.getSession(false);
             if (session != null) {
                 session.invalidate();
@@ -178,6 +231,10 @@ public class AuthController {
     @GetMapping("/session")
     public ResponseEntity<Map<String, Object>> getSession(HttpServletRequest request) {
         try {
+            if (sessionTokenService.isEnabled()) {
+                return tokenSessionResponse();
+            }
+            
             HttpSession session = request.getSession(false);
             
             if (session != null && session.getAttribute("user") != null) {
@@ -206,6 +263,73 @@ public class AuthController {
         }
     }
     
+    /**
+     * トークン認証モードのログイン成功レスポンス
+     */
+    private ResponseEntity<Map<String, Object>> tokenLoginResponse(AuthService.AuthResult authResult) {
+        Map<String, Object> response = new HashMap<>();
+        SessionTokenService.IssuedToken issued;
+        if ("ADMIN".equals(authResult.getRole())) {
+            AdminAccount admin = authResult.getAdmin();
+            issued = sessionTokenService.issue(SessionTokenService.ROLE_ADMIN, admin.getAdminId(), admin.getUsername());
+            response.put("adminId", admin.getAdminId());
+        } else {
+            UserAccount user = authResult.getEmployee();
+            String tokenRole = user.getRole() == UserAccount.UserRole.ADMIN
+                ? SessionTokenService.ROLE_USER_ADMIN : SessionTokenService.ROLE_EMPLOYEE;
+            issued = sessionTokenService.issue(tokenRole, user.getEmployeeId(), user.getUsername());
+            response.put("employeeId", user.getEmployeeId());
+        }
+        response.put("success", true);
+        response.put("message", "ログインに成功しました");
+        response.put("username", issued.claims().username());
+        response.put("role", authResult.getRole());
+        response.put("token", issued.token());
+        response.put("expiresAt", issued.claims().expiresAt());
+        
+        return ResponseEntity.ok()
+            .header(HttpHeaders.SET_COOKIE, tokenCookie(issued.token(), sessionTokenService.getTtlSeconds()).toString())
+            .body(response);
+    }
+    
+    /**
+     * トークン認証モードのセッション情報レスポンス（フィルターが復元した認証情報を返す）
+     */
+    private ResponseEntity<Map<String, Object>> tokenSessionResponse() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        Map<String, Object> response = new HashMap<>();
+        if (authentication != null && authentication.getPrincipal() instanceof AdminAccount admin) {
+            response.put("authenticated", true);
+            response.put("username", admin.getUsername());
+            response.put("role", "ADMIN");
+            response.put("adminId", admin.getAdminId());
+            return ResponseEntity.ok(response);
+        }
+        if (authentication != null && authentication.getPrincipal() instanceof UserAccount user) {
+            response.put("authenticated", true);
+            response.put("username", user.getUsername());
+            response.put("role", "EMPLOYEE");
+            response.put("employeeId", user.getEmployeeId());
+            return ResponseEntity.ok(response);
+        }
+        response.put("authenticated", false);
+        response.put("message", "セッションが無効です");
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
+    }
+    
+    /**
+     * 認証Cookie（JavaScriptから参照できないよう HttpOnly とする）
+     */
+    private ResponseCookie tokenCookie(String value, long maxAgeSeconds) {
+        return ResponseCookie.from(SignedTokenAuthenticationFilter.COOKIE_NAME, value)
+            .httpOnly(true)
+            .secure(tokenCookieSecure)
+            .sameSite("Lax")
+            .path("/")
+            .maxAge(maxAgeSeconds)
+            .build();
+    }
+    
     /**
      * パスワード検証エンドポイント
      * @param passwordRequest パスワード検証リクエスト
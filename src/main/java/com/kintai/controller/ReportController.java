@@ -2,12 +2,26 @@ package com.kintai.controller;
 
 import com.kintai.dto.ReportGenerateRequest;
 import com.kintai.dto.ReportGenerateResponse;
+import com.kintai.entity.AdminAccount;
+import com.kintai.entity.UserAccount;
+import com.kintai.exception.AttendanceException;
+import com.kintai.service.ReportFileCache;
+import com.kintai.service.ReportJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * レポート生成コントローラー
@@ -17,21 +31,49 @@ import java.time.format.DateTimeParseException;
 @CrossOrigin(origins = "*")
 public class ReportController {
 
+    /** 未ログイン時（開発環境など）のジョブ所有者 */
+    private static final String ANONYMOUS_OWNER = "anonymous";
+
+    @Autowired
+    private ReportJobService reportJobService;
+
     /**
-     * 勤怠レポートPDFを生成
-     * 現在はFastAPI連携を廃止しているため、未実装として応答する。
+     * 勤怠レポートPDFの生成ジョブを登録
+     * 生成は専用プールで非同期に行い、ジョブIDと状態確認・ダウンロード用URLを 202 で返す。
+     * 本人以外の従業員のレポートは管理者のみ生成できる。
      *
      * @param request レポート生成リクエスト
-     * @return 生成状況レスポンス
+     * @param principal ログインユーザー
+     * @return 受付結果レスポンス
      */
     @PostMapping("/generate")
-    public ResponseEntity<ReportGenerateResponse> generateReport(@RequestBody ReportGenerateRequest request) {
+    public ResponseEntity<ReportGenerateResponse> generateReport(@RequestBody ReportGenerateRequest request,
+                                                                 Principal principal) {
         try {
             // リクエストの検証
             validateRequest(request);
-            // FastAPI連携を廃止したため、現在はPDF生成を行わない
-            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
-                .body(ReportGenerateResponse.failure("PDF生成機能は現在利用できません"));
+            authorizeReportAccess(principal, request.getEmployeeId());
+            ReportJobService.ReportJob job = reportJobService.submit(
+                owner(principal), request.getEmployeeId(), request.getYearMonth());
+            String statusUrl = "/api/reports/jobs/" + job.getJobId();
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .header(HttpHeaders.LOCATION, statusUrl)
+                .body(ReportGenerateResponse.accepted(job.getJobId(), statusUrl, statusUrl + "/download"));
+        } catch (AttendanceException e) {
+            return switch (e.getErrorCode()) {
+                // ユーザーごとの未完了ジョブ数の上限超過
+                case ReportJobService.REPORT_JOB_LIMIT_EXCEEDED -> ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(ReportGenerateResponse.failure(e.getMessage()));
+                // 生成プールが満杯
+                case ReportJobService.REPORT_JOB_BUSY -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(ReportGenerateResponse.failure(e.getMessage()));
+                case AttendanceException.ACCESS_DENIED -> ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(ReportGenerateResponse.failure(e.getMessage()));
+                default -> ResponseEntity.badRequest()
+                    .body(ReportGenerateResponse.failure(e.getMessage()));
+            };
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                 .body(ReportGenerateResponse.failure("リクエストが無効です: " + e.getMessage()));
@@ -41,6 +83,91 @@ public class ReportController {
         }
     }
     
+    /**
+     * レポート生成ジョブの状態を取得
+     * @param jobId ジョブID
+     * @param principal ログインユーザー
+     * @return ジョブ状態
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<Map<String, Object>> getJobStatus(@PathVariable String jobId, Principal principal) {
+        ReportJobService.ReportJob job = findJob(jobId, principal);
+        Map<String, Object> body = new HashMap<>();
+        body.put("success", true);
+        body.put("data", reportJobService.toStatus(job));
+        return ResponseEntity.ok(body);
+    }
+
+    /**
+     * 生成済みの勤怠レポートPDFをダウンロード
+     * @param jobId ジョブID
+     * @param principal ログインユーザー
+     * @return PDFファイル（未完了の場合は 409）
+     */
+    @GetMapping("/jobs/{jobId}/download")
+    public ResponseEntity<Resource> downloadReport(@PathVariable String jobId, Principal principal) {
+        ReportJobService.ReportJob job = findJob(jobId, principal);
+        ReportFileCache.CachedReport report = reportJobService.getResult(job);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_PDF);
+        headers.setContentDispositionFormData("attachment",
+            String.format("attendance_%d_%s.pdf", job.getEmployeeId(), job.getYearMonth()));
+        headers.setContentLength(report.size());
+        return new ResponseEntity<>(new FileSystemResource(report.path()), headers, HttpStatus.OK);
+    }
+
+    /**
+     * ジョブ参照時のエラーをJSONで返す
+     */
+    @ExceptionHandler(AttendanceException.class)
+    public ResponseEntity<Map<String, Object>> handleJobError(AttendanceException e) {
+        HttpStatus status = switch (e.getErrorCode()) {
+            case ReportJobService.REPORT_JOB_NOT_FOUND -> HttpStatus.NOT_FOUND;
+            case ReportJobService.REPORT_JOB_NOT_READY -> HttpStatus.CONFLICT;
+            case ReportJobService.REPORT_JOB_EXPIRED -> HttpStatus.GONE;
+            default -> HttpStatus.BAD_REQUEST;
+        };
+        Map<String, Object> body = new HashMap<>();
+        body.put("success", false);
+        body.put("errorCode", e.getErrorCode());
+        body.put("message", e.getMessage());
+        return ResponseEntity.status(status).body(body);
+    }
+
+    private ReportJobService.ReportJob findJob(String jobId, Principal principal) {
+        // 他のユーザーのジョブは存在しないものとして扱う
+        return reportJobService.findJob(jobId, owner(principal))
+            .orElseThrow(() -> new AttendanceException(ReportJobService.REPORT_JOB_NOT_FOUND,
+                "レポート生成ジョブが見つかりません: " + jobId));
+    }
+
+    /**
+     * レポートを生成できるか検証（管理者、または本人の場合のみ許可）
+     * @throws AttendanceException 権限がない場合
+     */
+    private void authorizeReportAccess(Principal principal, Long employeeId) {
+        Object user = principal instanceof Authentication authentication ? authentication.getPrincipal() : null;
+        if (user instanceof AdminAccount) {
+            return;
+        }
+        if (user instanceof UserAccount userAccount) {
+            if (userAccount.getRole() == UserAccount.UserRole.ADMIN) {
+                return;
+            }
+            if (userAccount.getEmployeeId() != null && userAccount.getEmployeeId().equals(employeeId)) {
+                return;
+            }
+            throw new AttendanceException(AttendanceException.ACCESS_DENIED,
+                "本人以外の勤怠レポートは管理者のみ生成できます");
+        }
+        throw new AttendanceException(AttendanceException.ACCESS_DENIED, "勤怠レポートを生成する権限がありません");
+    }
+
+    private String owner(Principal principal) {
+        return principal != null ? principal.getName() : ANONYMOUS_OWNER;
+    }
+
     /**
      * リクエストを検証
      * @param request リクエスト
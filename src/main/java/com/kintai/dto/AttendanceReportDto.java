@@ -10,6 +10,9 @@ import java.time.format.DateTimeFormatter;
  * 勤怠レポート用DTO
  */
 public class AttendanceReportDto {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy/MM/dd");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm");
     
     private String employeeName;
     private String employeeCode;
@@ -30,13 +33,13 @@ public class AttendanceReportDto {
     public AttendanceReportDto(AttendanceRecord record, String employeeName, String employeeCode) {
         this.employeeName = employeeName;
         this.employeeCode = employeeCode;
-        this.attendanceDate = record.getAttendanceDate().format(DateTimeFormatter.ofPattern("yyyy/MM/dd"));
+        this.attendanceDate = record.getAttendanceDate().format(DATE_FORMAT);
         this.clockInTime = formatTime(record.getClockInTime());
         this.clockOutTime = formatTime(record.getClockOutTime());
         this.attendanceStatus = getStatusDisplayName(record.getAttendanceStatus());
         this.overtimeHours = formatOvertime(record.getOvertimeMinutes());
-        this.lateMinutes = "";
-        this.earlyLeaveMinutes = "";
+        this.lateMinutes = formatMinutes(record.getLateMinutes());
+        this.earlyLeaveMinutes = formatMinutes(record.getEarlyLeaveMinutes());
     }
     
     // データなし用のコンストラクタ
@@ -57,7 +60,7 @@ public class AttendanceReportDto {
         if (time == null) {
             return "";
         }
-        return time.format(DateTimeFormatter.ofPattern("HH:mm"));
+        return time.format(TIME_FORMAT);
     }
     
     private String formatOvertime(Integer overtimeMinutes) {
@@ -75,6 +78,13 @@ public class AttendanceReportDto {
         }
     }
     
+    private String formatMinutes(Integer minutes) {
+        if (minutes == null || minutes <= 0) {
+            return "";
+        }
+        return String.format("%d分", minutes);
+    }
+    
     private String getStatusDisplayName(AttendanceStatus status) {
         if (status == null) {
             return "未出勤";
@@ -0,0 +1,57 @@
+package com.kintai.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * 申請一括承認・却下リクエスト（管理者用）
+ */
+public class BulkDecisionRequest {
+
+    /** 一度に処理できる申請件数の上限 */
+    public static final int MAX_REQUESTS = 500;
+
+    @NotEmpty(message = "申請IDを指定してください")
+    @Size(max = MAX_REQUESTS, message = "一度に処理できる申請は" + MAX_REQUESTS + "件までです")
+    private List<Long> requestIds;
+
+    private boolean approved;
+
+    private Long approverId;
+
+    private String comment;
+
+    public List<Long> getRequestIds() {
+        return requestIds;
+    }
+
+    public void setRequestIds(List<Long> requestIds) {
+        this.requestIds = requestIds;
+    }
+
+    public boolean isApproved() {
+        return approved;
+    }
+
+    public void setApproved(boolean approved) {
+        this.approved = approved;
+    }
+
+    public Long getApproverId() {
+        return approverId;
+    }
+
+    public void setApproverId(Long approverId) {
+        this.approverId = approverId;
+    }
+
+    public String getComment() {
+        return comment;
+    }
+
+    public void setComment(String comment) {
+        this.comment = comment;
+    }
+}
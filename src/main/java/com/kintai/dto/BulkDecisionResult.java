@@ -0,0 +1,92 @@
+package com.kintai.dto;
+
+import java.util.List;
+
+/**
+ * 申請一括承認・却下の1件ごとの処理結果
+ */
+public class BulkDecisionResult {
+
+    private Long requestId;
+    private Long employeeId;
+    private boolean success;
+    private String status;
+    private String errorCode;
+    private String message;
+
+    public BulkDecisionResult() {
+    }
+
+    public static BulkDecisionResult succeeded(Long requestId, Long employeeId, String status) {
+        BulkDecisionResult result = new BulkDecisionResult();
+        result.requestId = requestId;
+        result.employeeId = employeeId;
+        result.success = true;
+        result.status = status;
+        return result;
+    }
+
+    public static BulkDecisionResult failed(Long requestId, String errorCode, String message) {
+        BulkDecisionResult result = new BulkDecisionResult();
+        result.requestId = requestId;
+        result.success = false;
+        result.errorCode = errorCode;
+        result.message = message;
+        return result;
+    }
+
+    /**
+     * 成功件数を数える
+     */
+    public static long countSucceeded(List<BulkDecisionResult> results) {
+        return results.stream().filter(BulkDecisionResult::isSuccess).count();
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(Long requestId) {
+        this.requestId = requestId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public void setSuccess(boolean success) {
+        this.success = success;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    public void setErrorCode(String errorCode) {
+        this.errorCode = errorCode;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,83 @@
+package com.kintai.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 月次レポート一括出力ジョブの状態
+ */
+public class BulkReportExportStatus {
+
+    private String jobId;
+    private String yearMonth;
+    private String status;
+    private int totalEmployees;
+    private int completedEmployees;
+    private List<Long> failedEmployeeIds;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getYearMonth() {
+        return yearMonth;
+    }
+
+    public void setYearMonth(String yearMonth) {
+        this.yearMonth = yearMonth;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getTotalEmployees() {
+        return totalEmployees;
+    }
+
+    public void setTotalEmployees(int totalEmployees) {
+        this.totalEmployees = totalEmployees;
+    }
+
+    public int getCompletedEmployees() {
+        return completedEmployees;
+    }
+
+    public void setCompletedEmployees(int completedEmployees) {
+        this.completedEmployees = completedEmployees;
+    }
+
+    public List<Long> getFailedEmployeeIds() {
+        return failedEmployeeIds;
+    }
+
+    public void setFailedEmployeeIds(List<Long> failedEmployeeIds) {
+        this.failedEmployeeIds = failedEmployeeIds;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
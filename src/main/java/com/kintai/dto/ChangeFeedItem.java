@@ -0,0 +1,66 @@
+package com.kintai.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 変更フィードの1件（変更された行の種別・キーと現在の内容）
+ */
+public class ChangeFeedItem {
+
+    private String type;
+    private Long id;
+    private Long employeeId;
+    private LocalDateTime updatedAt;
+    private Object data;
+
+    public ChangeFeedItem() {
+    }
+
+    public ChangeFeedItem(String type, Long id, Long employeeId, LocalDateTime updatedAt, Object data) {
+        this.type = type;
+        this.id = id;
+        this.employeeId = employeeId;
+        this.updatedAt = updatedAt;
+        this.data = data;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public void setEmployeeId(Long employeeId) {
+        this.employeeId = employeeId;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public Object getData() {
+        return data;
+    }
+
+    public void setData(Object data) {
+        this.data = data;
+    }
+}
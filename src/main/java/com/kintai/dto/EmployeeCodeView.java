@@ -0,0 +1,12 @@
+package com.kintai.dto;
+
+/**
+ * 従業員IDと社員コードのみのビュー（インターフェースベースのプロジェクション）
+ * 一括出力で社員コードを付与するために、エンティティを読み込まずに対応表を作る。
+ */
+public interface EmployeeCodeView {
+
+    Long getEmployeeId();
+
+    String getEmployeeCode();
+}
@@ -0,0 +1,24 @@
+package com.kintai.dto;
+
+import java.time.LocalDate;
+
+/**
+ * 社員一覧用の軽量ビュー（インターフェースベースのプロジェクション）
+ * 一覧表示に必要な列のみを取得し、エンティティ全体の読み込みとシリアライズを避ける。
+ */
+public interface EmployeeSummaryView {
+
+    Long getEmployeeId();
+
+    String getEmployeeCode();
+
+    String getLastName();
+
+    String getFirstName();
+
+    Boolean getIsActive();
+
+    LocalDate getHireDate();
+
+    LocalDate getRetirementDate();
+}
@@ -0,0 +1,83 @@
+package com.kintai.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 勤怠再計算ジョブの進捗
+ */
+public class RecalculationProgressDto {
+
+    private Long requestId;
+    private String status;
+    private int totalDays;
+    private int processedDays;
+    private LocalDateTime submittedAt;
+    private LocalDateTime finishedAt;
+    private String errorMessage;
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public void setRequestId(Long requestId) {
+        this.requestId = requestId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getTotalDays() {
+        return totalDays;
+    }
+
+    public void setTotalDays(int totalDays) {
+        this.totalDays = totalDays;
+    }
+
+    public int getProcessedDays() {
+        return processedDays;
+    }
+
+    public void setProcessedDays(int processedDays) {
+        this.processedDays = processedDays;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public void setSubmittedAt(LocalDateTime submittedAt) {
+        this.submittedAt = submittedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * 進捗率（0-100）
+     */
+    public int getPercent() {
+        if (totalDays <= 0) {
+            return 0;
+        }
+        return (int) Math.min(100, (processedDays * 100L) / totalDays);
+    }
+}
@@ -8,6 +8,8 @@ public class ReportGenerateResponse {
     private boolean success;
     private String pdfUrl;
     private String message;
+    private String jobId;
+    private String statusUrl;
 
     // デフォルトコンストラクタ
     public ReportGenerateResponse() {
@@ -27,6 +29,17 @@ public class ReportGenerateResponse {
         return new ReportGenerateResponse(false, null, message);
     }
 
+    /**
+     * 非同期生成ジョブ受付時のレスポンス
+     * pdfUrl は生成完了後に利用できるダウンロードURL
+     */
+    public static ReportGenerateResponse accepted(String jobId, String statusUrl, String pdfUrl) {
+        ReportGenerateResponse response = new ReportGenerateResponse(true, pdfUrl, null);
+        response.setJobId(jobId);
+        response.setStatusUrl(statusUrl);
+        return response;
+    }
+
     public boolean isSuccess() {
         return success;
     }
@@ -51,12 +64,29 @@ public class ReportGenerateResponse {
         this.message = message;
     }
 
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public String getStatusUrl() {
+        return statusUrl;
+    }
+
+    public void setStatusUrl(String statusUrl) {
+        this.statusUrl = statusUrl;
+    }
+
     @Override
     public String toString() {
         return "ReportGenerateResponse{" +
                 "success=" + success +
                 ", pdfUrl='" + pdfUrl + '\'' +
                 ", message='" + message + '\'' +
+                ", jobId='" + jobId + '\'' +
                 '}';
     }
 }
@@ -8,7 +8,11 @@ import java.time.LocalDateTime;
  * 勤怠修正申請エンティティ
  */
 @Entity
-@Table(name = "adjustment_requests")
+@Table(name = "adjustment_requests",
+        indexes = {
+                @Index(name = "idx_adjustment_requests_updated_at", columnList = "updated_at, adjustment_request_id")
+        })
+@EntityListeners(OutboxEntityListener.class)
 public class AdjustmentRequest {
     
     @Id
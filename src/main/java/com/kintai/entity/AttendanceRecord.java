@@ -8,7 +8,11 @@ import java.time.LocalDateTime;
  * 勤怠記録エンティティ
  */
 @Entity
-@Table(name = "attendance_records")
+@Table(name = "attendance_records",
+        indexes = {
+                @Index(name = "idx_attendance_records_updated_at", columnList = "updated_at, attendance_id")
+        })
+@EntityListeners(OutboxEntityListener.class)
 public class AttendanceRecord {
     
     @Id
@@ -1,6 +1,8 @@
 package com.kintai.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -15,6 +17,8 @@ import java.time.LocalDateTime;
                 @Index(name = "idx_custom_holidays_employee", columnList = "employee_id"),
                 @Index(name = "idx_custom_holidays_date", columnList = "holiday_date")
         })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "custom-holidays")
 public class CustomHoliday {
 
     @Id
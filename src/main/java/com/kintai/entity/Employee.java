@@ -1,6 +1,8 @@
 package com.kintai.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 
@@ -9,6 +11,9 @@ import java.time.LocalDate;
  */
 @Entity
 @Table(name = "employees")
+@EntityListeners(EmployeeChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "employees")
 public class Employee {
     
     @Id
@@ -0,0 +1,26 @@
+package com.kintai.entity;
+
+import com.kintai.service.EmployeeTableVersion;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreRemove;
+import jakarta.persistence.PreUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 従業員エンティティの変更を検知してテーブルバージョンを進めるリスナー
+ * 変更のSQLより前に呼ばれる変更前コールバックで加算し、バージョン行のロックを従業員行より先に取得する
+ */
+@Component
+public class EmployeeChangeListener {
+
+    @Autowired
+    private EmployeeTableVersion employeeTableVersion;
+
+    @PrePersist
+    @PreUpdate
+    @PreRemove
+    public void onChange(Employee employee) {
+        employeeTableVersion.markChanged();
+    }
+}
@@ -10,6 +10,7 @@ import java.time.LocalDateTime;
  */
 @Entity
 @Table(name = "holiday_requests")
+@EntityListeners(OutboxEntityListener.class)
 public class HolidayRequest {
 
     public enum RequestType {
@@ -10,7 +10,11 @@ import java.time.LocalDateTime;
  * 休暇申請エンティティ
  */
 @Entity
-@Table(name = "leave_requests")
+@Table(name = "leave_requests",
+        indexes = {
+                @Index(name = "idx_leave_requests_updated_at", columnList = "updated_at, id")
+        })
+@EntityListeners(OutboxEntityListener.class)
 public class LeaveRequest {
 
     @Id
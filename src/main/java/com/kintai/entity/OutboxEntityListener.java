@@ -0,0 +1,43 @@
+package com.kintai.entity;
+
+import com.kintai.event.DomainChangeEvent;
+import com.kintai.service.OutboxRecorder;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * 勤怠記録・各種申請エンティティの変更をアウトボックスへ記録するリスナー
+ */
+@Component
+public class OutboxEntityListener {
+
+    // エンティティマネージャーファクトリの生成中に作成されるため、記録処理は初回使用時に解決する
+    @Autowired
+    @Lazy
+    private OutboxRecorder outboxRecorder;
+
+    @PostLoad
+    public void onLoad(Object entity) {
+        outboxRecorder.track();
+    }
+
+    @PostPersist
+    public void onCreate(Object entity) {
+        outboxRecorder.record(entity, DomainChangeEvent.ChangeType.CREATED);
+    }
+
+    @PostUpdate
+    public void onUpdate(Object entity) {
+        outboxRecorder.record(entity, DomainChangeEvent.ChangeType.UPDATED);
+    }
+
+    @PostRemove
+    public void onRemove(Object entity) {
+        outboxRecorder.record(entity, DomainChangeEvent.ChangeType.DELETED);
+    }
+}
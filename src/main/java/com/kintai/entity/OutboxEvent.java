@@ -0,0 +1,127 @@
+package com.kintai.entity;
+
+import com.kintai.event.DomainChangeEvent;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * アウトボックスイベントエンティティ
+ * 変更元のデータと同じトランザクションで記録し、ディスパッチャーが配信済みになるまで再送する。
+ * 配信中はディスパッチャーが claimed_by・claimed_until で期限付きで確保し、他ノードからは配信しない。
+ */
+@Entity
+@Table(name = "outbox_events",
+        indexes = {
+                @Index(name = "idx_outbox_events_dispatched", columnList = "dispatched_at, id")
+        })
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "aggregate_type", nullable = false, length = 40)
+    private String aggregateType;
+
+    @Column(name = "aggregate_id", nullable = false)
+    private Long aggregateId;
+
+    @Column(name = "employee_id")
+    private Long employeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, length = 16)
+    private DomainChangeEvent.ChangeType changeType;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "dispatched_at")
+    private LocalDateTime dispatchedAt;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "claimed_by", length = 80)
+    private String claimedBy;
+
+    @Column(name = "claimed_until")
+    private LocalDateTime claimedUntil;
+
+    public OutboxEvent() {
+    }
+
+    public OutboxEvent(String aggregateType, Long aggregateId, Long employeeId, DomainChangeEvent.ChangeType changeType) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.employeeId = employeeId;
+        this.changeType = changeType;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    /**
+     * 配信用のイベントに変換
+     */
+    public DomainChangeEvent toEvent() {
+        return new DomainChangeEvent(id, aggregateType, aggregateId, employeeId, changeType, createdAt);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getAggregateType() {
+        return aggregateType;
+    }
+
+    public Long getAggregateId() {
+        return aggregateId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public DomainChangeEvent.ChangeType getChangeType() {
+        return changeType;
+    }
+
+    public void setChangeType(DomainChangeEvent.ChangeType changeType) {
+        this.changeType = changeType;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getDispatchedAt() {
+        return dispatchedAt;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public String getClaimedBy() {
+        return claimedBy;
+    }
+
+    public LocalDateTime getClaimedUntil() {
+        return claimedUntil;
+    }
+}
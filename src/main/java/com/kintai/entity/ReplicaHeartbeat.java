@@ -0,0 +1,40 @@
+package com.kintai.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * レプリカ遅延計測用ハートビートエンティティ
+ * プライマリへ定期的に書き込んだ時刻をレプリカから読み出し、その差をレプリケーション遅延とみなす
+ */
+@Entity
+@Table(name = "replica_heartbeats")
+public class ReplicaHeartbeat {
+
+    @Id
+    @Column(name = "id")
+    private Integer id;
+
+    @Column(name = "beat_at", nullable = false)
+    private LocalDateTime beatAt;
+
+    public ReplicaHeartbeat() {
+    }
+
+    public Integer getId() {
+        return id;
+    }
+
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    public LocalDateTime getBeatAt() {
+        return beatAt;
+    }
+
+    public void setBeatAt(LocalDateTime beatAt) {
+        this.beatAt = beatAt;
+    }
+}
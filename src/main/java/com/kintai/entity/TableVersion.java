@@ -0,0 +1,40 @@
+package com.kintai.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * テーブル変更バージョンエンティティ
+ * テーブルごとに変更のたびに加算されるバージョンを保持し、一覧APIのETag生成に使用する。
+ * 変更と同じトランザクションで加算するため、値の順序はコミット順と一致する。
+ */
+@Entity
+@Table(name = "table_versions")
+public class TableVersion {
+
+    @Id
+    @Column(name = "table_name", length = 64)
+    private String tableName;
+
+    @Column(name = "version", nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    public TableVersion() {
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -1,6 +1,8 @@
 package com.kintai.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.springframework.security.core.GrantedAuthority;
@@ -12,6 +14,8 @@ import java.util.Collections;
 
 @Entity
 @Table(name = "user_accounts")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-accounts")
 public class UserAccount implements UserDetails {
     
     @Id
@@ -1,6 +1,8 @@
 package com.kintai.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -11,6 +13,9 @@ import java.time.LocalTime;
  */
 @Entity
 @Table(name = "work_pattern_change_requests")
+@EntityListeners(OutboxEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "work-pattern-changes")
 public class WorkPatternChangeRequest {
 
     public enum Status {
@@ -0,0 +1,133 @@
+package com.kintai.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 勤務時間変更承認後の勤怠再計算ジョブエンティティ
+ * 承認と同じトランザクションで登録し、再計算した区間ごとに次の開始日を進める。
+ * 実行中のまま更新が止まったジョブ（ノードの停止など）は、残りの区間から再開する。
+ */
+@Entity
+@Table(name = "work_pattern_recalc_jobs",
+        indexes = {
+                @Index(name = "idx_work_pattern_recalc_jobs_status", columnList = "status, updated_at")
+        })
+public class WorkPatternRecalculationJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    @Id
+    @Column(name = "request_id")
+    private Long requestId;
+
+    @Column(name = "employee_id", nullable = false)
+    private Long employeeId;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+
+    /** 次に再計算する区間の開始日 */
+    @Column(name = "next_date", nullable = false)
+    private LocalDate nextDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    private Status status = Status.QUEUED;
+
+    @Column(name = "total_days", nullable = false)
+    private Integer totalDays;
+
+    @Column(name = "processed_days", nullable = false)
+    private Integer processedDays = 0;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "submitted_at", nullable = false)
+    private LocalDateTime submittedAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    public WorkPatternRecalculationJob() {
+    }
+
+    public WorkPatternRecalculationJob(WorkPatternChangeRequest request) {
+        this.requestId = request.getRequestId();
+        this.employeeId = request.getEmployeeId();
+        this.startDate = request.getStartDate();
+        this.endDate = request.getEndDate();
+        this.nextDate = request.getStartDate();
+        this.totalDays = (int) ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) + 1;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        submittedAt = now;
+        updatedAt = now;
+    }
+
+    public Long getRequestId() {
+        return requestId;
+    }
+
+    public Long getEmployeeId() {
+        return employeeId;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public LocalDate getNextDate() {
+        return nextDate;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Integer getTotalDays() {
+        return totalDays;
+    }
+
+    public Integer getProcessedDays() {
+        return processedDays;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public LocalDateTime getSubmittedAt() {
+        return submittedAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
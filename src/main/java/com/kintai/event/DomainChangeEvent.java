@@ -0,0 +1,27 @@
+package com.kintai.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * 勤怠・各種申請の変更イベント
+ * アウトボックスに記録された変更をディスパッチャーがコミット後に非同期で配信する。
+ * 配信は少なくとも1回（重複あり）のため、受信側は eventId または集約の現在の状態を元に冪等に処理すること。
+ */
+public record DomainChangeEvent(
+        Long eventId,
+        String aggregateType,
+        Long aggregateId,
+        Long employeeId,
+        ChangeType changeType,
+        LocalDateTime occurredAt
+) {
+
+    /**
+     * 変更の種類
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
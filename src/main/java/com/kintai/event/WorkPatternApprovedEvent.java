@@ -0,0 +1,15 @@
+package com.kintai.event;
+
+import java.time.LocalDate;
+
+/**
+ * 勤務時間変更申請の承認イベント
+ * 長期間の申請は勤怠再計算を非同期ジョブで行うため、コミット後にこのイベントで通知する
+ */
+public record WorkPatternApprovedEvent(
+        Long requestId,
+        Long employeeId,
+        LocalDate startDate,
+        LocalDate endDate
+) {
+}
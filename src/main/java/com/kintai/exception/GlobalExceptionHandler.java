@@ -1,6 +1,8 @@
 package com.kintai.exception;
 
 import com.kintai.dto.ClockResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
@@ -20,6 +22,8 @@ import java.util.stream.Collectors;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
     /**
      * バリデーションエラーのハンドリング
      */
@@ -137,7 +141,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<ClockResponse> handleAllExceptions(Exception ex) {
-        ex.printStackTrace(); // デバッグ用
+        log.error("予期しないエラーが発生しました", ex);
         ClockResponse errorResponse = new ClockResponse(false, "INTERNAL_ERROR", "サーバーエラーが発生しました: " + ex.getMessage());
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
     }
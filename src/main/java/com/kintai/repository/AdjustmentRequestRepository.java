@@ -1,12 +1,17 @@
 package com.kintai.repository;
 
 import com.kintai.entity.AdjustmentRequest;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -85,4 +90,37 @@ public interface AdjustmentRequestRepository extends JpaRepository<AdjustmentReq
                                                                 @Param("startDate") LocalDate startDate,
                                                                 @Param("endDate") LocalDate endDate);
 
+    /**
+     * カーソル（更新日時・申請ID）より後に更新された打刻修正申請を取得（変更フィード用）
+     * @param updatedAt カーソルの更新日時
+     * @param afterId カーソルの更新日時と同時刻の行のうち、これより大きいIDのみ対象
+     * @param upperBound この日時より前に更新された行のみ対象
+     * @param pageable 取得件数
+     * @return 打刻修正申請リスト（更新日時・申請ID昇順）
+     */
+    @Query("SELECT ar FROM AdjustmentRequest ar WHERE ar.updatedAt >= :updatedAt AND ar.updatedAt < :upperBound " +
+            "AND (ar.updatedAt > :updatedAt OR ar.adjustmentRequestId > :afterId) " +
+            "ORDER BY ar.updatedAt ASC, ar.adjustmentRequestId ASC")
+    List<AdjustmentRequest> findChangedSince(@Param("updatedAt") LocalDateTime updatedAt,
+                                             @Param("afterId") Long afterId,
+                                             @Param("upperBound") LocalDateTime upperBound,
+                                             Pageable pageable);
+
+    /**
+     * 修正申請を更新ロック付きで取得（承認・却下・取消の状態確認を直列化する）
+     * @param id 修正申請ID
+     * @return 修正申請（存在しない場合は空）
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ar FROM AdjustmentRequest ar WHERE ar.adjustmentRequestId = :id")
+    Optional<AdjustmentRequest> findForUpdate(@Param("id") Long id);
+
+    /**
+     * 複数の修正申請を更新ロック付きで取得（一括承認・却下用、デッドロックを避けるためID順にロックする）
+     * @param ids 修正申請IDリスト
+     * @return 修正申請リスト（ID昇順）
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT ar FROM AdjustmentRequest ar WHERE ar.adjustmentRequestId IN :ids ORDER BY ar.adjustmentRequestId")
+    List<AdjustmentRequest> findAllForUpdate(@Param("ids") Collection<Long> ids);
 }
@@ -1,7 +1,10 @@
 package com.kintai.repository;
 
 import com.kintai.entity.AdminAccount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -17,6 +20,7 @@ public interface AdminAccountRepository extends JpaRepository<AdminAccount, Long
      * @param username ユーザー名
      * @return 管理者アカウント（存在しない場合は空）
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<AdminAccount> findByUsername(String username);
     
     /**
@@ -1,14 +1,22 @@
 package com.kintai.repository;
 
 import com.kintai.entity.AttendanceRecord;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * 勤怠記録リポジトリ
@@ -34,6 +42,14 @@ public interface AttendanceRecordRepository extends JpaRepository<AttendanceReco
     @Query(value = "SELECT * FROM attendance_records WHERE employee_id = :employeeId AND attendance_date = :date AND attendance_fixed_flag = false ORDER BY attendance_id DESC LIMIT 1", nativeQuery = true)
     List<AttendanceRecord> findEditableRecords(@Param("employeeId") Long employeeId, @Param("date") LocalDate date);
     
+    /**
+     * 従業員の勤怠記録が存在するかチェック
+     * 勤怠記録テーブルには従業員への外部キーがないため、従業員の削除前に確認する
+     * @param employeeId 従業員ID
+     * @return 勤怠記録が1件以上ある場合true
+     */
+    boolean existsByEmployeeId(Long employeeId);
+    
     /**
      * 従業員IDと勤怠日で出勤済みかチェック
      * @param employeeId 従業員ID
@@ -52,12 +68,27 @@ public interface AttendanceRecordRepository extends JpaRepository<AttendanceReco
     
     /**
      * 従業員IDと年月で勤怠記録を検索
+     * 勤怠日を関数で加工せず月初〜月末の範囲条件で検索し、(employee_id, attendance_date) のインデックスと
+     * 月単位のパーティション（MySQL）の絞り込みが効くようにする
+     * @param empId 従業員ID
+     * @param year 年
+     * @param month 月
+     * @return 該当月の勤怠記録リスト（日付昇順）
+     */
+    default List<AttendanceRecord> findByEmployeeAndMonth(Long empId, int year, int month) {
+        YearMonth yearMonth = YearMonth.of(year, month);
+        return findByEmployeeIdAndAttendanceDateBetweenOrderByAttendanceDateAsc(
+                empId, yearMonth.atDay(1), yearMonth.atEndOfMonth());
+    }
+
+    /**
+     * 従業員IDと日付範囲で勤怠記録を検索（日付昇順）
      * @param employeeId 従業員ID
-     * @param yearMonth 年月（yyyy-MM形式）
-     * @return 該当月の勤怠記録リスト
+     * @param startDate 開始日
+     * @param endDate 終了日
+     * @return 勤怠記録リスト（日付昇順）
      */
-    @Query("SELECT ar FROM AttendanceRecord ar WHERE ar.employeeId = :empId AND YEAR(ar.attendanceDate) = :year AND MONTH(ar.attendanceDate) = :month")
-    List<AttendanceRecord> findByEmployeeAndMonth(@Param("empId") Long empId, @Param("year") int year, @Param("month") int month);
+    List<AttendanceRecord> findByEmployeeIdAndAttendanceDateBetweenOrderByAttendanceDateAsc(Long employeeId, LocalDate startDate, LocalDate endDate);
     
     /**
      * 従業員IDと日付範囲で勤怠記録を検索（日付降順）
@@ -67,7 +98,53 @@ public interface AttendanceRecordRepository extends JpaRepository<AttendanceReco
      * @return 勤怠記録リスト（日付降順）
      */
     List<AttendanceRecord> findByEmployeeIdAndAttendanceDateBetweenOrderByAttendanceDateDesc(Long employeeId, LocalDate startDate, LocalDate endDate);
+
+    /**
+     * 複数従業員の期間内の勤怠記録を一括取得
+     * @param employeeIds 従業員IDリスト
+     * @param startDate 開始日
+     * @param endDate 終了日
+     * @return 勤怠記録リスト（従業員ID・日付昇順）
+     */
+    List<AttendanceRecord> findByEmployeeIdInAndAttendanceDateBetweenOrderByEmployeeIdAscAttendanceDateAsc(
+            Collection<Long> employeeIds, LocalDate startDate, LocalDate endDate);
     
+    /**
+     * 期間内の全従業員の勤怠記録を前方向カーソルで順次取得（一括出力用）
+     * 結果セットを fetchSize 件ずつ読み進めるため、件数に関わらず全件をメモリに載せない。
+     * 読み取り専用トランザクション内で使用し、Stream は必ずクローズすること。
+     * MySQL でカーソル取得を有効にするには接続URLに useCursorFetch=true が必要
+     * @param startDate 開始日
+     * @param endDate 終了日
+     * @return 勤怠記録のストリーム（従業員ID・日付昇順）
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT ar FROM AttendanceRecord ar WHERE ar.attendanceDate BETWEEN :startDate AND :endDate " +
+            "ORDER BY ar.employeeId ASC, ar.attendanceDate ASC, ar.attendanceId ASC")
+    Stream<AttendanceRecord> streamByAttendanceDateBetween(@Param("startDate") LocalDate startDate,
+                                                           @Param("endDate") LocalDate endDate);
+
+    /**
+     * カーソル（更新日時・勤怠ID）より後に更新された勤怠記録を取得（変更フィード用）
+     * 更新日時の範囲で索引を使えるよう、同一日時のID比較は範囲条件の内側に置く
+     * @param updatedAt カーソルの更新日時
+     * @param afterId カーソルの更新日時と同時刻の行のうち、これより大きいIDのみ対象
+     * @param upperBound この日時より前に更新された行のみ対象（未確定の更新を除外）
+     * @param pageable 取得件数
+     * @return 勤怠記録リスト（更新日時・勤怠ID昇順）
+     */
+    @Query("SELECT ar FROM AttendanceRecord ar WHERE ar.updatedAt >= :updatedAt AND ar.updatedAt < :upperBound " +
+            "AND (ar.updatedAt > :updatedAt OR ar.attendanceId > :afterId) " +
+            "ORDER BY ar.updatedAt ASC, ar.attendanceId ASC")
+    List<AttendanceRecord> findChangedSince(@Param("updatedAt") LocalDateTime updatedAt,
+                                            @Param("afterId") Long afterId,
+                                            @Param("upperBound") LocalDateTime upperBound,
+                                            Pageable pageable);
+
     /**
      * 従業員IDで勤怠記録を検索（日付降順）
      * @param employeeId 従業員ID
@@ -0,0 +1,27 @@
+package com.kintai.repository;
+
+import com.kintai.entity.CodeSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * 採番シーケンスリポジトリ
+ */
+@Repository
+public interface CodeSequenceRepository extends JpaRepository<CodeSequence, String> {
+
+    /**
+     * シーケンス行を更新ロック付きで取得
+     * @param sequenceName シーケンス名
+     * @return シーケンス（未作成の場合は空）
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CodeSequence s WHERE s.sequenceName = :sequenceName")
+    Optional<CodeSequence> findForUpdate(@Param("sequenceName") String sequenceName);
+}
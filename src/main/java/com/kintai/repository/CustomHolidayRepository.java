@@ -1,8 +1,11 @@
 package com.kintai.repository;
 
 import com.kintai.entity.CustomHoliday;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -24,12 +27,14 @@ public interface CustomHolidayRepository extends JpaRepository<CustomHoliday, Lo
     /**
      * 指定日のカスタム休日を取得
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT ch FROM CustomHoliday ch WHERE ch.employeeId = :employeeId AND ch.holidayDate = :date")
     Optional<CustomHoliday> findByEmployeeIdAndDate(@Param("employeeId") Long employeeId, @Param("date") LocalDate date);
 
     /**
      * 指定期間のカスタム休日一覧を取得
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT ch FROM CustomHoliday ch WHERE ch.employeeId = :employeeId AND ch.holidayDate BETWEEN :startDate AND :endDate ORDER BY ch.holidayDate")
     List<CustomHoliday> findByEmployeeIdAndDateRange(@Param("employeeId") Long employeeId, 
                                                    @Param("startDate") LocalDate startDate, 
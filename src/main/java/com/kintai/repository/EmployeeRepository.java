@@ -1,9 +1,21 @@
 package com.kintai.repository;
 
+import com.kintai.dto.EmployeeCodeView;
+import com.kintai.dto.EmployeeSummaryView;
 import com.kintai.entity.Employee;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,6 +29,7 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
      * @param employeeId 従業員ID
      * @return 従業員（存在しない場合は空）
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Employee> findByEmployeeId(Long employeeId);
     
     /**
@@ -24,6 +37,7 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
      * @param employeeCode 社員コード
      * @return 従業員（存在しない場合は空）
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Employee> findByEmployeeCode(String employeeCode);
     
     
@@ -33,4 +47,58 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
      * @return 在職中の従業員（存在しない場合は空）
      */
     Optional<Employee> findByEmployeeCodeAndIsActiveTrue(String employeeCode);
+
+    /**
+     * 従業員行を更新ロック付きで取得（同じ従業員の勤怠の作成・更新を直列化する）
+     * 出勤打刻と修正申請の承認が同時に「勤怠なし」と判断して同じ日の勤怠を二重に作成しないよう、
+     * 勤怠を読み取る前に取得してトランザクション終了まで保持する
+     * @param employeeId 従業員ID
+     * @return 従業員（存在しない場合は空）
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Employee e WHERE e.employeeId = :employeeId")
+    Optional<Employee> lockForAttendanceUpdate(@Param("employeeId") Long employeeId);
+
+    /**
+     * 在職中の従業員を従業員ID順に取得
+     * @return 在職中の従業員リスト
+     */
+    List<Employee> findByIsActiveTrueOrderByEmployeeIdAsc();
+
+    /**
+     * 指定プレフィックスで始まる社員コードを取得（採番シーケンスの初期化用）
+     * @param prefix 社員コードのプレフィックス
+     * @return 社員コード一覧
+     */
+    @Query("SELECT e.employeeCode FROM Employee e WHERE e.employeeCode LIKE CONCAT(:prefix, '%')")
+    List<String> findEmployeeCodesStartingWith(@Param("prefix") String prefix);
+
+    /**
+     * 全従業員の従業員IDと社員コードを取得
+     * @return 従業員ID・社員コードのビュー
+     */
+    List<EmployeeCodeView> findAllProjectedBy();
+
+    /**
+     * 社員一覧の軽量ビューをページ単位で検索
+     * @param keyword 社員コード・氏名・カナの部分一致（小文字化・%付与済み、nullの場合は条件なし）
+     * @param active 在職状態（nullの場合は条件なし）
+     * @param pageable ページ・ソート条件
+     * @return 社員一覧ビュー
+     */
+    @Query(value = "SELECT e.employeeId AS employeeId, e.employeeCode AS employeeCode, e.lastName AS lastName, " +
+            "e.firstName AS firstName, e.isActive AS isActive, e.hireDate AS hireDate, e.retirementDate AS retirementDate " +
+            "FROM Employee e " +
+            "WHERE (:keyword IS NULL OR LOWER(e.employeeCode) LIKE :keyword " +
+            "OR LOWER(CONCAT(COALESCE(e.lastName, ''), COALESCE(e.firstName, ''))) LIKE :keyword " +
+            "OR CONCAT(COALESCE(e.lastKana, ''), COALESCE(e.firstKana, '')) LIKE :keyword) " +
+            "AND (:active IS NULL OR e.isActive = :active)",
+            countQuery = "SELECT COUNT(e) FROM Employee e " +
+            "WHERE (:keyword IS NULL OR LOWER(e.employeeCode) LIKE :keyword " +
+            "OR LOWER(CONCAT(COALESCE(e.lastName, ''), COALESCE(e.firstName, ''))) LIKE :keyword " +
+            "OR CONCAT(COALESCE(e.lastKana, ''), COALESCE(e.firstKana, '')) LIKE :keyword) " +
+            "AND (:active IS NULL OR e.isActive = :active)")
+    Page<EmployeeSummaryView> searchSummaries(@Param("keyword") String keyword,
+                                              @Param("active") Boolean active,
+                                              Pageable pageable);
 }
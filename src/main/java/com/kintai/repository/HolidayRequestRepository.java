@@ -2,11 +2,17 @@ package com.kintai.repository;
 
 import com.kintai.entity.HolidayRequest;
 import com.kintai.entity.HolidayRequest.Status;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface HolidayRequestRepository extends JpaRepository<HolidayRequest, Long> {
@@ -16,5 +22,22 @@ public interface HolidayRequestRepository extends JpaRepository<HolidayRequest,
     List<HolidayRequest> findByEmployeeIdAndWorkDate(Long employeeId, LocalDate workDate);
 
     long countByStatus(Status status);
-}
 
+    /**
+     * 休日出勤・振替申請を更新ロック付きで取得（承認・却下・取消の状態確認を直列化する）
+     * @param id 休日出勤・振替申請ID
+     * @return 休日出勤・振替申請（存在しない場合は空）
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT hr FROM HolidayRequest hr WHERE hr.id = :id")
+    Optional<HolidayRequest> findForUpdate(@Param("id") Long id);
+
+    /**
+     * 複数の休日出勤・振替申請を更新ロック付きで取得（一括承認・却下用、デッドロックを避けるためID順にロックする）
+     * @param ids 休日出勤・振替申請IDリスト
+     * @return 休日出勤・振替申請リスト（ID昇順）
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT hr FROM HolidayRequest hr WHERE hr.id IN :ids ORDER BY hr.id")
+    List<HolidayRequest> findAllForUpdate(@Param("ids") Collection<Long> ids);
+}
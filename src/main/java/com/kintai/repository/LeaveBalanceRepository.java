@@ -2,7 +2,11 @@ package com.kintai.repository;
 
 import com.kintai.entity.LeaveBalance;
 import com.kintai.entity.LeaveType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -14,4 +18,23 @@ public interface LeaveBalanceRepository extends JpaRepository<LeaveBalance, Long
     List<LeaveBalance> findByEmployeeId(Long employeeId);
 
     Optional<LeaveBalance> findByEmployeeIdAndLeaveType(Long employeeId, LeaveType leaveType);
+
+    /**
+     * 残数を更新ロック付きで取得（承認・取消が並行しても消化・返却が失われないようにする）
+     * @param employeeId 従業員ID
+     * @param leaveType 休暇種別
+     * @return 残数（未作成の場合は空）
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM LeaveBalance b WHERE b.employeeId = :employeeId AND b.leaveType = :leaveType")
+    Optional<LeaveBalance> findForUpdate(@Param("employeeId") Long employeeId, @Param("leaveType") LeaveType leaveType);
+
+    /**
+     * 従業員の全種別の残数を更新ロック付きで取得（一括承認用）
+     * @param employeeId 従業員ID
+     * @return 残数リスト
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM LeaveBalance b WHERE b.employeeId = :employeeId ORDER BY b.id")
+    List<LeaveBalance> findByEmployeeIdForUpdate(@Param("employeeId") Long employeeId);
 }
@@ -3,13 +3,18 @@ package com.kintai.repository;
 import com.kintai.entity.LeaveRequest;
 import com.kintai.entity.LeaveStatus;
 import com.kintai.entity.LeaveType;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +29,24 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
 
     Optional<LeaveRequest> findByIdAndEmployeeId(Long id, Long employeeId);
 
+    /**
+     * 申請を更新ロック付きで取得（同じ申請への承認・却下・取消を直列化する）
+     * @param id 休暇申請ID
+     * @return 休暇申請（存在しない場合は空）
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.id = :id")
+    Optional<LeaveRequest> findForUpdate(@Param("id") Long id);
+
+    /**
+     * 複数の申請を更新ロック付きで取得（一括承認・却下用、デッドロックを避けるためID順にロックする）
+     * @param ids 休暇申請IDリスト
+     * @return 休暇申請リスト（ID昇順）
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.id IN :ids ORDER BY lr.id")
+    List<LeaveRequest> findAllForUpdate(@Param("ids") Collection<Long> ids);
+
     @Query("SELECT COUNT(lr) > 0 FROM LeaveRequest lr " +
             "WHERE lr.employeeId = :employeeId " +
             "AND lr.status IN ('PENDING', 'APPROVED') " +
@@ -69,4 +92,15 @@ public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long
                               @Param("leaveType") LeaveType leaveType);
 
     long countByStatus(LeaveStatus status);
+
+    /**
+     * カーソル（更新日時・ID）より後に更新された休暇申請を取得（変更フィード用）
+     */
+    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.updatedAt >= :updatedAt AND lr.updatedAt < :upperBound " +
+            "AND (lr.updatedAt > :updatedAt OR lr.id > :afterId) " +
+            "ORDER BY lr.updatedAt ASC, lr.id ASC")
+    List<LeaveRequest> findChangedSince(@Param("updatedAt") LocalDateTime updatedAt,
+                                        @Param("afterId") Long afterId,
+                                        @Param("upperBound") LocalDateTime upperBound,
+                                        Pageable pageable);
 }
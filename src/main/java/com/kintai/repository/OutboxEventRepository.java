@@ -0,0 +1,109 @@
+package com.kintai.repository;
+
+import com.kintai.entity.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * アウトボックスイベントリポジトリ
+ */
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * 未配信のイベントを記録順に取得（再送上限に達したもの、他のノードが確保中のものを除く）
+     * @param maxAttempts 再送上限
+     * @param now 現在日時
+     * @param pageable 取得件数
+     * @return 未配信イベントリスト（ID昇順）
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.dispatchedAt IS NULL AND e.attempts < :maxAttempts " +
+           "AND (e.claimedUntil IS NULL OR e.claimedUntil < :now) ORDER BY e.id ASC")
+    List<OutboxEvent> findPending(@Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * 未配信で他のノードが確保していないイベントを確保する
+     * 確保の期限が切れたイベントは確保し直せる
+     * @param ids 確保するイベントID
+     * @param claimToken 今回の確保を識別する値
+     * @param claimedUntil 確保の期限
+     * @param now 現在日時
+     * @return 確保できた件数
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedBy = :claimToken, e.claimedUntil = :claimedUntil " +
+           "WHERE e.id IN :ids AND e.dispatchedAt IS NULL AND (e.claimedUntil IS NULL OR e.claimedUntil < :now)")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimToken") String claimToken,
+              @Param("claimedUntil") LocalDateTime claimedUntil, @Param("now") LocalDateTime now);
+
+    /**
+     * 確保したイベントを記録順に取得
+     * @param claimToken 確保時に指定した値
+     * @return 確保したイベントリスト（ID昇順）
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.claimedBy = :claimToken AND e.dispatchedAt IS NULL ORDER BY e.id ASC")
+    List<OutboxEvent> findClaimed(@Param("claimToken") String claimToken);
+
+    /**
+     * 指定したIDより前の未配信イベントのうち、他の確保に含まれるもの
+     * 同じ集約の古いイベントを他のノードが配信中の場合に、新しいイベントを先に配信しないために使用する
+     * @param beforeId このIDより前のイベントが対象
+     * @param claimToken 自身の確保時に指定した値
+     * @param maxAttempts 再送上限
+     * @return 未配信イベントリスト
+     */
+    @Query("SELECT e FROM OutboxEvent e WHERE e.id < :beforeId AND e.dispatchedAt IS NULL AND e.attempts < :maxAttempts " +
+           "AND (e.claimedBy IS NULL OR e.claimedBy <> :claimToken)")
+    List<OutboxEvent> findPendingBefore(@Param("beforeId") Long beforeId, @Param("claimToken") String claimToken,
+                                        @Param("maxAttempts") int maxAttempts);
+
+    /**
+     * 配信しなかったイベントの確保を解除する
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.claimedBy = NULL, e.claimedUntil = NULL WHERE e.id IN :ids AND e.claimedBy = :claimToken")
+    int release(@Param("ids") Collection<Long> ids, @Param("claimToken") String claimToken);
+
+    /**
+     * イベントを配信済みにする
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.dispatchedAt = :dispatchedAt WHERE e.id IN :ids")
+    int markDispatched(@Param("ids") Collection<Long> ids, @Param("dispatchedAt") LocalDateTime dispatchedAt);
+
+    /**
+     * 配信失敗を記録し、確保を解除する
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = e.attempts + 1, e.lastError = :error, " +
+           "e.claimedBy = NULL, e.claimedUntil = NULL WHERE e.id = :id")
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+
+    /**
+     * 配信済みで保持期間を過ぎたイベントを削除
+     * @param threshold この日時より前に配信されたイベントが対象
+     * @return 削除件数
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.dispatchedAt < :threshold")
+    int deleteDispatchedBefore(@Param("threshold") LocalDateTime threshold);
+
+    /**
+     * 再送上限に達した未配信イベント数
+     */
+    long countByDispatchedAtIsNullAndAttemptsGreaterThanEqual(int attempts);
+}
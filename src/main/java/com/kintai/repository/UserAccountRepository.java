@@ -1,7 +1,10 @@
 package com.kintai.repository;
 
 import com.kintai.entity.UserAccount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -14,6 +17,7 @@ public interface UserAccountRepository extends JpaRepository<UserAccount, Long>
      * @param username ユーザー名
      * @return ユーザーアカウント（存在しない場合は空）
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<UserAccount> findByUsername(String username);
     
     /**
@@ -22,6 +26,7 @@ public interface UserAccountRepository extends JpaRepository<UserAccount, Long>
      * @param enabled 有効フラグ
      * @return ユーザーアカウント（存在しない場合は空）
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<UserAccount> findByUsernameAndEnabled(String username, boolean enabled);
     
     /**
@@ -29,5 +34,6 @@ public interface UserAccountRepository extends JpaRepository<UserAccount, Long>
      * @param employeeId 社員ID
      * @return ユーザーアカウント（存在しない場合は空）
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<UserAccount> findByEmployeeId(Long employeeId);
 }
@@ -1,13 +1,20 @@
 package com.kintai.repository;
 
 import com.kintai.entity.WorkPatternChangeRequest;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface WorkPatternChangeRequestRepository extends JpaRepository<WorkPatternChangeRequest, Long> {
@@ -18,6 +25,7 @@ public interface WorkPatternChangeRequestRepository extends JpaRepository<WorkPa
 
     long countByStatus(WorkPatternChangeRequest.Status status);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("""
             SELECT r FROM WorkPatternChangeRequest r
             WHERE r.employeeId = :employeeId
@@ -29,6 +37,20 @@ public interface WorkPatternChangeRequestRepository extends JpaRepository<WorkPa
     List<WorkPatternChangeRequest> findApprovedRequestsForDate(@Param("employeeId") Long employeeId,
                                                                @Param("date") LocalDate date);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("""
+            SELECT r FROM WorkPatternChangeRequest r
+            WHERE r.employeeId = :employeeId
+              AND r.status = com.kintai.entity.WorkPatternChangeRequest$Status.APPROVED
+              AND r.startDate <= :endDate
+              AND r.endDate >= :startDate
+            ORDER BY r.startDate DESC, r.requestId DESC
+            """)
+    List<WorkPatternChangeRequest> findApprovedRequestsInRange(@Param("employeeId") Long employeeId,
+                                                               @Param("startDate") LocalDate startDate,
+                                                               @Param("endDate") LocalDate endDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("""
             SELECT r FROM WorkPatternChangeRequest r
             WHERE r.employeeId = :employeeId
@@ -50,4 +72,22 @@ public interface WorkPatternChangeRequestRepository extends JpaRepository<WorkPa
     boolean existsActiveOverlap(@Param("employeeId") Long employeeId,
                                 @Param("startDate") LocalDate startDate,
                                 @Param("endDate") LocalDate endDate);
+
+    /**
+     * 勤務時間変更申請を更新ロック付きで取得（承認・却下・取消の状態確認を直列化する）
+     * @param id 勤務時間変更申請ID
+     * @return 勤務時間変更申請（存在しない場合は空）
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM WorkPatternChangeRequest r WHERE r.requestId = :id")
+    Optional<WorkPatternChangeRequest> findForUpdate(@Param("id") Long id);
+
+    /**
+     * 複数の勤務時間変更申請を更新ロック付きで取得（一括承認・却下用、デッドロックを避けるためID順にロックする）
+     * @param ids 勤務時間変更申請IDリスト
+     * @return 勤務時間変更申請リスト（ID昇順）
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM WorkPatternChangeRequest r WHERE r.requestId IN :ids ORDER BY r.requestId")
+    List<WorkPatternChangeRequest> findAllForUpdate(@Param("ids") Collection<Long> ids);
 }
@@ -0,0 +1,73 @@
+package com.kintai.repository;
+
+import com.kintai.entity.WorkPatternRecalculationJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 勤怠再計算ジョブリポジトリ
+ */
+@Repository
+public interface WorkPatternRecalculationJobRepository extends JpaRepository<WorkPatternRecalculationJob, Long> {
+
+    /**
+     * 再開が必要なジョブの申請IDを取得（待機中、または実行中のまま更新が止まったもの）
+     * @param staleBefore この日時より前から更新のない実行中ジョブを対象とする
+     * @return 申請IDリスト（登録順）
+     */
+    @Query("SELECT j.requestId FROM WorkPatternRecalculationJob j " +
+           "WHERE j.status = com.kintai.entity.WorkPatternRecalculationJob$Status.QUEUED " +
+           "OR (j.status = com.kintai.entity.WorkPatternRecalculationJob$Status.RUNNING AND j.updatedAt < :staleBefore) " +
+           "ORDER BY j.submittedAt ASC")
+    List<Long> findResumableIds(@Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * ジョブの実行権を取得（待機中、または実行中のまま更新が止まったジョブのみ）
+     * @return 取得できた場合1
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WorkPatternRecalculationJob j SET j.status = com.kintai.entity.WorkPatternRecalculationJob$Status.RUNNING, " +
+           "j.updatedAt = :now WHERE j.requestId = :requestId " +
+           "AND (j.status = com.kintai.entity.WorkPatternRecalculationJob$Status.QUEUED " +
+           "OR (j.status = com.kintai.entity.WorkPatternRecalculationJob$Status.RUNNING AND j.updatedAt < :staleBefore))")
+    int claim(@Param("requestId") Long requestId, @Param("now") LocalDateTime now,
+              @Param("staleBefore") LocalDateTime staleBefore);
+
+    /**
+     * 再計算済みの区間を記録し、次の開始日を進める
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WorkPatternRecalculationJob j SET j.nextDate = :nextDate, j.processedDays = :processedDays, " +
+           "j.updatedAt = :now WHERE j.requestId = :requestId")
+    int advance(@Param("requestId") Long requestId, @Param("nextDate") LocalDate nextDate,
+                @Param("processedDays") int processedDays, @Param("now") LocalDateTime now);
+
+    /**
+     * ジョブを終了状態にする
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE WorkPatternRecalculationJob j SET j.status = :status, j.errorMessage = :errorMessage, " +
+           "j.updatedAt = :now, j.finishedAt = :now WHERE j.requestId = :requestId")
+    int finish(@Param("requestId") Long requestId, @Param("status") WorkPatternRecalculationJob.Status status,
+               @Param("errorMessage") String errorMessage, @Param("now") LocalDateTime now);
+
+    /**
+     * 終了から保持期間を過ぎたジョブを削除
+     * @return 削除件数
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM WorkPatternRecalculationJob j WHERE j.finishedAt < :threshold")
+    int deleteFinishedBefore(@Param("threshold") LocalDateTime threshold);
+}
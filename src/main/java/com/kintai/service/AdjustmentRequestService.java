@@ -1,8 +1,10 @@
 package com.kintai.service;
 
 import com.kintai.dto.AdjustmentRequestDto;
+import com.kintai.dto.BulkDecisionResult;
 import com.kintai.entity.AdjustmentRequest;
 import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.WorkPatternChangeRequest;
 import com.kintai.exception.AttendanceException;
 import com.kintai.repository.AdjustmentRequestRepository;
 import com.kintai.repository.AttendanceRecordRepository;
@@ -10,12 +12,20 @@ import com.kintai.repository.EmployeeRepository;
 import com.kintai.util.TimeCalculator;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * 勤怠修正申請サービス
@@ -39,6 +49,12 @@ public class AdjustmentRequestService {
     @Autowired
     private WorkPatternChangeRequestService workPatternChangeRequestService;
 
+    @Autowired
+    private PendingRequestCounter pendingRequestCounter;
+
+    @Autowired
+    private BulkDecisionExecutor bulkDecisionExecutor;
+
     /**
      * 修正申請を作成
      * @param requestDto 修正申請DTO
@@ -117,7 +133,9 @@ public class AdjustmentRequestService {
             adjustmentRequest.setOriginalBreakMinutes(originalBreak);
         }
 
-        return adjustmentRequestRepository.save(adjustmentRequest);
+        AdjustmentRequest saved = adjustmentRequestRepository.save(adjustmentRequest);
+        pendingRequestCounter.increment(PendingRequestCounter.RequestKind.ADJUSTMENT);
+        return saved;
     }
     
     /**
@@ -126,8 +144,8 @@ public class AdjustmentRequestService {
      * @return 承認された修正申請
      */
     public AdjustmentRequest approveAdjustmentRequest(Long adjustmentRequestId, Long approverEmployeeId) {
-        // 1. 修正申請を取得
-        AdjustmentRequest adjustmentRequest = adjustmentRequestRepository.findById(adjustmentRequestId)
+        // 1. 修正申請を更新ロック付きで取得（同時の承認で二重に反映しないよう、状態確認の前にロックする）
+        AdjustmentRequest adjustmentRequest = adjustmentRequestRepository.findForUpdate(adjustmentRequestId)
                 .orElseThrow(() -> new AttendanceException("ADJUSTMENT_REQUEST_NOT_FOUND", "修正申請が見つかりません: " + adjustmentRequestId));
         
         // 2. 申請中かチェック
@@ -135,11 +153,134 @@ public class AdjustmentRequestService {
             throw new AttendanceException("INVALID_STATUS", "承認可能な状態ではありません");
         }
         
-        // 3. 勤怠記録を取得または作成
+        // 3. 勤怠記録を取得または作成（打刻と同時に同じ日の勤怠を作成しないよう従業員単位でロック）
+        employeeRepository.lockForAttendanceUpdate(adjustmentRequest.getEmployeeId());
         AttendanceRecord attendanceRecord = attendanceRecordRepository
                 .findByEmployeeIdAndAttendanceDate(adjustmentRequest.getEmployeeId(), adjustmentRequest.getTargetDate())
                 .orElse(new AttendanceRecord(adjustmentRequest.getEmployeeId(), adjustmentRequest.getTargetDate()));
+        Optional<WorkPatternChangeRequest> pattern = workPatternChangeRequestService != null
+                ? workPatternChangeRequestService.findApplicablePattern(adjustmentRequest.getEmployeeId(), adjustmentRequest.getTargetDate())
+                : Optional.empty();
+
+        applyApproval(adjustmentRequest, attendanceRecord, pattern, approverEmployeeId, LocalDateTime.now());
+
+        // 6. 勤怠記録を保存
+        attendanceRecordRepository.save(attendanceRecord);
+        
+        AdjustmentRequest saved = adjustmentRequestRepository.save(adjustmentRequest);
+        pendingRequestCounter.decrement(PendingRequestCounter.RequestKind.ADJUSTMENT);
+        return saved;
+    }
+
+    /**
+     * 修正申請を一括で承認・却下
+     * 従業員ごとに独立したトランザクションで、対象期間の勤怠と勤務時間変更をまとめて取得し、再計算結果を一括保存する
+     * @return 申請ごとの処理結果（指定順）
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkDecisionResult> decideAdjustmentRequests(List<Long> adjustmentRequestIds, boolean approve,
+                                                             Long approverEmployeeId, String comment) {
+        if (!approve && (comment == null || comment.trim().isEmpty())) {
+            return new LinkedHashSet<>(adjustmentRequestIds).stream()
+                    .map(id -> BulkDecisionResult.failed(id, "REJECTION_COMMENT_REQUIRED", "却下コメントは必須です"))
+                    .collect(Collectors.toList());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        return bulkDecisionExecutor.decideByEmployee(adjustmentRequestIds,
+                ids -> adjustmentRequestRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(AdjustmentRequest::getAdjustmentRequestId, AdjustmentRequest::getEmployeeId)),
+                AdjustmentRequestService::notFound,
+                (employeeId, ids) -> decideGroup(employeeId, ids, approve, approverEmployeeId, comment, now));
+    }
+
+    /**
+     * 1人分の修正申請をロックして承認・却下
+     */
+    private Map<Long, BulkDecisionResult> decideGroup(Long employeeId, List<Long> ids, boolean approve,
+                                                      Long approverEmployeeId, String comment, LocalDateTime now) {
+        Map<Long, AdjustmentRequest> found = adjustmentRequestRepository.findAllForUpdate(ids).stream()
+                .collect(Collectors.toMap(AdjustmentRequest::getAdjustmentRequestId, Function.identity()));
+        Map<Long, BulkDecisionResult> results = new HashMap<>();
+        List<AdjustmentRequest> requests = new ArrayList<>();
+        for (Long id : ids) {
+            AdjustmentRequest adjustmentRequest = found.get(id);
+            if (adjustmentRequest == null) {
+                results.put(id, notFound(id));
+            } else if (adjustmentRequest.getStatus() != AdjustmentRequest.AdjustmentStatus.PENDING) {
+                results.put(id, BulkDecisionResult.failed(id, "INVALID_STATUS",
+                        approve ? "承認可能な状態ではありません" : "却下可能な状態ではありません"));
+            } else {
+                requests.add(adjustmentRequest);
+            }
+        }
+        if (requests.isEmpty()) {
+            return results;
+        }
 
+        if (approve) {
+            approveGroup(employeeId, requests, approverEmployeeId, now);
+        } else {
+            for (AdjustmentRequest adjustmentRequest : requests) {
+                adjustmentRequest.setStatus(AdjustmentRequest.AdjustmentStatus.REJECTED);
+                adjustmentRequest.setRejectionComment(comment.trim());
+                adjustmentRequest.setRejectedByEmployeeId(approverEmployeeId);
+                adjustmentRequest.setRejectedAt(now);
+            }
+        }
+        adjustmentRequestRepository.saveAll(requests);
+        for (AdjustmentRequest adjustmentRequest : requests) {
+            pendingRequestCounter.decrement(PendingRequestCounter.RequestKind.ADJUSTMENT);
+            results.put(adjustmentRequest.getAdjustmentRequestId(), BulkDecisionResult.succeeded(
+                    adjustmentRequest.getAdjustmentRequestId(),
+                    adjustmentRequest.getEmployeeId(),
+                    adjustmentRequest.getStatus().name()));
+        }
+        return results;
+    }
+
+    private static BulkDecisionResult notFound(Long id) {
+        return BulkDecisionResult.failed(id, "ADJUSTMENT_REQUEST_NOT_FOUND", "修正申請が見つかりません: " + id);
+    }
+
+    private void approveGroup(Long employeeId, List<AdjustmentRequest> requests, Long approverEmployeeId, LocalDateTime approvedAt) {
+        LocalDate from = requests.stream().map(AdjustmentRequest::getTargetDate).min(LocalDate::compareTo).orElseThrow();
+        LocalDate to = requests.stream().map(AdjustmentRequest::getTargetDate).max(LocalDate::compareTo).orElseThrow();
+
+        employeeRepository.lockForAttendanceUpdate(employeeId);
+        // 同日に複数ある場合は findByEmployeeIdAndAttendanceDate と同様に最新IDを採用
+        Map<LocalDate, AttendanceRecord> recordsByDate = new HashMap<>();
+        for (AttendanceRecord record : attendanceRecordRepository
+                .findByEmployeeIdAndAttendanceDateBetweenOrderByAttendanceDateDesc(employeeId, from, to)) {
+            recordsByDate.merge(record.getAttendanceDate(), record,
+                    (current, candidate) -> candidate.getAttendanceId() > current.getAttendanceId() ? candidate : current);
+        }
+        List<WorkPatternChangeRequest> patterns = workPatternChangeRequestService != null
+                ? workPatternChangeRequestService.findApprovedPatternsInRange(employeeId, from, to)
+                : List.of();
+
+        List<AttendanceRecord> changed = new ArrayList<>();
+        for (AdjustmentRequest adjustmentRequest : requests) {
+            LocalDate targetDate = adjustmentRequest.getTargetDate();
+            AttendanceRecord attendanceRecord = recordsByDate.computeIfAbsent(targetDate,
+                    date -> new AttendanceRecord(employeeId, date));
+            Optional<WorkPatternChangeRequest> pattern = workPatternChangeRequestService != null
+                    ? workPatternChangeRequestService.selectApplicablePattern(patterns, targetDate)
+                    : Optional.empty();
+            applyApproval(adjustmentRequest, attendanceRecord, pattern, approverEmployeeId, approvedAt);
+            changed.add(attendanceRecord);
+        }
+        attendanceRecordRepository.saveAll(changed);
+    }
+
+    /**
+     * 承認内容を勤怠記録と修正申請に反映（保存は呼び出し側で行う）
+     */
+    private void applyApproval(AdjustmentRequest adjustmentRequest,
+                               AttendanceRecord attendanceRecord,
+                               Optional<WorkPatternChangeRequest> pattern,
+                               Long approverEmployeeId,
+                               LocalDateTime approvedAt) {
         // 3-1. 承認時点の勤怠を原本として保持（既存データがない場合はnullのまま）
         if (adjustmentRequest.getOriginalClockIn() == null && adjustmentRequest.getOriginalClockOut() == null) {
             adjustmentRequest.setOriginalClockIn(attendanceRecord.getClockInTime());
@@ -160,7 +301,7 @@ public class AdjustmentRequestService {
         // 5. 遅刻・早退・残業・深夜を再計算
         timeCalculator.calculateAttendanceMetrics(attendanceRecord);
         if (workPatternChangeRequestService != null) {
-            workPatternChangeRequestService.applyPatternMetrics(attendanceRecord);
+            workPatternChangeRequestService.applyPatternMetrics(attendanceRecord, pattern);
             int late = attendanceRecord.getLateMinutes() == null ? 0 : attendanceRecord.getLateMinutes();
             int early = attendanceRecord.getEarlyLeaveMinutes() == null ? 0 : attendanceRecord.getEarlyLeaveMinutes();
             int overtime = attendanceRecord.getOvertimeMinutes() == null ? 0 : attendanceRecord.getOvertimeMinutes();
@@ -171,15 +312,10 @@ public class AdjustmentRequestService {
         }
         timeCalculator.normalizeMetrics(attendanceRecord);
 
-        // 6. 勤怠記録を保存
-        attendanceRecordRepository.save(attendanceRecord);
-        
         // 7. 修正申請の状態を承認に更新
         adjustmentRequest.setStatus(AdjustmentRequest.AdjustmentStatus.APPROVED);
         adjustmentRequest.setApprovedByEmployeeId(approverEmployeeId);
-        adjustmentRequest.setApprovedAt(LocalDateTime.now());
-        
-        return adjustmentRequestRepository.save(adjustmentRequest);
+        adjustmentRequest.setApprovedAt(approvedAt);
     }
     
     /**
@@ -189,7 +325,7 @@ public class AdjustmentRequestService {
      */
     public AdjustmentRequest rejectAdjustmentRequest(Long adjustmentRequestId, Long approverEmployeeId, String comment) {
         // 1. 修正申請を取得
-        AdjustmentRequest adjustmentRequest = adjustmentRequestRepository.findById(adjustmentRequestId)
+        AdjustmentRequest adjustmentRequest = adjustmentRequestRepository.findForUpdate(adjustmentRequestId)
                 .orElseThrow(() -> new AttendanceException("ADJUSTMENT_REQUEST_NOT_FOUND", "修正申請が見つかりません: " + adjustmentRequestId));
         
         // 2. 申請中かチェック
@@ -207,7 +343,9 @@ public class AdjustmentRequestService {
         adjustmentRequest.setRejectedByEmployeeId(approverEmployeeId);
         adjustmentRequest.setRejectedAt(LocalDateTime.now());
        
-        return adjustmentRequestRepository.save(adjustmentRequest);
+        AdjustmentRequest saved = adjustmentRequestRepository.save(adjustmentRequest);
+        pendingRequestCounter.decrement(PendingRequestCounter.RequestKind.ADJUSTMENT);
+        return saved;
     }
 
     /**
@@ -217,7 +355,7 @@ public class AdjustmentRequestService {
      * @return 取消後の修正申請
      */
     public AdjustmentRequest cancelAdjustmentRequest(Long adjustmentRequestId, Long employeeId) {
-        AdjustmentRequest adjustmentRequest = adjustmentRequestRepository.findById(adjustmentRequestId)
+        AdjustmentRequest adjustmentRequest = adjustmentRequestRepository.findForUpdate(adjustmentRequestId)
                 .orElseThrow(() -> new AttendanceException(AttendanceException.REQUEST_NOT_FOUND,
                         "修正申請が見つかりません: " + adjustmentRequestId));
 
@@ -232,6 +370,7 @@ public class AdjustmentRequestService {
 
         // 承認済みを取消する場合は勤怠を元に戻す
         if (adjustmentRequest.getStatus() == AdjustmentRequest.AdjustmentStatus.APPROVED) {
+            employeeRepository.lockForAttendanceUpdate(adjustmentRequest.getEmployeeId());
             attendanceRecordRepository.findByEmployeeIdAndAttendanceDate(adjustmentRequest.getEmployeeId(), adjustmentRequest.getTargetDate())
                     .ifPresent(record -> {
                         LocalDateTime revertClockIn = adjustmentRequest.getOriginalClockIn();
@@ -259,6 +398,7 @@ public class AdjustmentRequestService {
                     });
         }
 
+        boolean wasPending = adjustmentRequest.getStatus() == AdjustmentRequest.AdjustmentStatus.PENDING;
         adjustmentRequest.setStatus(AdjustmentRequest.AdjustmentStatus.CANCELLED);
         adjustmentRequest.setApprovedByEmployeeId(null);
         adjustmentRequest.setApprovedAt(null);
@@ -266,7 +406,11 @@ public class AdjustmentRequestService {
         adjustmentRequest.setRejectedAt(null);
         adjustmentRequest.setRejectionComment(null);
 
-        return adjustmentRequestRepository.save(adjustmentRequest);
+        AdjustmentRequest saved = adjustmentRequestRepository.save(adjustmentRequest);
+        if (wasPending) {
+            pendingRequestCounter.decrement(PendingRequestCounter.RequestKind.ADJUSTMENT);
+        }
+        return saved;
     }
     
     /**
@@ -302,9 +446,8 @@ public class AdjustmentRequestService {
      * 承認待ちの修正申請数を取得
      * @return 承認待ちの件数
      */
-    @Transactional(readOnly = true)
     public long getPendingRequestCount() {
-        return adjustmentRequestRepository.countByStatus(AdjustmentRequest.AdjustmentStatus.PENDING);
+        return pendingRequestCounter.get(PendingRequestCounter.RequestKind.ADJUSTMENT);
     }
     
     /**
@@ -314,10 +457,13 @@ public class AdjustmentRequestService {
     @Transactional
     public void deleteAdjustmentRequest(Long adjustmentRequestId) {
         // 修正申請の存在確認
-        AdjustmentRequest adjustmentRequest = adjustmentRequestRepository.findById(adjustmentRequestId)
+        AdjustmentRequest adjustmentRequest = adjustmentRequestRepository.findForUpdate(adjustmentRequestId)
                 .orElseThrow(() -> new AttendanceException("ADJUSTMENT_REQUEST_NOT_FOUND", "修正申請が見つかりません: " + adjustmentRequestId));
         
         // 削除実行
         adjustmentRequestRepository.delete(adjustmentRequest);
+        if (adjustmentRequest.getStatus() == AdjustmentRequest.AdjustmentStatus.PENDING) {
+            pendingRequestCounter.decrement(PendingRequestCounter.RequestKind.ADJUSTMENT);
+        }
     }
 }
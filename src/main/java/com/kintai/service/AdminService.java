@@ -2,8 +2,12 @@ package com.kintai.service;
 
 import com.kintai.entity.AttendanceRecord;
 import com.kintai.entity.Employee;
+import com.kintai.exception.AttendanceException;
 import com.kintai.repository.AttendanceRecordRepository;
 import com.kintai.repository.EmployeeRepository;
+import com.kintai.repository.UserAccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,6 +20,8 @@ import java.util.List;
 @Service
 @Transactional
 public class AdminService {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminService.class);
     
     @Autowired
     private EmployeeRepository employeeRepository;
@@ -23,6 +29,12 @@ public class AdminService {
     @Autowired
     private AttendanceRecordRepository attendanceRecordRepository;
     
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+    
+    @Autowired
+    private EmployeeTableVersion employeeTableVersion;
+    
     /**
      * 全社員一覧取得
      * @return 社員一覧
@@ -57,8 +69,32 @@ public class AdminService {
             
             return true;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("勤怠承認に失敗: 従業員ID={}, 年月={}", employeeId, yearMonth, e);
             return false;
         }
     }
+    
+    /**
+     * 社員削除（ログインアカウントとともにデータベースから完全削除）
+     * 勤怠記録テーブルには従業員への外部キーがないため、勤怠記録がある社員は削除せずに拒否する（退職処理を使用）。
+     * 出勤打刻と同じく従業員行をロックしてから確認し、確認後に勤怠が作成されないようにする。
+     * @param employeeId 従業員ID
+     * @throws AttendanceException 社員が存在しない場合、または勤怠記録がある場合
+     */
+    public void deleteEmployee(Long employeeId) {
+        // 社員の更新と同じく、従業員行より先にバージョン行をロックする
+        employeeTableVersion.markChanged();
+        Employee employee = employeeRepository.lockForAttendanceUpdate(employeeId)
+                .orElseThrow(() -> new AttendanceException(AttendanceException.EMPLOYEE_NOT_FOUND, "従業員が見つかりません"));
+        if (attendanceRecordRepository.existsByEmployeeId(employeeId)) {
+            throw new AttendanceException(AttendanceException.EMPLOYEE_HAS_ATTENDANCE,
+                    "勤怠記録がある社員は削除できません。退職処理を行ってください");
+        }
+        userAccountRepository.findByEmployeeId(employeeId)
+                .ifPresent(userAccount -> {
+                    userAccountRepository.delete(userAccount);
+                    log.info("ユーザーアカウントを削除: 従業員ID={}", employeeId);
+                });
+        employeeRepository.delete(employee);
+    }
 }
@@ -0,0 +1,144 @@
+package com.kintai.service;
+
+import com.kintai.dto.EmployeeCodeView;
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.util.TimeCalculator;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * 給与計算向け 勤怠記録CSV出力サービス
+ * 勤怠記録を前方向カーソルで1行ずつ読み、そのままCSVとして書き出す。
+ * 読み終えた行は永続化コンテキストから切り離すため、出力件数に関わらずメモリ使用量は一定に保たれる。
+ */
+@Service
+public class AttendanceCsvExportService {
+
+    private static final String HEADER = "employee_id,employee_code,attendance_date,clock_in_time,clock_out_time,"
+            + "break_minutes,working_minutes,overtime_minutes,night_shift_minutes,late_minutes,early_leave_minutes,"
+            + "attendance_status,attendance_fixed";
+
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /** 出力バッファサイズ */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private AttendanceRecordRepository attendanceRecordRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private TimeCalculator timeCalculator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 期間内の全従業員の勤怠記録をCSVとして書き出す
+     * Excel で文字化けしないよう UTF-8 の BOM を先頭に付与する
+     * @param from 開始日
+     * @param to 終了日
+     * @param outputStream 出力先（クローズしない）
+     * @return 出力した行数（ヘッダーを除く）
+     */
+    @Transactional(readOnly = true)
+    public long writeCsv(LocalDate from, LocalDate to, OutputStream outputStream) throws IOException {
+        Map<Long, String> employeeCodes = new HashMap<>();
+        for (EmployeeCodeView view : employeeRepository.findAllProjectedBy()) {
+            employeeCodes.put(view.getEmployeeId(), view.getEmployeeCode());
+        }
+
+        Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write('\uFEFF');
+        writer.write(HEADER);
+        writer.write("\r\n");
+
+        long rows = 0;
+        StringBuilder line = new StringBuilder(160);
+        try (Stream<AttendanceRecord> records = attendanceRecordRepository.streamByAttendanceDateBetween(from, to)) {
+            Iterator<AttendanceRecord> iterator = records.iterator();
+            while (iterator.hasNext()) {
+                AttendanceRecord record = iterator.next();
+                line.setLength(0);
+                appendRow(line, record, employeeCodes.get(record.getEmployeeId()));
+                writer.append(line);
+                // 書き出した行はエンティティ管理から外し、永続化コンテキストの肥大化を防ぐ
+                entityManager.detach(record);
+                rows++;
+            }
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private void appendRow(StringBuilder line, AttendanceRecord record, String employeeCode) {
+        int workingMinutes = timeCalculator.calculateWorkingMinutes(
+                record.getClockInTime(), record.getClockOutTime(), record.getBreakMinutes());
+        line.append(record.getEmployeeId()).append(',');
+        appendEscaped(line, employeeCode);
+        line.append(',').append(record.getAttendanceDate()).append(',');
+        appendTime(line, record.getClockInTime());
+        line.append(',');
+        appendTime(line, record.getClockOutTime());
+        line.append(',').append(record.getBreakMinutes())
+                .append(',').append(workingMinutes)
+                .append(',').append(record.getOvertimeMinutes())
+                .append(',').append(record.getNightShiftMinutes())
+                .append(',').append(record.getLateMinutes())
+                .append(',').append(record.getEarlyLeaveMinutes())
+                .append(',').append(record.getAttendanceStatus())
+                .append(',').append(Boolean.TRUE.equals(record.getAttendanceFixedFlag()))
+                .append("\r\n");
+    }
+
+    private void appendTime(StringBuilder line, LocalDateTime time) {
+        if (time != null) {
+            TIME_FORMATTER.formatTo(time, line);
+        }
+    }
+
+    /**
+     * CSVの値をエスケープ（区切り文字・引用符・改行を含む場合のみ引用符で囲む）
+     */
+    private void appendEscaped(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
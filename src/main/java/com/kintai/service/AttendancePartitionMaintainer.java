@@ -0,0 +1,138 @@
+package com.kintai.service;
+
+import com.kintai.util.TimeCalculator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 勤怠記録テーブルの月別パーティションを事前に作成するサービス（MySQL）
+ * V37 で勤怠日の月単位にレンジパーティション化したテーブルについて、当月から months-ahead か月先までの
+ * パーティション（pYYYYMM）が揃うよう、範囲外の受け皿である p_future を分割して追加する。
+ * p_future が空のうちに分割するため、データの移動は発生しない。
+ * パーティション化されていない場合（H2、マイグレーション未適用のMySQL）は何もしない。
+ * 複数ノードで同時に実行した場合、後から実行したノードの分割はパーティション名の重複で失敗するが、次回の実行で解消する。
+ */
+@Service
+public class AttendancePartitionMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(AttendancePartitionMaintainer.class);
+
+    static final String TABLE_NAME = "attendance_records";
+
+    static final String FUTURE_PARTITION = "p_future";
+
+    private static final Pattern MONTHLY_PARTITION = Pattern.compile("p(\\d{4})(\\d{2})");
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TimeCalculator timeCalculator;
+
+    /** 当月から何か月先までのパーティションを用意しておくか */
+    @Value("${kintai.attendance-partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    /**
+     * 不足している月別パーティションを作成（起動時と一定間隔で実行）
+     * @return 作成したパーティション数
+     */
+    @Scheduled(fixedDelayString = "${kintai.attendance-partitions.check-interval-ms:21600000}")
+    public int ensureFuturePartitions() {
+        try {
+            if (!isPartitioned()) {
+                return 0;
+            }
+            YearMonth target = YearMonth.from(timeCalculator.getCurrentTokyoTime()).plusMonths(monthsAhead);
+            List<YearMonth> missing = missingMonths(existingPartitions(), target);
+            if (missing.isEmpty()) {
+                return 0;
+            }
+            jdbcTemplate.execute(reorganizeStatement(missing));
+            log.info("[Partition] {} に月別パーティションを追加しました: {}〜{}（{}件）",
+                    TABLE_NAME, missing.get(0), missing.get(missing.size() - 1), missing.size());
+            return missing.size();
+        } catch (DataAccessException e) {
+            log.warn("[Partition] {} の月別パーティションの作成に失敗しました", TABLE_NAME, e);
+            return 0;
+        }
+    }
+
+    /**
+     * MySQL で p_future を持つパーティション化済みのテーブルか
+     */
+    private boolean isPartitioned() {
+        String product = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(product)) {
+            return false;
+        }
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME = ?",
+                Integer.class, TABLE_NAME, FUTURE_PARTITION);
+        return count != null && count > 0;
+    }
+
+    private List<String> existingPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS "
+                        + "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL",
+                String.class, TABLE_NAME);
+    }
+
+    /**
+     * 既存の最終月の翌月から target までの月（月別パーティションがない場合は target の月のみ）
+     * @param partitions 既存のパーティション名
+     * @param target 用意しておく最終月
+     * @return 作成が必要な月（昇順）
+     */
+    static List<YearMonth> missingMonths(List<String> partitions, YearMonth target) {
+        YearMonth last = null;
+        for (String name : partitions) {
+            Matcher matcher = MONTHLY_PARTITION.matcher(name);
+            if (matcher.matches()) {
+                YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+                if (last == null || month.isAfter(last)) {
+                    last = month;
+                }
+            }
+        }
+        List<YearMonth> missing = new ArrayList<>();
+        for (YearMonth month = last == null ? target : last.plusMonths(1); !month.isAfter(target); month = month.plusMonths(1)) {
+            missing.add(month);
+        }
+        return missing;
+    }
+
+    /**
+     * p_future を指定月のパーティションと新しい p_future に分割する文
+     * @param months 追加する月（昇順）
+     * @return ALTER TABLE 文
+     */
+    static String reorganizeStatement(List<YearMonth> months) {
+        String partitions = months.stream()
+                .map(month -> "PARTITION " + month.format(PARTITION_NAME)
+                        + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "')")
+                .collect(Collectors.joining(", "));
+        return "ALTER TABLE " + TABLE_NAME + " REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO ("
+                + partitions + ", PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN (MAXVALUE))";
+    }
+}
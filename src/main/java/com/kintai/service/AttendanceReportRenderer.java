@@ -0,0 +1,208 @@
+package com.kintai.service;
+
+import com.itextpdf.html2pdf.ConverterProperties;
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.itextpdf.html2pdf.resolver.font.DefaultFontProvider;
+import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.layout.font.FontProvider;
+import com.itextpdf.layout.font.FontSet;
+import com.kintai.dto.AttendanceReportDto;
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.Employee;
+import org.springframework.stereotype.Component;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 勤怠レポートのHTML組み立てとPDF変換を行うレンダラー
+ * 固定部分（スタイル・見出し・フッター）は起動時に一度だけ組み立て、フォントの読み込み結果も使い回す。
+ * 可変部分は見積もったサイズで確保したバッファにエスケープしながら書き込む。
+ */
+@Component
+public class AttendanceReportRenderer {
+
+    /** レイアウト変更時に更新する版数（レポートキャッシュのハッシュに含める） */
+    public static final String TEMPLATE_VERSION = "2";
+
+    /** 明細1行あたりのHTML文字数の見積もり */
+    private static final int ESTIMATED_ROW_LENGTH = 192;
+
+    private static final String DEFAULT_FONT_FAMILY = "Times";
+
+    private static final DateTimeFormatter YEAR_MONTH_INPUT = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final DateTimeFormatter YEAR_MONTH_DISPLAY = DateTimeFormatter.ofPattern("yyyy年M月");
+
+    private static final String TEMPLATE_HEAD = "<!DOCTYPE html>"
+            + "<html>"
+            + "<head>"
+            + "<meta charset='UTF-8'>"
+            + "<style>"
+            + "body { font-family: 'Hiragino Sans', 'Yu Gothic UI', 'Meiryo UI', sans-serif; margin: 20px; }"
+            + ".header { text-align: center; margin-bottom: 30px; border-bottom: 2px solid #333; padding-bottom: 10px; }"
+            + ".company-name { font-size: 24px; font-weight: bold; margin-bottom: 10px; }"
+            + ".report-title { font-size: 18px; margin-bottom: 5px; }"
+            + ".employee-info { font-size: 14px; margin-bottom: 20px; }"
+            + ".table { width: 100%; border-collapse: collapse; margin-bottom: 30px; }"
+            + ".table th, .table td { border: 1px solid #333; padding: 8px; text-align: center; }"
+            + ".table th { background-color: #f0f0f0; font-weight: bold; }"
+            + ".footer { margin-top: 50px; display: flex; justify-content: space-between; }"
+            + ".approval-section { text-align: center; }"
+            + ".approval-box { border: 1px solid #333; width: 200px; height: 80px; margin: 0 auto; }"
+            + "</style>"
+            + "</head>"
+            + "<body>"
+            + "<div class='header'>"
+            + "<div class='company-name'>KintaiSystem</div>"
+            + "<div class='report-title'>勤怠レポート</div>"
+            + "<div class='employee-info'>"
+            + "対象年月: ";
+
+    private static final String TABLE_HEAD = "</div>"
+            + "</div>"
+            + "<table class='table'>"
+            + "<thead>"
+            + "<tr>"
+            + "<th>日付</th>"
+            + "<th>出勤時刻</th>"
+            + "<th>退勤時刻</th>"
+            + "<th>勤怠区分</th>"
+            + "<th>残業時間</th>"
+            + "<th>遅刻分</th>"
+            + "<th>早退分</th>"
+            + "</tr>"
+            + "</thead>"
+            + "<tbody>";
+
+    private static final String EMPTY_ROW = "<tr>"
+            + "<td colspan='7' style='text-align: center;'>データなし</td>"
+            + "</tr>";
+
+    private static final String TEMPLATE_TAIL = "</tbody>"
+            + "</table>"
+            + "<div class='footer'>"
+            + "<div>ページ 1</div>"
+            + "<div class='approval-section'>"
+            + "<div>承認欄</div>"
+            + "<div class='approval-box'></div>"
+            + "</div>"
+            + "</div>"
+            + "</body>"
+            + "</html>";
+
+    private static final int FIXED_LENGTH = TEMPLATE_HEAD.length() + TABLE_HEAD.length()
+            + EMPTY_ROW.length() + TEMPLATE_TAIL.length() + 128;
+
+    /** 起動時に読み込んだフォント一覧（フォントプログラムの解析結果を全レポートで共有） */
+    private final FontSet fontSet;
+
+    public AttendanceReportRenderer() {
+        this.fontSet = new DefaultFontProvider(true, true, false).getFontSet();
+    }
+
+    /**
+     * 勤怠レポートPDFを出力ストリームへ書き出す
+     * @param employee 従業員
+     * @param yearMonth 年月（yyyy-MM形式）
+     * @param records 勤怠記録
+     * @param outputStream 出力先（クローズしない）
+     */
+    public void render(Employee employee, String yearMonth, List<AttendanceRecord> records, OutputStream outputStream) {
+        PdfWriter writer = new PdfWriter(outputStream);
+        writer.setCloseStream(false);
+        HtmlConverter.convertToPdf(renderHtml(employee, yearMonth, records), writer, newConverterProperties());
+    }
+
+    /**
+     * 勤怠レポートのHTMLを生成
+     */
+    public String renderHtml(Employee employee, String yearMonth, List<AttendanceRecord> records) {
+        StringBuilder html = new StringBuilder(FIXED_LENGTH + records.size() * ESTIMATED_ROW_LENGTH);
+        String employeeCode = employee.getEmployeeCode();
+
+        html.append(TEMPLATE_HEAD);
+        appendEscaped(html, formatYearMonth(yearMonth)).append("<br>");
+        // 社員IDの表示（employeeCodeを使用）
+        html.append("社員ID: ");
+        appendEscaped(html, employeeCode).append("<br>");
+        html.append("社員コード: ");
+        appendEscaped(html, employeeCode);
+        html.append(TABLE_HEAD);
+
+        if (records.isEmpty()) {
+            html.append(EMPTY_ROW);
+        } else {
+            for (AttendanceRecord record : records) {
+                html.append("<tr>");
+                for (String cell : rowCells(record, employeeCode)) {
+                    appendCell(html, cell);
+                }
+                html.append("</tr>");
+            }
+        }
+
+        html.append(TEMPLATE_TAIL);
+        return html.toString();
+    }
+
+    /**
+     * 勤怠記録1件分の表の出力値（列順）
+     * レポートのハッシュもこの値から算出するため、表に出力する値は必ずここで取得する
+     */
+    static List<String> rowCells(AttendanceRecord record, String employeeCode) {
+        AttendanceReportDto dto = new AttendanceReportDto(record, employeeCode, employeeCode);
+        return Arrays.asList(dto.getAttendanceDate(), dto.getClockInTime(), dto.getClockOutTime(),
+                dto.getAttendanceStatus(), dto.getOvertimeHours(), dto.getLateMinutes(), dto.getEarlyLeaveMinutes());
+    }
+
+    /**
+     * 変換設定を生成
+     * FontProvider は変換中に選択結果をキャッシュするため変換ごとに作成し、読み込み済みのフォント一覧のみ共有する
+     */
+    private ConverterProperties newConverterProperties() {
+        ConverterProperties properties = new ConverterProperties();
+        properties.setFontProvider(new FontProvider(fontSet, DEFAULT_FONT_FAMILY));
+        return properties;
+    }
+
+    private void appendCell(StringBuilder html, String value) {
+        html.append("<td>");
+        appendEscaped(html, value);
+        html.append("</td>");
+    }
+
+    /**
+     * HTMLの特殊文字をエスケープして追記
+     */
+    static StringBuilder appendEscaped(StringBuilder html, String value) {
+        if (value == null) {
+            return html.append("null");
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<' -> html.append("&lt;");
+                case '>' -> html.append("&gt;");
+                case '&' -> html.append("&amp;");
+                case '"' -> html.append("&quot;");
+                case '\'' -> html.append("&#39;");
+                default -> html.append(c);
+            }
+        }
+        return html;
+    }
+
+    /**
+     * 年月をフォーマット
+     */
+    private String formatYearMonth(String yearMonth) {
+        try {
+            return LocalDate.parse(yearMonth + "-01", YEAR_MONTH_INPUT).format(YEAR_MONTH_DISPLAY);
+        } catch (Exception e) {
+            return yearMonth;
+        }
+    }
+}
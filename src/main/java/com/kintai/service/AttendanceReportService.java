@@ -1,17 +1,25 @@
 package com.kintai.service;
 
-import com.itextpdf.html2pdf.HtmlConverter;
-import com.kintai.dto.AttendanceReportDto;
 import com.kintai.entity.AttendanceRecord;
 import com.kintai.entity.Employee;
 import com.kintai.repository.AttendanceRecordRepository;
 import com.kintai.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,6 +34,15 @@ public class AttendanceReportService {
     
     @Autowired
     private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AttendanceReportRenderer attendanceReportRenderer;
+
+    @Autowired
+    private ReportFileCache reportFileCache;
+
+    @Autowired
+    private KintaiMetrics kintaiMetrics;
     
     /**
      * 勤怠レポートPDFを生成
@@ -34,6 +51,24 @@ public class AttendanceReportService {
      * @return PDFバイト配列
      */
     public byte[] generateAttendanceReportPdf(Long employeeId, String yearMonth) {
+        ReportSource source = prepareReport(employeeId, yearMonth);
+        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
+            writePdf(source, outputStream);
+            return outputStream.toByteArray();
+        } catch (Exception e) {
+            throw new RuntimeException("PDF生成に失敗しました", e);
+        }
+    }
+
+    /**
+     * 勤怠レポートの元データを取得
+     * レスポンス送信前に従業員の存在確認とデータ取得を済ませるため、PDF書き出しとは分けて呼び出す
+     * @param employeeId 従業員ID
+     * @param yearMonth 年月（yyyy-MM形式）
+     * @return レポート元データ
+     * @throws IllegalArgumentException 従業員が見つからない場合
+     */
+    public ReportSource prepareReport(Long employeeId, String yearMonth) {
         // 従業員情報を取得
         Optional<Employee> employeeOpt = employeeRepository.findById(employeeId);
         if (employeeOpt.isEmpty()) {
@@ -47,124 +82,119 @@ public class AttendanceReportService {
         int year = Integer.parseInt(parts[0]);
         int month = Integer.parseInt(parts[1]);
         List<AttendanceRecord> records = attendanceRecordRepository.findByEmployeeAndMonth(employeeId, year, month);
-        
-        // HTMLを生成
-        String html = generateHtml(employee, yearMonth, records);
-        
-        // PDFに変換
-        try (ByteArrayOutputStream outputStream = new ByteArrayOutputStream()) {
-            HtmlConverter.convertToPdf(html, outputStream);
-            return outputStream.toByteArray();
-        } catch (Exception e) {
-            throw new RuntimeException("PDF生成に失敗しました", e);
+        return new ReportSource(employee, yearMonth, records);
+    }
+
+    /**
+     * 勤怠レポートPDFを出力ストリームへ直接書き出す
+     * 生成済みのページから順に書き出されるため、PDF全体をメモリに保持しない
+     * @param source レポート元データ
+     * @param outputStream 出力先（クローズは呼び出し元の責務）
+     */
+    public void writePdf(ReportSource source, OutputStream outputStream) {
+        Timer.Sample sample = kintaiMetrics.start();
+        CountingOutputStream counting = new CountingOutputStream(outputStream);
+        String outcome = KintaiMetrics.OUTCOME_SUCCESS;
+        try {
+            attendanceReportRenderer.render(source.employee(), source.yearMonth(), source.records(), counting);
+        } catch (RuntimeException e) {
+            outcome = KintaiMetrics.outcomeOf(e);
+            throw e;
+        } finally {
+            kintaiMetrics.recordPdf(sample, "single", counting.count, outcome);
         }
     }
-    
+
     /**
-     * HTMLを生成
+     * 書き出したバイト数を数える出力ストリーム（PDFサイズの計測用、クローズは委譲しない）
      */
-    private String generateHtml(Employee employee, String yearMonth, List<AttendanceRecord> records) {
-        StringBuilder html = new StringBuilder();
-        
-        // 年月をフォーマット
-        String formattedYearMonth = formatYearMonth(yearMonth);
-        
-        html.append("<!DOCTYPE html>");
-        html.append("<html>");
-        html.append("<head>");
-        html.append("<meta charset='UTF-8'>");
-        html.append("<style>");
-        html.append("body { font-family: 'Hiragino Sans', 'Yu Gothic UI', 'Meiryo UI', sans-serif; margin: 20px; }");
-        html.append(".header { text-align: center; margin-bottom: 30px; border-bottom: 2px solid #333; padding-bottom: 10px; }");
-        html.append(".company-name { font-size: 24px; font-weight: bold; margin-bottom: 10px; }");
-        html.append(".report-title { font-size: 18px; margin-bottom: 5px; }");
-        html.append(".employee-info { font-size: 14px; margin-bottom: 20px; }");
-        html.append(".table { width: 100%; border-collapse: collapse; margin-bottom: 30px; }");
-        html.append(".table th, .table td { border: 1px solid #333; padding: 8px; text-align: center; }");
-        html.append(".table th { background-color: #f0f0f0; font-weight: bold; }");
-        html.append(".footer { margin-top: 50px; display: flex; justify-content: space-between; }");
-        html.append(".approval-section { text-align: center; }");
-        html.append(".approval-box { border: 1px solid #333; width: 200px; height: 80px; margin: 0 auto; }");
-        html.append("</style>");
-        html.append("</head>");
-        html.append("<body>");
-        
-        // ヘッダー
-        html.append("<div class='header'>");
-        html.append("<div class='company-name'>KintaiSystem</div>");
-        html.append("<div class='report-title'>勤怠レポート</div>");
-        html.append("<div class='employee-info'>");
-        html.append("対象年月: ").append(formattedYearMonth).append("<br>");
-        // 社員IDの表示（employeeCodeを使用）
-        html.append("社員ID: ").append(employee.getEmployeeCode()).append("<br>");
-        html.append("社員コード: ").append(employee.getEmployeeCode());
-        html.append("</div>");
-        html.append("</div>");
-        
-        // テーブル
-        html.append("<table class='table'>");
-        html.append("<thead>");
-        html.append("<tr>");
-        html.append("<th>日付</th>");
-        html.append("<th>出勤時刻</th>");
-        html.append("<th>退勤時刻</th>");
-        html.append("<th>勤怠区分</th>");
-        html.append("<th>残業時間</th>");
-        html.append("<th>遅刻分</th>");
-        html.append("<th>早退分</th>");
-        html.append("</tr>");
-        html.append("</thead>");
-        html.append("<tbody>");
-        
-        if (records.isEmpty()) {
-            html.append("<tr>");
-            html.append("<td colspan='7' style='text-align: center;'>データなし</td>");
-            html.append("</tr>");
-        } else {
-            for (AttendanceRecord record : records) {
-                AttendanceReportDto dto = new AttendanceReportDto(record, 
-                    employee.getEmployeeCode(), 
-                    employee.getEmployeeCode());
-                
-                html.append("<tr>");
-                html.append("<td>").append(dto.getAttendanceDate()).append("</td>");
-                html.append("<td>").append(dto.getClockInTime()).append("</td>");
-                html.append("<td>").append(dto.getClockOutTime()).append("</td>");
-                html.append("<td>").append(dto.getAttendanceStatus()).append("</td>");
-                html.append("<td>").append(dto.getOvertimeHours()).append("</td>");
-                html.append("<td>").append(dto.getLateMinutes()).append("</td>");
-                html.append("<td>").append(dto.getEarlyLeaveMinutes()).append("</td>");
-                html.append("</tr>");
-            }
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
         }
-        
-        html.append("</tbody>");
-        html.append("</table>");
-        
-        // フッター
-        html.append("<div class='footer'>");
-        html.append("<div>ページ 1</div>");
-        html.append("<div class='approval-section'>");
-        html.append("<div>承認欄</div>");
-        html.append("<div class='approval-box'></div>");
-        html.append("</div>");
-        html.append("</div>");
-        
-        html.append("</body>");
-        html.append("</html>");
-        
-        return html.toString();
     }
-    
+
     /**
-     * 年月をフォーマット
+     * レポートの元データからハッシュと最終更新日時を算出
+     * PDFに出力される値（表の各列はレンダラーの出力値そのもの）のみを対象とし、同じハッシュであれば同じPDFが生成される
      */
-    private String formatYearMonth(String yearMonth) {
+    public ReportFingerprint fingerprint(ReportSource source) {
+        MessageDigest digest;
         try {
-            LocalDate date = LocalDate.parse(yearMonth + "-01", DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-            return date.format(DateTimeFormatter.ofPattern("yyyy年M月"));
-        } catch (Exception e) {
-            return yearMonth;
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        StringBuilder data = new StringBuilder(64 + source.records().size() * 96);
+        data.append(AttendanceReportRenderer.TEMPLATE_VERSION).append('|')
+                .append(source.employee().getEmployeeCode()).append('|')
+                .append(source.yearMonth()).append('\n');
+        LocalDateTime lastModified = source.employee().getUpdatedAt();
+        for (AttendanceRecord record : source.records()) {
+            data.append(record.getAttendanceId());
+            for (String cell : AttendanceReportRenderer.rowCells(record, source.employee().getEmployeeCode())) {
+                data.append('|').append(cell);
+            }
+            data.append('\n');
+            if (record.getUpdatedAt() != null && (lastModified == null || record.getUpdatedAt().isAfter(lastModified))) {
+                lastModified = record.getUpdatedAt();
+            }
         }
+        String hash = HexFormat.of().formatHex(digest.digest(data.toString().getBytes(StandardCharsets.UTF_8)), 0, 16);
+        Instant modified = lastModified == null
+                ? Instant.EPOCH
+                : lastModified.atZone(ZoneId.systemDefault()).toInstant().truncatedTo(ChronoUnit.SECONDS);
+        return new ReportFingerprint(hash, modified);
+    }
+
+    /**
+     * 同じ元データから生成済みのレポートをキャッシュから取得
+     */
+    public Optional<ReportFileCache.CachedReport> findCachedReport(ReportSource source, ReportFingerprint fingerprint) {
+        return reportFileCache.get(source.employee().getEmployeeId(), source.yearMonth(), fingerprint.dataHash());
+    }
+
+    /**
+     * レポートを生成してキャッシュに登録
+     */
+    public ReportFileCache.CachedReport renderToCache(ReportSource source, ReportFingerprint fingerprint) {
+        return reportFileCache.put(source.employee().getEmployeeId(), source.yearMonth(),
+                fingerprint.dataHash(), fingerprint.lastModified(), out -> writePdf(source, out));
+    }
+
+    /**
+     * レポートの元データのハッシュと最終更新日時
+     */
+    public record ReportFingerprint(String dataHash, Instant lastModified) {
+
+        public String etag() {
+            return "\"" + dataHash + "\"";
+        }
+    }
+
+    /**
+     * 勤怠レポートの元データ
+     */
+    public record ReportSource(Employee employee, String yearMonth, List<AttendanceRecord> records) {
     }
 }
@@ -6,12 +6,14 @@ import com.kintai.dto.ClockResponse;
 import com.kintai.entity.AttendanceRecord;
 import com.kintai.entity.AdminAccount;
 import com.kintai.entity.AttendanceStatus;
-import com.kintai.entity.Employee;
 import com.kintai.exception.AttendanceException;
 import com.kintai.repository.AdjustmentRequestRepository;
 import com.kintai.repository.AttendanceRecordRepository;
 import com.kintai.repository.EmployeeRepository;
 import com.kintai.util.TimeCalculator;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -34,21 +36,31 @@ import java.util.Optional;
 @Service
 @Transactional
 public class AttendanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttendanceService.class);
     
     @Autowired
     private AttendanceRecordRepository attendanceRecordRepository;
     
+    /** 従業員の存在・退職者チェック用（在籍状態を短期間キャッシュ） */
     @Autowired
-    private EmployeeRepository employeeRepository;
+    private PrincipalCache principalCache;
     
     @Autowired
     private AdjustmentRequestRepository adjustmentRequestRepository;
     
+    /** 同じ従業員の勤怠の作成・更新を直列化するための行ロック用 */
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    
     @Autowired
     private TimeCalculator timeCalculator;
 
     @Autowired
     private WorkPatternChangeRequestService workPatternChangeRequestService;
+
+    @Autowired
+    private KintaiMetrics kintaiMetrics;
     
     
     /**
@@ -57,24 +69,41 @@ public class AttendanceService {
      * @return 打刻レスポンス
      */
     public ClockResponse clockIn(ClockInRequest request) {
+        Timer.Sample sample = kintaiMetrics.start();
+        String outcome = KintaiMetrics.OUTCOME_SUCCESS;
+        try {
+            return processClockIn(request);
+        } catch (RuntimeException e) {
+            outcome = KintaiMetrics.outcomeOf(e);
+            throw e;
+        } finally {
+            kintaiMetrics.recordClock(sample, "in", outcome);
+        }
+    }
+
+    /**
+     * 出勤打刻処理の本体（所要時間は clockIn で計測）
+     */
+    private ClockResponse processClockIn(ClockInRequest request) {
         Long employeeId = request.getEmployeeId();
         LocalDateTime now = timeCalculator.getCurrentTokyoTime();
         LocalDate today = now.toLocalDate();
         
         // 1. 従業員存在チェック
-        Employee employee = employeeRepository.findByEmployeeId(employeeId)
+        PrincipalCache.EmployeeStatus employeeStatus = principalCache.findEmployeeStatus(employeeId)
                 .orElseThrow(() -> new AttendanceException(
                         AttendanceException.EMPLOYEE_NOT_FOUND, 
                         "従業員が見つかりません"));
         
         // 2. 退職者チェック
-        if (employee.isRetired()) {
+        if (employeeStatus.isRetired()) {
             throw new AttendanceException(
                     AttendanceException.RETIRED_EMPLOYEE, 
                     "退職済みの従業員です");
         }
         
-        // 3. 重複出勤チェック
+        // 3. 重複出勤チェック（修正申請の承認などと同時に同じ日の勤怠を作成しないよう従業員単位でロック）
+        employeeRepository.lockForAttendanceUpdate(employeeId);
         Optional<AttendanceRecord> existingRecordOpt = attendanceRecordRepository
                 .findByEmployeeIdAndAttendanceDate(employeeId, today);
         
@@ -189,6 +218,22 @@ public class AttendanceService {
      * @return 打刻レスポンス
      */
     public ClockResponse clockOut(ClockOutRequest request) {
+        Timer.Sample sample = kintaiMetrics.start();
+        String outcome = KintaiMetrics.OUTCOME_SUCCESS;
+        try {
+            return processClockOut(request);
+        } catch (RuntimeException e) {
+            outcome = KintaiMetrics.outcomeOf(e);
+            throw e;
+        } finally {
+            kintaiMetrics.recordClock(sample, "out", outcome);
+        }
+    }
+
+    /**
+     * 退勤打刻処理の本体（所要時間は clockOut で計測）
+     */
+    private ClockResponse processClockOut(ClockOutRequest request) {
         Long employeeId = request.getEmployeeId();
         LocalDateTime now = timeCalculator.getCurrentTokyoTime();
         LocalDate today = now.toLocalDate();
@@ -197,22 +242,23 @@ public class AttendanceService {
         int maxRetries = 3;
         for (int attempt = 1; attempt <= maxRetries; attempt++) {
             try {
-                System.out.println("退勤打刻処理開始 (試行" + attempt + "/" + maxRetries + "): employeeId=" + employeeId);
+                log.debug("退勤打刻処理開始 (試行{}/{}): employeeId={}", attempt, maxRetries, employeeId);
                 
                 // 1. 従業員存在チェック
-                Employee employee = employeeRepository.findByEmployeeId(employeeId)
+                PrincipalCache.EmployeeStatus employeeStatus = principalCache.findEmployeeStatus(employeeId)
                         .orElseThrow(() -> new AttendanceException(
                                 AttendanceException.EMPLOYEE_NOT_FOUND, 
                                 "従業員が見つかりません"));
                 
                 // 2. 退職者チェック
-                if (employee.isRetired()) {
+                if (employeeStatus.isRetired()) {
                     throw new AttendanceException(
                             AttendanceException.RETIRED_EMPLOYEE, 
                             "退職済みの従業員です");
                 }
                 
-                // 3. 重複データをクリーンアップ
+                // 3. 重複データをクリーンアップ（承認などによる同時更新と直列化する）
+                employeeRepository.lockForAttendanceUpdate(employeeId);
                 cleanupDuplicateAttendanceRecords(employeeId, today);
                 
                 // 4. 最新の勤怠記録を取得
@@ -327,7 +373,7 @@ public class AttendanceService {
                 
                 // 10. データベース保存
                 AttendanceRecord savedRecord = attendanceRecordRepository.save(attendanceRecord);
-                System.out.println("退勤打刻処理: データベース保存成功, ID=" + savedRecord.getAttendanceId());
+                log.debug("退勤打刻処理: データベース保存成功, ID={}", savedRecord.getAttendanceId());
                 
                 // 11. レスポンス作成
                 ClockResponse response = new ClockResponse();
@@ -338,13 +384,14 @@ public class AttendanceService {
                 return response;
                 
             } catch (ObjectOptimisticLockingFailureException e) {
-                System.err.println("退勤打刻処理: 楽観的ロックエラー (試行" + attempt + "/" + maxRetries + ")=" + e.getMessage());
+                log.warn("退勤打刻処理: 楽観的ロックエラー (試行{}/{}): employeeId={}, {}", attempt, maxRetries, employeeId, e.getMessage());
                 
                 if (attempt == maxRetries) {
                     // 最後の試行でも失敗した場合
                     throw new AttendanceException("CONCURRENT_UPDATE_ERROR", 
                             "他の操作と競合しました。しばらく時間をおいてから再度お試しください。");
                 }
+                kintaiMetrics.countClockOutRetry();
                 
                 // 少し待ってから再試行
                 try {
@@ -358,8 +405,7 @@ public class AttendanceService {
                 // AttendanceExceptionは再試行しない
                 throw e;
             } catch (Exception e) {
-                System.err.println("退勤打刻処理: 予期しないエラー (試行" + attempt + "/" + maxRetries + ")=" + e.getMessage());
-                e.printStackTrace();
+                log.error("退勤打刻処理: 予期しないエラー (試行{}/{}): employeeId={}", attempt, maxRetries, employeeId, e);
                 
                 if (attempt == maxRetries) {
                     throw new AttendanceException("INTERNAL_ERROR", "内部エラーが発生しました: " + e.getMessage());
@@ -475,13 +521,13 @@ public class AttendanceService {
             authorizeAttendanceHistoryAccess(employeeId);
 
             // 1. 従業員存在チェック
-            Employee employee = employeeRepository.findByEmployeeId(employeeId)
+            PrincipalCache.EmployeeStatus employeeStatus = principalCache.findEmployeeStatus(employeeId)
                     .orElseThrow(() -> new AttendanceException(
                             AttendanceException.EMPLOYEE_NOT_FOUND, 
                             "従業員が見つかりません"));
             
             // 2. 退職者チェック
-            if (employee.isRetired()) {
+            if (employeeStatus.isRetired()) {
                 throw new AttendanceException(
                         AttendanceException.RETIRED_EMPLOYEE, 
                         "退職済みの従業員です");
@@ -498,6 +544,7 @@ public class AttendanceService {
             for (AttendanceRecord record : records) {
                 recalculateAttendanceRecord(record);
             }
+            kintaiMetrics.recordRecalculations("history", records.size());
             
             // 再計算後のデータを保存
             attendanceRecordRepository.saveAll(records);
@@ -509,7 +556,7 @@ public class AttendanceService {
         } catch (AttendanceException e) {
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("勤怠履歴の取得に失敗: employeeId={}", employeeId, e);
             throw new AttendanceException("INTERNAL_ERROR", "勤怠履歴の取得に失敗しました: " + e.getMessage());
         }
     }
@@ -527,13 +574,13 @@ public class AttendanceService {
             authorizeAttendanceHistoryAccess(employeeId);
 
             // 1. 従業員存在チェック
-            Employee employee = employeeRepository.findByEmployeeId(employeeId)
+            PrincipalCache.EmployeeStatus employeeStatus = principalCache.findEmployeeStatus(employeeId)
                     .orElseThrow(() -> new AttendanceException(
                             AttendanceException.EMPLOYEE_NOT_FOUND, 
                             "従業員が見つかりません"));
             
             // 2. 退職者チェック
-            if (employee.isRetired()) {
+            if (employeeStatus.isRetired()) {
                 throw new AttendanceException(
                         AttendanceException.RETIRED_EMPLOYEE, 
                         "退職済みの従業員です");
@@ -547,6 +594,7 @@ public class AttendanceService {
             for (AttendanceRecord record : records) {
                 recalculateAttendanceRecord(record);
             }
+            kintaiMetrics.recordRecalculations("month", records.size());
             
             // 再計算後のデータを保存
             attendanceRecordRepository.saveAll(records);
@@ -559,7 +607,7 @@ public class AttendanceService {
         } catch (AttendanceException e) {
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("月別勤怠履歴の取得に失敗: employeeId={}", employeeId, e);
             throw new AttendanceException("INTERNAL_ERROR", "月別勤怠履歴の取得に失敗しました: " + e.getMessage());
         }
     }
@@ -578,12 +626,12 @@ public class AttendanceService {
                 throw new AttendanceException(AttendanceException.INVALID_REQUEST, "対象日が指定されていません");
             }
 
-            Employee employee = employeeRepository.findByEmployeeId(employeeId)
+            PrincipalCache.EmployeeStatus employeeStatus = principalCache.findEmployeeStatus(employeeId)
                     .orElseThrow(() -> new AttendanceException(
                             AttendanceException.EMPLOYEE_NOT_FOUND,
                             "従業員が見つかりません"));
 
-            if (employee.isRetired()) {
+            if (employeeStatus.isRetired()) {
                 throw new AttendanceException(
                         AttendanceException.RETIRED_EMPLOYEE,
                         "退職済みの従業員です");
@@ -598,6 +646,7 @@ public class AttendanceService {
             if (recordOpt.isPresent()) {
                 AttendanceRecord record = recordOpt.get();
                 recalculateAttendanceRecord(record);
+                kintaiMetrics.recordRecalculations("date", 1);
                 attendanceRecordRepository.save(record);
                 response.setMessage("指定日の勤怠情報を取得しました");
                 response.setData(toClockData(record));
@@ -610,7 +659,7 @@ public class AttendanceService {
         } catch (AttendanceException e) {
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("指定日の勤怠情報の取得に失敗: employeeId={}", employeeId, e);
             throw new AttendanceException("INTERNAL_ERROR", "指定日の勤怠情報の取得に失敗しました: " + e.getMessage());
         }
     }
@@ -627,13 +676,13 @@ public class AttendanceService {
             LocalDate today = timeCalculator.getCurrentTokyoTime().toLocalDate();
             
             // 1. 従業員存在チェック
-            Employee employee = employeeRepository.findByEmployeeId(employeeId)
+            PrincipalCache.EmployeeStatus employeeStatus = principalCache.findEmployeeStatus(employeeId)
                     .orElseThrow(() -> new AttendanceException(
                             AttendanceException.EMPLOYEE_NOT_FOUND, 
                             "従業員が見つかりません"));
             
             // 2. 退職者チェック
-            if (employee.isRetired()) {
+            if (employeeStatus.isRetired()) {
                 throw new AttendanceException(
                         AttendanceException.RETIRED_EMPLOYEE, 
                         "退職済みの従業員です");
@@ -648,7 +697,7 @@ public class AttendanceService {
             
             if (attendanceRecord.isPresent()) {
                 AttendanceRecord record = attendanceRecord.get();
-                System.out.println("今日の勤怠記録取得: 出勤=" + record.getClockInTime() + ", 退勤=" + record.getClockOutTime());
+                log.debug("今日の勤怠記録取得: 出勤={}, 退勤={}", record.getClockInTime(), record.getClockOutTime());
                 
                 ClockResponse.ClockData clockData = toClockData(record);
                 if (record.getClockInTime() != null && record.getClockOutTime() == null) {
@@ -675,7 +724,7 @@ public class AttendanceService {
         } catch (AttendanceException e) {
             throw e;
         } catch (Exception e) {
-            e.printStackTrace();
+            log.error("今日の勤怠状況の取得に失敗: employeeId={}", employeeId, e);
             throw new AttendanceException("INTERNAL_ERROR", "今日の勤怠状況の取得に失敗しました: " + e.getMessage());
         }
     }
@@ -693,18 +742,21 @@ public class AttendanceService {
             
             if (duplicates.size() > 1) {
                 // 最新のレコード（最初の要素）を除いて、古いレコードを削除
+                int deleted = 0;
                 for (int i = 1; i < duplicates.size(); i++) {
                     try {
                         attendanceRecordRepository.delete(duplicates.get(i));
+                        deleted++;
                     } catch (Exception e) {
                         // 削除に失敗した場合はログを出力して続行
-                        System.err.println("Failed to delete duplicate record: " + e.getMessage());
+                        log.warn("重複した勤怠記録の削除に失敗: employeeId={}, 日付={}", employeeId, date, e);
                     }
                 }
+                kintaiMetrics.countDuplicatesDeleted(deleted);
             }
         } catch (Exception e) {
             // クリーンアップに失敗した場合はログを出力して続行
-            System.err.println("Failed to cleanup duplicates: " + e.getMessage());
+            log.warn("重複した勤怠記録のクリーンアップに失敗: employeeId={}, 日付={}", employeeId, date, e);
         }
     }
 
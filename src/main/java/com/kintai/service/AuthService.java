@@ -3,6 +3,7 @@ package com.kintai.service;
 import com.kintai.entity.UserAccount;
 import com.kintai.entity.AdminAccount;
 import com.kintai.entity.Employee;
+import com.kintai.exception.AttendanceException;
 import com.kintai.repository.UserAccountRepository;
 import com.kintai.repository.AdminAccountRepository;
 import com.kintai.repository.EmployeeRepository;
@@ -34,11 +35,21 @@ public class AuthService {
     @Autowired
     private PasswordValidator passwordValidator;
     
+    @Autowired
+    private PasswordVerifier passwordVerifier;
+    
+    @Autowired
+    private LoginThrottle loginThrottle;
+    
+    @Autowired
+    private PrincipalCache principalCache;
+    
     /**
      * ユーザー認証（従業員）
      * @param username ユーザー名
      * @param password パスワード
      * @return 認証成功時はユーザーアカウント、失敗時は空
+     * @throws AttendanceException パスワード照合の受付が混み合っている場合
      */
     public Optional<UserAccount> authenticateEmployee(String username, String password) {
         Optional<UserAccount> userOpt = userAccountRepository.findByUsernameAndEnabled(username, true);
@@ -46,30 +57,13 @@ public class AuthService {
         if (userOpt.isPresent()) {
             UserAccount user = userOpt.get();
             
-            // 退職者チェック
-            Optional<Employee> employeeOpt = employeeRepository.findByEmployeeId(user.getEmployeeId());
-            if (employeeOpt.isPresent()) {
-                Employee employee = employeeOpt.get();
-                
-                // isActiveがfalseの場合（退職済み）は認証失敗
-                if (!employee.getIsActive()) {
-                    return Optional.empty();
-                }
-                
-                LocalDate today = LocalDate.now();
-                
-                // 入社日チェック: 入社日が設定されている場合、今日が入社日より前ならログイン不可
-                if (employee.getHireDate() != null && today.isBefore(employee.getHireDate())) {
-                    return Optional.empty();
-                }
-                
-                // 退職日チェック: 退職日が設定されている場合、今日が退職日以降ならログイン不可
-                if (employee.getRetirementDate() != null && !today.isBefore(employee.getRetirementDate())) {
-                    return Optional.empty();
-                }
+            // 退職者チェック（isActiveがfalse、今日が入社日より前、退職日以降の場合は認証失敗）
+            Optional<PrincipalCache.EmployeeStatus> statusOpt = principalCache.findEmployeeStatus(user.getEmployeeId());
+            if (statusOpt.isPresent() && !statusOpt.get().canLoginOn(LocalDate.now())) {
+                return Optional.empty();
             }
             
-            if (passwordEncoder.matches(password, user.getPassword())) {
+            if (passwordVerifier.matches(password, user.getPassword())) {
                 return Optional.of(user);
             }
         }
@@ -82,13 +76,14 @@ public class AuthService {
      * @param username ユーザー名
      * @param password パスワード
      * @return 認証成功時は管理者アカウント、失敗時は空
+     * @throws AttendanceException パスワード照合の受付が混み合っている場合
      */
     public Optional<AdminAccount> authenticateAdmin(String username, String password) {
         Optional<AdminAccount> adminOpt = adminAccountRepository.findByUsername(username);
         
         if (adminOpt.isPresent()) {
             AdminAccount admin = adminOpt.get();
-            if (admin.getEnabled() && passwordEncoder.matches(password, admin.getPassword())) {
+            if (admin.getEnabled() && passwordVerifier.matches(password, admin.getPassword())) {
                 return Optional.of(admin);
             }
         }
@@ -104,26 +99,12 @@ public class AuthService {
     public boolean isRetiredEmployee(String username) {
         Optional<UserAccount> userOpt = userAccountRepository.findByUsername(username);
         if (userOpt.isPresent()) {
-            UserAccount user = userOpt.get();
-            Optional<Employee> employeeOpt = employeeRepository.findByEmployeeId(user.getEmployeeId());
-            if (employeeOpt.isPresent()) {
-                Employee employee = employeeOpt.get();
-                // isActiveがfalseの場合（退職済み）をチェック
-                if (!employee.getIsActive()) {
-                    return true;
-                }
-                
-                LocalDate today = LocalDate.now();
-                
-                // 入社日チェック: 入社日が設定されている場合、今日が入社日より前ならログイン不可
-                if (employee.getHireDate() != null && today.isBefore(employee.getHireDate())) {
-                    return true;
-                }
-                
-                // 退職日チェック: 退職日が設定されている場合、今日が退職日以降ならログイン不可
-                if (employee.getRetirementDate() != null && !today.isBefore(employee.getRetirementDate())) {
-                    return true;
-                }
+            // 在籍状態・入社日・退職日はキャッシュから取得（管理者の更新時に破棄される）
+            Optional<PrincipalCache.EmployeeStatus> statusOpt =
+                principalCache.findEmployeeStatus(userOpt.get().getEmployeeId());
+            // isActiveがfalse、今日が入社日より前、退職日以降の場合はログイン不可
+            if (statusOpt.isPresent() && !statusOpt.get().canLoginOn(LocalDate.now())) {
+                return true;
             }
         }
         return false;
@@ -169,6 +150,43 @@ public class AuthService {
      * @return 認証結果（従業員、管理者、または失敗）
      */
     public AuthResult authenticate(String username, String password) {
+        return authenticate(username, password, null);
+    }
+    
+    /**
+     * 接続元を考慮した統合認証
+     * パスワードを照合する前にユーザー名・接続元IPごとの試行枠を確保し、確保できない場合は照合せずに THROTTLED を返す。
+     * パスワード照合の受付が混み合っている場合は枠を返却して BUSY を返す。
+     * @param username ユーザー名
+     * @param password パスワード
+     * @param clientIp 接続元IP（不明な場合はnull）
+     * @return 認証結果（従業員、管理者、失敗、または THROTTLED / BUSY）
+     */
+    public AuthResult authenticate(String username, String password, String clientIp) {
+        long retryAfter = loginThrottle.tryAcquire(username, clientIp);
+        if (retryAfter > 0) {
+            return new AuthResult(null, null, "THROTTLED", retryAfter);
+        }
+        
+        AuthResult result;
+        try {
+            result = authenticateAccount(username, password);
+        } catch (AttendanceException e) {
+            if (PasswordVerifier.LOGIN_BUSY.equals(e.getErrorCode())) {
+                loginThrottle.release(username, clientIp);
+                return new AuthResult(null, null, "BUSY", 1);
+            }
+            throw e;
+        }
+        
+        // 失敗した場合は確保した枠をそのまま消費する
+        if (result.isSuccess()) {
+            loginThrottle.recordSuccess(username, clientIp);
+        }
+        return result;
+    }
+    
+    private AuthResult authenticateAccount(String username, String password) {
         // まず管理者をチェック
         Optional<AdminAccount> adminOpt = authenticateAdmin(username, password);
         if (adminOpt.isPresent()) {
@@ -196,17 +214,25 @@ public class AuthService {
         private final AdminAccount admin;
         private final UserAccount employee;
         private final String role;
+        private final long retryAfterSeconds;
         
         public AuthResult(AdminAccount admin, UserAccount employee, String role) {
+            this(admin, employee, role, 0);
+        }
+        
+        public AuthResult(AdminAccount admin, UserAccount employee, String role, long retryAfterSeconds) {
             this.admin = admin;
             this.employee = employee;
             this.role = role;
+            this.retryAfterSeconds = retryAfterSeconds;
         }
         
         public AdminAccount getAdmin() { return admin; }
         public UserAccount getEmployee() { return employee; }
         public String getRole() { return role; }
-        public boolean isSuccess() { return !"FAILED".equals(role); }
+        public long getRetryAfterSeconds() { return retryAfterSeconds; }
+        public boolean isRejected() { return "THROTTLED".equals(role) || "BUSY".equals(role); }
+        public boolean isSuccess() { return "ADMIN".equals(role) || "EMPLOYEE".equals(role); }
         public Long getUserId() { 
             return admin != null ? admin.getAdminId() : (employee != null ? employee.getEmployeeId() : null); 
         }
@@ -0,0 +1,80 @@
+package com.kintai.service;
+
+import com.kintai.dto.BulkDecisionResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 申請の一括承認・却下の実行
+ * 申請を従業員ごとに振り分け、従業員ごとに独立したトランザクションで処理する。
+ * ある従業員の処理が例外で失敗してもロールバックされるのはその従業員の分だけで、
+ * 他の従業員の結果はコミットされる。失敗した従業員の申請は INTERNAL_ERROR として返す。
+ * 呼び出し側はトランザクション外（NOT_SUPPORTED）から呼び出すこと。
+ */
+@Component
+public class BulkDecisionExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkDecisionExecutor.class);
+
+    static final String INTERNAL_ERROR = "INTERNAL_ERROR";
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * 従業員ごとに一括処理を実行
+     * @param requestIds 申請ID（重複は除く）
+     * @param employeeIdsOf 申請IDから従業員IDへの対応を取得する処理（存在しない申請は含めない）
+     * @param notFound 存在しない申請の結果
+     * @param decideGroup 1人分の申請を処理する処理（ロックの取得と状態の確認を含む）。申請IDごとの結果を返す
+     * @return 申請ごとの処理結果（指定順）
+     */
+    public List<BulkDecisionResult> decideByEmployee(List<Long> requestIds,
+                                                     Function<List<Long>, Map<Long, Long>> employeeIdsOf,
+                                                     Function<Long, BulkDecisionResult> notFound,
+                                                     BiFunction<Long, List<Long>, Map<Long, BulkDecisionResult>> decideGroup) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(requestIds));
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        // 振り分けのみ行う（状態の確認は従業員ごとのトランザクション内でロックしてから行う）
+        Map<Long, Long> employeeIds = transaction.execute(status -> employeeIdsOf.apply(ids));
+        Map<Long, BulkDecisionResult> results = new HashMap<>();
+        Map<Long, List<Long>> byEmployee = new LinkedHashMap<>();
+        for (Long id : ids) {
+            Long employeeId = employeeIds.get(id);
+            if (employeeId == null) {
+                results.put(id, notFound.apply(id));
+            } else {
+                byEmployee.computeIfAbsent(employeeId, key -> new ArrayList<>()).add(id);
+            }
+        }
+
+        for (Map.Entry<Long, List<Long>> group : byEmployee.entrySet()) {
+            try {
+                results.putAll(transaction.execute(status -> decideGroup.apply(group.getKey(), group.getValue())));
+            } catch (RuntimeException e) {
+                log.warn("一括処理に失敗したため従業員ID={}の申請をロールバックしました: {}", group.getKey(), group.getValue(), e);
+                for (Long id : group.getValue()) {
+                    results.put(id, BulkDecisionResult.failed(id, INTERNAL_ERROR, "処理に失敗しました: " + e.getMessage()));
+                }
+            }
+        }
+        return ids.stream().map(results::get).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,309 @@
+package com.kintai.service;
+
+import com.kintai.dto.BulkReportExportStatus;
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.Employee;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.EmployeeRepository;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 月次勤怠レポートの一括出力サービス
+ * 在職中の全従業員のPDFを専用プールで並列生成し、完成した順にZIPへ書き出す。
+ * 生成中のPDFは同時に max-in-flight 件までしか保持せず、出力が詰まれば生成の投入も止まる。
+ * 出力済みの従業員はジョブに記録し、同じジョブIDで再要求すると未出力分のみを出力する。
+ */
+@Service
+public class BulkReportExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkReportExportService.class);
+
+    /** 勤怠記録を一括取得する従業員数 */
+    private static final int EMPLOYEE_CHUNK_SIZE = 50;
+
+    /** ジョブの保持期間（最終更新から） */
+    private static final Duration RETENTION = Duration.ofHours(24);
+
+    private static final String SUMMARY_ENTRY = "export_summary.txt";
+
+    public enum JobStatus {
+        CREATED,
+        RUNNING,
+        COMPLETED,
+        INCOMPLETE
+    }
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AttendanceRecordRepository attendanceRecordRepository;
+
+    @Autowired
+    private AttendanceReportRenderer attendanceReportRenderer;
+
+    @Autowired
+    private KintaiMetrics kintaiMetrics;
+
+    @Autowired
+    @Qualifier("reportExportExecutor")
+    private ThreadPoolTaskExecutor reportExportExecutor;
+
+    /** 生成済みで書き出し待ちのPDFを含む、同時に処理中とする最大件数 */
+    @Value("${kintai.report.bulk.max-in-flight:8}")
+    private int maxInFlight;
+
+    /**
+     * 在職中の従業員を対象に一括出力ジョブを作成
+     */
+    public ExportJob createJob(YearMonth yearMonth) {
+        purgeExpired();
+        List<Long> employeeIds = employeeRepository.findByIsActiveTrueOrderByEmployeeIdAsc().stream()
+                .map(Employee::getEmployeeId)
+                .collect(Collectors.toList());
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), yearMonth, employeeIds);
+        jobs.put(job.jobId, job);
+        return job;
+    }
+
+    /**
+     * ジョブIDでジョブを取得
+     */
+    public Optional<ExportJob> findJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    /**
+     * ジョブの実行権を取得（同一ジョブの並行出力を防ぐ）
+     * @return 取得できた場合true（呼び出し元は出力しなかった場合も含め、必ず finish で解放すること）
+     */
+    public boolean tryStart(ExportJob job) {
+        if (!job.running.compareAndSet(false, true)) {
+            return false;
+        }
+        job.status = JobStatus.RUNNING;
+        job.touch();
+        return true;
+    }
+
+    /**
+     * ジョブの実行権を解放し、出力結果に応じて状態を更新
+     */
+    public void finish(ExportJob job) {
+        job.status = job.remainingEmployeeIds().isEmpty() ? JobStatus.COMPLETED : JobStatus.INCOMPLETE;
+        job.touch();
+        job.running.set(false);
+    }
+
+    /**
+     * 未出力の従業員のレポートをZIPとして出力ストリームへ書き出す
+     * tryStart で実行権を取得してから呼び出し、終了後に finish で解放すること
+     * @param job ジョブ
+     * @param outputStream 出力先（クローズしない）
+     */
+    public void export(ExportJob job, OutputStream outputStream) throws IOException {
+        ExecutorCompletionService<RenderedReport> completion = new ExecutorCompletionService<>(reportExportExecutor);
+        List<Future<RenderedReport>> submitted = new ArrayList<>();
+        int inFlight = 0;
+        int limit = Math.max(maxInFlight, 1);
+        job.failedEmployeeIds.clear();
+        try {
+            ZipOutputStream zip = new ZipOutputStream(outputStream, StandardCharsets.UTF_8);
+            // PDFは圧縮済みのため、ZIP側は速度優先で圧縮する
+            zip.setLevel(Deflater.BEST_SPEED);
+
+            List<Long> remaining = job.remainingEmployeeIds();
+            for (int from = 0; from < remaining.size(); from += EMPLOYEE_CHUNK_SIZE) {
+                List<Long> chunk = remaining.subList(from, Math.min(from + EMPLOYEE_CHUNK_SIZE, remaining.size()));
+                Map<Long, Employee> employees = employeeRepository.findAllById(chunk).stream()
+                        .collect(Collectors.toMap(Employee::getEmployeeId, Function.identity()));
+                Map<Long, List<AttendanceRecord>> recordsByEmployee = attendanceRecordRepository
+                        .findByEmployeeIdInAndAttendanceDateBetweenOrderByEmployeeIdAscAttendanceDateAsc(
+                                chunk, job.yearMonth.atDay(1), job.yearMonth.atEndOfMonth())
+                        .stream()
+                        .collect(Collectors.groupingBy(AttendanceRecord::getEmployeeId));
+
+                for (Long employeeId : chunk) {
+                    Employee employee = employees.get(employeeId);
+                    if (employee == null) {
+                        job.failedEmployeeIds.add(employeeId);
+                        continue;
+                    }
+                    if (inFlight >= limit) {
+                        writeEntry(zip, job, take(completion));
+                        inFlight--;
+                    }
+                    List<AttendanceRecord> records = recordsByEmployee.getOrDefault(employeeId, List.of());
+                    submitted.add(completion.submit(() -> render(employee, job.yearMonth, records)));
+                    inFlight++;
+                }
+            }
+            while (inFlight > 0) {
+                writeEntry(zip, job, take(completion));
+                inFlight--;
+            }
+
+            writeSummary(zip, job);
+            zip.finish();
+            zip.flush();
+        } finally {
+            // 途中で失敗した場合（クライアント切断など）は生成待ちのタスクを取り消す
+            submitted.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * ジョブの状態を取得
+     */
+    public BulkReportExportStatus toStatus(ExportJob job) {
+        BulkReportExportStatus status = new BulkReportExportStatus();
+        status.setJobId(job.jobId);
+        status.setYearMonth(job.yearMonth.toString());
+        status.setStatus(job.status.name());
+        status.setTotalEmployees(job.employeeIds.size());
+        status.setCompletedEmployees(job.completedEmployeeIds.size());
+        status.setFailedEmployeeIds(new ArrayList<>(job.failedEmployeeIds));
+        status.setCreatedAt(job.createdAt);
+        status.setUpdatedAt(job.updatedAt);
+        return status;
+    }
+
+    private RenderedReport render(Employee employee, YearMonth yearMonth, List<AttendanceRecord> records) {
+        String fileName = String.format("attendance_%d_%s.pdf", employee.getEmployeeId(), yearMonth);
+        Timer.Sample sample = kintaiMetrics.start();
+        try {
+            ByteArrayOutputStream pdf = new ByteArrayOutputStream(32 * 1024);
+            attendanceReportRenderer.render(employee, yearMonth.toString(), records, pdf);
+            kintaiMetrics.recordPdf(sample, "bulk", pdf.size(), KintaiMetrics.OUTCOME_SUCCESS);
+            return new RenderedReport(employee.getEmployeeId(), fileName, pdf.toByteArray(), null);
+        } catch (Exception e) {
+            kintaiMetrics.recordPdf(sample, "bulk", 0, KintaiMetrics.outcomeOf(e));
+            return new RenderedReport(employee.getEmployeeId(), fileName, null, e);
+        }
+    }
+
+    private RenderedReport take(ExecutorCompletionService<RenderedReport> completion) throws IOException {
+        try {
+            return completion.take().get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("レポート生成の待機中に中断されました", e);
+        } catch (ExecutionException e) {
+            throw new IOException("レポート生成に失敗しました", e.getCause());
+        }
+    }
+
+    private void writeEntry(ZipOutputStream zip, ExportJob job, RenderedReport report) throws IOException {
+        if (report.error() != null) {
+            log.warn("[BulkReportExport] employeeId={} のレポート生成に失敗しました", report.employeeId(), report.error());
+            job.failedEmployeeIds.add(report.employeeId());
+            return;
+        }
+        zip.putNextEntry(new ZipEntry(report.fileName()));
+        zip.write(report.pdf());
+        zip.closeEntry();
+        zip.flush();
+        job.completedEmployeeIds.add(report.employeeId());
+        job.touch();
+    }
+
+    private void writeSummary(ZipOutputStream zip, ExportJob job) throws IOException {
+        StringBuilder summary = new StringBuilder();
+        summary.append("jobId: ").append(job.jobId).append('\n');
+        summary.append("yearMonth: ").append(job.yearMonth).append('\n');
+        summary.append("total: ").append(job.employeeIds.size()).append('\n');
+        summary.append("completed: ").append(job.completedEmployeeIds.size()).append('\n');
+        summary.append("failedEmployeeIds: ").append(job.failedEmployeeIds).append('\n');
+        if (!job.failedEmployeeIds.isEmpty()) {
+            summary.append("未出力分は同じ jobId を指定して再度ダウンロードしてください\n");
+        }
+        zip.putNextEntry(new ZipEntry(SUMMARY_ENTRY));
+        zip.write(summary.toString().getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    /**
+     * 最終更新から保持期間を過ぎたジョブを削除
+     * 出力中のジョブは1件ごとに更新されるため、実行中のまま更新が止まったジョブも削除する
+     */
+    private void purgeExpired() {
+        LocalDateTime threshold = LocalDateTime.now().minus(RETENTION);
+        jobs.values().removeIf(job -> job.updatedAt.isBefore(threshold));
+    }
+
+    /**
+     * 一括出力ジョブ
+     */
+    public static final class ExportJob {
+        private final String jobId;
+        private final YearMonth yearMonth;
+        private final List<Long> employeeIds;
+        private final Set<Long> completedEmployeeIds = ConcurrentHashMap.newKeySet();
+        private final Set<Long> failedEmployeeIds = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean running = new AtomicBoolean();
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile LocalDateTime updatedAt = createdAt;
+        private volatile JobStatus status = JobStatus.CREATED;
+
+        private ExportJob(String jobId, YearMonth yearMonth, List<Long> employeeIds) {
+            this.jobId = jobId;
+            this.yearMonth = yearMonth;
+            this.employeeIds = List.copyOf(new LinkedHashSet<>(employeeIds));
+        }
+
+        public String getJobId() {
+            return jobId;
+        }
+
+        public YearMonth getYearMonth() {
+            return yearMonth;
+        }
+
+        private List<Long> remainingEmployeeIds() {
+            return employeeIds.stream()
+                    .filter(id -> !completedEmployeeIds.contains(id))
+                    .collect(Collectors.toList());
+        }
+
+        private void touch() {
+            updatedAt = LocalDateTime.now();
+        }
+    }
+
+    private record RenderedReport(Long employeeId, String fileName, byte[] pdf, Exception error) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.kintai.service;
+
+import com.kintai.dto.ChangeFeedItem;
+import com.kintai.exception.AttendanceException;
+import com.kintai.repository.AdjustmentRequestRepository;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.LeaveRequestRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 給与連携向け 変更フィードサービス
+ * 勤怠記録・休暇申請・打刻修正申請の変更を (更新日時, 種別, ID) の昇順で返し、
+ * 最後に返した行の位置をカーソルとして次回の取得開始位置にする。
+ * 行ごとに最新の内容のみを返すため、同じ行が複数回更新された場合は最後の更新位置に1件だけ現れる。
+ * 物理削除された行はフィードに現れない。
+ */
+@Service
+public class ChangeFeedService {
+
+    /** 変更の種別（宣言順が同一更新日時内の並び順） */
+    public enum ChangeType {
+        ATTENDANCE,
+        LEAVE,
+        ADJUSTMENT
+    }
+
+    /** カーソル未指定時の開始位置 */
+    private static final Cursor START = new Cursor(LocalDateTime.of(1970, 1, 1, 0, 0), ChangeType.ATTENDANCE, 0L);
+
+    public static final int MAX_LIMIT = 1000;
+
+    @Autowired
+    private AttendanceRecordRepository attendanceRecordRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private AdjustmentRequestRepository adjustmentRequestRepository;
+
+    /**
+     * 直近この秒数以内に更新された行は返さない
+     * 更新日時はコミット前に採番されるため、先に採番されて後からコミットされた行をカーソルが追い越さないようにする
+     */
+    @Value("${kintai.change-feed.settle-seconds:5}")
+    private long settleSeconds;
+
+    /**
+     * カーソル以降の変更を取得
+     * @param cursorToken 前回取得時のカーソル（nullの場合は先頭から）
+     * @param limit 最大件数（1〜1000）
+     * @return 変更一覧と次回のカーソル
+     */
+    @Transactional(readOnly = true)
+    public ChangeFeedPage fetchChanges(String cursorToken, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new AttendanceException(AttendanceException.INVALID_REQUEST, "limit は1〜" + MAX_LIMIT + "で指定してください");
+        }
+        Cursor cursor = cursorToken == null || cursorToken.isBlank() ? START : Cursor.decode(cursorToken);
+        LocalDateTime upperBound = LocalDateTime.now().minusSeconds(settleSeconds);
+        // 各テーブルから limit+1 件ずつ取得すれば、全体の先頭 limit 件と続きの有無が確定する
+        Pageable page = PageRequest.of(0, limit + 1);
+
+        List<ChangeFeedItem> items = new ArrayList<>();
+        attendanceRecordRepository.findChangedSince(cursor.updatedAt(), cursor.afterId(ChangeType.ATTENDANCE), upperBound, page)
+                .forEach(record -> items.add(new ChangeFeedItem(ChangeType.ATTENDANCE.name(), record.getAttendanceId(),
+                        record.getEmployeeId(), record.getUpdatedAt(), record)));
+        leaveRequestRepository.findChangedSince(cursor.updatedAt(), cursor.afterId(ChangeType.LEAVE), upperBound, page)
+                .forEach(request -> items.add(new ChangeFeedItem(ChangeType.LEAVE.name(), request.getId(),
+                        request.getEmployeeId(), request.getUpdatedAt(), request)));
+        adjustmentRequestRepository.findChangedSince(cursor.updatedAt(), cursor.afterId(ChangeType.ADJUSTMENT), upperBound, page)
+                .forEach(request -> items.add(new ChangeFeedItem(ChangeType.ADJUSTMENT.name(), request.getAdjustmentRequestId(),
+                        request.getEmployeeId(), request.getUpdatedAt(), request)));
+
+        items.sort(Comparator.comparing(ChangeFeedItem::getUpdatedAt)
+                .thenComparing(item -> ChangeType.valueOf(item.getType()))
+                .thenComparing(ChangeFeedItem::getId));
+        boolean hasMore = items.size() > limit;
+        List<ChangeFeedItem> pageItems = hasMore ? new ArrayList<>(items.subList(0, limit)) : items;
+
+        Cursor next = cursor;
+        if (!pageItems.isEmpty()) {
+            ChangeFeedItem last = pageItems.get(pageItems.size() - 1);
+            next = new Cursor(last.getUpdatedAt(), ChangeType.valueOf(last.getType()), last.getId());
+        }
+        return new ChangeFeedPage(pageItems, next.encode(), hasMore);
+    }
+
+    /**
+     * 変更フィードの取得結果
+     */
+    public record ChangeFeedPage(List<ChangeFeedItem> items, String nextCursor, boolean hasMore) {
+    }
+
+    /**
+     * 変更フィードの位置（最後に返した行の更新日時・種別・ID）
+     * クライアントには不透明な文字列として渡す
+     */
+    record Cursor(LocalDateTime updatedAt, ChangeType type, Long id) {
+
+        /**
+         * 指定種別のテーブルで、カーソルと同じ更新日時の行のうち対象とするIDの下限（このIDより大きい行が対象）
+         */
+        Long afterId(ChangeType target) {
+            int order = Integer.compare(target.ordinal(), type.ordinal());
+            if (order > 0) {
+                return -1L;
+            }
+            return order == 0 ? id : Long.MAX_VALUE;
+        }
+
+        String encode() {
+            String raw = updatedAt + "|" + type.name() + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decode(String token) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+                String[] parts = raw.split("\\|");
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException(raw);
+                }
+                return new Cursor(LocalDateTime.parse(parts[0]), ChangeType.valueOf(parts[1]), Long.parseLong(parts[2]));
+            } catch (IllegalArgumentException | DateTimeParseException e) {
+                throw new AttendanceException(AttendanceException.INVALID_REQUEST, "カーソルが不正です");
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.kintai.service;
+
+import com.kintai.entity.CodeSequence;
+import com.kintai.repository.CodeSequenceRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+import java.util.function.LongSupplier;
+
+/**
+ * 採番シーケンスの払い出しサービス
+ * 呼び出し元のトランザクションとは独立して即時コミットし、行ロックの保持時間を最小にする
+ */
+@Service
+public class CodeSequenceService {
+
+    @Autowired
+    private CodeSequenceRepository codeSequenceRepository;
+
+    /**
+     * 連続した番号を count 件予約
+     * @param sequenceName シーケンス名
+     * @param count 予約件数
+     * @param initialValue シーケンス未作成時の初期値
+     * @return 予約した先頭の番号（先頭から count 件が呼び出し元に割り当てられる）
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public long reserve(String sequenceName, int count, LongSupplier initialValue) {
+        if (count < 1) {
+            throw new IllegalArgumentException("予約件数は1以上で指定してください: " + count);
+        }
+        Optional<CodeSequence> locked = codeSequenceRepository.findForUpdate(sequenceName);
+        CodeSequence sequence = locked.orElseGet(() -> new CodeSequence(sequenceName, initialValue.getAsLong()));
+        long first = sequence.getNextValue();
+        sequence.setNextValue(first + count);
+        // 未作成の場合は INSERT となり、同時に作成したノードとは主キー重複で競合を検出する
+        codeSequenceRepository.saveAndFlush(sequence);
+        return first;
+    }
+
+    /**
+     * 次に払い出す番号を参照（予約はしない）
+     */
+    @Transactional(readOnly = true)
+    public Optional<Long> peek(String sequenceName) {
+        return codeSequenceRepository.findById(sequenceName).map(CodeSequence::getNextValue);
+    }
+}
@@ -0,0 +1,124 @@
+package com.kintai.service;
+
+import com.kintai.repository.EmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 社員コード（EMPnnn）の採番サービス
+ * DBの採番シーケンスからブロック単位で番号を確保し、ブロック内はメモリ上で払い出す。
+ * ブロックの確保は行ロックで直列化されるため、複数ノードから同時に採番しても重複しない。
+ * 再起動やノード間の払い出し順により番号に欠番が生じることがある。
+ */
+@Service
+public class EmployeeCodeAllocator {
+
+    static final String SEQUENCE_NAME = "EMPLOYEE_CODE";
+
+    private static final String CODE_PREFIX = "EMP";
+
+    private static final Pattern CODE_PATTERN = Pattern.compile("^" + CODE_PREFIX + "(\\d+)$");
+
+    /** シーケンス作成時の競合や既存コードとの衝突に対する再試行回数 */
+    private static final int MAX_ATTEMPTS = 5;
+
+    @Autowired
+    private CodeSequenceService codeSequenceService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    /** 1回のDBアクセスで確保する番号の件数 */
+    @Value("${kintai.employee-code.block-size:10}")
+    private int blockSize;
+
+    private long blockNext;
+    private long blockEnd;
+
+    /**
+     * 社員コードを1件払い出す
+     * 手動登録などで既に使われているコードは飛ばす
+     */
+    public String allocate() {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            String code = format(nextNumber());
+            if (employeeRepository.findByEmployeeCode(code).isEmpty()) {
+                return code;
+            }
+        }
+        throw new IllegalStateException("社員コードを採番できませんでした");
+    }
+
+    /**
+     * 連続した社員コードを count 件まとめて予約（一括登録用）
+     * ブロックのキャッシュを使わず、1回のシーケンス更新で確保する
+     */
+    public List<String> reserve(int count) {
+        long first = reserveFromSequence(count);
+        List<String> codes = new ArrayList<>(count);
+        for (long number = first; number < first + count; number++) {
+            codes.add(format(number));
+        }
+        return codes;
+    }
+
+    /**
+     * 次に払い出される社員番号を参照（払い出しはしない）
+     */
+    public synchronized long peekNextNumber() {
+        if (blockNext < blockEnd) {
+            return blockNext;
+        }
+        return codeSequenceService.peek(SEQUENCE_NAME).orElseGet(this::initialValue);
+    }
+
+    /**
+     * 社員コードを文字列化（3桁ゼロ埋め、EMP001 形式）
+     */
+    public static String format(long number) {
+        return CODE_PREFIX + String.format("%03d", number);
+    }
+
+    private synchronized long nextNumber() {
+        if (blockNext >= blockEnd) {
+            int size = Math.max(blockSize, 1);
+            blockNext = reserveFromSequence(size);
+            blockEnd = blockNext + size;
+        }
+        return blockNext++;
+    }
+
+    private long reserveFromSequence(int count) {
+        DataIntegrityViolationException last = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            try {
+                return codeSequenceService.reserve(SEQUENCE_NAME, count, this::initialValue);
+            } catch (DataIntegrityViolationException e) {
+                // 他ノードが同時にシーケンスを作成した場合は、作成済みの行をロックして再試行する
+                last = e;
+            }
+        }
+        throw last;
+    }
+
+    /**
+     * シーケンス未作成時の初期値（既存の EMPnnn の最大値 + 1）
+     */
+    private long initialValue() {
+        long max = 0;
+        for (String code : employeeRepository.findEmployeeCodesStartingWith(CODE_PREFIX)) {
+            Matcher matcher = CODE_PATTERN.matcher(code);
+            if (matcher.matches()) {
+                max = Math.max(max, Long.parseLong(matcher.group(1)));
+            }
+        }
+        return max + 1;
+    }
+}
@@ -0,0 +1,78 @@
+package com.kintai.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * 従業員テーブルの変更バージョン
+ * 従業員の登録・更新・削除のたびに table_versions の行を加算し、社員一覧APIのETag生成に使用する。
+ * 加算は変更と同じトランザクションで行うため、コミット済みの変更だけが新しいバージョンとして見え、
+ * 複数ノード・再起動をまたいでも同じバージョンは同じ内容を表す。
+ * エンティティの変更前コールバック（フラッシュ中）から呼ばれるため、JPAではなくJDBCで更新する。
+ */
+@Component
+public class EmployeeTableVersion {
+
+    static final String TABLE_NAME = "employees";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 従業員の変更を記録（1トランザクションにつき1回だけ加算する）
+     * 従業員行より先にバージョン行をロックするよう、変更前コールバックから呼び出す
+     */
+    public void markChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            if (TransactionSynchronizationManager.hasResource(this)) {
+                return;
+            }
+            TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EmployeeTableVersion.this);
+                }
+            });
+        }
+        increment();
+    }
+
+    /**
+     * 現在のバージョンを取得（未作成の場合は 0）
+     */
+    public long current() {
+        List<Long> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM table_versions WHERE table_name = ?", Long.class, TABLE_NAME);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    /**
+     * ETag用のバージョン文字列を取得
+     * @param variant 同一バージョン内で応答を区別する値（検索条件など）
+     */
+    public String etag(String variant) {
+        return "emp-" + current()
+                + (variant == null ? "" : "-" + Integer.toHexString(variant.hashCode()));
+    }
+
+    private void increment() {
+        String update = "UPDATE table_versions SET version = version + 1, updated_at = CURRENT_TIMESTAMP WHERE table_name = ?";
+        if (jdbcTemplate.update(update, TABLE_NAME) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO table_versions (table_name, version, updated_at) VALUES (?, 1, CURRENT_TIMESTAMP)",
+                    TABLE_NAME);
+        } catch (DuplicateKeyException e) {
+            // 他のトランザクションが同時に作成した場合は、作成済みの行を加算する
+            jdbcTemplate.update(update, TABLE_NAME);
+        }
+    }
+}
@@ -1,26 +1,41 @@
 package com.kintai.service;
 
+import com.kintai.dto.BulkDecisionResult;
 import com.kintai.dto.HolidayRequestDto;
+import com.kintai.entity.CustomHoliday;
 import com.kintai.entity.HolidayRequest;
 import com.kintai.entity.HolidayRequest.RequestType;
 import com.kintai.entity.HolidayRequest.Status;
 import com.kintai.repository.HolidayRequestRepository;
 import com.kintai.util.BusinessDayCalculator;
 import com.kintai.entity.WorkPatternChangeRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class HolidayRequestService {
 
+    private static final Logger log = LoggerFactory.getLogger(HolidayRequestService.class);
+
     @Autowired
     private HolidayRequestRepository repository;
 
@@ -33,6 +48,12 @@ public class HolidayRequestService {
     @Autowired
     private WorkPatternChangeRequestService workPatternChangeRequestService;
 
+    @Autowired
+    private PendingRequestCounter pendingRequestCounter;
+
+    @Autowired
+    private BulkDecisionExecutor bulkDecisionExecutor;
+
     public HolidayRequestDto createHolidayWork(Long employeeId, LocalDate workDate, boolean takeComp, LocalDate compDate, String reason) {
         validateHoliday(employeeId, workDate, true); // 休日のみ
         if (takeComp) {
@@ -48,6 +69,7 @@ public class HolidayRequestService {
         req.setReason(reason);
         req.setStatus(Status.PENDING);
         HolidayRequest saved = repository.save(req);
+        pendingRequestCounter.increment(PendingRequestCounter.RequestKind.HOLIDAY);
         HolidayRequestDto dto = HolidayRequestDto.from(saved);
         dto.setMessage("休日出勤を申請しました");
         return dto;
@@ -65,6 +87,7 @@ public class HolidayRequestService {
         req.setReason(reason);
         req.setStatus(Status.PENDING);
         HolidayRequest saved = repository.save(req);
+        pendingRequestCounter.increment(PendingRequestCounter.RequestKind.HOLIDAY);
         HolidayRequestDto dto = HolidayRequestDto.from(saved);
         dto.setMessage("振替を申請しました");
         return dto;
@@ -83,14 +106,16 @@ public class HolidayRequestService {
     }
 
     public HolidayRequestDto approve(Long id, Long approverId) {
-        HolidayRequest req = repository.findById(id).orElseThrow(() -> new IllegalArgumentException("申請が見つかりません"));
+        // 同時の承認でカスタム休日を重複登録しないよう、状態確認の前に申請をロックする
+        HolidayRequest req = repository.findForUpdate(id).orElseThrow(() -> new IllegalArgumentException("申請が見つかりません"));
         if (req.getStatus() != Status.PENDING) throw new IllegalStateException("承認できない状態です");
         req.setStatus(Status.APPROVED);
         req.setApproverId(approverId);
         HolidayRequest saved = repository.save(req);
+        pendingRequestCounter.decrement(PendingRequestCounter.RequestKind.HOLIDAY);
         
         // 承認時のカレンダー表示更新処理
-        updateCalendarDisplayOnApproval(saved);
+        updateCalendarDisplayOnApproval(saved, null);
         
         HolidayRequestDto dto = HolidayRequestDto.from(saved);
         dto.setMessage("承認しました");
@@ -98,45 +123,128 @@ public class HolidayRequestService {
     }
 
     public HolidayRequestDto reject(Long id, Long approverId, String comment) {
-        HolidayRequest req = repository.findById(id).orElseThrow(() -> new IllegalArgumentException("申請が見つかりません"));
+        HolidayRequest req = repository.findForUpdate(id).orElseThrow(() -> new IllegalArgumentException("申請が見つかりません"));
         if (req.getStatus() != Status.PENDING) throw new IllegalStateException("却下できない状態です");
         req.setStatus(Status.REJECTED);
         req.setApproverId(approverId);
         req.setRejectionComment(comment);
         HolidayRequest saved = repository.save(req);
+        pendingRequestCounter.decrement(PendingRequestCounter.RequestKind.HOLIDAY);
         HolidayRequestDto dto = HolidayRequestDto.from(saved);
         dto.setMessage("却下しました");
         return dto;
     }
 
+    /**
+     * 休日出勤・振替申請を一括で承認・却下
+     * 従業員ごとに独立したトランザクションで、関係するカスタム休日をまとめて取得し、申請の状態をまとめて保存する
+     * @return 申請ごとの処理結果（指定順）
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkDecisionResult> decideRequests(List<Long> requestIds, boolean approve, Long approverId, String comment) {
+        return bulkDecisionExecutor.decideByEmployee(requestIds,
+                ids -> repository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(HolidayRequest::getId, HolidayRequest::getEmployeeId)),
+                HolidayRequestService::notFound,
+                (employeeId, ids) -> decideGroup(employeeId, ids, approve, approverId, comment));
+    }
+
+    /**
+     * 1人分の申請をロックして承認・却下
+     */
+    private Map<Long, BulkDecisionResult> decideGroup(Long employeeId, List<Long> ids, boolean approve, Long approverId, String comment) {
+        Map<Long, HolidayRequest> found = repository.findAllForUpdate(ids).stream()
+                .collect(Collectors.toMap(HolidayRequest::getId, Function.identity()));
+        Map<Long, BulkDecisionResult> results = new HashMap<>();
+        List<HolidayRequest> requests = new ArrayList<>();
+        for (Long id : ids) {
+            HolidayRequest req = found.get(id);
+            if (req == null) {
+                results.put(id, notFound(id));
+            } else if (req.getStatus() != Status.PENDING) {
+                results.put(id, BulkDecisionResult.failed(id, "INVALID_STATUS",
+                        approve ? "承認できない状態です" : "却下できない状態です"));
+            } else {
+                requests.add(req);
+            }
+        }
+        if (requests.isEmpty()) {
+            return results;
+        }
+
+        for (HolidayRequest req : requests) {
+            req.setStatus(approve ? Status.APPROVED : Status.REJECTED);
+            req.setApproverId(approverId);
+            if (!approve) {
+                req.setRejectionComment(comment);
+            }
+        }
+        repository.saveAll(requests);
+
+        if (approve) {
+            Set<LocalDate> customHolidayDates = loadCustomHolidayDates(employeeId, requests);
+            for (HolidayRequest req : requests) {
+                updateCalendarDisplayOnApproval(req, customHolidayDates);
+            }
+        }
+        for (HolidayRequest req : requests) {
+            pendingRequestCounter.decrement(PendingRequestCounter.RequestKind.HOLIDAY);
+            results.put(req.getId(), BulkDecisionResult.succeeded(req.getId(), req.getEmployeeId(), req.getStatus().name()));
+        }
+        return results;
+    }
+
+    private static BulkDecisionResult notFound(Long id) {
+        return BulkDecisionResult.failed(id, "REQUEST_NOT_FOUND", "申請が見つかりません");
+    }
+
+    /**
+     * 申請群が参照する日付範囲のカスタム休日日付を一括取得
+     */
+    private Set<LocalDate> loadCustomHolidayDates(Long employeeId, List<HolidayRequest> requests) {
+        List<LocalDate> dates = requests.stream()
+                .flatMap(req -> Stream.of(req.getWorkDate(), req.getCompDate(), req.getTransferHolidayDate()))
+                .filter(Objects::nonNull)
+                .sorted()
+                .collect(Collectors.toList());
+        if (dates.isEmpty()) {
+            return new HashSet<>();
+        }
+        return customHolidayService.getCustomHolidaysByDateRange(employeeId, dates.get(0), dates.get(dates.size() - 1))
+                .stream()
+                .map(CustomHoliday::getHolidayDate)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
     /**
      * 承認時のカレンダー表示更新処理
      * 休日出勤・振替出勤が承認されたら、カレンダーの休日表記を削除
      * 代休・振替休日は新たに休日としてカレンダーに表記
+     * @param customHolidayDates 取得済みのカスタム休日日付（一括処理時のみ。nullの場合は事前確認しない）
      */
-    private void updateCalendarDisplayOnApproval(HolidayRequest approvedRequest) {
+    private void updateCalendarDisplayOnApproval(HolidayRequest approvedRequest, Set<LocalDate> customHolidayDates) {
         Long employeeId = approvedRequest.getEmployeeId();
         Long approverId = approvedRequest.getApproverId();
         
         if (approvedRequest.getRequestType() == RequestType.HOLIDAY_WORK) {
             // 休日出勤承認時
             // 出勤日（元々の休日）の休日表記を削除
-            removeHolidayDisplay(employeeId, approvedRequest.getWorkDate());
+            removeHolidayDisplay(employeeId, approvedRequest.getWorkDate(), customHolidayDates);
             
             // 代休取得の場合、代休日を新たに休日として登録
             if (approvedRequest.getTakeComp() && approvedRequest.getCompDate() != null) {
                 addHolidayDisplay(employeeId, approvedRequest.getCompDate(), "代休", 
-                    "休日出勤の代休", approvedRequest.getId(), approverId);
+                    "休日出勤の代休", approvedRequest.getId(), approverId, customHolidayDates);
             }
         } else if (approvedRequest.getRequestType() == RequestType.TRANSFER) {
             // 振替出勤承認時
             // 出勤日（元々の休日）の休日表記を削除
-            removeHolidayDisplay(employeeId, approvedRequest.getWorkDate());
+            removeHolidayDisplay(employeeId, approvedRequest.getWorkDate(), customHolidayDates);
             
             // 振替休日を新たに休日として登録
             if (approvedRequest.getTransferHolidayDate() != null) {
                 addHolidayDisplay(employeeId, approvedRequest.getTransferHolidayDate(), "振替休日", 
-                    "振替出勤の振替休日", approvedRequest.getId(), approverId);
+                    "振替出勤の振替休日", approvedRequest.getId(), approverId, customHolidayDates);
             }
         }
     }
@@ -144,20 +252,30 @@ public class HolidayRequestService {
     /**
      * 指定日の休日表記を削除
      */
-    private void removeHolidayDisplay(Long employeeId, LocalDate date) {
+    private void removeHolidayDisplay(Long employeeId, LocalDate date, Set<LocalDate> customHolidayDates) {
+        if (customHolidayDates != null && !customHolidayDates.remove(date)) {
+            // 取得済みの一覧に無ければ削除対象なし
+            return;
+        }
         try {
             // 該当従業員の指定日のカスタム休日を削除
             customHolidayService.removeCustomHoliday(employeeId, date);
-            System.out.println("休日表記を削除: 従業員ID=" + employeeId + ", 日付=" + date);
+            log.debug("休日表記を削除: 従業員ID={}, 日付={}", employeeId, date);
         } catch (Exception e) {
-            System.err.println("休日表記の削除に失敗: " + e.getMessage());
+            log.warn("休日表記の削除に失敗: 従業員ID={}, 日付={}", employeeId, date, e);
         }
     }
     
     /**
      * 指定日を新たに休日として登録
      */
-    private void addHolidayDisplay(Long employeeId, LocalDate date, String holidayType, String description, Long relatedRequestId, Long createdBy) {
+    private void addHolidayDisplay(Long employeeId, LocalDate date, String holidayType, String description, Long relatedRequestId, Long createdBy,
+                                   Set<LocalDate> customHolidayDates) {
+        if (customHolidayDates != null && !customHolidayDates.add(date)) {
+            // 既に休日登録済みの日は重複登録しない
+            log.warn("新たな休日の追加に失敗: 指定日には既にカスタム休日が設定されています: 従業員ID={}, 日付={}", employeeId, date);
+            return;
+        }
         try {
             if ("代休".equals(holidayType)) {
                 customHolidayService.createCompensatoryHoliday(employeeId, date, description, relatedRequestId, createdBy);
@@ -166,9 +284,9 @@ public class HolidayRequestService {
             } else {
                 customHolidayService.createCustomHoliday(employeeId, date, holidayType, description, relatedRequestId, createdBy);
             }
-            System.out.println("新たな休日を追加: 従業員ID=" + employeeId + ", 日付=" + date + ", 種別=" + holidayType);
+            log.debug("新たな休日を追加: 従業員ID={}, 日付={}, 種別={}", employeeId, date, holidayType);
         } catch (Exception e) {
-            System.err.println("新たな休日の追加に失敗: " + e.getMessage());
+            log.warn("新たな休日の追加に失敗: 従業員ID={}, 日付={}", employeeId, date, e);
         }
     }
 
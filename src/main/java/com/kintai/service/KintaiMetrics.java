@@ -0,0 +1,198 @@
+package com.kintai.service;
+
+import com.kintai.exception.AttendanceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 勤怠・休暇・承認の主要処理とリクエストごとのSQL文のメトリクス（/actuator/metrics と /actuator/prometheus で公開）
+ * タグは処理種別・結果などの固定値に限定し、従業員IDや日付などの値はタグにしない。
+ * 結果タグ（outcome）は成功時 success、AttendanceException の場合はエラーコード、それ以外は error とする。
+ */
+@Component
+public class KintaiMetrics {
+
+    public static final String OUTCOME_SUCCESS = "success";
+
+    public static final String OUTCOME_ERROR = "error";
+
+    /** リクエスト内の勤務パターン解決クエリ数を保持するリクエスト属性 */
+    public static final String PATTERN_QUERY_ATTRIBUTE = KintaiMetrics.class.getName() + ".patternQueries";
+
+    private final MeterRegistry registry;
+
+    private final Counter clockOutRetries;
+
+    private final Counter duplicatesDeleted;
+
+    private final DistributionSummary patternQueriesPerRequest;
+
+    public KintaiMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.clockOutRetries = Counter.builder("kintai.attendance.clock.retries")
+                .tag("operation", "out")
+                .description("楽観的ロックの競合による打刻の再試行回数")
+                .register(registry);
+        this.duplicatesDeleted = Counter.builder("kintai.attendance.duplicates.deleted")
+                .description("重複した勤怠記録の削除件数")
+                .register(registry);
+        this.patternQueriesPerRequest = DistributionSummary.builder("kintai.workpattern.queries.per.request")
+                .description("1リクエストあたりの勤務パターン解決クエリ数（クエリを実行したリクエストのみ）")
+                .register(registry);
+    }
+
+    /**
+     * 例外から結果タグの値を決定
+     */
+    public static String outcomeOf(Throwable e) {
+        if (e instanceof AttendanceException attendanceException && attendanceException.getErrorCode() != null) {
+            return attendanceException.getErrorCode();
+        }
+        return OUTCOME_ERROR;
+    }
+
+    /**
+     * 計測を開始
+     */
+    public Timer.Sample start() {
+        return Timer.start(registry);
+    }
+
+    /**
+     * 打刻処理の所要時間を記録
+     * @param operation in（出勤） / out（退勤）
+     */
+    public void recordClock(Timer.Sample sample, String operation, String outcome) {
+        sample.stop(Timer.builder("kintai.attendance.clock")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .description("打刻処理の所要時間")
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    /**
+     * 退勤打刻の再試行を記録
+     */
+    public void countClockOutRetry() {
+        clockOutRetries.increment();
+    }
+
+    /**
+     * 重複した勤怠記録の削除件数を記録
+     */
+    public void countDuplicatesDeleted(int count) {
+        if (count > 0) {
+            duplicatesDeleted.increment(count);
+        }
+    }
+
+    /**
+     * 勤怠参照1回あたりの再計算件数を記録
+     * @param view history（過去30日） / month（月別） / date（指定日）
+     */
+    public void recordRecalculations(String view, int count) {
+        DistributionSummary.builder("kintai.attendance.history.recalculations")
+                .tag("view", view)
+                .description("勤怠参照1回あたりの勤怠記録の再計算件数")
+                .register(registry)
+                .record(count);
+    }
+
+    /**
+     * 勤務パターン解決クエリの実行を記録
+     * リクエスト処理中であればリクエスト内の件数にも加算する（RequestMetricsInterceptor がリクエスト完了時に記録）
+     * @param query date（指定日） / upcoming（今後） / range（期間）
+     */
+    public void countPatternQuery(String query) {
+        registry.counter("kintai.workpattern.queries", "query", query).increment();
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        Object tally = attributes.getAttribute(PATTERN_QUERY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (tally instanceof AtomicInteger count) {
+            count.incrementAndGet();
+        } else {
+            attributes.setAttribute(PATTERN_QUERY_ATTRIBUTE, new AtomicInteger(1), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * リクエスト内の勤務パターン解決クエリ数を記録
+     */
+    public void recordPatternQueriesPerRequest(int count) {
+        patternQueriesPerRequest.record(count);
+    }
+
+    /**
+     * 勤怠レポートPDFの生成時間とサイズを記録
+     * @param mode single（個別） / bulk（一括）
+     * @param bytes PDFのサイズ（失敗時は記録しない）
+     */
+    public void recordPdf(Timer.Sample sample, String mode, long bytes, String outcome) {
+        sample.stop(Timer.builder("kintai.report.pdf.render")
+                .tag("mode", mode)
+                .tag("outcome", outcome)
+                .description("勤怠レポートPDFの生成時間")
+                .publishPercentileHistogram()
+                .register(registry));
+        if (OUTCOME_SUCCESS.equals(outcome)) {
+            DistributionSummary.builder("kintai.report.pdf.size")
+                    .tag("mode", mode)
+                    .baseUnit("bytes")
+                    .description("勤怠レポートPDFのサイズ")
+                    .register(registry)
+                    .record(bytes);
+        }
+    }
+
+    /**
+     * リクエスト内のSQL文の実行数と実行時間を記録
+     * @param method HTTPメソッド
+     * @param endpoint エンドポイントのパターン（/api/attendance/history/{employeeId} など）
+     * @param statements SQL文の数
+     * @param executionNanos SQL文の実行時間の合計（ナノ秒）
+     */
+    public void recordSqlStatements(String method, String endpoint, int statements, long executionNanos) {
+        DistributionSummary.builder("kintai.sql.statements")
+                .tag("method", method)
+                .tag("endpoint", endpoint)
+                .description("1リクエストあたりのSQL文の数")
+                .serviceLevelObjectives(1, 2, 5, 10, 20, 50, 100, 200)
+                .register(registry)
+                .record(statements);
+        Timer.builder("kintai.sql.time")
+                .tag("method", method)
+                .tag("endpoint", endpoint)
+                .description("1リクエストあたりのSQL文の実行時間の合計")
+                .serviceLevelObjectives(Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10),
+                        Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(500), Duration.ofSeconds(1))
+                .register(registry)
+                .record(executionNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * 申請の承認・却下の処理時間を記録
+     * @param type 申請種別
+     * @param action approve / reject / bulk
+     */
+    public void recordApproval(Timer.Sample sample, String type, String action, String outcome) {
+        sample.stop(Timer.builder("kintai.approval")
+                .tag("type", type)
+                .tag("action", action)
+                .tag("outcome", outcome)
+                .description("申請の承認・却下の処理時間（コミットを含む）")
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+}
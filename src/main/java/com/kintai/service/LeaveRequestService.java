@@ -1,5 +1,6 @@
 package com.kintai.service;
 
+import com.kintai.dto.BulkDecisionResult;
 import com.kintai.dto.LeaveBalanceView;
 import com.kintai.dto.LeaveRequestDto;
 import com.kintai.entity.*;
@@ -11,12 +12,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import com.kintai.util.BusinessDayCalculator;
 
 /**
@@ -56,6 +60,12 @@ public class LeaveRequestService {
     @Autowired
     private BusinessDayCalculator businessDayCalculator;
 
+    @Autowired
+    private PendingRequestCounter pendingRequestCounter;
+
+    @Autowired
+    private BulkDecisionExecutor bulkDecisionExecutor;
+
     /**
      * 休暇申請を作成
      */
@@ -99,6 +109,7 @@ public class LeaveRequestService {
             );
 
             LeaveRequest saved = leaveRequestRepository.save(leaveRequest);
+            pendingRequestCounter.increment(PendingRequestCounter.RequestKind.LEAVE);
 
             LeaveRequestDto.LeaveData data = toDto(saved);
             String message = "休暇申請が完了しました";
@@ -120,7 +131,7 @@ public class LeaveRequestService {
                                         Long approverId,
                                         String comment) {
         try {
-            LeaveRequest request = leaveRequestRepository.findById(leaveRequestId)
+            LeaveRequest request = leaveRequestRepository.findForUpdate(leaveRequestId)
                     .orElseThrow(() -> new VacationException(VacationException.VACATION_NOT_FOUND, "申請が見つかりません"));
 
             LeaveStatus current = request.getStatus();
@@ -137,6 +148,9 @@ public class LeaveRequestService {
 
             LeaveRequest saved = leaveRequestRepository.save(request);
             recordApprovalHistory(saved, newStatus, approverId, comment);
+            if (current == LeaveStatus.PENDING) {
+                pendingRequestCounter.decrement(PendingRequestCounter.RequestKind.LEAVE);
+            }
 
             LeaveRequestDto.LeaveData data = toDto(saved);
             LeaveRequestDto response = new LeaveRequestDto(true,
@@ -151,11 +165,107 @@ public class LeaveRequestService {
         }
     }
 
+    /**
+     * 休暇申請を一括で承認・却下
+     * 従業員ごとに独立したトランザクションで、休暇残数をまとめて取得し、申請・残数・承認履歴を一括保存する
+     * @return 申請ごとの処理結果（指定順）
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkDecisionResult> decideRequests(List<Long> leaveRequestIds,
+                                                   boolean approve,
+                                                   Long approverId,
+                                                   String comment) {
+        if (!approve && (comment == null || comment.trim().isEmpty())) {
+            return new LinkedHashSet<>(leaveRequestIds).stream()
+                    .map(id -> BulkDecisionResult.failed(id, VacationException.INVALID_REQUEST, "却下理由は必須です"))
+                    .collect(Collectors.toList());
+        }
+
+        return bulkDecisionExecutor.decideByEmployee(leaveRequestIds,
+                ids -> leaveRequestRepository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(LeaveRequest::getId, LeaveRequest::getEmployeeId)),
+                LeaveRequestService::notFound,
+                (employeeId, ids) -> decideGroup(employeeId, ids, approve, approverId, comment));
+    }
+
+    /**
+     * 1人分の休暇申請をロックして承認・却下
+     */
+    private Map<Long, BulkDecisionResult> decideGroup(Long employeeId, List<Long> ids, boolean approve,
+                                                      Long approverId, String comment) {
+        Map<Long, LeaveRequest> found = leaveRequestRepository.findAllForUpdate(ids).stream()
+                .collect(Collectors.toMap(LeaveRequest::getId, Function.identity()));
+        Map<Long, BulkDecisionResult> results = new HashMap<>();
+        List<LeaveRequest> pending = new ArrayList<>();
+        for (Long id : ids) {
+            LeaveRequest request = found.get(id);
+            if (request == null) {
+                results.put(id, notFound(id));
+            } else if (request.getStatus() != LeaveStatus.PENDING) {
+                results.put(id, BulkDecisionResult.failed(id, VacationException.INVALID_STATUS_CHANGE,
+                        approve ? "承認できない状態です" : "却下できない状態です"));
+            } else {
+                pending.add(request);
+            }
+        }
+        if (pending.isEmpty()) {
+            return results;
+        }
+
+        LeaveStatus newStatus = approve ? LeaveStatus.APPROVED : LeaveStatus.REJECTED;
+        Map<LeaveType, LeaveBalance> balances = approve
+                ? leaveBalanceRepository.findByEmployeeIdForUpdate(employeeId).stream()
+                        .collect(Collectors.toMap(LeaveBalance::getLeaveType, Function.identity(), (a, b) -> a,
+                                () -> new EnumMap<>(LeaveType.class)))
+                : Map.of();
+
+        List<LeaveRequest> decided = new ArrayList<>();
+        for (LeaveRequest request : pending) {
+            if (approve) {
+                LeaveBalance balance = balances.get(request.getLeaveType());
+                if (balance == null) {
+                    results.put(request.getId(), BulkDecisionResult.failed(request.getId(),
+                            VacationException.INVALID_REQUEST, "残数情報が見つかりません"));
+                    continue;
+                }
+                balance.consume(request.getDays());
+                markApproved(request, approverId);
+            } else {
+                request.setStatus(LeaveStatus.REJECTED);
+                request.setApproverId(approverId);
+                request.setRejectionComment(comment.trim());
+            }
+            decided.add(request);
+        }
+        if (decided.isEmpty()) {
+            return results;
+        }
+
+        if (approve) {
+            leaveBalanceRepository.saveAll(balances.values());
+        }
+        leaveRequestRepository.saveAll(decided);
+        List<Approval> approvals = new ArrayList<>();
+        for (LeaveRequest request : decided) {
+            approvals.add(new Approval("LEAVE_REQUEST", request.getId(), newStatus, approverId, comment));
+            pendingRequestCounter.decrement(PendingRequestCounter.RequestKind.LEAVE);
+            results.put(request.getId(), BulkDecisionResult.succeeded(
+                    request.getId(), request.getEmployeeId(), request.getStatus().name()));
+        }
+        approvalRepository.saveAll(approvals);
+        return results;
+    }
+
+    private static BulkDecisionResult notFound(Long id) {
+        return BulkDecisionResult.failed(id, VacationException.VACATION_NOT_FOUND, "申請が見つかりません");
+    }
+
     /**
      * 社員による申請取消
      */
     public LeaveRequestDto cancelRequest(Long leaveRequestId, Long employeeId) {
-        LeaveRequest request = leaveRequestRepository.findByIdAndEmployeeId(leaveRequestId, employeeId)
+        LeaveRequest request = leaveRequestRepository.findForUpdate(leaveRequestId)
+                .filter(found -> found.getEmployeeId().equals(employeeId))
                 .orElseThrow(() -> new VacationException(VacationException.VACATION_NOT_FOUND, "申請が見つかりません"));
 
         if (request.getStatus() == LeaveStatus.REJECTED || request.getStatus() == LeaveStatus.CANCELLED) {
@@ -166,11 +276,15 @@ public class LeaveRequestService {
             restoreBalance(request);
         }
 
+        boolean wasPending = request.getStatus() == LeaveStatus.PENDING;
         request.setStatus(LeaveStatus.CANCELLED);
         request.setRejectionComment(null);
         request.setApproverId(null);
 
         LeaveRequest saved = leaveRequestRepository.save(request);
+        if (wasPending) {
+            pendingRequestCounter.decrement(PendingRequestCounter.RequestKind.LEAVE);
+        }
         recordApprovalHistory(saved, LeaveStatus.CANCELLED, employeeId, "従業員による取消");
 
         LeaveRequestDto.LeaveData data = toDto(saved);
@@ -528,6 +642,10 @@ public class LeaveRequestService {
             throw new VacationException(VacationException.INVALID_STATUS_CHANGE, "承認できない状態です");
         }
         consumeBalance(request);
+        markApproved(request, approverId);
+    }
+
+    private void markApproved(LeaveRequest request, Long approverId) {
         request.setStatus(LeaveStatus.APPROVED);
         request.setApproverId(approverId);
         request.setRejectionComment(null);
@@ -556,7 +674,7 @@ public class LeaveRequestService {
 
     private void consumeBalance(LeaveRequest request) {
         LeaveBalance balance = leaveBalanceRepository
-                .findByEmployeeIdAndLeaveType(request.getEmployeeId(), request.getLeaveType())
+                .findForUpdate(request.getEmployeeId(), request.getLeaveType())
                 .orElseThrow(() -> new VacationException(VacationException.INVALID_REQUEST, "残数情報が見つかりません"));
         balance.consume(request.getDays());
         leaveBalanceRepository.save(balance);
@@ -564,7 +682,7 @@ public class LeaveRequestService {
 
     private void restoreBalance(LeaveRequest request) {
         LeaveBalance balance = leaveBalanceRepository
-                .findByEmployeeIdAndLeaveType(request.getEmployeeId(), request.getLeaveType())
+                .findForUpdate(request.getEmployeeId(), request.getLeaveType())
                 .orElse(null);
         if (balance == null) {
             return;
@@ -0,0 +1,177 @@
+package com.kintai.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ログイン失敗の抑止（ユーザー名・接続元IPごとのトークンバケット）
+ * ログインを試行するたびに、パスワードを照合する前にユーザー名と接続元IPのバケットからトークンを1つ確保し、
+ * どちらかが空の場合は照合せずに拒否する。確保と残数の確認は同時に行うため、
+ * 同時に送られた試行が残数を超えて照合されることはない。
+ * 失敗した試行のトークンはそのまま消費し、成功した場合はユーザー名のバケットを満杯に戻して接続元IPのトークンを返却する。
+ * 照合しなかった場合（混雑による拒否）は両方のトークンを返却する。トークンは一定間隔で1つずつ補充される。
+ * 状態はプロセス内のみで保持するため、複数ノードではノードごとに上限が適用される。
+ */
+@Component
+public class LoginThrottle {
+
+    public static final String LOGIN_THROTTLED = "LOGIN_THROTTLED";
+
+    private final Map<String, TokenBucket> usernameBuckets = new ConcurrentHashMap<>();
+
+    private final Map<String, TokenBucket> ipBuckets = new ConcurrentHashMap<>();
+
+    private final int usernameCapacity;
+
+    private final long usernameRefillNanos;
+
+    private final int ipCapacity;
+
+    private final long ipRefillNanos;
+
+    public LoginThrottle(@Value("${kintai.auth.throttle.username.capacity:5}") int usernameCapacity,
+                         @Value("${kintai.auth.throttle.username.refill-seconds:60}") long usernameRefillSeconds,
+                         @Value("${kintai.auth.throttle.ip.capacity:50}") int ipCapacity,
+                         @Value("${kintai.auth.throttle.ip.refill-seconds:6}") long ipRefillSeconds) {
+        this.usernameCapacity = usernameCapacity;
+        this.usernameRefillNanos = TimeUnit.SECONDS.toNanos(Math.max(usernameRefillSeconds, 1));
+        this.ipCapacity = ipCapacity;
+        this.ipRefillNanos = TimeUnit.SECONDS.toNanos(Math.max(ipRefillSeconds, 1));
+    }
+
+    /**
+     * ログインの試行枠を確保
+     * 確保できた場合は照合後に {@link #recordSuccess} または {@link #release} を呼び出す（失敗時は呼び出さない）
+     * @param username ユーザー名
+     * @param clientIp 接続元IP（不明な場合はnull）
+     * @return 0の場合は確保済み。それ以外は試行できるまでの待ち時間（秒）
+     */
+    public long tryAcquire(String username, String clientIp) {
+        long now = System.nanoTime();
+        String userKey = usernameKey(username);
+        long waitNanos = tryConsume(usernameBuckets, userKey, usernameCapacity, usernameRefillNanos, now);
+        if (waitNanos == 0 && clientIp != null) {
+            waitNanos = tryConsume(ipBuckets, clientIp, ipCapacity, ipRefillNanos, now);
+            if (waitNanos > 0) {
+                refund(usernameBuckets, userKey, now);
+            }
+        }
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    /**
+     * ログイン成功を記録（ユーザー名の失敗履歴を消去し、接続元IPのトークンを返却）
+     */
+    public void recordSuccess(String username, String clientIp) {
+        usernameBuckets.remove(usernameKey(username));
+        if (clientIp != null) {
+            refund(ipBuckets, clientIp, System.nanoTime());
+        }
+    }
+
+    /**
+     * 照合しなかった試行の枠を返却
+     */
+    public void release(String username, String clientIp) {
+        long now = System.nanoTime();
+        refund(usernameBuckets, usernameKey(username), now);
+        if (clientIp != null) {
+            refund(ipBuckets, clientIp, now);
+        }
+    }
+
+    /**
+     * 満杯まで補充されたバケットを削除（失敗が続いていないキーを保持し続けないように）
+     */
+    @Scheduled(fixedDelayString = "${kintai.auth.throttle.purge-interval-ms:60000}")
+    public void purgeRefilled() {
+        long now = System.nanoTime();
+        purgeRefilled(usernameBuckets, now);
+        purgeRefilled(ipBuckets, now);
+    }
+
+    /**
+     * バケットからトークンを1つ消費（確保と削除が競合しないよう、キー単位の排他の中で行う）
+     * @return 0の場合は消費済み。それ以外は消費できるまでの待ち時間（ナノ秒）
+     */
+    private static long tryConsume(Map<String, TokenBucket> buckets, String key, int capacity, long refillNanos, long now) {
+        long[] waitNanos = new long[1];
+        buckets.compute(key, (k, bucket) -> {
+            TokenBucket target = bucket != null ? bucket : new TokenBucket(capacity, refillNanos, now);
+            waitNanos[0] = target.tryConsume(now);
+            return target;
+        });
+        return waitNanos[0];
+    }
+
+    private static void refund(Map<String, TokenBucket> buckets, String key, long now) {
+        buckets.computeIfPresent(key, (k, bucket) -> {
+            bucket.refund(now);
+            return bucket;
+        });
+    }
+
+    private static void purgeRefilled(Map<String, TokenBucket> buckets, long now) {
+        for (String key : buckets.keySet()) {
+            buckets.computeIfPresent(key, (k, bucket) -> bucket.isFull(now) ? null : bucket);
+        }
+    }
+
+    private String usernameKey(String username) {
+        return username == null ? "" : username.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * トークンバケット（一定間隔で1トークン補充）
+     */
+    private static final class TokenBucket {
+
+        private final int capacity;
+
+        private final long refillNanos;
+
+        private double tokens;
+
+        private long refilledAt;
+
+        TokenBucket(int capacity, long refillNanos, long now) {
+            this.capacity = capacity;
+            this.refillNanos = refillNanos;
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        synchronized long tryConsume(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) * refillNanos);
+        }
+
+        synchronized void refund(long now) {
+            refill(now);
+            tokens = Math.min(capacity, tokens + 1);
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        private void refill(long now) {
+            long elapsed = now - refilledAt;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + (double) elapsed / refillNanos);
+                refilledAt = now;
+            }
+        }
+    }
+}
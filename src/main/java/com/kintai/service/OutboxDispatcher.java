@@ -0,0 +1,202 @@
+package com.kintai.service;
+
+import com.kintai.entity.OutboxEvent;
+import com.kintai.event.DomainChangeEvent;
+import com.kintai.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * アウトボックスイベントの配信サービス
+ * 未配信のイベントを記録順に一定件数ずつ確保し、プロセス内のリスナーへ DomainChangeEvent として配信する。
+ * 配信済みの記録はリスナーの処理後に行うため、途中で停止した場合は確保の期限切れ後に再送される（少なくとも1回の配信）。
+ * リスナーが例外を送出したイベントは再送回数を加算して次回に再送し、上限に達したものは配信対象から外して残す。
+ * 同じ集約のイベントは記録順に配信し、古いイベントが未配信の間は新しいイベントを配信しない。
+ * 複数ノードで動作させる場合、各イベントは確保したいずれか1ノードのリスナーにのみ配信される。
+ * 全ノードのプロセス内キャッシュの更新には使えないため、リスナーは共有の保存先（DB等）に対する処理に限ること。
+ */
+@Service
+public class OutboxDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final AtomicBoolean dispatching = new AtomicBoolean();
+
+    /** 確保の識別に使うノードの識別子（起動ごとに生成） */
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final AtomicLong claimSequence = new AtomicLong();
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /** 1回の読み出し件数 */
+    @Value("${kintai.outbox.batch-size:100}")
+    private int batchSize;
+
+    /** 再送の上限回数 */
+    @Value("${kintai.outbox.max-attempts:10}")
+    private int maxAttempts;
+
+    /** 確保の有効期間（秒）。配信中に停止したノードが確保したイベントは、期限切れ後に他のノードが配信する */
+    @Value("${kintai.outbox.lease-seconds:60}")
+    private long leaseSeconds;
+
+    /** 配信済みイベントの保持期間（時間） */
+    @Value("${kintai.outbox.retention-hours:72}")
+    private long retentionHours;
+
+    /**
+     * 未配信のイベントをすべて配信
+     * 別スレッドで配信中の場合は何もしない
+     * @return 配信したイベント数
+     */
+    @Scheduled(fixedDelayString = "${kintai.outbox.poll-interval-ms:1000}")
+    public int dispatchPending() {
+        if (!dispatching.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            int total = 0;
+            BatchResult result;
+            do {
+                result = dispatchBatch();
+                total += result.dispatched();
+                // 失敗・見送りがあった場合は次回のポーリングまで再送しない
+            } while (result.unfinished() == 0 && result.fetched() == batchSize);
+            return total;
+        } finally {
+            dispatching.set(false);
+        }
+    }
+
+    /**
+     * 配信済みで保持期間を過ぎたイベントを削除
+     */
+    @Scheduled(fixedDelayString = "${kintai.outbox.compaction-interval-ms:3600000}",
+            initialDelayString = "${kintai.outbox.compaction-interval-ms:3600000}")
+    public int compact() {
+        LocalDateTime threshold = LocalDateTime.now().minus(Duration.ofHours(retentionHours));
+        int deleted = outboxEventRepository.deleteDispatchedBefore(threshold);
+        long abandoned = outboxEventRepository.countByDispatchedAtIsNullAndAttemptsGreaterThanEqual(maxAttempts);
+        if (abandoned > 0) {
+            log.warn("[Outbox] 再送上限に達した未配信イベントが {} 件あります", abandoned);
+        }
+        if (deleted > 0) {
+            log.info("[Outbox] 配信済みイベントを {} 件削除しました", deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * 未配信イベントを1バッチ分確保して配信
+     * 集約ごとに記録順で配信し、配信に失敗した集約の以降のイベントは次回に回す
+     * @return 読み出し・配信・未完了（失敗・見送り）の件数
+     */
+    private BatchResult dispatchBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> candidates = outboxEventRepository.findPending(maxAttempts, now, PageRequest.of(0, batchSize));
+        if (candidates.isEmpty()) {
+            return new BatchResult(0, 0, 0);
+        }
+
+        String claimToken = nodeId + "/" + claimSequence.incrementAndGet();
+        List<Long> candidateIds = candidates.stream().map(OutboxEvent::getId).toList();
+        outboxEventRepository.claim(candidateIds, claimToken, now.plusSeconds(leaseSeconds), now);
+        List<OutboxEvent> events = outboxEventRepository.findClaimed(claimToken);
+        if (events.isEmpty()) {
+            // すべて他のノードが先に確保した
+            return new BatchResult(candidates.size(), 0, 0);
+        }
+
+        // 他のノードが同じ集約の古いイベントを配信中の場合、その集約は今回配信しない
+        Set<String> blocked = new HashSet<>();
+        Long lastId = events.get(events.size() - 1).getId();
+        for (OutboxEvent earlier : outboxEventRepository.findPendingBefore(lastId, claimToken, maxAttempts)) {
+            blocked.add(aggregateKey(earlier));
+        }
+
+        // 同じバッチ内で同じ集約の更新が続く場合は最後の1件のみ配信する
+        Map<String, OutboxEvent> latestUpdates = new HashMap<>();
+        for (OutboxEvent event : events) {
+            if (event.getChangeType() == DomainChangeEvent.ChangeType.UPDATED) {
+                latestUpdates.put(aggregateKey(event), event);
+            }
+        }
+
+        // 省略した更新は、最後の更新の配信に成功した場合にのみ配信済みにする
+        Map<String, List<Long>> superseded = new HashMap<>();
+        List<Long> completed = new ArrayList<>();
+        List<Long> deferred = new ArrayList<>();
+        int failed = 0;
+        for (OutboxEvent event : events) {
+            String key = aggregateKey(event);
+            if (blocked.contains(key)) {
+                deferred.add(event.getId());
+                continue;
+            }
+            boolean latestUpdate = latestUpdates.get(key) == event;
+            if (event.getChangeType() == DomainChangeEvent.ChangeType.UPDATED && !latestUpdate) {
+                superseded.computeIfAbsent(key, k -> new ArrayList<>()).add(event.getId());
+                continue;
+            }
+            try {
+                eventPublisher.publishEvent(event.toEvent());
+                completed.add(event.getId());
+                if (latestUpdate) {
+                    completed.addAll(superseded.getOrDefault(key, List.of()));
+                }
+            } catch (RuntimeException e) {
+                failed++;
+                blocked.add(key);
+                log.warn("[Outbox] イベント {} ({}#{}) の配信に失敗しました", event.getId(),
+                        event.getAggregateType(), event.getAggregateId(), e);
+                outboxEventRepository.markFailed(event.getId(), truncate(String.valueOf(e.getMessage())));
+                deferred.addAll(superseded.getOrDefault(key, List.of()));
+            }
+        }
+        if (!completed.isEmpty()) {
+            outboxEventRepository.markDispatched(completed, LocalDateTime.now());
+        }
+        if (!deferred.isEmpty()) {
+            outboxEventRepository.release(deferred, claimToken);
+        }
+        // 他のノードと競合して確保できなかった、または配信を見送ったイベントがある場合も次回のポーリングまで待つ
+        int skipped = candidates.size() - events.size() + deferred.size();
+        return new BatchResult(candidates.size(), completed.size(), failed + skipped);
+    }
+
+    private String aggregateKey(OutboxEvent event) {
+        return event.getAggregateType() + "#" + event.getAggregateId();
+    }
+
+    private String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private record BatchResult(int fetched, int dispatched, int unfinished) {
+    }
+}
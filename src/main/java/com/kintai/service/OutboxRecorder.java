@@ -0,0 +1,137 @@
+package com.kintai.service;
+
+import com.kintai.entity.AdjustmentRequest;
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.HolidayRequest;
+import com.kintai.entity.LeaveRequest;
+import com.kintai.entity.OutboxEvent;
+import com.kintai.entity.WorkPatternChangeRequest;
+import com.kintai.event.DomainChangeEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * アウトボックスへの変更記録
+ * エンティティリスナーから通知された変更をトランザクション単位でまとめ、
+ * コミット直前に同じトランザクション内でアウトボックスへ書き込む。
+ * 更新はコミット時のフラッシュで初めて検知されることがあるため、読み込み時点で同期処理を登録しておき、
+ * コミット直前に明示的にフラッシュしてから書き込む。
+ * JPQL の一括更新・削除はエンティティリスナーを経由しないため記録されない。
+ */
+@Component
+public class OutboxRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(OutboxRecorder.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * 対象エンティティの読み込みを通知（コミット時のフラッシュで検知される更新に備える）
+     */
+    public void track() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        currentSynchronization();
+    }
+
+    /**
+     * 対象エンティティの変更を記録
+     * @param entity 変更されたエンティティ
+     * @param changeType 変更の種類
+     */
+    public void record(Object entity, DomainChangeEvent.ChangeType changeType) {
+        OutboxEvent event = toOutboxEvent(entity, changeType);
+        if (event == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            log.warn("[Outbox] トランザクション外の変更のため記録できません: {}#{}",
+                    event.getAggregateType(), event.getAggregateId());
+            return;
+        }
+        currentSynchronization().add(event);
+    }
+
+    private OutboxSynchronization currentSynchronization() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof OutboxSynchronization outbox) {
+                return outbox;
+            }
+        }
+        OutboxSynchronization outbox = new OutboxSynchronization();
+        TransactionSynchronizationManager.registerSynchronization(outbox);
+        return outbox;
+    }
+
+    private OutboxEvent toOutboxEvent(Object entity, DomainChangeEvent.ChangeType changeType) {
+        if (entity instanceof AttendanceRecord record) {
+            return new OutboxEvent("AttendanceRecord", record.getAttendanceId(), record.getEmployeeId(), changeType);
+        }
+        if (entity instanceof LeaveRequest request) {
+            return new OutboxEvent("LeaveRequest", request.getId(), request.getEmployeeId(), changeType);
+        }
+        if (entity instanceof AdjustmentRequest request) {
+            return new OutboxEvent("AdjustmentRequest", request.getAdjustmentRequestId(), request.getEmployeeId(), changeType);
+        }
+        if (entity instanceof HolidayRequest request) {
+            return new OutboxEvent("HolidayRequest", request.getId(), request.getEmployeeId(), changeType);
+        }
+        if (entity instanceof WorkPatternChangeRequest request) {
+            return new OutboxEvent("WorkPatternChangeRequest", request.getRequestId(), request.getEmployeeId(), changeType);
+        }
+        return null;
+    }
+
+    /**
+     * トランザクション内の変更を集約ごとに1件へまとめ、コミット直前に書き込む
+     */
+    private final class OutboxSynchronization implements TransactionSynchronization {
+
+        private final Map<String, OutboxEvent> pending = new LinkedHashMap<>();
+
+        void add(OutboxEvent event) {
+            String key = event.getAggregateType() + "#" + event.getAggregateId();
+            OutboxEvent existing = pending.get(key);
+            // 同じトランザクションで作成された集約の更新は作成として扱う
+            if (existing != null && existing.getChangeType() == DomainChangeEvent.ChangeType.CREATED
+                    && event.getChangeType() == DomainChangeEvent.ChangeType.UPDATED) {
+                return;
+            }
+            pending.remove(key);
+            pending.put(key, event);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (readOnly) {
+                return;
+            }
+            // コミット時のフラッシュで検知される更新を先に確定させる
+            entityManager.flush();
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<OutboxEvent> events = new ArrayList<>(pending.values());
+            pending.clear();
+            events.forEach(entityManager::persist);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            pending.clear();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.kintai.service;
+
+import com.kintai.exception.AttendanceException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * ログイン時のパスワード照合
+ * BCrypt の照合は1回あたりのCPU負荷が大きいため専用の実行プールで行い、同時に照合する数を抑える。
+ * プールとキューが満杯の場合や、照合待ちが上限時間を超えた場合はハッシュを計算せずに受付を拒否する。
+ */
+@Component
+public class PasswordVerifier {
+
+    public static final String LOGIN_BUSY = "LOGIN_BUSY";
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final ThreadPoolTaskExecutor passwordHashExecutor;
+
+    private final long timeoutMs;
+
+    public PasswordVerifier(PasswordEncoder passwordEncoder,
+                            @Qualifier("passwordHashExecutor") ThreadPoolTaskExecutor passwordHashExecutor,
+                            @Value("${kintai.auth.hash.timeout-ms:3000}") long timeoutMs) {
+        this.passwordEncoder = passwordEncoder;
+        this.passwordHashExecutor = passwordHashExecutor;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * パスワードがハッシュと一致するか照合
+     * @param rawPassword 入力されたパスワード
+     * @param encodedPassword 保存されているハッシュ
+     * @return 一致する場合true
+     * @throws AttendanceException 照合の受付が混み合っている場合（LOGIN_BUSY）
+     */
+    public boolean matches(String rawPassword, String encodedPassword) {
+        Future<Boolean> result;
+        try {
+            result = passwordHashExecutor.submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+        } catch (TaskRejectedException e) {
+            throw busy(e);
+        }
+        try {
+            return result.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // 待機中の照合は取り消し、プールの空きを後続に回す
+            result.cancel(true);
+            throw busy(e);
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw busy(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("パスワードの照合に失敗しました", e.getCause());
+        }
+    }
+
+    private AttendanceException busy(Exception cause) {
+        return new AttendanceException(LOGIN_BUSY, "ログインが混み合っています。しばらくしてから再度お試しください", cause);
+    }
+}
@@ -0,0 +1,205 @@
+package com.kintai.service;
+
+import com.kintai.entity.AdjustmentRequest;
+import com.kintai.entity.HolidayRequest;
+import com.kintai.entity.LeaveStatus;
+import com.kintai.entity.WorkPatternChangeRequest;
+import com.kintai.repository.AdjustmentRequestRepository;
+import com.kintai.repository.HolidayRequestRepository;
+import com.kintai.repository.LeaveRequestRepository;
+import com.kintai.repository.WorkPatternChangeRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * 未承認申請件数のインメモリカウンター
+ * 起動時にDBの件数で初期化し、各申請サービスの作成・承認・却下・取消で増減する。
+ * 増減はトランザクションのコミット後に反映し、ロールバックされた操作は件数に影響しない。
+ * 取りこぼしや二重計上は定期的なDBとの突き合わせで補正する。
+ * 突き合わせ中（件数の取得中）に反映された増減は記録しておき、取得した件数に加算してから置き換える。
+ * 従業員の削除など、申請サービスを経由せずに申請が消える操作の後は {@link #reconcileAfterCommit()} で突き合わせる。
+ */
+@Component
+public class PendingRequestCounter {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingRequestCounter.class);
+
+    /**
+     * 集計対象の申請種別
+     */
+    public enum RequestKind {
+        ADJUSTMENT,
+        WORK_PATTERN,
+        LEAVE,
+        HOLIDAY
+    }
+
+    private final Map<RequestKind, Counter> counters = new EnumMap<>(RequestKind.class);
+
+    @Autowired
+    private AdjustmentRequestRepository adjustmentRequestRepository;
+
+    @Autowired
+    private WorkPatternChangeRequestRepository workPatternChangeRequestRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private HolidayRequestRepository holidayRequestRepository;
+
+    public PendingRequestCounter() {
+        for (RequestKind kind : RequestKind.values()) {
+            counters.put(kind, new Counter());
+        }
+    }
+
+    /**
+     * 未承認件数を1件増やす（申請作成時）
+     */
+    public void increment(RequestKind kind) {
+        adjust(kind, 1);
+    }
+
+    /**
+     * 未承認件数を1件減らす（承認・却下・取消時）
+     */
+    public void decrement(RequestKind kind) {
+        adjust(kind, -1);
+    }
+
+    /**
+     * 現在の未承認件数を取得
+     */
+    public long get(RequestKind kind) {
+        return counters.get(kind).get();
+    }
+
+    /**
+     * 起動時にDBの件数でカウンターを初期化
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * DBの未承認件数とカウンターを突き合わせて補正
+     */
+    @Scheduled(fixedDelayString = "${kintai.dashboard.pending-reconcile-interval-ms:300000}",
+            initialDelayString = "${kintai.dashboard.pending-reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        reconcile(RequestKind.ADJUSTMENT,
+                () -> adjustmentRequestRepository.countByStatus(AdjustmentRequest.AdjustmentStatus.PENDING));
+        reconcile(RequestKind.WORK_PATTERN,
+                () -> workPatternChangeRequestRepository.countByStatus(WorkPatternChangeRequest.Status.PENDING));
+        reconcile(RequestKind.LEAVE,
+                () -> leaveRequestRepository.countByStatus(LeaveStatus.PENDING));
+        reconcile(RequestKind.HOLIDAY,
+                () -> holidayRequestRepository.countByStatus(HolidayRequest.Status.PENDING));
+    }
+
+    /**
+     * トランザクションのコミット後にDBと突き合わせる（トランザクション外の場合は即時）
+     * 申請サービスの増減を経由せずに未承認の申請が削除・追加された場合に使用する
+     */
+    public void reconcileAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reconcile();
+                }
+            });
+            return;
+        }
+        reconcile();
+    }
+
+    private void reconcile(RequestKind kind, LongSupplier countQuery) {
+        Counter counter = counters.get(kind);
+        counter.startRecording();
+        long actual;
+        try {
+            actual = countQuery.getAsLong();
+        } catch (RuntimeException e) {
+            counter.stopRecording();
+            throw e;
+        }
+        long previous = counter.replace(actual);
+        if (previous != actual) {
+            log.debug("[PendingCounter] {} を補正しました: {} -> {}", kind, previous, actual);
+        }
+    }
+
+    private void adjust(RequestKind kind, long delta) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(kind, delta);
+                }
+            });
+            return;
+        }
+        apply(kind, delta);
+    }
+
+    private void apply(RequestKind kind, long delta) {
+        counters.get(kind).add(delta);
+    }
+
+    /**
+     * 申請種別ごとの件数と、突き合わせ中に反映された増減
+     */
+    private static final class Counter {
+
+        private long value;
+
+        private boolean recording;
+
+        private long recorded;
+
+        synchronized long get() {
+            return value;
+        }
+
+        synchronized void add(long delta) {
+            value = Math.max(value + delta, 0);
+            if (recording) {
+                recorded += delta;
+            }
+        }
+
+        synchronized void startRecording() {
+            recording = true;
+            recorded = 0;
+        }
+
+        synchronized void stopRecording() {
+            recording = false;
+            recorded = 0;
+        }
+
+        /**
+         * DBの件数に突き合わせ中の増減を加えた値で置き換え、置き換え前の値を返す
+         */
+        synchronized long replace(long actual) {
+            long previous = value;
+            value = Math.max(actual + recorded, 0);
+            stopRecording();
+            return previous;
+        }
+    }
+}
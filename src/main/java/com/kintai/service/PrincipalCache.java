@@ -0,0 +1,183 @@
+package com.kintai.service;
+
+import com.kintai.entity.Employee;
+import com.kintai.entity.UserAccount;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.repository.UserAccountRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 認証・在籍確認用の短期キャッシュ
+ * 有効なログインアカウント（ユーザー名単位）と、従業員の在籍状態・入社日・退職日（従業員ID単位）を
+ * 一定時間プロセス内に保持し、リクエストごとの認可・退職者チェックでDBを参照しないようにする。
+ * 管理者による在籍状態・プロフィールの更新時は即時とコミット後に破棄する。
+ * 他ノードでの更新は有効期間が切れるまで反映されない。有効期間に0を指定した場合はキャッシュしない。
+ */
+@Component
+public class PrincipalCache {
+
+    private final Map<String, Entry<UserAccount>> accounts = new ConcurrentHashMap<>();
+
+    private final Map<Long, Entry<EmployeeStatus>> employees = new ConcurrentHashMap<>();
+
+    /** 破棄の世代（読み込み中に破棄された場合、読み込んだ古い内容を保持しない） */
+    private final AtomicLong generation = new AtomicLong();
+
+    private final long ttlNanos;
+
+    @Autowired
+    private UserAccountRepository userAccountRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    public PrincipalCache(@Value("${kintai.auth.principal-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(ttlSeconds, 0));
+    }
+
+    /**
+     * 有効なログインアカウントを取得
+     * @param username ユーザー名
+     * @return アカウント（存在しない・無効の場合は空）
+     */
+    public Optional<UserAccount> findEnabledAccount(String username) {
+        if (username == null) {
+            return Optional.empty();
+        }
+        long now = System.nanoTime();
+        Entry<UserAccount> cached = accounts.get(username);
+        if (cached != null && cached.isValid(now)) {
+            return Optional.of(cached.value());
+        }
+        long loadedGeneration = generation.get();
+        Optional<UserAccount> loaded = userAccountRepository.findByUsernameAndEnabled(username, true);
+        loaded.ifPresent(account -> put(accounts, username, account, loadedGeneration, now));
+        return loaded;
+    }
+
+    /**
+     * 従業員の在籍状態を取得
+     * @param employeeId 従業員ID
+     * @return 在籍状態（従業員が存在しない場合は空）
+     */
+    public Optional<EmployeeStatus> findEmployeeStatus(Long employeeId) {
+        if (employeeId == null) {
+            return Optional.empty();
+        }
+        long now = System.nanoTime();
+        Entry<EmployeeStatus> cached = employees.get(employeeId);
+        if (cached != null && cached.isValid(now)) {
+            return Optional.of(cached.value());
+        }
+        long loadedGeneration = generation.get();
+        Optional<EmployeeStatus> loaded = employeeRepository.findByEmployeeId(employeeId).map(EmployeeStatus::of);
+        loaded.ifPresent(status -> put(employees, employeeId, status, loadedGeneration, now));
+        return loaded;
+    }
+
+    /**
+     * 従業員とそのログインアカウントのキャッシュを破棄
+     * トランザクション中の場合はコミット後にも破棄し、コミット前に他スレッドが読み込んだ内容を残さない
+     * @param employeeId 従業員ID
+     */
+    public void invalidateEmployee(Long employeeId) {
+        Runnable invalidation = () -> {
+            generation.incrementAndGet();
+            employees.remove(employeeId);
+            accounts.values().removeIf(entry -> employeeId.equals(entry.value().getEmployeeId()));
+        };
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidation.run();
+                }
+            });
+        }
+    }
+
+    /**
+     * すべてのキャッシュを破棄
+     */
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        accounts.clear();
+        employees.clear();
+    }
+
+    /**
+     * 有効期間を過ぎたエントリを削除
+     */
+    @Scheduled(fixedDelayString = "${kintai.auth.principal-cache.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        accounts.values().removeIf(entry -> !entry.isValid(now));
+        employees.values().removeIf(entry -> !entry.isValid(now));
+    }
+
+    private <K, V> void put(Map<K, Entry<V>> cache, K key, V value, long loadedGeneration, long now) {
+        if (ttlNanos == 0) {
+            return;
+        }
+        cache.put(key, new Entry<>(value, now + ttlNanos));
+        // 読み込み中に破棄された場合は、破棄前の内容の可能性があるため保持しない
+        if (generation.get() != loadedGeneration) {
+            cache.remove(key);
+        }
+    }
+
+    /**
+     * 従業員の在籍状態
+     * @param employeeId 従業員ID
+     * @param active 在籍中か
+     * @param hireDate 入社日
+     * @param retirementDate 退職日
+     */
+    public record EmployeeStatus(Long employeeId, boolean active, LocalDate hireDate, LocalDate retirementDate) {
+
+        static EmployeeStatus of(Employee employee) {
+            return new EmployeeStatus(employee.getEmployeeId(), !employee.isRetired(),
+                    employee.getHireDate(), employee.getRetirementDate());
+        }
+
+        /**
+         * 退職済みか（Employee#isRetired と同じ判定）
+         */
+        public boolean isRetired() {
+            return !active;
+        }
+
+        /**
+         * 指定日にログインできるか（在籍中、入社日以降かつ退職日より前）
+         */
+        public boolean canLoginOn(LocalDate date) {
+            if (!active) {
+                return false;
+            }
+            if (hireDate != null && date.isBefore(hireDate)) {
+                return false;
+            }
+            return retirementDate == null || date.isBefore(retirementDate);
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+
+        boolean isValid(long now) {
+            return now - expiresAtNanos < 0;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.kintai.service;
+
+import com.kintai.entity.Employee;
+import com.kintai.entity.UserAccount;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 参照系の二次キャッシュ・認証用キャッシュの明示的な破棄
+ * 管理者の更新（社員の状態変更・削除、申請の承認など）の後に、該当エンティティとクエリキャッシュの結果を破棄する。
+ * 同じノードでの更新は Hibernate もコミット時に反映するが、管理操作の直後に古い内容が返らないよう、
+ * 社員ID・ユーザー名での検索結果も含めて確実に破棄する。トランザクション中であればコミット後に破棄する。
+ * 認証用キャッシュ（PrincipalCache）は常に破棄し、二次キャッシュは無効の場合は何もしない。
+ */
+@Component
+public class ReferenceCacheEvictor {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Value("${kintai.cache.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * 従業員とそのログインアカウントのキャッシュ（認証用キャッシュを含む）を破棄
+     * @param employeeId 従業員ID
+     */
+    public void evictEmployee(Long employeeId) {
+        principalCache.invalidateEmployee(employeeId);
+        afterCommit(() -> {
+            entityManagerFactory.getCache().evict(Employee.class, employeeId);
+            // ログインアカウントは従業員IDをキーに持たないため、リージョンごと破棄する（件数は従業員数程度）
+            entityManagerFactory.getCache().evict(UserAccount.class);
+            evictQueryResults();
+        });
+    }
+
+    /**
+     * 指定エンティティのキャッシュをすべて破棄
+     * @param entityClass エンティティクラス
+     */
+    public void evictAll(Class<?> entityClass) {
+        afterCommit(() -> {
+            entityManagerFactory.getCache().evict(entityClass);
+            evictQueryResults();
+        });
+    }
+
+    private void evictQueryResults() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictDefaultQueryRegion();
+    }
+
+    private void afterCommit(Runnable eviction) {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+            return;
+        }
+        eviction.run();
+    }
+}
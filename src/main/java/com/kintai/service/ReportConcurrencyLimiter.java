@@ -0,0 +1,52 @@
+package com.kintai.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDFレポート生成の同時実行数を制限するセマフォ
+ * 生成が集中した場合でもヒープを使い切らないよう、上限を超える要求は待機後に拒否する
+ */
+@Component
+public class ReportConcurrencyLimiter {
+
+    private final Semaphore permits;
+
+    private final long acquireTimeoutMs;
+
+    public ReportConcurrencyLimiter(@Value("${kintai.report.max-concurrent:4}") int maxConcurrent,
+                                    @Value("${kintai.report.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        this.permits = new Semaphore(Math.max(maxConcurrent, 1), true);
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    /**
+     * 生成枠を取得（空きがなければ一定時間待機）
+     * @return 取得できた場合true（呼び出し元は必ず release すること）
+     */
+    public boolean tryAcquire() {
+        try {
+            return permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 生成枠を返却
+     */
+    public void release() {
+        permits.release();
+    }
+
+    /**
+     * 現在の空き枠数
+     */
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+}
@@ -0,0 +1,168 @@
+package com.kintai.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * 生成済み勤怠レポートPDFのディスクキャッシュ
+ * 従業員・年月ごとに、元データのハッシュをファイル名に含めて1件だけ保持する（内容アドレス方式）。
+ * メタデータはメモリ上で最近使った順に管理し、合計サイズが上限を超えると古いものから削除する。
+ * メタデータは再起動で失われるため、起動時にキャッシュディレクトリを空にする。
+ */
+@Component
+public class ReportFileCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportFileCache.class);
+
+    private final Path directory;
+
+    private final long maxBytes;
+
+    /** キー（従業員ID_年月）ごとのキャッシュ。アクセス順に並ぶ */
+    private final LinkedHashMap<String, CachedReport> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long totalBytes;
+
+    public ReportFileCache(@Value("${kintai.report.cache.dir:${java.io.tmpdir}/kintai-report-cache}") String directory,
+                           @Value("${kintai.report.cache.max-bytes:268435456}") long maxBytes) {
+        this.directory = Paths.get(directory).toAbsolutePath().normalize();
+        this.maxBytes = maxBytes;
+    }
+
+    @PostConstruct
+    public void initialize() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(this::deleteQuietly);
+        }
+    }
+
+    /**
+     * キャッシュ済みのレポートを取得
+     * @param employeeId 従業員ID
+     * @param yearMonth 年月
+     * @param dataHash 元データのハッシュ
+     * @return 同じデータから生成済みのレポート（未生成・データ変更時は空）
+     */
+    public synchronized Optional<CachedReport> get(Long employeeId, String yearMonth, String dataHash) {
+        CachedReport cached = entries.get(key(employeeId, yearMonth));
+        if (cached == null || !cached.dataHash().equals(dataHash)) {
+            return Optional.empty();
+        }
+        if (!Files.isRegularFile(cached.path())) {
+            remove(key(employeeId, yearMonth));
+            return Optional.empty();
+        }
+        return Optional.of(cached);
+    }
+
+    /**
+     * レポートを書き出してキャッシュに登録
+     * 一時ファイルへ書き出した後に置き換えるため、書き出し途中のファイルが参照されることはない
+     * @param writer PDFの書き出し処理
+     * @return 登録したレポート
+     */
+    public CachedReport put(Long employeeId, String yearMonth, String dataHash, Instant lastModified,
+                            ReportWriter writer) {
+        Path target = directory.resolve(employeeId + "_" + yearMonth + "_" + dataHash + ".pdf");
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, "report-", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                writer.write(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            CachedReport cached = new CachedReport(target, Files.size(target), dataHash, lastModified);
+            register(key(employeeId, yearMonth), cached);
+            return cached;
+        } catch (IOException e) {
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+            throw new UncheckedIOException("レポートのキャッシュ書き出しに失敗しました", e);
+        }
+    }
+
+    /**
+     * キャッシュの合計サイズ（バイト）
+     */
+    public synchronized long totalBytes() {
+        return totalBytes;
+    }
+
+    private synchronized void register(String key, CachedReport cached) {
+        CachedReport previous = entries.put(key, cached);
+        if (previous != null) {
+            totalBytes -= previous.size();
+            if (!previous.path().equals(cached.path())) {
+                deleteQuietly(previous.path());
+            }
+        }
+        totalBytes += cached.size();
+
+        // 上限を超えた分を最も長く使われていないものから削除（登録直後のものは残す）
+        List<String> evicted = new ArrayList<>();
+        Iterator<Map.Entry<String, CachedReport>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, CachedReport> eldest = iterator.next();
+            if (eldest.getKey().equals(key)) {
+                continue;
+            }
+            evicted.add(eldest.getKey());
+            totalBytes -= eldest.getValue().size();
+        }
+        evicted.forEach(evictedKey -> deleteQuietly(entries.remove(evictedKey).path()));
+    }
+
+    private synchronized void remove(String key) {
+        CachedReport removed = entries.remove(key);
+        if (removed != null) {
+            totalBytes -= removed.size();
+        }
+    }
+
+    private String key(Long employeeId, String yearMonth) {
+        return employeeId + "_" + yearMonth;
+    }
+
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("[ReportCache] キャッシュファイルを削除できませんでした: {}", path, e);
+        }
+    }
+
+    /**
+     * キャッシュ済みレポート
+     */
+    public record CachedReport(Path path, long size, String dataHash, Instant lastModified) {
+    }
+
+    /**
+     * レポートの書き出し処理
+     */
+    @FunctionalInterface
+    public interface ReportWriter {
+        void write(OutputStream outputStream) throws IOException;
+    }
+}
@@ -0,0 +1,212 @@
+package com.kintai.service;
+
+import com.kintai.dto.ReportJobStatus;
+import com.kintai.exception.AttendanceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 勤怠レポートPDFの非同期生成ジョブサービス
+ * 生成は専用プールで行い、リクエストスレッドはジョブIDを返すだけで解放する。
+ * ユーザーごとの未完了ジョブ数とプールのキュー長で受付を制限し、超過時は受け付けない。
+ * 生成結果はレポートファイルキャッシュに置き、完了後は保持期間が過ぎるまでダウンロードできる。
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+
+    public static final String REPORT_JOB_NOT_FOUND = "REPORT_JOB_NOT_FOUND";
+    public static final String REPORT_JOB_NOT_READY = "REPORT_JOB_NOT_READY";
+    public static final String REPORT_JOB_LIMIT_EXCEEDED = "REPORT_JOB_LIMIT_EXCEEDED";
+    public static final String REPORT_JOB_BUSY = "REPORT_JOB_BUSY";
+    public static final String REPORT_JOB_EXPIRED = "REPORT_JOB_EXPIRED";
+
+    public enum JobStatus {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+
+    @Autowired
+    private AttendanceReportService attendanceReportService;
+
+    @Autowired
+    @Qualifier("reportJobExecutor")
+    private ThreadPoolTaskExecutor reportJobExecutor;
+
+    /** ユーザーごとの未完了（待機中・生成中）ジョブの上限 */
+    @Value("${kintai.report.jobs.per-user-limit:2}")
+    private int perUserLimit;
+
+    /** 完了・失敗したジョブの保持期間（分） */
+    @Value("${kintai.report.jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    /**
+     * レポート生成ジョブを登録
+     * @param owner ジョブの所有者（ログインユーザー名）
+     * @param employeeId 従業員ID
+     * @param yearMonth 年月（yyyy-MM形式）
+     * @return 登録したジョブ
+     * @throws AttendanceException 未完了ジョブ数の上限超過、またはプールが満杯の場合
+     */
+    public ReportJob submit(String owner, Long employeeId, String yearMonth) {
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), owner, employeeId, yearMonth);
+        // 上限判定と登録を直列化し、同時投入で上限を超えないようにする
+        synchronized (jobs) {
+            long active = jobs.values().stream()
+                    .filter(existing -> existing.owner.equals(owner) && !existing.isFinished())
+                    .count();
+            if (active >= perUserLimit) {
+                throw new AttendanceException(REPORT_JOB_LIMIT_EXCEEDED,
+                        "実行中のレポート生成ジョブが上限（" + perUserLimit + "件）に達しています");
+            }
+            jobs.put(job.jobId, job);
+        }
+        try {
+            reportJobExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.jobId);
+            throw new AttendanceException(REPORT_JOB_BUSY, "レポート生成の受付が混み合っています。しばらくしてから再度お試しください", e);
+        }
+        return job;
+    }
+
+    /**
+     * 所有者が一致するジョブを取得
+     */
+    public Optional<ReportJob> findJob(String jobId, String owner) {
+        return Optional.ofNullable(jobs.get(jobId)).filter(job -> job.owner.equals(owner));
+    }
+
+    /**
+     * 完了したジョブの生成結果を取得
+     * @throws AttendanceException 未完了、または生成結果が破棄されている場合
+     */
+    public ReportFileCache.CachedReport getResult(ReportJob job) {
+        if (job.status != JobStatus.COMPLETED) {
+            throw new AttendanceException(REPORT_JOB_NOT_READY, "レポートはまだ生成されていません: " + job.status);
+        }
+        ReportFileCache.CachedReport report = job.report;
+        // キャッシュの容量上限で削除された場合は再生成が必要
+        if (report == null || !Files.exists(report.path())) {
+            throw new AttendanceException(REPORT_JOB_EXPIRED, "生成済みのレポートが破棄されました。再度生成してください");
+        }
+        return report;
+    }
+
+    /**
+     * ジョブの状態を取得
+     */
+    public ReportJobStatus toStatus(ReportJob job) {
+        ReportJobStatus status = new ReportJobStatus();
+        status.setJobId(job.jobId);
+        status.setEmployeeId(job.employeeId);
+        status.setYearMonth(job.yearMonth);
+        status.setStatus(job.status.name());
+        status.setProgress(job.progress);
+        status.setMessage(job.message);
+        status.setCreatedAt(job.createdAt);
+        status.setUpdatedAt(job.updatedAt);
+        return status;
+    }
+
+    /**
+     * 保持期間を過ぎた完了・失敗ジョブを削除
+     */
+    @Scheduled(fixedDelayString = "${kintai.report.jobs.purge-interval-ms:300000}",
+            initialDelayString = "${kintai.report.jobs.purge-interval-ms:300000}")
+    public void purgeExpired() {
+        LocalDateTime threshold = LocalDateTime.now().minus(Duration.ofMinutes(retentionMinutes));
+        jobs.values().removeIf(job -> job.isFinished() && job.updatedAt.isBefore(threshold));
+    }
+
+    private void run(ReportJob job) {
+        job.update(JobStatus.RUNNING, 10, null);
+        try {
+            AttendanceReportService.ReportSource source =
+                    attendanceReportService.prepareReport(job.employeeId, job.yearMonth);
+            AttendanceReportService.ReportFingerprint fingerprint = attendanceReportService.fingerprint(source);
+            job.update(JobStatus.RUNNING, 40, null);
+
+            // 同じ元データのPDFが生成済みであれば再利用する
+            job.report = attendanceReportService.findCachedReport(source, fingerprint)
+                    .orElseGet(() -> attendanceReportService.renderToCache(source, fingerprint));
+            job.update(JobStatus.COMPLETED, 100, null);
+        } catch (IllegalArgumentException e) {
+            job.update(JobStatus.FAILED, job.progress, e.getMessage());
+        } catch (Exception e) {
+            log.warn("[ReportJob] jobId={} のレポート生成に失敗しました", job.jobId, e);
+            job.update(JobStatus.FAILED, job.progress, "PDF生成処理中にエラーが発生しました");
+        }
+    }
+
+    /**
+     * レポート生成ジョブ
+     */
+    public static final class ReportJob {
+        private final String jobId;
+        private final String owner;
+        private final Long employeeId;
+        private final String yearMonth;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private volatile LocalDateTime updatedAt = createdAt;
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile int progress;
+        private volatile String message;
+        private volatile ReportFileCache.CachedReport report;
+
+        private ReportJob(String jobId, String owner, Long employeeId, String yearMonth) {
+            this.jobId = jobId;
+            this.owner = owner;
+            this.employeeId = employeeId;
+            this.yearMonth = yearMonth;
+        }
+
+        public String getJobId() {
+            return jobId;
+        }
+
+        public Long getEmployeeId() {
+            return employeeId;
+        }
+
+        public String getYearMonth() {
+            return yearMonth;
+        }
+
+        public JobStatus getStatus() {
+            return status;
+        }
+
+        private boolean isFinished() {
+            return status == JobStatus.COMPLETED || status == JobStatus.FAILED;
+        }
+
+        private void update(JobStatus status, int progress, String message) {
+            this.progress = progress;
+            this.message = message;
+            this.updatedAt = LocalDateTime.now();
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.kintai.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * 署名付きセッショントークン（kintai.auth.mode=token の場合に使用）
+ * 形式は「ペイロード.署名」で、ペイロードは「ロール|ID|発行時刻|有効期限|トークンID|ユーザー名」を Base64URL で符号化したもの、
+ * 署名はペイロード文字列の HMAC-SHA256。サーバー側にセッションを持たず、どのノードでも検証できる。
+ * 全ノードで同じ署名鍵（kintai.auth.token.secret）を設定すること。
+ */
+@Service
+public class SessionTokenService {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionTokenService.class);
+
+    /** 管理者アカウント */
+    public static final String ROLE_ADMIN = "ADMIN";
+
+    /** 従業員アカウント */
+    public static final String ROLE_EMPLOYEE = "EMPLOYEE";
+
+    /** 管理者ロールを持つ従業員アカウント */
+    public static final String ROLE_USER_ADMIN = "USER_ADMIN";
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final int SIGNATURE_LENGTH = 32;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecureRandom random = new SecureRandom();
+
+    private final SecretKeySpec key;
+
+    /** スレッドごとに Mac を再利用し、検証のたびに生成しない */
+    private final ThreadLocal<Mac> macs;
+
+    private final boolean enabled;
+
+    private final long ttlSeconds;
+
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    public SessionTokenService(@Value("${kintai.auth.mode:session}") String mode,
+                               @Value("${kintai.auth.token.secret:}") String secret,
+                               @Value("${kintai.auth.token.ttl-minutes:480}") long ttlMinutes) {
+        this.enabled = "token".equalsIgnoreCase(mode);
+        this.ttlSeconds = ttlMinutes * 60;
+        byte[] keyBytes;
+        if (secret == null || secret.isBlank()) {
+            keyBytes = new byte[32];
+            random.nextBytes(keyBytes);
+            if (enabled) {
+                log.warn("[Auth] kintai.auth.token.secret が未設定のため起動ごとの署名鍵を使用します（再起動・他ノードではトークンが無効になります）");
+            }
+        } else {
+            keyBytes = Base64.getDecoder().decode(secret.trim());
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * トークン認証モードが有効か
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * トークンの有効期間（秒）
+     */
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * トークンを発行
+     * @param role ロール（ROLE_ADMIN / ROLE_EMPLOYEE / ROLE_USER_ADMIN）
+     * @param subjectId 従業員ID（管理者の場合は管理者ID）
+     * @param username ユーザー名
+     * @return 発行したトークンと内容
+     */
+    public IssuedToken issue(String role, Long subjectId, String username) {
+        long now = System.currentTimeMillis() / 1000;
+        byte[] id = new byte[12];
+        random.nextBytes(id);
+        TokenClaims claims = new TokenClaims(role, subjectId, now, now + ttlSeconds, ENCODER.encodeToString(id), username);
+        String payload = ENCODER.encodeToString((claims.role() + "|" + claims.subjectId() + "|" + claims.issuedAt() + "|"
+                + claims.expiresAt() + "|" + claims.tokenId() + "|" + claims.username()).getBytes(StandardCharsets.UTF_8));
+        String token = payload + "." + ENCODER.encodeToString(sign(payload));
+        return new IssuedToken(token, claims);
+    }
+
+    /**
+     * トークンを検証
+     * 署名を先に照合し、一致した場合のみペイロードを復号する
+     * @param token トークン
+     * @return 有効な場合はトークンの内容、署名不一致・期限切れ・失効済みの場合はnull
+     */
+    public TokenClaims verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        int separator = token.indexOf('.');
+        if (separator <= 0 || separator == token.length() - 1) {
+            return null;
+        }
+        byte[] signature;
+        try {
+            signature = DECODER.decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (signature.length != SIGNATURE_LENGTH) {
+            return null;
+        }
+        Mac mac = macs.get();
+        for (int i = 0; i < separator; i++) {
+            mac.update((byte) token.charAt(i));
+        }
+        if (!MessageDigest.isEqual(mac.doFinal(), signature)) {
+            return null;
+        }
+
+        TokenClaims claims = parse(token.substring(0, separator));
+        if (claims == null || claims.expiresAt() <= System.currentTimeMillis() / 1000) {
+            return null;
+        }
+        if (tokenDenylist.isRevoked(claims.tokenId(), subjectKey(claims.role(), claims.subjectId()), claims.issuedAt())) {
+            return null;
+        }
+        return claims;
+    }
+
+    /**
+     * トークンを失効させる（ログアウト）
+     */
+    public void revoke(TokenClaims claims) {
+        tokenDenylist.revokeToken(claims.tokenId(), claims.expiresAt());
+    }
+
+    /**
+     * 利用者の発行済みトークンをすべて失効させる（退職・削除時）
+     * @param role ロール
+     * @param subjectId 従業員ID（管理者の場合は管理者ID）
+     */
+    public void revokeSubject(String role, Long subjectId) {
+        long now = System.currentTimeMillis() / 1000;
+        tokenDenylist.revokeSubject(subjectKey(role, subjectId), now, now + ttlSeconds);
+    }
+
+    /**
+     * 利用者キー（管理者アカウントと従業員アカウントでIDの採番が別のため区別する）
+     */
+    private String subjectKey(String role, Long subjectId) {
+        return (ROLE_ADMIN.equals(role) ? "A:" : "E:") + subjectId;
+    }
+
+    private byte[] sign(String payload) {
+        return macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private TokenClaims parse(String payload) {
+        try {
+            String[] parts = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split("\\|", 6);
+            if (parts.length != 6) {
+                return null;
+            }
+            return new TokenClaims(parts[0], Long.valueOf(parts[1]), Long.parseLong(parts[2]), Long.parseLong(parts[3]),
+                    parts[4], parts[5]);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("署名鍵の初期化に失敗しました", e);
+        }
+    }
+
+    /**
+     * トークンの内容
+     * @param role ロール（ROLE_ADMIN / ROLE_EMPLOYEE / ROLE_USER_ADMIN）
+     * @param subjectId 従業員ID（管理者の場合は管理者ID）
+     * @param issuedAt 発行時刻（エポック秒）
+     * @param expiresAt 有効期限（エポック秒）
+     * @param tokenId トークンID（失効管理用）
+     * @param username ユーザー名
+     */
+    public record TokenClaims(String role, Long subjectId, long issuedAt, long expiresAt, String tokenId, String username) {
+    }
+
+    /**
+     * 発行したトークン
+     */
+    public record IssuedToken(String token, TokenClaims claims) {
+    }
+}
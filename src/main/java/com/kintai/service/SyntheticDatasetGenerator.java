@@ -0,0 +1,678 @@
+package com.kintai.service;
+
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.AttendanceStatus;
+import com.kintai.entity.CustomHoliday;
+import com.kintai.entity.Employee;
+import com.kintai.entity.LeaveType;
+import com.kintai.entity.UserAccount;
+import com.kintai.entity.WorkPatternChangeRequest;
+import com.kintai.util.BusinessDayCalculator;
+import com.kintai.util.TimeCalculator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * 性能検証用の大規模データ生成サービス
+ * 従業員（ログインアカウント付き）と、期間内の勤怠記録（夜勤の日跨ぎを含む）・有休付与と休暇残数・休暇申請・
+ * 打刻修正申請・勤務時間変更申請・カスタム休日（休日出勤の代休）を生成し、複数行INSERTでまとめて投入する。
+ * 従業員ごとの内容はシード値と従業員の通し番号から決まるため、同じ条件で再実行すると同じデータになる。
+ * JdbcTemplate で直接投入するためエンティティリスナーを経由しない。代わりに、従業員ごとのトランザクション内で
+ * 従業員テーブルのバージョンを加算し、生成した勤怠記録・申請の作成イベントをアウトボックスへ INSERT ... SELECT で記録する。
+ * 生成後は二次キャッシュ・認証用キャッシュを破棄し、未承認申請件数のカウンターをDBと突き合わせる。
+ * H2・MySQL のどちらでも実行できる。
+ */
+@Service
+public class SyntheticDatasetGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(SyntheticDatasetGenerator.class);
+
+    /** 1トランザクションで投入する従業員数 */
+    private static final int EMPLOYEES_PER_TRANSACTION = 50;
+
+    private static final String[] LAST_NAMES = {
+            "佐藤", "鈴木", "高橋", "田中", "伊藤", "渡辺", "山本", "中村", "小林", "加藤",
+            "吉田", "山田", "佐々木", "山口", "松本", "井上", "木村", "林", "斎藤", "清水"
+    };
+
+    private static final String[] FIRST_NAMES = {
+            "翔太", "蓮", "大翔", "悠真", "陽斗", "健一", "誠", "直樹", "拓也", "和也",
+            "陽菜", "結衣", "美咲", "葵", "さくら", "愛", "恵子", "由美", "真由美", "彩"
+    };
+
+    /** アウトボックスへ記録する集約（種類・テーブル・ID列） */
+    private static final String[][] OUTBOX_AGGREGATES = {
+            {"AttendanceRecord", "attendance_records", "attendance_id"},
+            {"LeaveRequest", "leave_requests", "id"},
+            {"AdjustmentRequest", "adjustment_requests", "adjustment_request_id"},
+            {"WorkPatternChangeRequest", "work_pattern_change_requests", "request_id"}
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EmployeeCodeAllocator employeeCodeAllocator;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TimeCalculator timeCalculator;
+
+    @Autowired
+    private BusinessDayCalculator businessDayCalculator;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private ReferenceCacheEvictor referenceCacheEvictor;
+
+    @Autowired
+    private EmployeeTableVersion employeeTableVersion;
+
+    @Autowired
+    private PendingRequestCounter pendingRequestCounter;
+
+    /**
+     * データを生成して投入
+     * @param options 生成条件
+     * @return テーブルごとの投入件数
+     */
+    public Result generate(Options options) {
+        long started = System.nanoTime();
+        LocalDate periodStart = options.endDate().minusYears(options.years()).plusDays(1);
+        // ログインアカウントのパスワードは全員共通（ハッシュ化は1回のみ）
+        String passwordHash = options.password() == null ? null : passwordEncoder.encode(options.password());
+        Tables tables = new Tables(jdbcTemplate, options.rowsPerStatement());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        for (int first = 0; first < options.employees(); first += EMPLOYEES_PER_TRANSACTION) {
+            int count = Math.min(EMPLOYEES_PER_TRANSACTION, options.employees() - first);
+            int offset = first;
+            transactionTemplate.executeWithoutResult(status -> {
+                // 社員一覧のETagが生成前の内容を返し続けないよう、従業員と同じトランザクションで加算する
+                employeeTableVersion.markChanged();
+                List<EmployeePlan> plans = insertEmployees(tables, options, periodStart, offset, count, passwordHash);
+                for (EmployeePlan plan : plans) {
+                    generateHistory(tables, plan, periodStart, options.endDate());
+                }
+                tables.flush();
+                recordOutboxEvents(tables, plans);
+            });
+            if ((first / EMPLOYEES_PER_TRANSACTION) % 20 == 19) {
+                log.info("検証用データ生成中: {}/{}人", first + count, options.employees());
+            }
+        }
+        principalCache.invalidateAll();
+        referenceCacheEvictor.evictAll(Employee.class);
+        referenceCacheEvictor.evictAll(UserAccount.class);
+        referenceCacheEvictor.evictAll(CustomHoliday.class);
+        referenceCacheEvictor.evictAll(WorkPatternChangeRequest.class);
+        pendingRequestCounter.reconcile();
+
+        Result result = new Result(tables.counts(), (System.nanoTime() - started) / 1_000_000);
+        log.info("検証用データ生成完了: 従業員{}人, 期間={}〜{}, 件数={}, 所要時間={}ms",
+                options.employees(), periodStart, options.endDate(), result.rows(), result.elapsedMillis());
+        return result;
+    }
+
+    private List<EmployeePlan> insertEmployees(Tables tables, Options options, LocalDate periodStart,
+                                               int offset, int count, String passwordHash) {
+        List<String> codes = employeeCodeAllocator.reserve(count);
+        List<EmployeePlan> plans = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Random random = new Random(options.seed() * 1_000_003L + offset + i);
+            EmployeePlan plan = EmployeePlan.random(codes.get(i), random, periodStart, options.endDate());
+            plans.add(plan);
+            LocalDateTime createdAt = plan.hireDate().atTime(9, 0);
+            tables.employees.add(plan.code(),
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)], FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    plan.hireDate().minusYears(22 + random.nextInt(30)).withDayOfYear(1 + random.nextInt(365)),
+                    plan.hireDate(), plan.retirementDate(), plan.retirementDate() == null, 10,
+                    createdAt, plan.retirementDate() != null ? plan.retirementDate().atTime(18, 0) : createdAt);
+        }
+        tables.employees.flush();
+
+        Map<String, Long> ids = findEmployeeIds(codes);
+        for (EmployeePlan plan : plans) {
+            plan.employeeId = ids.get(plan.code());
+            if (passwordHash != null) {
+                tables.userAccounts.add("emp" + Long.parseLong(plan.code().substring(3)), passwordHash,
+                        "EMPLOYEE", plan.employeeId, plan.retirementDate() == null);
+            }
+        }
+        return plans;
+    }
+
+    private Map<String, Long> findEmployeeIds(List<String> codes) {
+        String placeholders = String.join(",", Collections.nCopies(codes.size(), "?"));
+        Map<String, Long> ids = new HashMap<>();
+        jdbcTemplate.query("SELECT employee_id, employee_code FROM employees WHERE employee_code IN (" + placeholders + ")",
+                (RowCallbackHandler) rs -> ids.put(rs.getString("employee_code"), rs.getLong("employee_id")),
+                codes.toArray());
+        return ids;
+    }
+
+    /**
+     * 生成した勤怠記録・申請の作成イベントをアウトボックスへ記録（エンティティリスナーが記録する集約と同じ種類）
+     * 対象の従業員は同じトランザクションで作成したため、その従業員の行はすべて今回生成した行になる
+     */
+    private void recordOutboxEvents(Tables tables, List<EmployeePlan> plans) {
+        Object[] args = new Object[plans.size() + 1];
+        args[0] = LocalDateTime.now();
+        for (int i = 0; i < plans.size(); i++) {
+            args[i + 1] = plans.get(i).employeeId;
+        }
+        String placeholders = String.join(",", Collections.nCopies(plans.size(), "?"));
+        long inserted = 0;
+        for (String[] aggregate : OUTBOX_AGGREGATES) {
+            inserted += jdbcTemplate.update("INSERT INTO outbox_events"
+                    + " (aggregate_type, aggregate_id, employee_id, change_type, created_at, attempts)"
+                    + " SELECT '" + aggregate[0] + "', " + aggregate[2] + ", employee_id, 'CREATED', ?, 0 FROM " + aggregate[1]
+                    + " WHERE employee_id IN (" + placeholders + ")", args);
+        }
+        tables.outboxEvents += inserted;
+    }
+
+    /**
+     * 在籍期間の勤怠・休暇・申請を生成
+     */
+    private void generateHistory(Tables tables, EmployeePlan plan, LocalDate periodStart, LocalDate endDate) {
+        Random random = plan.random();
+        LocalDate from = plan.hireDate().isAfter(periodStart) ? plan.hireDate() : periodStart;
+        LocalDate to = plan.retirementDate() != null && plan.retirementDate().isBefore(endDate)
+                ? plan.retirementDate().minusDays(1) : endDate;
+        LocalDate fixedBefore = endDate.withDayOfMonth(1);
+        Set<LocalDate> compensatoryDays = new HashSet<>();
+        BigDecimal paidLeaveUsed = BigDecimal.ZERO;
+
+        if (plan.shift() != Shift.DAY && !from.isAfter(to)) {
+            insertWorkPattern(tables, plan, from, to, "APPROVED", "勤務シフトの変更");
+        }
+
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            boolean businessDay = businessDayCalculator.isBusinessDay(date);
+            if (!businessDay) {
+                // 日中勤務者の一部は休日出勤し、後日に代休を取得する
+                if (plan.shift() == Shift.DAY && random.nextDouble() < 0.02) {
+                    AttendanceRecord record = work(plan, date, random, true);
+                    tables.addAttendance(record, date.isBefore(fixedBefore));
+                    LocalDate compensatory = nextBusinessDay(date.plusDays(7 + random.nextInt(7)));
+                    if (!compensatory.isAfter(to)) {
+                        compensatoryDays.add(compensatory);
+                        tables.customHolidays.add(plan.employeeId, compensatory, "代休",
+                                date + " の休日出勤の代休", null, date.atTime(18, 0), null);
+                    }
+                }
+                continue;
+            }
+            if (compensatoryDays.remove(date)) {
+                continue;
+            }
+            double roll = random.nextDouble();
+            if (roll < 0.04) {
+                // 有休（申請・承認済み）
+                LocalDateTime requestedAt = date.minusDays(3 + random.nextInt(20)).atTime(10, 0);
+                tables.leaveRequests.add(plan.employeeId, "PAID_LEAVE", "FULL_DAY", date, date, BigDecimal.ONE,
+                        "私用のため", "APPROVED", 1L, null, requestedAt, requestedAt.plusDays(1));
+                if (!date.isBefore(endDate.minusYears(1))) {
+                    paidLeaveUsed = paidLeaveUsed.add(BigDecimal.ONE);
+                }
+                continue;
+            }
+            AttendanceRecord record = work(plan, date, random, false);
+            if (roll > 0.99) {
+                addAdjustment(tables, plan, record, random, endDate);
+            } else if (roll > 0.985) {
+                LocalDateTime requestedAt = date.minusDays(5).atTime(10, 0);
+                tables.leaveRequests.add(plan.employeeId, "PAID_LEAVE", "FULL_DAY", date, date, BigDecimal.ONE,
+                        "私用のため", "REJECTED", 1L, "業務都合のため", requestedAt, requestedAt.plusDays(1));
+            }
+            tables.addAttendance(record, date.isBefore(fixedBefore));
+        }
+
+        if (plan.shift() == Shift.DAY && random.nextDouble() < 0.05 && !from.isAfter(to)) {
+            // 承認されなかった勤務時間変更申請
+            LocalDate start = to.minusDays(random.nextInt(60));
+            insertWorkPattern(tables, plan, start.isBefore(from) ? from : start, to,
+                    start.isAfter(endDate.minusDays(14)) ? "PENDING" : "REJECTED", "時短勤務の希望");
+        }
+        addLeaveGrants(tables, plan, periodStart, endDate, paidLeaveUsed);
+    }
+
+    /**
+     * 1日分の勤務（出勤・退勤時刻と集計値）を生成
+     */
+    private AttendanceRecord work(EmployeePlan plan, LocalDate date, Random random, boolean holidayWork) {
+        LocalDateTime scheduledStart = date.atTime(plan.shift().start);
+        LocalDateTime scheduledEnd = plan.shift().end.isAfter(plan.shift().start)
+                ? date.atTime(plan.shift().end) : date.plusDays(1).atTime(plan.shift().end);
+
+        long inOffset = Math.round(-10 + random.nextGaussian() * 5);
+        if (random.nextDouble() < 0.04) {
+            inOffset = 5 + random.nextInt(90);
+        }
+        long outOffset = Math.round(Math.abs(random.nextGaussian()) * 45);
+        if (random.nextDouble() < 0.03) {
+            outOffset = -(30 + random.nextInt(150));
+        }
+        AttendanceRecord record = new AttendanceRecord(plan.employeeId, date);
+        record.setClockInTime(scheduledStart.plusMinutes(inOffset));
+        record.setClockOutTime(scheduledEnd.plusMinutes(outOffset));
+        record.setBreakMinutes(TimeCalculator.LUNCH_BREAK_MINUTES);
+        applyMetrics(record, scheduledStart, scheduledEnd, holidayWork);
+        return record;
+    }
+
+    private void applyMetrics(AttendanceRecord record, LocalDateTime scheduledStart, LocalDateTime scheduledEnd,
+                              boolean holidayWork) {
+        timeCalculator.calculateAttendanceMetrics(record);
+        int late = holidayWork ? 0 : timeCalculator.calculateLateMinutes(record.getClockInTime(), scheduledStart);
+        int early = holidayWork ? 0 : timeCalculator.calculateEarlyLeaveMinutes(record.getClockOutTime(), scheduledEnd);
+        record.setLateMinutes(late);
+        record.setEarlyLeaveMinutes(early);
+        AttendanceStatus status;
+        if (holidayWork) {
+            status = AttendanceStatus.HOLIDAY;
+        } else if (late > 0 && early > 0) {
+            status = AttendanceStatus.LATE_AND_EARLY_LEAVE;
+        } else if (late > 0) {
+            status = AttendanceStatus.LATE;
+        } else if (early > 0) {
+            status = AttendanceStatus.EARLY_LEAVE;
+        } else if (record.getNightShiftMinutes() > 0) {
+            status = AttendanceStatus.NIGHT_SHIFT;
+        } else if (record.getOvertimeMinutes() > 0) {
+            status = AttendanceStatus.OVERTIME;
+        } else {
+            status = AttendanceStatus.NORMAL;
+        }
+        record.setAttendanceStatus(status);
+    }
+
+    /**
+     * 打刻修正申請を生成（承認済みの場合は勤怠記録に修正後の時刻を反映）
+     */
+    private void addAdjustment(Tables tables, EmployeePlan plan, AttendanceRecord record, Random random, LocalDate endDate) {
+        LocalDate date = record.getAttendanceDate();
+        LocalDateTime originalIn = record.getClockInTime();
+        LocalDateTime originalOut = record.getClockOutTime();
+        LocalDateTime newIn = originalIn.minusMinutes(5 + random.nextInt(30));
+        LocalDateTime requestedAt = originalOut.plusHours(1);
+        String status = date.isAfter(endDate.minusDays(7)) ? "PENDING" : random.nextDouble() < 0.9 ? "APPROVED" : "REJECTED";
+        LocalDateTime decidedAt = "PENDING".equals(status) ? null : requestedAt.plusDays(1);
+        tables.adjustments.add(plan.employeeId, date, newIn, originalOut, TimeCalculator.LUNCH_BREAK_MINUTES,
+                originalIn, originalOut, TimeCalculator.LUNCH_BREAK_MINUTES, "打刻漏れのため", status,
+                requestedAt, decidedAt != null ? decidedAt : requestedAt,
+                "APPROVED".equals(status) ? 1L : null, "APPROVED".equals(status) ? decidedAt : null,
+                "REJECTED".equals(status) ? 1L : null, "REJECTED".equals(status) ? decidedAt : null,
+                "REJECTED".equals(status) ? "打刻記録と一致しないため" : null);
+        if ("APPROVED".equals(status)) {
+            record.setClockInTime(newIn);
+            LocalDateTime scheduledStart = date.atTime(plan.shift().start);
+            LocalDateTime scheduledEnd = plan.shift().end.isAfter(plan.shift().start)
+                    ? date.atTime(plan.shift().end) : date.plusDays(1).atTime(plan.shift().end);
+            applyMetrics(record, scheduledStart, scheduledEnd, false);
+        }
+    }
+
+    private void insertWorkPattern(Tables tables, EmployeePlan plan, LocalDate start, LocalDate end,
+                                   String status, String reason) {
+        Shift shift = plan.shift() == Shift.DAY ? Shift.SHORT : plan.shift();
+        long span = ChronoUnit.MINUTES.between(shift.start, shift.end);
+        if (span <= 0) {
+            // 日跨ぎの勤務
+            span += ChronoUnit.DAYS.getDuration().toMinutes();
+        }
+        int breakMinutes = shift == Shift.SHORT ? 45 : TimeCalculator.LUNCH_BREAK_MINUTES;
+        LocalDateTime requestedAt = start.minusDays(14).atTime(10, 0);
+        LocalDateTime decidedAt = "PENDING".equals(status) ? null : requestedAt.plusDays(2);
+        tables.workPatterns.add(plan.employeeId, start, end, shift.start, shift.end, breakMinutes,
+                (int) span - breakMinutes, reason, status, requestedAt, decidedAt != null ? decidedAt : requestedAt,
+                "APPROVED".equals(status) ? 1L : null, "APPROVED".equals(status) ? decidedAt : null,
+                "REJECTED".equals(status) ? 1L : null, "REJECTED".equals(status) ? decidedAt : null,
+                "REJECTED".equals(status) ? "人員配置の都合のため" : null,
+                true, true, true, true, true, false, false, false);
+    }
+
+    /**
+     * 有休（入社6か月後から毎年、勤続年数に応じて10〜20日、2年で失効）と夏季休暇の付与、休暇残数を生成
+     */
+    private void addLeaveGrants(Tables tables, EmployeePlan plan, LocalDate periodStart, LocalDate endDate,
+                                BigDecimal paidLeaveUsed) {
+        LocalDate last = plan.retirementDate() != null && plan.retirementDate().isBefore(endDate)
+                ? plan.retirementDate() : endDate;
+        BigDecimal paidLeaveTotal = BigDecimal.ZERO;
+        int serviceYears = 0;
+        for (LocalDate grantedAt = plan.hireDate().plusMonths(6); !grantedAt.isAfter(last);
+             grantedAt = grantedAt.plusYears(1), serviceYears++) {
+            LocalDate expiresAt = grantedAt.plusYears(2);
+            if (expiresAt.isBefore(periodStart)) {
+                continue;
+            }
+            BigDecimal days = BigDecimal.valueOf(Math.min(10 + serviceYears * 2L, 20));
+            tables.leaveGrants.add(plan.employeeId, "PAID_LEAVE", days, grantedAt, expiresAt, null, grantedAt.atTime(0, 0));
+            if (expiresAt.isAfter(endDate)) {
+                paidLeaveTotal = paidLeaveTotal.add(days);
+            }
+        }
+        BigDecimal summerTotal = BigDecimal.ZERO;
+        LocalDate summer = LocalDate.of(endDate.getYear(), 7, 1);
+        if (!summer.isAfter(last) && !summer.isBefore(plan.hireDate())) {
+            summerTotal = BigDecimal.valueOf(3);
+            tables.leaveGrants.add(plan.employeeId, "SUMMER", summerTotal, summer, summer.withMonth(9).withDayOfMonth(30),
+                    null, summer.atTime(0, 0));
+        }
+        LocalDateTime updatedAt = last.atTime(0, 0);
+        for (LeaveType type : LeaveType.values()) {
+            BigDecimal total = type == LeaveType.PAID_LEAVE ? paidLeaveTotal
+                    : type == LeaveType.SUMMER ? summerTotal : BigDecimal.ZERO;
+            BigDecimal used = type == LeaveType.PAID_LEAVE ? paidLeaveUsed.min(total) : BigDecimal.ZERO;
+            tables.leaveBalances.add(plan.employeeId, type.name(), total, used, total.subtract(used), updatedAt);
+        }
+    }
+
+    private LocalDate nextBusinessDay(LocalDate date) {
+        LocalDate next = date;
+        while (!businessDayCalculator.isBusinessDay(next)) {
+            next = next.plusDays(1);
+        }
+        return next;
+    }
+
+    /**
+     * 生成条件
+     * @param employees 従業員数
+     * @param years 生成する期間（endDate までの年数）
+     * @param endDate 期間の最終日
+     * @param seed 乱数のシード値（同じ値なら同じ内容を生成）
+     * @param rowsPerStatement 1文のINSERTで送る行数
+     * @param password ログインアカウントのパスワード（null の場合はアカウントを作成しない）
+     */
+    public record Options(int employees, int years, LocalDate endDate, long seed, int rowsPerStatement, String password) {
+
+        public Options {
+            if (employees < 1 || years < 1 || rowsPerStatement < 1 || endDate == null) {
+                throw new IllegalArgumentException("生成条件が正しくありません");
+            }
+        }
+    }
+
+    /**
+     * 生成結果
+     * @param rows テーブルごとの投入件数
+     * @param elapsedMillis 所要時間（ミリ秒）
+     */
+    public record Result(Map<String, Long> rows, long elapsedMillis) {
+    }
+
+    /**
+     * 勤務シフト（日中勤務以外は承認済みの勤務時間変更申請として登録する）
+     */
+    private enum Shift {
+        DAY(LocalTime.of(9, 0), LocalTime.of(18, 0)),
+        EARLY(LocalTime.of(7, 0), LocalTime.of(16, 0)),
+        LATE(LocalTime.of(13, 0), LocalTime.of(22, 0)),
+        NIGHT(LocalTime.of(22, 0), LocalTime.of(7, 0)),
+        SHORT(LocalTime.of(9, 0), LocalTime.of(15, 45));
+
+        private final LocalTime start;
+
+        private final LocalTime end;
+
+        Shift(LocalTime start, LocalTime end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private static final class EmployeePlan {
+
+        private final String code;
+
+        private final Random random;
+
+        private final LocalDate hireDate;
+
+        private final LocalDate retirementDate;
+
+        private final Shift shift;
+
+        private Long employeeId;
+
+        private EmployeePlan(String code, Random random, LocalDate hireDate, LocalDate retirementDate, Shift shift) {
+            this.code = code;
+            this.random = random;
+            this.hireDate = hireDate;
+            this.retirementDate = retirementDate;
+            this.shift = shift;
+        }
+
+        /**
+         * 入社日（7割は期間開始前から在籍）・退職日（約6%）・勤務シフトを決める
+         */
+        static EmployeePlan random(String code, Random random, LocalDate periodStart, LocalDate endDate) {
+            long periodDays = ChronoUnit.DAYS.between(periodStart, endDate);
+            LocalDate hireDate = random.nextDouble() < 0.7
+                    ? periodStart.minusDays(1 + random.nextInt(3650))
+                    : periodStart.plusDays(random.nextInt((int) Math.max(periodDays - 30, 1)));
+            LocalDate retirementDate = null;
+            if (random.nextDouble() < 0.06) {
+                LocalDate earliest = hireDate.isAfter(periodStart) ? hireDate.plusDays(180) : periodStart.plusDays(180);
+                long span = ChronoUnit.DAYS.between(earliest, endDate);
+                if (span > 0) {
+                    retirementDate = earliest.plusDays(random.nextInt((int) span));
+                }
+            }
+            double roll = random.nextDouble();
+            Shift shift = roll < 0.80 ? Shift.DAY : roll < 0.88 ? Shift.EARLY : roll < 0.95 ? Shift.LATE : Shift.NIGHT;
+            if (hireDate.getDayOfWeek() == DayOfWeek.SATURDAY || hireDate.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                hireDate = hireDate.with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+            }
+            return new EmployeePlan(code, random, hireDate, retirementDate, shift);
+        }
+
+        String code() {
+            return code;
+        }
+
+        Random random() {
+            return random;
+        }
+
+        LocalDate hireDate() {
+            return hireDate;
+        }
+
+        LocalDate retirementDate() {
+            return retirementDate;
+        }
+
+        Shift shift() {
+            return shift;
+        }
+    }
+
+    /**
+     * 投入先テーブル（勤怠・休暇・申請は従業員の投入後にまとめて送る）
+     */
+    private static final class Tables {
+
+        private final BulkInsert employees;
+
+        private final BulkInsert userAccounts;
+
+        private final BulkInsert attendance;
+
+        private final BulkInsert leaveGrants;
+
+        private final BulkInsert leaveBalances;
+
+        private final BulkInsert leaveRequests;
+
+        private final BulkInsert adjustments;
+
+        private final BulkInsert workPatterns;
+
+        private final BulkInsert customHolidays;
+
+        /** INSERT ... SELECT で記録したアウトボックスイベントの件数 */
+        private long outboxEvents;
+
+        Tables(JdbcTemplate jdbcTemplate, int rowsPerStatement) {
+            employees = new BulkInsert(jdbcTemplate, rowsPerStatement, "employees",
+                    "employee_code", "last_name", "first_name", "birthday", "hire_date", "retirement_date",
+                    "is_active", "paid_leave_base_days", "created_at", "updated_at");
+            userAccounts = new BulkInsert(jdbcTemplate, rowsPerStatement, "user_accounts",
+                    "username", "password", "role", "employee_id", "enabled");
+            attendance = new BulkInsert(jdbcTemplate, rowsPerStatement, "attendance_records",
+                    "employee_id", "attendance_date", "clock_in_time", "clock_out_time", "late_minutes",
+                    "early_leave_minutes", "overtime_minutes", "night_shift_minutes", "break_minutes",
+                    "attendance_status", "attendance_fixed_flag", "version", "created_at", "updated_at");
+            leaveGrants = new BulkInsert(jdbcTemplate, rowsPerStatement, "leave_grants",
+                    "employee_id", "leave_type", "granted_days", "granted_at", "expires_at", "granted_by", "created_at");
+            leaveBalances = new BulkInsert(jdbcTemplate, rowsPerStatement, "leave_balances",
+                    "employee_id", "leave_type", "total_days", "used_days", "remaining_days", "updated_at");
+            leaveRequests = new BulkInsert(jdbcTemplate, rowsPerStatement, "leave_requests",
+                    "employee_id", "leave_type", "time_unit", "start_date", "end_date", "days", "reason", "status",
+                    "approver_id", "rejection_comment", "created_at", "updated_at");
+            adjustments = new BulkInsert(jdbcTemplate, rowsPerStatement, "adjustment_requests",
+                    "employee_id", "target_date", "new_clock_in", "new_clock_out", "new_break_minutes",
+                    "original_clock_in", "original_clock_out", "original_break_minutes", "reason", "status",
+                    "created_at", "updated_at", "approved_by_employee_id", "approved_at",
+                    "rejected_by_employee_id", "rejected_at", "rejection_comment");
+            workPatterns = new BulkInsert(jdbcTemplate, rowsPerStatement, "work_pattern_change_requests",
+                    "employee_id", "start_date", "end_date", "start_time", "end_time", "break_minutes",
+                    "working_minutes", "reason", "status", "created_at", "updated_at", "approved_by_employee_id",
+                    "approved_at", "rejected_by_employee_id", "rejected_at", "rejection_comment",
+                    "apply_monday", "apply_tuesday", "apply_wednesday", "apply_thursday", "apply_friday",
+                    "apply_saturday", "apply_sunday", "apply_holiday");
+            customHolidays = new BulkInsert(jdbcTemplate, rowsPerStatement, "custom_holidays",
+                    "employee_id", "holiday_date", "holiday_type", "description", "related_request_id",
+                    "created_at", "created_by");
+        }
+
+        void addAttendance(AttendanceRecord record, boolean fixed) {
+            LocalDateTime updatedAt = record.getClockOutTime();
+            attendance.add(record.getEmployeeId(), record.getAttendanceDate(), record.getClockInTime(),
+                    record.getClockOutTime(), record.getLateMinutes(), record.getEarlyLeaveMinutes(),
+                    record.getOvertimeMinutes(), record.getNightShiftMinutes(), record.getBreakMinutes(),
+                    record.getAttendanceStatus().name(), fixed, 0L, record.getClockInTime(), updatedAt);
+        }
+
+        void flush() {
+            for (BulkInsert table : all()) {
+                table.flush();
+            }
+        }
+
+        Map<String, Long> counts() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (BulkInsert table : all()) {
+                counts.put(table.table, table.inserted);
+            }
+            counts.put("outbox_events", outboxEvents);
+            return counts;
+        }
+
+        private List<BulkInsert> all() {
+            return List.of(employees, userAccounts, attendance, leaveGrants, leaveBalances, leaveRequests,
+                    adjustments, workPatterns, customHolidays);
+        }
+    }
+
+    /**
+     * 複数行INSERT（INSERT INTO t (...) VALUES (...), (...), ...）で rowsPerStatement 行ずつ送る
+     */
+    private static final class BulkInsert {
+
+        private final JdbcTemplate jdbcTemplate;
+
+        private final int rowsPerStatement;
+
+        private final String table;
+
+        private final String prefix;
+
+        private final String rowPlaceholder;
+
+        private final int columns;
+
+        private final List<Object> pending = new ArrayList<>();
+
+        private String fullStatement;
+
+        private long inserted;
+
+        BulkInsert(JdbcTemplate jdbcTemplate, int rowsPerStatement, String table, String... columns) {
+            this.jdbcTemplate = jdbcTemplate;
+            this.rowsPerStatement = rowsPerStatement;
+            this.table = table;
+            this.columns = columns.length;
+            this.prefix = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ";
+            this.rowPlaceholder = "(" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        }
+
+        void add(Object... values) {
+            if (values.length != columns) {
+                throw new IllegalArgumentException(table + " の列数が一致しません");
+            }
+            Collections.addAll(pending, values);
+            if (pending.size() == rowsPerStatement * columns) {
+                flush();
+            }
+        }
+
+        void flush() {
+            int rows = pending.size() / columns;
+            if (rows == 0) {
+                return;
+            }
+            String sql;
+            if (rows == rowsPerStatement) {
+                if (fullStatement == null) {
+                    fullStatement = statement(rows);
+                }
+                sql = fullStatement;
+            } else {
+                sql = statement(rows);
+            }
+            jdbcTemplate.update(sql, pending.toArray());
+            inserted += rows;
+            pending.clear();
+        }
+
+        private String statement(int rows) {
+            return prefix + String.join(", ", Collections.nCopies(rows, rowPlaceholder));
+        }
+    }
+}
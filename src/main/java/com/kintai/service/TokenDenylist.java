@@ -0,0 +1,72 @@
+package com.kintai.service;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 署名付きトークンの失効リスト
+ * ログアウトしたトークン（トークンID単位）と、退職などで全トークンを無効にした利用者（発行時刻の下限）を、
+ * トークンの有効期限が切れるまでプロセス内に保持する。複数ノードでは各ノードでの失効操作のみが反映される。
+ */
+@Component
+public class TokenDenylist {
+
+    /** トークンID → 有効期限（エポック秒） */
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    /** 利用者キー → [この時刻より前に発行されたトークンを無効とする時刻, 保持期限]（エポック秒） */
+    private final Map<String, long[]> subjectNotBefore = new ConcurrentHashMap<>();
+
+    /**
+     * トークンを失効させる
+     * @param tokenId トークンID
+     * @param expiresAt トークンの有効期限（エポック秒）
+     */
+    public void revokeToken(String tokenId, long expiresAt) {
+        revokedTokens.put(tokenId, expiresAt);
+    }
+
+    /**
+     * 利用者の発行済みトークンをすべて失効させる
+     * @param subjectKey 利用者キー（ロールとIDの組）
+     * @param now 現在時刻（エポック秒）
+     * @param retainUntil 保持期限（発行済みトークンの有効期限の最大値、エポック秒）
+     */
+    public void revokeSubject(String subjectKey, long now, long retainUntil) {
+        subjectNotBefore.put(subjectKey, new long[]{now, retainUntil});
+    }
+
+    /**
+     * トークンが失効しているか
+     */
+    public boolean isRevoked(String tokenId, String subjectKey, long issuedAt) {
+        if (!revokedTokens.isEmpty() && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        if (subjectNotBefore.isEmpty()) {
+            return false;
+        }
+        long[] notBefore = subjectNotBefore.get(subjectKey);
+        return notBefore != null && issuedAt <= notBefore[0];
+    }
+
+    /**
+     * 有効期限を過ぎたエントリを削除
+     */
+    @Scheduled(fixedDelayString = "${kintai.auth.token.denylist-purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis() / 1000;
+        revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+        subjectNotBefore.values().removeIf(entry -> entry[1] < now);
+    }
+
+    /**
+     * 保持しているエントリ数
+     */
+    public int size() {
+        return revokedTokens.size() + subjectNotBefore.size();
+    }
+}
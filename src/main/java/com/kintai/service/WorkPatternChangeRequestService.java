@@ -1,30 +1,42 @@
 package com.kintai.service;
 
+import com.kintai.dto.BulkDecisionResult;
 import com.kintai.dto.WorkPatternChangeRequestDto;
 import com.kintai.dto.WorkPatternSummaryDto;
 import com.kintai.entity.AttendanceRecord;
 import com.kintai.entity.AttendanceStatus;
 import com.kintai.entity.Employee;
 import com.kintai.entity.WorkPatternChangeRequest;
+import com.kintai.entity.WorkPatternRecalculationJob;
+import com.kintai.event.WorkPatternApprovedEvent;
 import com.kintai.exception.AttendanceException;
 import com.kintai.repository.AttendanceRecordRepository;
 import com.kintai.repository.EmployeeRepository;
 import com.kintai.repository.WorkPatternChangeRequestRepository;
+import com.kintai.repository.WorkPatternRecalculationJobRepository;
 import com.kintai.util.BusinessDayCalculator;
 import com.kintai.util.TimeCalculator;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,12 +52,31 @@ public class WorkPatternChangeRequestService {
     @Autowired
     private AttendanceRecordRepository attendanceRecordRepository;
 
+    @Autowired
+    private WorkPatternRecalculationJobRepository recalculationJobRepository;
+
     @Autowired
     private TimeCalculator timeCalculator;
 
     @Autowired
     private BusinessDayCalculator businessDayCalculator;
 
+    @Autowired
+    private PendingRequestCounter pendingRequestCounter;
+
+    @Autowired
+    private BulkDecisionExecutor bulkDecisionExecutor;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private KintaiMetrics kintaiMetrics;
+
+    /** この日数を超える申請は承認後に非同期で勤怠を再計算する */
+    @Value("${kintai.work-pattern.async-recalc-threshold-days:93}")
+    private int asyncRecalcThresholdDays;
+
     public WorkPatternChangeRequest createRequest(WorkPatternChangeRequestDto dto) {
         Long employeeId = dto.getEmployeeId();
         Employee employee = employeeRepository.findByEmployeeId(employeeId)
@@ -138,7 +169,9 @@ public class WorkPatternChangeRequestService {
             request.setReason(trimmed.isEmpty() ? null : trimmed);
         }
 
-        return repository.save(request);
+        WorkPatternChangeRequest saved = repository.save(request);
+        pendingRequestCounter.increment(PendingRequestCounter.RequestKind.WORK_PATTERN);
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -208,6 +241,7 @@ public class WorkPatternChangeRequestService {
         if (employeeId == null || date == null) {
             return Optional.empty();
         }
+        kintaiMetrics.countPatternQuery("date");
         return repository.findApprovedRequestsForDate(employeeId, date)
                 .stream()
                 .findFirst();
@@ -218,15 +252,50 @@ public class WorkPatternChangeRequestService {
         if (employeeId == null || date == null) {
             return Optional.empty();
         }
+        kintaiMetrics.countPatternQuery("upcoming");
         return repository.findUpcomingApprovedRequests(employeeId, date).stream().findFirst();
     }
 
+    /**
+     * 指定期間に掛かる承認済み勤務時間変更を取得（開始日降順）
+     * 複数日の処理で日毎の検索を避けるため、まとめて取得して {@link #selectApplicablePattern} で引き当てる
+     */
+    @Transactional(readOnly = true)
+    public List<WorkPatternChangeRequest> findApprovedPatternsInRange(Long employeeId, LocalDate startDate, LocalDate endDate) {
+        if (employeeId == null || startDate == null || endDate == null) {
+            return List.of();
+        }
+        kintaiMetrics.countPatternQuery("range");
+        return repository.findApprovedRequestsInRange(employeeId, startDate, endDate);
+    }
+
+    /**
+     * 取得済みの勤務時間変更から指定日に適用されるものを選ぶ（{@link #findApplicablePattern} と同じ優先順位）
+     */
+    public Optional<WorkPatternChangeRequest> selectApplicablePattern(List<WorkPatternChangeRequest> patterns, LocalDate date) {
+        if (patterns == null || date == null) {
+            return Optional.empty();
+        }
+        return patterns.stream()
+                .filter(pattern -> !pattern.getStartDate().isAfter(date) && !pattern.getEndDate().isBefore(date))
+                .findFirst();
+    }
+
     public void applyPatternMetrics(AttendanceRecord record) {
         if (record == null || record.getEmployeeId() == null || record.getAttendanceDate() == null) {
             return;
         }
+        applyPatternMetrics(record, findApplicablePattern(record.getEmployeeId(), record.getAttendanceDate()));
+    }
+
+    /**
+     * 引き当て済みの勤務時間変更で遅刻・早退を再計算
+     */
+    public void applyPatternMetrics(AttendanceRecord record, Optional<WorkPatternChangeRequest> patternOpt) {
+        if (record == null || record.getEmployeeId() == null || record.getAttendanceDate() == null) {
+            return;
+        }
 
-        Optional<WorkPatternChangeRequest> patternOpt = findApplicablePattern(record.getEmployeeId(), record.getAttendanceDate());
         if (patternOpt.isEmpty()) {
             if (record.getLateMinutes() == null) {
                 record.setLateMinutes(0);
@@ -256,7 +325,8 @@ public class WorkPatternChangeRequestService {
     }
 
     public WorkPatternChangeRequest approveRequest(Long requestId, Long approverEmployeeId) {
-        WorkPatternChangeRequest request = repository.findById(requestId)
+        // 同時の承認で再計算やジョブ登録を重複させないよう、状態確認の前に申請をロックする
+        WorkPatternChangeRequest request = repository.findForUpdate(requestId)
                 .orElseThrow(() -> new AttendanceException(AttendanceException.REQUEST_NOT_FOUND, "勤務時間変更申請が見つかりません: " + requestId));
 
         if (request.getStatus() != WorkPatternChangeRequest.Status.PENDING) {
@@ -271,12 +341,102 @@ public class WorkPatternChangeRequestService {
         request.setRejectedByEmployeeId(null);
 
         WorkPatternChangeRequest saved = repository.save(request);
-        recalculateAttendanceForRequest(saved);
+        pendingRequestCounter.decrement(PendingRequestCounter.RequestKind.WORK_PATTERN);
+        if (isAsyncRecalculation(saved)) {
+            publishRecalculation(saved);
+        } else {
+            recalculateAttendanceForRequest(saved);
+        }
         return saved;
     }
 
+    /**
+     * 勤務時間変更申請を一括で承認・却下
+     * 従業員ごとに独立したトランザクションで、勤怠を期間一括で取得し、再計算結果をまとめて保存する
+     * @return 申請ごとの処理結果（指定順）
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BulkDecisionResult> decideRequests(List<Long> requestIds, boolean approve, Long approverEmployeeId, String comment) {
+        String trimmedComment = comment == null ? "" : comment.trim();
+        if (!approve && trimmedComment.isEmpty()) {
+            return new LinkedHashSet<>(requestIds).stream()
+                    .map(id -> BulkDecisionResult.failed(id, AttendanceException.INVALID_REQUEST, "却下理由を入力してください"))
+                    .collect(Collectors.toList());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        return bulkDecisionExecutor.decideByEmployee(requestIds,
+                ids -> repository.findAllById(ids).stream()
+                        .collect(Collectors.toMap(WorkPatternChangeRequest::getRequestId, WorkPatternChangeRequest::getEmployeeId)),
+                WorkPatternChangeRequestService::notFound,
+                (employeeId, ids) -> decideGroup(employeeId, ids, approve, approverEmployeeId, trimmedComment, now));
+    }
+
+    /**
+     * 1人分の勤務時間変更申請をロックして承認・却下
+     */
+    private Map<Long, BulkDecisionResult> decideGroup(Long employeeId, List<Long> ids, boolean approve,
+                                                      Long approverEmployeeId, String trimmedComment, LocalDateTime now) {
+        Map<Long, WorkPatternChangeRequest> found = repository.findAllForUpdate(ids).stream()
+                .collect(Collectors.toMap(WorkPatternChangeRequest::getRequestId, Function.identity()));
+        Map<Long, BulkDecisionResult> results = new HashMap<>();
+        List<WorkPatternChangeRequest> requests = new ArrayList<>();
+        for (Long id : ids) {
+            WorkPatternChangeRequest request = found.get(id);
+            if (request == null) {
+                results.put(id, notFound(id));
+            } else if (request.getStatus() != WorkPatternChangeRequest.Status.PENDING) {
+                results.put(id, BulkDecisionResult.failed(id, AttendanceException.INVALID_REQUEST,
+                        approve ? "承認可能な状態ではありません" : "却下可能な状態ではありません"));
+            } else {
+                requests.add(request);
+            }
+        }
+        if (requests.isEmpty()) {
+            return results;
+        }
+
+        for (WorkPatternChangeRequest request : requests) {
+            if (approve) {
+                request.setStatus(WorkPatternChangeRequest.Status.APPROVED);
+                request.setApprovedByEmployeeId(approverEmployeeId);
+                request.setApprovedAt(now);
+                request.setRejectionComment(null);
+                request.setRejectedAt(null);
+                request.setRejectedByEmployeeId(null);
+            } else {
+                request.setStatus(WorkPatternChangeRequest.Status.REJECTED);
+                request.setRejectedByEmployeeId(approverEmployeeId);
+                request.setRejectedAt(now);
+                request.setRejectionComment(trimmedComment);
+            }
+        }
+        repository.saveAll(requests);
+        if (approve) {
+            List<WorkPatternChangeRequest> inline = new ArrayList<>();
+            for (WorkPatternChangeRequest request : requests) {
+                if (isAsyncRecalculation(request)) {
+                    publishRecalculation(request);
+                } else {
+                    inline.add(request);
+                }
+            }
+            recalculateAttendanceForGroup(employeeId, inline);
+        }
+        for (WorkPatternChangeRequest request : requests) {
+            pendingRequestCounter.decrement(PendingRequestCounter.RequestKind.WORK_PATTERN);
+            results.put(request.getRequestId(), BulkDecisionResult.succeeded(
+                    request.getRequestId(), request.getEmployeeId(), request.getStatus().name()));
+        }
+        return results;
+    }
+
+    private static BulkDecisionResult notFound(Long id) {
+        return BulkDecisionResult.failed(id, AttendanceException.REQUEST_NOT_FOUND, "勤務時間変更申請が見つかりません: " + id);
+    }
+
     public WorkPatternChangeRequest rejectRequest(Long requestId, Long approverEmployeeId, String comment) {
-        WorkPatternChangeRequest request = repository.findById(requestId)
+        WorkPatternChangeRequest request = repository.findForUpdate(requestId)
                 .orElseThrow(() -> new AttendanceException(AttendanceException.REQUEST_NOT_FOUND, "勤務時間変更申請が見つかりません: " + requestId));
 
         if (request.getStatus() != WorkPatternChangeRequest.Status.PENDING) {
@@ -293,12 +453,51 @@ public class WorkPatternChangeRequestService {
         request.setRejectedAt(LocalDateTime.now());
         request.setRejectionComment(trimmedComment);
 
-        return repository.save(request);
+        WorkPatternChangeRequest saved = repository.save(request);
+        pendingRequestCounter.decrement(PendingRequestCounter.RequestKind.WORK_PATTERN);
+        return saved;
     }
 
-    @Transactional(readOnly = true)
     public long countPendingRequests() {
-        return repository.countByStatus(WorkPatternChangeRequest.Status.PENDING);
+        return pendingRequestCounter.get(PendingRequestCounter.RequestKind.WORK_PATTERN);
+    }
+
+    /**
+     * 承認済み申請の指定区間について勤怠を再計算（非同期ジョブから区間ごとに呼び出す）
+     * コミット後リスナーから同期実行される場合にも確実に保存されるよう、独立したトランザクションで実行する
+     * @return 処理した日数
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public int recalculateAttendanceRange(Long requestId, LocalDate from, LocalDate to) {
+        WorkPatternChangeRequest request = repository.findById(requestId)
+                .orElseThrow(() -> new AttendanceException(AttendanceException.REQUEST_NOT_FOUND, "勤務時間変更申請が見つかりません: " + requestId));
+        LocalDate start = from.isBefore(request.getStartDate()) ? request.getStartDate() : from;
+        LocalDate end = to.isAfter(request.getEndDate()) ? request.getEndDate() : to;
+        if (start.isAfter(end)) {
+            return 0;
+        }
+        if (request.getStatus() == WorkPatternChangeRequest.Status.APPROVED) {
+            employeeRepository.lockForAttendanceUpdate(request.getEmployeeId());
+            Map<LocalDate, AttendanceRecord> recordsByDate = loadRecordsByDate(request.getEmployeeId(), start, end);
+            List<AttendanceRecord> changed = new ArrayList<>();
+            recalculateAttendance(request, start, end, recordsByDate, changed);
+            attendanceRecordRepository.saveAll(changed);
+        }
+        return (int) ChronoUnit.DAYS.between(start, end) + 1;
+    }
+
+    private boolean isAsyncRecalculation(WorkPatternChangeRequest request) {
+        return ChronoUnit.DAYS.between(request.getStartDate(), request.getEndDate()) + 1 > asyncRecalcThresholdDays;
+    }
+
+    /**
+     * 再計算ジョブを承認と同じトランザクションで登録し、コミット後の実行を通知
+     * コミット後に実行されないまま停止した場合も、登録済みのジョブは WorkPatternRecalculationJobService が再開する
+     */
+    private void publishRecalculation(WorkPatternChangeRequest request) {
+        recalculationJobRepository.save(new WorkPatternRecalculationJob(request));
+        eventPublisher.publishEvent(new WorkPatternApprovedEvent(
+                request.getRequestId(), request.getEmployeeId(), request.getStartDate(), request.getEndDate()));
     }
 
     private Set<String> normalizeDayKeys(Set<String> raw) {
@@ -316,15 +515,55 @@ public class WorkPatternChangeRequestService {
         if (request == null) {
             return;
         }
+        recalculateAttendanceForGroup(request.getEmployeeId(), List.of(request));
+    }
+
+    /**
+     * 同一従業員の承認済み申請（期間は重複しない）について勤怠を一括再計算
+     */
+    private void recalculateAttendanceForGroup(Long employeeId, List<WorkPatternChangeRequest> requests) {
+        LocalDate from = requests.stream().map(WorkPatternChangeRequest::getStartDate).min(LocalDate::compareTo).orElse(null);
+        LocalDate to = requests.stream().map(WorkPatternChangeRequest::getEndDate).max(LocalDate::compareTo).orElse(null);
+        if (from == null || to == null) {
+            return;
+        }
+
+        // 打刻・修正申請の承認と同時に勤怠を作成・更新しないよう従業員単位でロック
+        employeeRepository.lockForAttendanceUpdate(employeeId);
+        Map<LocalDate, AttendanceRecord> recordsByDate = loadRecordsByDate(employeeId, from, to);
+        List<AttendanceRecord> changed = new ArrayList<>();
+        for (WorkPatternChangeRequest request : requests) {
+            recalculateAttendance(request, request.getStartDate(), request.getEndDate(), recordsByDate, changed);
+        }
+        attendanceRecordRepository.saveAll(changed);
+    }
 
-        for (LocalDate date = request.getStartDate(); !date.isAfter(request.getEndDate()); date = date.plusDays(1)) {
+    /**
+     * 期間内の勤怠を日付キーで取得（同日に複数ある場合は最新IDを採用）
+     */
+    private Map<LocalDate, AttendanceRecord> loadRecordsByDate(Long employeeId, LocalDate from, LocalDate to) {
+        Map<LocalDate, AttendanceRecord> recordsByDate = new HashMap<>();
+        for (AttendanceRecord record : attendanceRecordRepository
+                .findByEmployeeIdAndAttendanceDateBetweenOrderByAttendanceDateDesc(employeeId, from, to)) {
+            recordsByDate.merge(record.getAttendanceDate(), record,
+                    (current, candidate) -> candidate.getAttendanceId() > current.getAttendanceId() ? candidate : current);
+        }
+        return recordsByDate;
+    }
+
+    /**
+     * 取得済みの勤怠に対して from〜to の再計算を行い、新規または値が変わったレコードのみ changed に追加
+     */
+    private void recalculateAttendance(WorkPatternChangeRequest request, LocalDate from, LocalDate to,
+                                       Map<LocalDate, AttendanceRecord> recordsByDate,
+                                       List<AttendanceRecord> changed) {
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
             boolean calendarHoliday = businessDayCalculator != null && businessDayCalculator.isJapaneseHoliday(date);
             boolean workingDay = request.appliesTo(date, calendarHoliday);
 
-            AttendanceRecord record = attendanceRecordRepository
-                    .findByEmployeeIdAndAttendanceDate(request.getEmployeeId(), date)
-                    .orElse(null);
-
+            AttendanceRecord record = recordsByDate.get(date);
+            // 新規の休日レコードは差分の有無に関わらず保存する
+            MetricsSnapshot before = record == null ? null : MetricsSnapshot.of(record);
             if (workingDay) {
                 if (record == null) {
                     continue;
@@ -333,17 +572,28 @@ public class WorkPatternChangeRequestService {
             } else {
                 if (record == null) {
                     record = new AttendanceRecord(request.getEmployeeId(), date);
+                    recordsByDate.put(date, record);
                 }
                 markAsHoliday(record);
             }
-
-            if (record != null) {
-                timeCalculator.normalizeMetrics(record);
-                attendanceRecordRepository.save(record);
+            timeCalculator.normalizeMetrics(record);
+            if (before == null || !before.equals(MetricsSnapshot.of(record))) {
+                changed.add(record);
             }
         }
     }
 
+    /**
+     * 再計算前後の比較用に勤怠の集計値を保持
+     */
+    private record MetricsSnapshot(Integer lateMinutes, Integer earlyLeaveMinutes, Integer overtimeMinutes,
+                                   Integer nightShiftMinutes, Integer breakMinutes, AttendanceStatus status) {
+        static MetricsSnapshot of(AttendanceRecord record) {
+            return new MetricsSnapshot(record.getLateMinutes(), record.getEarlyLeaveMinutes(), record.getOvertimeMinutes(),
+                    record.getNightShiftMinutes(), record.getBreakMinutes(), record.getAttendanceStatus());
+        }
+    }
+
     public AttendanceStatus resolveAttendanceStatus(int lateMinutes, int earlyLeaveMinutes, int overtimeMinutes, int nightShiftMinutes) {
         if (lateMinutes > 0 && earlyLeaveMinutes > 0) {
             return AttendanceStatus.LATE_AND_EARLY_LEAVE;
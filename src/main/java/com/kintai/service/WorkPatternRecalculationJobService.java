@@ -0,0 +1,136 @@
+package com.kintai.service;
+
+import com.kintai.dto.RecalculationProgressDto;
+import com.kintai.entity.WorkPatternRecalculationJob;
+import com.kintai.event.WorkPatternApprovedEvent;
+import com.kintai.repository.WorkPatternRecalculationJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * 勤務時間変更承認後の勤怠再計算ジョブ
+ * 長期間の申請は承認APIを待たせないよう、コミット後に専用プールで月単位に分割して再計算する。
+ * ジョブは承認と同じトランザクションで work_pattern_recalc_jobs に登録し、区間ごとに進捗を記録する。
+ * 再起動などで中断したジョブは定期チェックで検出し、残りの区間から再開する（区間の再計算は冪等）。
+ */
+@Service
+public class WorkPatternRecalculationJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(WorkPatternRecalculationJobService.class);
+
+    /** 1トランザクションで再計算する日数 */
+    private static final int CHUNK_DAYS = 31;
+
+    /** 終了したジョブの進捗を保持する期間 */
+    private static final Duration RETENTION = Duration.ofHours(24);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private WorkPatternChangeRequestService workPatternChangeRequestService;
+
+    @Autowired
+    private WorkPatternRecalculationJobRepository jobRepository;
+
+    @Autowired
+    @Qualifier("attendanceRecalcExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    /** この秒数以上進捗の更新がない実行中ジョブは中断したものとして再開する */
+    @Value("${kintai.work-pattern.recalc-stale-seconds:300}")
+    private long staleSeconds;
+
+    /**
+     * 承認がコミットされたら再計算ジョブを投入
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onWorkPatternApproved(WorkPatternApprovedEvent event) {
+        executor.execute(() -> run(event.requestId()));
+    }
+
+    /**
+     * 待機中のまま、または実行中のまま止まったジョブを再開し、保持期間を過ぎた終了ジョブを削除
+     * 起動直後にも実行し、停止前に登録・中断されたジョブを拾う
+     */
+    @Scheduled(initialDelayString = "${kintai.work-pattern.recalc-resume-initial-delay-ms:10000}",
+            fixedDelayString = "${kintai.work-pattern.recalc-resume-interval-ms:60000}")
+    public void resumeUnfinished() {
+        for (Long requestId : jobRepository.findResumableIds(staleBefore())) {
+            log.info("[WorkPatternRecalc] requestId={} の再計算を再開します", requestId);
+            executor.execute(() -> run(requestId));
+        }
+        jobRepository.deleteFinishedBefore(LocalDateTime.now().minus(RETENTION));
+    }
+
+    /**
+     * 申請IDに対応する再計算ジョブの進捗を取得
+     */
+    public Optional<RecalculationProgressDto> getProgress(Long requestId) {
+        return jobRepository.findById(requestId).map(this::toDto);
+    }
+
+    /**
+     * ジョブを実行（他のスレッド・ノードが実行中の場合は何もしない）
+     */
+    void run(Long requestId) {
+        if (jobRepository.claim(requestId, LocalDateTime.now(), staleBefore()) == 0) {
+            return;
+        }
+        WorkPatternRecalculationJob job = jobRepository.findById(requestId).orElse(null);
+        if (job == null) {
+            return;
+        }
+        try {
+            LocalDate from = job.getNextDate();
+            int processedDays = job.getProcessedDays();
+            while (!from.isAfter(job.getEndDate())) {
+                LocalDate to = from.plusDays(CHUNK_DAYS - 1);
+                if (to.isAfter(job.getEndDate())) {
+                    to = job.getEndDate();
+                }
+                processedDays += workPatternChangeRequestService.recalculateAttendanceRange(requestId, from, to);
+                from = to.plusDays(1);
+                // 区間の再計算は冪等のため、記録前に停止した場合はその区間から再計算する
+                jobRepository.advance(requestId, from, processedDays, LocalDateTime.now());
+            }
+            jobRepository.finish(requestId, WorkPatternRecalculationJob.Status.COMPLETED, null, LocalDateTime.now());
+        } catch (Exception e) {
+            log.error("[WorkPatternRecalc] requestId={} の再計算に失敗しました", requestId, e);
+            jobRepository.finish(requestId, WorkPatternRecalculationJob.Status.FAILED,
+                    truncate(String.valueOf(e.getMessage())), LocalDateTime.now());
+        }
+    }
+
+    private LocalDateTime staleBefore() {
+        return LocalDateTime.now().minusSeconds(staleSeconds);
+    }
+
+    private String truncate(String message) {
+        return message.length() <= MAX_ERROR_LENGTH ? message : message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+    private RecalculationProgressDto toDto(WorkPatternRecalculationJob job) {
+        RecalculationProgressDto dto = new RecalculationProgressDto();
+        dto.setRequestId(job.getRequestId());
+        dto.setStatus(job.getStatus().name());
+        dto.setTotalDays(job.getTotalDays());
+        dto.setProcessedDays(job.getProcessedDays());
+        dto.setSubmittedAt(job.getSubmittedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        dto.setErrorMessage(job.getErrorMessage());
+        return dto;
+    }
+}
@@ -0,0 +1,13 @@
+-- 採番シーケンステーブル作成
+CREATE TABLE IF NOT EXISTS code_sequences (
+    sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_value BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- 社員コード（EMPnnn）の採番を既存の最大番号の次から開始
+INSERT INTO code_sequences (sequence_name, next_value, updated_at)
+SELECT 'EMPLOYEE_CODE', COALESCE(MAX(CAST(SUBSTRING(employee_code, 4) AS UNSIGNED)), 0) + 1, CURRENT_TIMESTAMP
+FROM employees
+WHERE employee_code REGEXP '^EMP[0-9]+$'
+  AND NOT EXISTS (SELECT 1 FROM code_sequences WHERE sequence_name = 'EMPLOYEE_CODE');
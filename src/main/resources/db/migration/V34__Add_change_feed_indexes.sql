@@ -0,0 +1,4 @@
+-- 変更フィード（更新日時・ID順のカーソル取得）用インデックス
+CREATE INDEX idx_attendance_records_updated_at ON attendance_records(updated_at, attendance_id);
+CREATE INDEX idx_leave_requests_updated_at ON leave_requests(updated_at, id);
+CREATE INDEX idx_adjustment_requests_updated_at ON adjustment_requests(updated_at, adjustment_request_id);
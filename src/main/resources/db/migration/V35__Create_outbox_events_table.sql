@@ -0,0 +1,14 @@
+-- アウトボックスイベントテーブル作成（勤怠・各種申請の変更通知）
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    aggregate_type VARCHAR(40) NOT NULL,
+    aggregate_id BIGINT NOT NULL,
+    employee_id BIGINT,
+    change_type VARCHAR(16) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    dispatched_at TIMESTAMP NULL,
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500)
+);
+
+CREATE INDEX idx_outbox_events_dispatched ON outbox_events(dispatched_at, id);
@@ -0,0 +1,5 @@
+-- レプリカ遅延計測用ハートビートテーブル作成（プライマリへ書き込み、レプリカから読み出す）
+CREATE TABLE IF NOT EXISTS replica_heartbeats (
+    id INT PRIMARY KEY,
+    beat_at DATETIME(3) NOT NULL
+);
@@ -0,0 +1,53 @@
+-- 勤怠記録テーブルを勤怠日の月単位でレンジパーティション化（MySQL）
+-- パーティション化したテーブルでは外部キーを使えず、一意キーにはパーティションキーを含める必要があるため、
+-- 従業員への外部キーを削除し（従業員の存在はアプリケーション側で検証する）、主キーを (attendance_id, attendance_date) に変更する。
+-- 2024年より前の勤怠は p_archive にまとめ、以降は月ごとのパーティションに格納する。
+-- p_future は範囲外の日付の受け皿で、翌月以降のパーティションは AttendancePartitionMaintainer が p_future を分割して事前に作成する。
+-- H2（dev・テスト）ではパーティション化せず、通常のテーブルのまま使う。
+ALTER TABLE attendance_records DROP FOREIGN KEY attendance_records_ibfk_1;
+
+ALTER TABLE attendance_records
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (attendance_id, attendance_date);
+
+ALTER TABLE attendance_records
+    PARTITION BY RANGE COLUMNS (attendance_date) (
+        PARTITION p_archive VALUES LESS THAN ('2024-01-01'),
+        PARTITION p202401 VALUES LESS THAN ('2024-02-01'),
+        PARTITION p202402 VALUES LESS THAN ('2024-03-01'),
+        PARTITION p202403 VALUES LESS THAN ('2024-04-01'),
+        PARTITION p202404 VALUES LESS THAN ('2024-05-01'),
+        PARTITION p202405 VALUES LESS THAN ('2024-06-01'),
+        PARTITION p202406 VALUES LESS THAN ('2024-07-01'),
+        PARTITION p202407 VALUES LESS THAN ('2024-08-01'),
+        PARTITION p202408 VALUES LESS THAN ('2024-09-01'),
+        PARTITION p202409 VALUES LESS THAN ('2024-10-01'),
+        PARTITION p202410 VALUES LESS THAN ('2024-11-01'),
+        PARTITION p202411 VALUES LESS THAN ('2024-12-01'),
+        PARTITION p202412 VALUES LESS THAN ('2025-01-01'),
+        PARTITION p202501 VALUES LESS THAN ('2025-02-01'),
+        PARTITION p202502 VALUES LESS THAN ('2025-03-01'),
+        PARTITION p202503 VALUES LESS THAN ('2025-04-01'),
+        PARTITION p202504 VALUES LESS THAN ('2025-05-01'),
+        PARTITION p202505 VALUES LESS THAN ('2025-06-01'),
+        PARTITION p202506 VALUES LESS THAN ('2025-07-01'),
+        PARTITION p202507 VALUES LESS THAN ('2025-08-01'),
+        PARTITION p202508 VALUES LESS THAN ('2025-09-01'),
+        PARTITION p202509 VALUES LESS THAN ('2025-10-01'),
+        PARTITION p202510 VALUES LESS THAN ('2025-11-01'),
+        PARTITION p202511 VALUES LESS THAN ('2025-12-01'),
+        PARTITION p202512 VALUES LESS THAN ('2026-01-01'),
+        PARTITION p202601 VALUES LESS THAN ('2026-02-01'),
+        PARTITION p202602 VALUES LESS THAN ('2026-03-01'),
+        PARTITION p202603 VALUES LESS THAN ('2026-04-01'),
+        PARTITION p202604 VALUES LESS THAN ('2026-05-01'),
+        PARTITION p202605 VALUES LESS THAN ('2026-06-01'),
+        PARTITION p202606 VALUES LESS THAN ('2026-07-01'),
+        PARTITION p202607 VALUES LESS THAN ('2026-08-01'),
+        PARTITION p202608 VALUES LESS THAN ('2026-09-01'),
+        PARTITION p202609 VALUES LESS THAN ('2026-10-01'),
+        PARTITION p202610 VALUES LESS THAN ('2026-11-01'),
+        PARTITION p202611 VALUES LESS THAN ('2026-12-01'),
+        PARTITION p202612 VALUES LESS THAN ('2027-01-01'),
+        PARTITION p_future VALUES LESS THAN (MAXVALUE)
+    );
@@ -0,0 +1,5 @@
+-- アウトボックスイベントの配信確保（配信中のノードの識別子と確保の期限）
+-- 確保の期限が切れたイベントは他のノードが改めて確保して配信する
+ALTER TABLE outbox_events
+    ADD COLUMN claimed_by VARCHAR(80) NULL,
+    ADD COLUMN claimed_until TIMESTAMP NULL;
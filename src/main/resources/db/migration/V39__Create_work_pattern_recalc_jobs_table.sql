@@ -0,0 +1,18 @@
+-- 勤務時間変更承認後の勤怠再計算ジョブテーブル作成
+-- 承認と同じトランザクションで登録し、再起動後も未完了のジョブを残りの区間から再開する
+CREATE TABLE IF NOT EXISTS work_pattern_recalc_jobs (
+    request_id BIGINT PRIMARY KEY,
+    employee_id BIGINT NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    next_date DATE NOT NULL,
+    status VARCHAR(16) NOT NULL,
+    total_days INT NOT NULL,
+    processed_days INT NOT NULL DEFAULT 0,
+    error_message VARCHAR(500),
+    submitted_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP NULL
+);
+
+CREATE INDEX idx_work_pattern_recalc_jobs_status ON work_pattern_recalc_jobs(status, updated_at);
@@ -0,0 +1,10 @@
+-- テーブル変更バージョン作成（社員一覧APIのETag生成用）
+CREATE TABLE IF NOT EXISTS table_versions (
+    table_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO table_versions (table_name, version, updated_at)
+SELECT 'employees', 1, CURRENT_TIMESTAMP
+WHERE NOT EXISTS (SELECT 1 FROM table_versions WHERE table_name = 'employees');
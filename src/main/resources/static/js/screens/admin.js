@@ -2270,6 +2270,10 @@ class AdminScreen {
             );
 
             if (data.success && data.pdfUrl) {
+                // 生成ジョブの完了を待ってからダウンロード
+                if (data.statusUrl) {
+                    await this.waitForReportJob(data.statusUrl);
+                }
                 const filename = `attendance_${employeeId}_${month}.pdf`;
                 await fetchWithAuth.downloadFile(data.pdfUrl, filename);
                 this.showAlert('レポートをダウンロードしました', 'success');
@@ -2281,6 +2285,28 @@ class AdminScreen {
         }
     }
 
+    /**
+     * レポート生成ジョブの完了待ち
+     * @param {string} statusUrl - ジョブ状態URL
+     */
+    async waitForReportJob(statusUrl) {
+        for (let attempt = 0; attempt < 60; attempt++) {
+            const statusResp = await fetchWithAuth.handleApiCall(
+                () => fetchWithAuth.get(statusUrl),
+                'レポート生成状況の取得に失敗しました'
+            );
+            const job = statusResp?.data;
+            if (job?.status === 'COMPLETED') {
+                return;
+            }
+            if (job?.status === 'FAILED') {
+                throw new Error(job.message || 'レポート生成に失敗しました');
+            }
+            await new Promise(resolve => setTimeout(resolve, 1000));
+        }
+        throw new Error('レポート生成がタイムアウトしました');
+    }
+
     /**
      * 休暇管理データ読み込み
      * @param {boolean} silent - サイレント更新（ローディングメッセージを表示しない）
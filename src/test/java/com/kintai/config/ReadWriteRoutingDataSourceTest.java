@@ -0,0 +1,169 @@
+package com.kintai.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 2つの H2 インメモリDBをプライマリ・レプリカに見立てた振り分けのテスト
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private DriverManagerDataSource primary;
+
+    private DriverManagerDataSource replica;
+
+    private JdbcTemplate replicaJdbcTemplate;
+
+    private ReplicaLagMonitor lagMonitor;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate readWrite;
+
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        primary = h2("routing_primary");
+        replica = h2("routing_replica");
+        replicaJdbcTemplate = new JdbcTemplate(replica);
+        initialize(new JdbcTemplate(primary), "primary");
+        initialize(replicaJdbcTemplate, "replica");
+
+        lagMonitor = new ReplicaLagMonitor(primary, replica, 2000);
+        setUpRouting(replica);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        new JdbcTemplate(primary).execute("DROP ALL OBJECTS");
+        replicaJdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToReplicaWhenItIsCaughtUp() {
+        replicate(LocalDateTime.now());
+        lagMonitor.check();
+
+        assertTrue(lagMonitor.isReplicaUsable());
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+        assertEquals("primary", readWrite.execute(status -> currentDatabase()));
+        // トランザクション外の処理はプライマリ
+        assertEquals("primary", currentDatabase());
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenReplicaLags() {
+        replicate(LocalDateTime.now().minusSeconds(30));
+        lagMonitor.check();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertTrue(lagMonitor.getLagMillis() >= 30_000);
+        assertEquals("primary", readOnly.execute(status -> currentDatabase()));
+
+        // 追いついたら再びレプリカを使う
+        replicate(LocalDateTime.now());
+        lagMonitor.check();
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readsStickToPrimaryAfterUsersOwnWrite() {
+        replicate(LocalDateTime.now());
+        lagMonitor.check();
+
+        loginAs("alice");
+        readWrite.executeWithoutResult(status ->
+                jdbcTemplate.update("UPDATE db_marker SET name = name"));
+        assertEquals("primary", readOnly.execute(status -> currentDatabase()));
+
+        // 書き込んでいない別のユーザーはレプリカ
+        loginAs("bob");
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void rolledBackWriteDoesNotMakeUserSticky() {
+        replicate(LocalDateTime.now());
+        lagMonitor.check();
+
+        loginAs("alice");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE db_marker SET name = name");
+            status.setRollbackOnly();
+        });
+        assertEquals("replica", readOnly.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    void readsFallBackToPrimaryWhenReplicaIsUnreachable() {
+        replicate(LocalDateTime.now());
+        lagMonitor.check();
+        setUpRouting(new DriverManagerDataSource("jdbc:h2:mem:routing_replica") {
+            @Override
+            public java.sql.Connection getConnection() throws SQLException {
+                throw new SQLException("replica down");
+            }
+        });
+
+        assertEquals("primary", readOnly.execute(status -> currentDatabase()));
+        assertFalse(lagMonitor.isReplicaUsable());
+    }
+
+    private void setUpRouting(DataSource replicaTarget) {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, replicaTarget,
+                lagMonitor, new ReadYourWritesTracker(Duration.ofSeconds(5)));
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    private DriverManagerDataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private void initialize(JdbcTemplate template, String name) {
+        template.execute("CREATE TABLE db_marker (name VARCHAR(20))");
+        template.update("INSERT INTO db_marker (name) VALUES (?)", name);
+        template.execute("CREATE TABLE replica_heartbeats (id INT PRIMARY KEY, beat_at TIMESTAMP(3) NOT NULL)");
+    }
+
+    /**
+     * レプリケーションの代わりに、レプリカのハートビートを指定時刻にする
+     */
+    private void replicate(LocalDateTime beatAt) {
+        replicaJdbcTemplate.update("DELETE FROM replica_heartbeats");
+        replicaJdbcTemplate.update("INSERT INTO replica_heartbeats (id, beat_at) VALUES (1, ?)", beatAt);
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM db_marker", String.class);
+    }
+
+    private void loginAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, "n/a", List.of()));
+    }
+}
@@ -0,0 +1,69 @@
+package com.kintai.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestLoggingFilterTest {
+
+    private final RequestLoggingFilter filter = new RequestLoggingFilter();
+
+    @Test
+    void requestIdIsPropagatedToMdcAndResponse() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/attendance/today/1");
+        request.addHeader(RequestLoggingFilter.REQUEST_ID_HEADER, "req-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> requestIdInChain = new AtomicReference<>();
+
+        filter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) {
+                requestIdInChain.set(MDC.get(RequestLoggingFilter.MDC_REQUEST_ID));
+            }
+        });
+
+        assertThat(requestIdInChain.get()).isEqualTo("req-123");
+        assertThat(response.getHeader(RequestLoggingFilter.REQUEST_ID_HEADER)).isEqualTo("req-123");
+        assertThat(MDC.get(RequestLoggingFilter.MDC_REQUEST_ID)).isNull();
+    }
+
+    @Test
+    void malformedRequestIdIsReplaced() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/attendance/today/1");
+        request.addHeader(RequestLoggingFilter.REQUEST_ID_HEADER, "bad id\nforged log line");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertThat(response.getHeader(RequestLoggingFilter.REQUEST_ID_HEADER))
+                .isNotBlank()
+                .doesNotContain(" ", "\n");
+    }
+
+    @Test
+    void asyncAppenderDiscardsOnlyDebugAndTrace() {
+        DebugDiscardingAsyncAppender appender = new DebugDiscardingAsyncAppender();
+
+        assertThat(appender.isDiscardable(eventAt(Level.TRACE))).isTrue();
+        assertThat(appender.isDiscardable(eventAt(Level.DEBUG))).isTrue();
+        assertThat(appender.isDiscardable(eventAt(Level.INFO))).isFalse();
+        assertThat(appender.isDiscardable(eventAt(Level.WARN))).isFalse();
+        assertThat(appender.isDiscardable(eventAt(Level.ERROR))).isFalse();
+    }
+
+    private static LoggingEvent eventAt(Level level) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLevel(level);
+        return event;
+    }
+}
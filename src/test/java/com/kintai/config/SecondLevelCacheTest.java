@@ -0,0 +1,100 @@
+package com.kintai.config;
+
+import com.kintai.entity.Employee;
+import com.kintai.repository.EmployeeRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "kintai.cache.enabled=true")
+@AutoConfigureMockMvc
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private Employee employee;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Employee created = new Employee("L2C001");
+        created.setHireDate(LocalDate.of(2020, 4, 1));
+        employee = employeeRepository.save(created);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        employeeRepository.deleteById(employee.getEmployeeId());
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromCache() {
+        Long employeeId = employee.getEmployeeId();
+        employeeRepository.findByEmployeeId(employeeId).orElseThrow();
+        statistics.clear();
+
+        employeeRepository.findByEmployeeId(employeeId).orElseThrow();
+        employeeRepository.findById(employeeId).orElseThrow();
+
+        // 問い合わせ・主キー検索ともにSQLを発行しない
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("employees").getHitCount()).isPositive();
+    }
+
+    @Test
+    void adminStatusChangeIsVisibleImmediately() throws Exception {
+        Long employeeId = employee.getEmployeeId();
+        assertThat(employeeRepository.findByEmployeeId(employeeId).orElseThrow().getIsActive()).isTrue();
+
+        mockMvc.perform(put("/api/admin/employee-management/{id}/status", employeeId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"isActive\":false,\"retirementDate\":\"2031-03-31\"}"))
+                .andExpect(status().isOk());
+
+        Employee reloaded = employeeRepository.findByEmployeeId(employeeId).orElseThrow();
+        assertThat(reloaded.getIsActive()).isFalse();
+        assertThat(reloaded.getRetirementDate()).isEqualTo(LocalDate.of(2031, 3, 31));
+    }
+
+    @Test
+    void hitRatiosAreExposedThroughActuator() throws Exception {
+        employeeRepository.findById(employee.getEmployeeId()).orElseThrow();
+        employeeRepository.findById(employee.getEmployeeId()).orElseThrow();
+
+        mockMvc.perform(get("/actuator/hibernatecache"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.employees.hitRatio").isNumber())
+                .andExpect(jsonPath("$['default-query-results-region'].hitCount").isNumber());
+        mockMvc.perform(get("/actuator/metrics/kintai.cache.hit.ratio").param("tag", "region:employees"))
+                .andExpect(status().isOk());
+    }
+}
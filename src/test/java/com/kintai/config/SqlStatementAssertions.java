@@ -0,0 +1,37 @@
+package com.kintai.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * テスト用：処理中に Hibernate が発行したSQL文の数を検証する
+ * コミット時のフラッシュで発行される更新は含まれないため、必要に応じて処理内でフラッシュすること。
+ */
+public final class SqlStatementAssertions {
+
+    private SqlStatementAssertions() {
+    }
+
+    /**
+     * 処理中に発行されたSQL文の数を数える
+     */
+    public static int countStatements(Runnable action) {
+        try (SqlStatementCounter.Scope scope = SqlStatementCounter.open()) {
+            action.run();
+            return scope.getStatements();
+        }
+    }
+
+    /**
+     * 処理中に発行されたSQL文がちょうど expected 件であることを検証
+     */
+    public static void assertStatementCount(int expected, Runnable action) {
+        assertThat(countStatements(action)).as("発行されたSQL文の数").isEqualTo(expected);
+    }
+
+    /**
+     * 処理中に発行されたSQL文が max 件以下であることを検証
+     */
+    public static void assertMaxStatements(int max, Runnable action) {
+        assertThat(countStatements(action)).as("発行されたSQL文の数").isLessThanOrEqualTo(max);
+    }
+}
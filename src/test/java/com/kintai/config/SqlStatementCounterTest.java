@@ -0,0 +1,77 @@
+package com.kintai.config;
+
+import com.kintai.entity.Employee;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.service.PrincipalCache;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static com.kintai.config.SqlStatementAssertions.assertStatementCount;
+import static com.kintai.config.SqlStatementAssertions.countStatements;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class SqlStatementCounterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void countsStatementsIssuedInsideScope() {
+        Employee employee = employeeRepository.saveAndFlush(new Employee("EMP-SQL-001"));
+        principalCache.invalidateEmployee(employee.getEmployeeId());
+
+        assertStatementCount(1, () -> principalCache.findEmployeeStatus(employee.getEmployeeId()));
+        // 2回目はキャッシュから返るためSQLを発行しない
+        assertStatementCount(0, () -> principalCache.findEmployeeStatus(employee.getEmployeeId()));
+    }
+
+    @Test
+    void nestedScopesAccumulateIntoOuterScope() {
+        try (SqlStatementCounter.Scope outer = SqlStatementCounter.open()) {
+            int inner = countStatements(() -> employeeRepository.findByEmployeeCode("EMP-SQL-NONE"));
+            employeeRepository.findByEmployeeCode("EMP-SQL-NONE-2");
+
+            assertThat(inner).isEqualTo(1);
+            assertThat(outer.getStatements()).isEqualTo(2);
+        }
+        assertThat(SqlStatementCounter.current()).isNull();
+    }
+
+    @Test
+    void recordsStatementsPerEndpoint() throws Exception {
+        Employee employee = employeeRepository.saveAndFlush(new Employee("EMP-SQL-002"));
+
+        mockMvc.perform(get("/api/attendance/today/{employeeId}", employee.getEmployeeId()))
+                .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find("kintai.sql.statements")
+                .tags("method", "GET", "endpoint", "/api/attendance/today/{employeeId}")
+                .summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isPositive();
+        assertThat(statements.totalAmount()).isPositive();
+        assertThat(meterRegistry.find("kintai.sql.time")
+                .tags("endpoint", "/api/attendance/today/{employeeId}").timer()).isNotNull();
+        assertThat(SqlStatementCounter.current()).isNull();
+    }
+}
@@ -0,0 +1,86 @@
+package com.kintai.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.async.StandardServletAsyncWebRequest;
+import org.springframework.web.context.request.async.WebAsyncManager;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingResponseGuardTest {
+
+    private MockHttpServletRequest request;
+    private WebAsyncManager asyncManager;
+    private final AtomicInteger released = new AtomicInteger();
+    private final AtomicInteger written = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        asyncManager = WebAsyncUtils.getAsyncManager(request);
+        asyncManager.setAsyncWebRequest(new StandardServletAsyncWebRequest(request, new MockHttpServletResponse()));
+    }
+
+    @Test
+    void releasesOnceAfterTheBodyRuns() throws Exception {
+        asyncManager.setTaskExecutor(new TaskExecutorAdapter(new SyncTaskExecutor()));
+        StreamingResponseBody body = StreamingResponseGuard.guard(request, released::incrementAndGet,
+                outputStream -> written.incrementAndGet());
+
+        asyncManager.startCallableProcessing(toCallable(body));
+        assertThat(written).hasValue(1);
+        assertThat(released).hasValue(1);
+
+        complete();
+        assertThat(released).hasValue(1);
+    }
+
+    @Test
+    void releasesOnCompletionWhenTheTaskIsRejected() throws Exception {
+        asyncManager.setTaskExecutor(new SimpleAsyncTaskExecutor() {
+            @Override
+            public Future<?> submit(Runnable task) {
+                throw new TaskRejectedException("テスト用の受付拒否");
+            }
+        });
+        StreamingResponseBody body = StreamingResponseGuard.guard(request, released::incrementAndGet,
+                outputStream -> written.incrementAndGet());
+
+        asyncManager.startCallableProcessing(toCallable(body));
+        assertThat(released).hasValue(0);
+
+        complete();
+        assertThat(released).hasValue(1);
+
+        // 完了後に本体が実行されても出力・解放はしない
+        body.writeTo(new ByteArrayOutputStream());
+        assertThat(written).hasValue(0);
+        assertThat(released).hasValue(1);
+    }
+
+    private Callable<Void> toCallable(StreamingResponseBody body) {
+        return () -> {
+            body.writeTo(new ByteArrayOutputStream());
+            return null;
+        };
+    }
+
+    private void complete() {
+        ((MockAsyncContext) request.getAsyncContext()).complete();
+    }
+}
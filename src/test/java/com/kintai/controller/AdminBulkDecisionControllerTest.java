@@ -0,0 +1,295 @@
+package com.kintai.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kintai.dto.AdjustmentRequestDto;
+import com.kintai.dto.LeaveRequestDto;
+import com.kintai.dto.WorkPatternChangeRequestDto;
+import com.kintai.entity.AdjustmentRequest;
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.Employee;
+import com.kintai.entity.HolidayRequest;
+import com.kintai.entity.LeaveStatus;
+import com.kintai.entity.LeaveTimeUnit;
+import com.kintai.entity.LeaveType;
+import com.kintai.entity.WorkPatternChangeRequest;
+import com.kintai.repository.AdjustmentRequestRepository;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.repository.HolidayRequestRepository;
+import com.kintai.repository.LeaveRequestRepository;
+import com.kintai.repository.WorkPatternChangeRequestRepository;
+import com.kintai.service.AdjustmentRequestService;
+import com.kintai.service.LeaveRequestService;
+import com.kintai.service.WorkPatternChangeRequestService;
+import com.kintai.util.BusinessDayCalculator;
+import com.kintai.util.TimeCalculator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 一括承認・却下APIの試験
+ * 従業員ごとのトランザクションがコミットされることを確認するため、テストをトランザクションで囲まず、
+ * 他のテストとデータを共有しない専用のDBを使う
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:bulk_decision_test")
+@AutoConfigureMockMvc
+class AdminBulkDecisionControllerTest {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final BusinessDayCalculator businessDayCalculator = new BusinessDayCalculator();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AdjustmentRequestService adjustmentRequestService;
+
+    @Autowired
+    private AdjustmentRequestRepository adjustmentRequestRepository;
+
+    @Autowired
+    private AttendanceRecordRepository attendanceRecordRepository;
+
+    @Autowired
+    private HolidayRequestRepository holidayRequestRepository;
+
+    @Autowired
+    private WorkPatternChangeRequestService workPatternChangeRequestService;
+
+    @Autowired
+    private WorkPatternChangeRequestRepository workPatternChangeRequestRepository;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @SpyBean
+    private TimeCalculator timeCalculator;
+
+    private Long employeeId;
+    private Long employee2Id;
+    private Long approverId;
+
+    @BeforeEach
+    void setUp() {
+        employeeId = createEmployee("BULK");
+        employee2Id = createEmployee("BULK");
+        approverId = createEmployee("BULK-APPROVER");
+    }
+
+    @Test
+    void adjustmentBulkApprovalAppliesEachRequestAndReportsPerItemResults() throws Exception {
+        LocalDate date = LocalDate.now().minusDays(1);
+        Long firstId = createAdjustment(employeeId, date);
+        Long secondId = createAdjustment(employee2Id, date);
+        Long decidedId = createAdjustment(employee2Id, date.minusDays(1));
+        adjustmentRequestService.rejectAdjustmentRequest(decidedId, approverId, "対象外");
+        Long missingId = decidedId + 1000;
+
+        mockMvc.perform(post("/api/admin/attendance/adjustment/bulk-decision")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload(List.of(firstId, secondId, decidedId, missingId), true, null)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.count").value(4))
+                .andExpect(jsonPath("$.succeededCount").value(2))
+                .andExpect(jsonPath("$.failedCount").value(2))
+                .andExpect(jsonPath("$.data[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$.data[1].status").value("APPROVED"))
+                .andExpect(jsonPath("$.data[2].errorCode").value("INVALID_STATUS"))
+                .andExpect(jsonPath("$.data[3].errorCode").value("ADJUSTMENT_REQUEST_NOT_FOUND"));
+
+        assertThat(adjustmentRequestRepository.findById(firstId).orElseThrow().getStatus())
+                .isEqualTo(AdjustmentRequest.AdjustmentStatus.APPROVED);
+        AttendanceRecord record = attendanceRecordRepository.findByEmployeeIdAndAttendanceDate(employee2Id, date).orElseThrow();
+        assertThat(record.getClockInTime()).isEqualTo(date.atTime(9, 0));
+        assertThat(record.getClockOutTime()).isEqualTo(date.atTime(18, 0));
+    }
+
+    @Test
+    void failureForOneEmployeeRollsBackOnlyThatEmployee() throws Exception {
+        LocalDate date = LocalDate.now().minusDays(1);
+        Long failingId = createAdjustment(employeeId, date);
+        Long succeedingId = createAdjustment(employee2Id, date);
+        doThrow(new IllegalStateException("テスト用の失敗")).when(timeCalculator).calculateAttendanceMetrics(
+                ArgumentMatchers.argThat(record -> record != null && employeeId.equals(record.getEmployeeId())));
+
+        mockMvc.perform(post("/api/admin/attendance/adjustment/bulk-decision")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload(List.of(failingId, succeedingId), true, null)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeededCount").value(1))
+                .andExpect(jsonPath("$.data[0].success").value(false))
+                .andExpect(jsonPath("$.data[0].errorCode").value("INTERNAL_ERROR"))
+                .andExpect(jsonPath("$.data[1].status").value("APPROVED"));
+
+        // 失敗した従業員の申請・勤怠はロールバックされ、他の従業員の結果はコミットされている
+        assertThat(adjustmentRequestRepository.findById(failingId).orElseThrow().getStatus())
+                .isEqualTo(AdjustmentRequest.AdjustmentStatus.PENDING);
+        assertThat(attendanceRecordRepository.findByEmployeeIdAndAttendanceDate(employeeId, date)).isEmpty();
+        assertThat(adjustmentRequestRepository.findById(succeedingId).orElseThrow().getStatus())
+                .isEqualTo(AdjustmentRequest.AdjustmentStatus.APPROVED);
+    }
+
+    @Test
+    void holidayBulkRejectionRejectsPendingRequests() throws Exception {
+        Long firstId = createHolidayRequest(employeeId);
+        Long secondId = createHolidayRequest(employee2Id);
+        Long missingId = secondId + 1000;
+
+        mockMvc.perform(post("/api/admin/holiday/requests/bulk-decision")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload(List.of(firstId, secondId, missingId), false, "業務都合のため")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.succeededCount").value(2))
+                .andExpect(jsonPath("$.data[0].status").value("REJECTED"))
+                .andExpect(jsonPath("$.data[2].errorCode").value("REQUEST_NOT_FOUND"));
+
+        HolidayRequest rejected = holidayRequestRepository.findById(secondId).orElseThrow();
+        assertThat(rejected.getStatus()).isEqualTo(HolidayRequest.Status.REJECTED);
+        assertThat(rejected.getRejectionComment()).isEqualTo("業務都合のため");
+    }
+
+    @Test
+    void workPatternBulkApprovalApprovesRequestsAndRequiresRejectionComment() throws Exception {
+        LocalDate start = LocalDate.now().plusMonths(2);
+        Long firstId = workPatternChangeRequestService.createRequest(patternDto(employeeId, start)).getRequestId();
+        Long secondId = workPatternChangeRequestService.createRequest(patternDto(employee2Id, start)).getRequestId();
+
+        mockMvc.perform(post("/api/admin/work-pattern-change/requests/bulk-decision")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload(List.of(firstId), false, " ")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeededCount").value(0))
+                .andExpect(jsonPath("$.data[0].errorCode").value("INVALID_REQUEST"));
+
+        mockMvc.perform(post("/api/admin/work-pattern-change/requests/bulk-decision")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload(List.of(firstId, secondId), true, null)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeededCount").value(2))
+                .andExpect(jsonPath("$.data[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$.data[1].status").value("APPROVED"));
+
+        assertThat(workPatternChangeRequestRepository.findById(firstId).orElseThrow().getStatus())
+                .isEqualTo(WorkPatternChangeRequest.Status.APPROVED);
+        assertThat(workPatternChangeRequestRepository.findById(secondId).orElseThrow().getStatus())
+                .isEqualTo(WorkPatternChangeRequest.Status.APPROVED);
+    }
+
+    @Test
+    void leaveBulkApprovalApprovesRequestsAndReportsPerItemResults() throws Exception {
+        LocalDate first = nextBusinessDay(LocalDate.now().plusDays(2));
+        LocalDate second = nextBusinessDay(first.plusDays(2));
+        Long firstId = createLeave(employeeId, first);
+        Long secondId = createLeave(employee2Id, second);
+        Long missingId = secondId + 1000;
+
+        mockMvc.perform(post("/api/admin/leave/requests/bulk-decision")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload(List.of(firstId, secondId, missingId), true, null)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.count").value(3))
+                .andExpect(jsonPath("$.succeededCount").value(2))
+                .andExpect(jsonPath("$.data[0].requestId").value(firstId))
+                .andExpect(jsonPath("$.data[0].status").value("APPROVED"))
+                .andExpect(jsonPath("$.data[2].success").value(false))
+                .andExpect(jsonPath("$.data[2].errorCode").value("VACATION_NOT_FOUND"));
+
+        assertThat(leaveRequestRepository.findById(firstId).orElseThrow().getStatus()).isEqualTo(LeaveStatus.APPROVED);
+        assertThat(leaveRequestRepository.findById(secondId).orElseThrow().getStatus()).isEqualTo(LeaveStatus.APPROVED);
+        assertThat(leaveRequestService.getRemainingLeaveSummary(employeeId)
+                .get(LeaveType.PAID_LEAVE).getRemaining()).isEqualByComparingTo("9");
+    }
+
+    private Long createEmployee(String prefix) {
+        Employee employee = new Employee(prefix + "-" + SEQUENCE.incrementAndGet());
+        employee.setHireDate(LocalDate.of(2020, 4, 1));
+        return employeeRepository.save(employee).getEmployeeId();
+    }
+
+    private Long createAdjustment(Long employeeId, LocalDate date) {
+        return adjustmentRequestService.createAdjustmentRequest(new AdjustmentRequestDto(
+                employeeId, date, date.atTime(9, 0), date.atTime(18, 0), "打刻修正", 60)).getAdjustmentRequestId();
+    }
+
+    private Long createHolidayRequest(Long employeeId) {
+        HolidayRequest request = new HolidayRequest();
+        request.setEmployeeId(employeeId);
+        request.setRequestType(HolidayRequest.RequestType.HOLIDAY_WORK);
+        request.setWorkDate(LocalDate.now().plusDays(14));
+        request.setTakeComp(false);
+        request.setReason("休日出勤");
+        request.setStatus(HolidayRequest.Status.PENDING);
+        return holidayRequestRepository.save(request).getId();
+    }
+
+    private Long createLeave(Long employeeId, LocalDate date) {
+        LeaveRequestDto dto = leaveRequestService.createLeaveRequest(
+                employeeId, LeaveType.PAID_LEAVE, LeaveTimeUnit.FULL_DAY, date, date, "一括承認");
+        return ((LeaveRequestDto.LeaveData) dto.getData()).getLeaveRequestId();
+    }
+
+    private static WorkPatternChangeRequestDto patternDto(Long employeeId, LocalDate start) {
+        WorkPatternChangeRequestDto dto = new WorkPatternChangeRequestDto();
+        dto.setEmployeeId(employeeId);
+        dto.setStartDate(start);
+        dto.setEndDate(start.plusDays(6));
+        dto.setStartTime(LocalTime.of(10, 0));
+        dto.setEndTime(LocalTime.of(19, 0));
+        dto.setBreakMinutes(60);
+        dto.setActiveDays(Set.of("MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY"));
+        dto.setReason("時差出勤");
+        return dto;
+    }
+
+    private String payload(List<Long> requestIds, boolean approved, String comment) throws Exception {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("requestIds", requestIds);
+        payload.put("approved", approved);
+        payload.put("approverId", approverId);
+        if (comment != null) {
+            payload.put("comment", comment);
+        }
+        return objectMapper.writeValueAsString(payload);
+    }
+
+    private LocalDate nextBusinessDay(LocalDate date) {
+        while (!businessDayCalculator.isBusinessDay(date)) {
+            date = date.plusDays(1);
+        }
+        return date;
+    }
+}
@@ -0,0 +1,117 @@
+package com.kintai.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kintai.entity.AdjustmentRequest;
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.LeaveRequest;
+import com.kintai.entity.LeaveTimeUnit;
+import com.kintai.entity.LeaveType;
+import com.kintai.repository.AdjustmentRequestRepository;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.LeaveRequestRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class AdminChangeFeedControllerTest {
+
+    private static final Long EMPLOYEE_ID = 1L;
+    private static final LocalDateTime BASE_TIME = LocalDateTime.of(2000, 1, 1, 10, 0);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AttendanceRecordRepository attendanceRecordRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private AdjustmentRequestRepository adjustmentRequestRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void changesArePagedByCursorAcrossTables() throws Exception {
+        AttendanceRecord attendance = attendanceRecordRepository.saveAndFlush(
+                new AttendanceRecord(EMPLOYEE_ID, LocalDate.of(2000, 1, 4)));
+        LeaveRequest leave = leaveRequestRepository.saveAndFlush(new LeaveRequest(EMPLOYEE_ID, LeaveType.PAID_LEAVE,
+                LeaveTimeUnit.FULL_DAY, LocalDate.of(2000, 1, 5), LocalDate.of(2000, 1, 5), BigDecimal.ONE, "私用"));
+        AdjustmentRequest adjustment = adjustmentRequestRepository.saveAndFlush(new AdjustmentRequest(EMPLOYEE_ID,
+                LocalDate.of(2000, 1, 4), LocalDateTime.of(2000, 1, 4, 9, 0), LocalDateTime.of(2000, 1, 4, 18, 0), "打刻漏れ"));
+        setUpdatedAt("attendance_records", "attendance_id", attendance.getAttendanceId(), BASE_TIME);
+        setUpdatedAt("leave_requests", "id", leave.getId(), BASE_TIME);
+        setUpdatedAt("adjustment_requests", "adjustment_request_id", adjustment.getAdjustmentRequestId(), BASE_TIME.plusSeconds(1));
+
+        // 同一更新日時は種別順（勤怠→休暇→打刻修正）に並ぶ
+        JsonNode first = fetch(null, 2);
+        assertThat(first.at("/data/0/type").asText()).isEqualTo("ATTENDANCE");
+        assertThat(first.at("/data/0/id").asLong()).isEqualTo(attendance.getAttendanceId());
+        assertThat(first.at("/data/1/type").asText()).isEqualTo("LEAVE");
+        assertThat(first.at("/data/1/id").asLong()).isEqualTo(leave.getId());
+        assertThat(first.get("hasMore").asBoolean()).isTrue();
+
+        JsonNode second = fetch(first.get("nextCursor").asText(), 1);
+        assertThat(second.at("/data/0/type").asText()).isEqualTo("ADJUSTMENT");
+        assertThat(second.at("/data/0/id").asLong()).isEqualTo(adjustment.getAdjustmentRequestId());
+        assertThat(second.at("/data/0/data/reason").asText()).isEqualTo("打刻漏れ");
+
+        // カーソル以降に更新された行のみが再度返される
+        setUpdatedAt("attendance_records", "attendance_id", attendance.getAttendanceId(), BASE_TIME.plusSeconds(2));
+        JsonNode third = fetch(second.get("nextCursor").asText(), 1);
+        assertThat(third.at("/data/0/type").asText()).isEqualTo("ATTENDANCE");
+        assertThat(third.at("/data/0/id").asLong()).isEqualTo(attendance.getAttendanceId());
+        assertThat(third.at("/data/0/updatedAt").asText()).isEqualTo("2000-01-01T10:00:02");
+    }
+
+    @Test
+    void invalidCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/api/admin/changes").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+
+    private JsonNode fetch(String cursor, int limit) throws Exception {
+        var request = get("/api/admin/changes").param("limit", String.valueOf(limit));
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        String body = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return objectMapper.readTree(body);
+    }
+
+    private void setUpdatedAt(String table, String idColumn, Long id, LocalDateTime updatedAt) {
+        jdbcTemplate.update("UPDATE " + table + " SET updated_at = ? WHERE " + idColumn + " = ?", updatedAt, id);
+        // 永続化コンテキスト上のエンティティではなくDBの値を読ませる
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,136 @@
+package com.kintai.controller;
+
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.Employee;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class AdminEmployeeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AttendanceRecordRepository attendanceRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void summariesReturnPagedProjectionFilteredByKeyword() throws Exception {
+        Employee employee = new Employee("EMP-SUMMARY-001");
+        employee.setLastName("山田");
+        employee.setFirstName("太郎");
+        employee.setHireDate(LocalDate.of(2020, 4, 1));
+        employeeRepository.save(employee);
+
+        mockMvc.perform(get("/api/admin/employee-management/summaries")
+                        .param("q", "summary-001")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.totalElements").value(1))
+                .andExpect(jsonPath("$.data[0].employeeCode").value("EMP-SUMMARY-001"))
+                .andExpect(jsonPath("$.data[0].lastName").value("山田"))
+                .andExpect(jsonPath("$.data[0].hireDate").value("2020-04-01"))
+                .andExpect(jsonPath("$.data[0].paidLeaveBaseDays").doesNotExist());
+    }
+
+    @Test
+    void summariesRejectUnknownSortProperty() throws Exception {
+        mockMvc.perform(get("/api/admin/employee-management/summaries")
+                        .param("sort", "birthday"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_SORT"));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void summariesReturnNotModifiedUntilEmployeesChange() throws Exception {
+        String etag = mockMvc.perform(get("/api/admin/employee-management/summaries"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+
+        mockMvc.perform(get("/api/admin/employee-management/summaries")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        Employee employee = employeeRepository.save(new Employee("EMP-SUMMARY-ETAG"));
+        try {
+            mockMvc.perform(get("/api/admin/employee-management/summaries")
+                            .header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isOk());
+        } finally {
+            employeeRepository.delete(employee);
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void summariesKeepETagWhenEmployeeChangeIsRolledBack() throws Exception {
+        String etag = mockMvc.perform(get("/api/admin/employee-management/summaries"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            employeeRepository.saveAndFlush(new Employee("EMP-SUMMARY-ROLLBACK"));
+            status.setRollbackOnly();
+        });
+
+        mockMvc.perform(get("/api/admin/employee-management/summaries")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void deleteIsRejectedWhileAttendanceRecordsExist() throws Exception {
+        Employee employee = employeeRepository.save(new Employee("EMP-DELETE-001"));
+        attendanceRecordRepository.saveAndFlush(new AttendanceRecord(employee.getEmployeeId(), LocalDate.of(2025, 10, 1)));
+
+        mockMvc.perform(delete("/api/admin/employee-management/{employeeId}", employee.getEmployeeId()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorCode").value("EMPLOYEE_HAS_ATTENDANCE"));
+
+        // 勤怠記録には外部キーがないため、削除すると従業員のいない勤怠が残ってしまう
+        assertThat(employeeRepository.existsById(employee.getEmployeeId())).isTrue();
+        assertThat(attendanceRecordRepository.existsByEmployeeId(employee.getEmployeeId())).isTrue();
+    }
+
+    @Test
+    void deleteRemovesEmployeeWithoutAttendance() throws Exception {
+        Employee employee = employeeRepository.save(new Employee("EMP-DELETE-002"));
+
+        mockMvc.perform(delete("/api/admin/employee-management/{employeeId}", employee.getEmployeeId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+        assertThat(employeeRepository.existsById(employee.getEmployeeId())).isFalse();
+
+        mockMvc.perform(delete("/api/admin/employee-management/{employeeId}", employee.getEmployeeId()))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("EMPLOYEE_NOT_FOUND"));
+    }
+}
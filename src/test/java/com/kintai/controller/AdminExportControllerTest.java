@@ -0,0 +1,109 @@
+package com.kintai.controller;
+
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.Employee;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AdminExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AttendanceRecordRepository attendanceRecordRepository;
+
+    @Test
+    void exportStreamsCsvRowsWithinRange() throws Exception {
+        Employee employee = employeeRepository.save(new Employee("EMP-CSV,001"));
+        AttendanceRecord inRange = attendanceRecord(employee, LocalDate.of(2031, 3, 10));
+        AttendanceRecord outOfRange = attendanceRecord(employee, LocalDate.of(2031, 4, 1));
+        try {
+            String csv = new String(export(false), StandardCharsets.UTF_8);
+
+            List<String> lines = csv.lines().toList();
+            assertThat(lines.get(0)).startsWith("\uFEFFemployee_id,employee_code,attendance_date");
+            assertThat(lines).hasSize(2);
+            assertThat(lines.get(1)).isEqualTo(employee.getEmployeeId()
+                    + ",\"EMP-CSV,001\",2031-03-10,2031-03-10 09:00:00,2031-03-10 18:30:00,60,510,30,0,0,0,NORMAL,false");
+        } finally {
+            attendanceRecordRepository.deleteAll(List.of(inRange, outOfRange));
+            employeeRepository.delete(employee);
+        }
+    }
+
+    @Test
+    void exportCompressesWhenClientAcceptsGzip() throws Exception {
+        byte[] compressed = export(true);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            String csv = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(csv).startsWith("\uFEFFemployee_id,");
+        }
+    }
+
+    @Test
+    void exportRejectsReversedRange() throws Exception {
+        mockMvc.perform(get("/api/admin/export/attendance.csv")
+                        .param("from", "2031-03-31")
+                        .param("to", "2031-03-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_REQUEST"));
+    }
+
+    private byte[] export(boolean gzip) throws Exception {
+        var builder = get("/api/admin/export/attendance.csv")
+                .param("from", "2031-03-01")
+                .param("to", "2031-03-31");
+        if (gzip) {
+            builder.header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        }
+        MvcResult started = mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(gzip ? header().string(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        : header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+        return result.getResponse().getContentAsByteArray();
+    }
+
+    private AttendanceRecord attendanceRecord(Employee employee, LocalDate date) {
+        AttendanceRecord record = new AttendanceRecord(employee.getEmployeeId(), date);
+        record.setClockInTime(date.atTime(9, 0));
+        record.setClockOutTime(date.atTime(18, 30));
+        record.setBreakMinutes(60);
+        record.setOvertimeMinutes(30);
+        return attendanceRecordRepository.save(record);
+    }
+}
@@ -150,6 +150,8 @@ class AdminLeaveControllerTest {
         assertThat(updated.getStatus()).isEqualTo(LeaveStatus.APPROVED);
     }
 
+    // 一括承認・却下の試験は従業員ごとのコミットを確認するため AdminBulkDecisionControllerTest に移動
+
     // adjustBalanceEndpointIncrementsPaidLeaveAdjustment テストは廃止（有休調整機能の廃止により）
 
     private LocalDate nextBusinessDay(int offset) {
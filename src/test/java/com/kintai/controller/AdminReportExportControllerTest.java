@@ -0,0 +1,114 @@
+package com.kintai.controller;
+
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.Employee;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class AdminReportExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AttendanceRecordRepository attendanceRecordRepository;
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void archiveContainsReportPerActiveEmployeeAndResumeSkipsCompleted() throws Exception {
+        // ZIPは別スレッドで生成されるため、テストデータはコミットして最後に削除する
+        Employee first = employeeRepository.save(new Employee("EMP-BULK-001"));
+        Employee second = employeeRepository.save(new Employee("EMP-BULK-002"));
+        Employee retired = new Employee("EMP-BULK-003");
+        retired.setIsActive(false);
+        retired = employeeRepository.save(retired);
+        LocalDate date = LocalDate.of(2025, 9, 10);
+        AttendanceRecord record = new AttendanceRecord(first.getEmployeeId(), date);
+        record.setClockInTime(LocalDateTime.of(2025, 9, 10, 9, 0));
+        record.setClockOutTime(LocalDateTime.of(2025, 9, 10, 18, 0));
+        record = attendanceRecordRepository.save(record);
+        try {
+            assertArchiveAndResume(first, second, retired);
+        } finally {
+            attendanceRecordRepository.delete(record);
+            employeeRepository.deleteAll(List.of(first, second, retired));
+        }
+    }
+
+    private void assertArchiveAndResume(Employee first, Employee second, Employee retired) throws Exception {
+        MvcResult result = download("/api/admin/reports/monthly/2025-09/archive");
+        String jobId = result.getResponse().getHeader(AdminReportExportController.JOB_ID_HEADER);
+        List<String> entries = zipEntries(result.getResponse().getContentAsByteArray());
+
+        assertThat(jobId).isNotBlank();
+        assertThat(entries).contains(
+                "attendance_" + first.getEmployeeId() + "_2025-09.pdf",
+                "attendance_" + second.getEmployeeId() + "_2025-09.pdf",
+                "export_summary.txt");
+        assertThat(entries).doesNotContain("attendance_" + retired.getEmployeeId() + "_2025-09.pdf");
+
+        mockMvc.perform(get("/api/admin/reports/monthly/jobs/{jobId}", jobId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.status").value("COMPLETED"));
+
+        MvcResult resumed = download("/api/admin/reports/monthly/2025-09/archive?jobId=" + jobId);
+        assertThat(zipEntries(resumed.getResponse().getContentAsByteArray())).containsExactly("export_summary.txt");
+    }
+
+    @Test
+    void unknownJobIdReturnsNotFound() throws Exception {
+        mockMvc.perform(get("/api/admin/reports/monthly/2025-09/archive").param("jobId", "missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("EXPORT_JOB_NOT_FOUND"));
+    }
+
+    private MvcResult download(String url) throws Exception {
+        MvcResult started = mockMvc.perform(get(url))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    private List<String> zipEntries(byte[] archive) throws IOException {
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,163 @@
+package com.kintai.controller;
+
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.Employee;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.service.AttendanceReportService;
+import com.kintai.service.ReportConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class AttendanceReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AttendanceRecordRepository attendanceRecordRepository;
+
+    @Autowired
+    private ReportConcurrencyLimiter reportConcurrencyLimiter;
+
+    @Autowired
+    private AttendanceReportService attendanceReportService;
+
+    @Test
+    void reportDownloadHonorsEtagUntilDataChanges() throws Exception {
+        Employee employee = employeeRepository.save(new Employee("EMP-REPORT-003"));
+        LocalDate date = LocalDate.of(2025, 10, 1);
+        AttendanceRecord record = new AttendanceRecord(employee.getEmployeeId(), date);
+        record.setClockInTime(LocalDateTime.of(2025, 10, 1, 9, 0));
+        record = attendanceRecordRepository.saveAndFlush(record);
+
+        MvcResult first = mockMvc.perform(get("/api/attendance/report/{employeeId}/{yearMonth}",
+                        employee.getEmployeeId(), "2025-10"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        byte[] pdf = first.getResponse().getContentAsByteArray();
+        assertThat(etag).isNotBlank();
+        assertThat(new String(pdf, 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+        assertThat(first.getResponse().getHeader(HttpHeaders.CONTENT_LENGTH)).isEqualTo(String.valueOf(pdf.length));
+
+        mockMvc.perform(get("/api/attendance/report/{employeeId}/{yearMonth}", employee.getEmployeeId(), "2025-10")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        record.setClockOutTime(LocalDateTime.of(2025, 10, 1, 18, 0));
+        attendanceRecordRepository.saveAndFlush(record);
+
+        String changedEtag = mockMvc.perform(get("/api/attendance/report/{employeeId}/{yearMonth}",
+                        employee.getEmployeeId(), "2025-10")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changedEtag).isNotEqualTo(etag);
+    }
+
+    @Test
+    void recalculatedLateMinutesChangeEtagAndBypassCachedPdf() throws Exception {
+        Employee employee = employeeRepository.save(new Employee("EMP-REPORT-004"));
+        LocalDate date = LocalDate.of(2025, 11, 3);
+        AttendanceRecord record = new AttendanceRecord(employee.getEmployeeId(), date);
+        record.setClockInTime(LocalDateTime.of(2025, 11, 3, 10, 0));
+        record.setClockOutTime(LocalDateTime.of(2025, 11, 3, 19, 0));
+        record.setLateMinutes(60);
+        record = attendanceRecordRepository.saveAndFlush(record);
+
+        String etag = mockMvc.perform(get("/api/attendance/report/{employeeId}/{yearMonth}",
+                        employee.getEmployeeId(), "2025-11"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // 勤務時間変更の承認による再計算のように、打刻時刻を変えずに遅刻分だけが変わる
+        record.setLateMinutes(0);
+        attendanceRecordRepository.saveAndFlush(record);
+
+        AttendanceReportService.ReportSource source = attendanceReportService.prepareReport(employee.getEmployeeId(), "2025-11");
+        AttendanceReportService.ReportFingerprint fingerprint = attendanceReportService.fingerprint(source);
+        assertThat(fingerprint.etag()).isNotEqualTo(etag);
+        assertThat(attendanceReportService.findCachedReport(source, fingerprint)).isEmpty();
+
+        String changedEtag = mockMvc.perform(get("/api/attendance/report/{employeeId}/{yearMonth}",
+                        employee.getEmployeeId(), "2025-11")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(changedEtag).isEqualTo(fingerprint.etag());
+    }
+
+    @Test
+    void streamReportWritesPdfWithoutContentLength() throws Exception {
+        Employee employee = employeeRepository.save(new Employee("EMP-REPORT-001"));
+        int permitsBefore = reportConcurrencyLimiter.availablePermits();
+
+        MvcResult started = mockMvc.perform(get("/api/attendance/report/{employeeId}/{yearMonth}/stream",
+                        employee.getEmployeeId(), "2025-10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_LENGTH))
+                .andReturn();
+
+        byte[] pdf = result.getResponse().getContentAsByteArray();
+        assertThat(new String(pdf, 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+        assertThat(reportConcurrencyLimiter.availablePermits()).isEqualTo(permitsBefore);
+    }
+
+    @Test
+    void streamReportReturnsNotFoundForUnknownEmployee() throws Exception {
+        mockMvc.perform(get("/api/attendance/report/{employeeId}/{yearMonth}/stream", 999999L, "2025-10"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void reportIsRejectedWhenAllPermitsAreTaken() throws Exception {
+        Employee employee = employeeRepository.save(new Employee("EMP-REPORT-002"));
+        int taken = 0;
+        while (reportConcurrencyLimiter.availablePermits() > 0 && reportConcurrencyLimiter.tryAcquire()) {
+            taken++;
+        }
+        try {
+            mockMvc.perform(get("/api/attendance/report/{employeeId}/{yearMonth}",
+                            employee.getEmployeeId(), "2025-10"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        } finally {
+            for (int i = 0; i < taken; i++) {
+                reportConcurrencyLimiter.release();
+            }
+        }
+    }
+}
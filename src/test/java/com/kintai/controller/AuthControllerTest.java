@@ -0,0 +1,62 @@
+package com.kintai.controller;
+
+import com.kintai.service.AuthService;
+import com.kintai.service.LoginThrottle;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class AuthControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void repeatedFailuresForSameUsernameAreThrottled() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(login("throttle-user", "203.0.113.10"))
+                    .andExpect(status().isUnauthorized());
+        }
+
+        mockMvc.perform(login("throttle-user", "203.0.113.11"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.errorCode").value(LoginThrottle.LOGIN_THROTTLED));
+    }
+
+    @Test
+    void onlyAuthenticatedRolesCountAsSuccess() {
+        // 試行枠の拒否・混雑はセッションやトークンを発行してはならない
+        assertThat(new AuthService.AuthResult(null, null, "THROTTLED", 30).isSuccess()).isFalse();
+        assertThat(new AuthService.AuthResult(null, null, "BUSY", 1).isSuccess()).isFalse();
+        assertThat(new AuthService.AuthResult(null, null, "FAILED").isSuccess()).isFalse();
+        assertThat(new AuthService.AuthResult(null, null, "ADMIN").isSuccess()).isTrue();
+        assertThat(new AuthService.AuthResult(null, null, "EMPLOYEE").isSuccess()).isTrue();
+    }
+
+    private MockHttpServletRequestBuilder login(String username, String remoteAddr) {
+        return post("/api/auth/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"" + username + "\",\"password\":\"wrong-password\"}")
+                .with(request -> {
+                    request.setRemoteAddr(remoteAddr);
+                    return request;
+                });
+    }
+}
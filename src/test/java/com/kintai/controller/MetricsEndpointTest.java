@@ -0,0 +1,64 @@
+package com.kintai.controller;
+
+import com.kintai.entity.Employee;
+import com.kintai.repository.EmployeeRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Transactional
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void clockAndApprovalTimingsArePublishedInPrometheusFormat() throws Exception {
+        Employee employee = employeeRepository.save(new Employee("EMP-MET-001"));
+
+        mockMvc.perform(post("/api/attendance/clock-in")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"employeeId\":" + employee.getEmployeeId() + "}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/api/admin/holiday/requests/{id}/approve", Long.MAX_VALUE)
+                        .param("approverId", "1"))
+                .andExpect(status().isBadRequest());
+
+        assertThat(meterRegistry.find("kintai.attendance.clock")
+                .tags("operation", "in", "outcome", "success").timer())
+                .isNotNull()
+                .satisfies(timer -> assertThat(timer.count()).isPositive());
+        assertThat(meterRegistry.find("kintai.approval")
+                .tags("type", "HOLIDAY", "action", "approve", "outcome", "error").timer())
+                .isNotNull();
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertThat(scrape)
+                .contains("kintai_attendance_clock_seconds_count{application=\"kintai\",operation=\"in\",outcome=\"success\"")
+                .contains("kintai_approval_seconds_bucket");
+    }
+}
@@ -0,0 +1,130 @@
+package com.kintai.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kintai.entity.AdminAccount;
+import com.kintai.entity.UserAccount;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReportControllerTest {
+
+    private static final String REQUEST_BODY = "{\"employeeId\":1,\"yearMonth\":\"2025-09\"}";
+
+    private static final UserAccount EMPLOYEE_1 = new UserAccount("report-emp1", null, UserAccount.UserRole.EMPLOYEE, 1L);
+    private static final UserAccount EMPLOYEE_2 = new UserAccount("report-emp2", null, UserAccount.UserRole.EMPLOYEE, 2L);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void generateQueuesJobAndDownloadsPdfWhenCompleted() throws Exception {
+        String response = mockMvc.perform(post("/api/reports/generate")
+                        .with(user(EMPLOYEE_1))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST_BODY))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.success").value(true))
+                .andReturn().getResponse().getContentAsString();
+        JsonNode accepted = objectMapper.readTree(response);
+        String statusUrl = accepted.get("statusUrl").asText();
+        String pdfUrl = accepted.get("pdfUrl").asText();
+        assertThat(statusUrl).isEqualTo("/api/reports/jobs/" + accepted.get("jobId").asText());
+
+        String jobStatus = null;
+        for (int attempt = 0; attempt < 100 && !"COMPLETED".equals(jobStatus); attempt++) {
+            String body = mockMvc.perform(get(statusUrl).with(user(EMPLOYEE_1)))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            jobStatus = objectMapper.readTree(body).at("/data/status").asText();
+            assertThat(jobStatus).isNotEqualTo("FAILED");
+            if (!"COMPLETED".equals(jobStatus)) {
+                Thread.sleep(100);
+            }
+        }
+        assertThat(jobStatus).isEqualTo("COMPLETED");
+
+        byte[] pdf = mockMvc.perform(get(pdfUrl).with(user(EMPLOYEE_1)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_PDF))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(new String(pdf, 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+    }
+
+    @Test
+    void jobsAreNotVisibleToOtherUsers() throws Exception {
+        String response = mockMvc.perform(post("/api/reports/generate")
+                        .with(user(EMPLOYEE_1))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST_BODY))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse().getContentAsString();
+        String statusUrl = objectMapper.readTree(response).get("statusUrl").asText();
+
+        mockMvc.perform(get(statusUrl)
+                        .with(user(EMPLOYEE_1)))
+                .andExpect(status().isOk());
+        mockMvc.perform(get(statusUrl)
+                        .with(user(EMPLOYEE_2)))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.errorCode").value("REPORT_JOB_NOT_FOUND"));
+    }
+
+    @Test
+    void employeesCannotGenerateOtherEmployeesReports() throws Exception {
+        mockMvc.perform(post("/api/reports/generate")
+                        .with(user(EMPLOYEE_2))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST_BODY))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.success").value(false));
+
+        // 未ログインの場合も生成できない
+        mockMvc.perform(post("/api/reports/generate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST_BODY))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void adminsCanGenerateAnyEmployeesReport() throws Exception {
+        AdminAccount admin = new AdminAccount("report-admin", null, AdminAccount.UserRole.ADMIN, 1L);
+        mockMvc.perform(post("/api/reports/generate")
+                        .with(user(admin))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"employeeId\":2,\"yearMonth\":\"2025-09\"}"))
+                .andExpect(status().isAccepted());
+    }
+
+    @Test
+    void generateRejectsInvalidYearMonth() throws Exception {
+        mockMvc.perform(post("/api/reports/generate")
+                        .with(user(EMPLOYEE_1))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"employeeId\":1,\"yearMonth\":\"2025/09\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.success").value(false));
+    }
+}
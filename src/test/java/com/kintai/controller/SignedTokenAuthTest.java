@@ -0,0 +1,102 @@
+package com.kintai.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import com.kintai.entity.Employee;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.service.AuthService;
+import com.kintai.service.SessionTokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "kintai.auth.mode=token")
+@AutoConfigureMockMvc
+@Transactional
+class SignedTokenAuthTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    private Long employeeId;
+
+    @BeforeEach
+    void setUp() {
+        employeeId = employeeRepository.save(new Employee("TOKEN001")).getEmployeeId();
+        authService.registerUser("token-user", "token-pass", employeeId, "EMPLOYEE");
+    }
+
+    @Test
+    void loginIssuesTokenThatAuthenticatesWithoutSession() throws Exception {
+        MvcResult login = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"username\":\"token-user\",\"password\":\"token-pass\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.employeeId").value(employeeId))
+                .andReturn();
+        assertThat(login.getRequest().getSession(false)).isNull();
+        assertThat(login.getResponse().getHeader(HttpHeaders.SET_COOKIE))
+                .startsWith("KINTAI_TOKEN=").contains("HttpOnly").contains("SameSite=Lax");
+        String token = JsonPath.read(login.getResponse().getContentAsString(StandardCharsets.UTF_8), "$.token");
+
+        mockMvc.perform(get("/api/auth/session").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.authenticated").value(true))
+                .andExpect(jsonPath("$.username").value("token-user"))
+                .andExpect(jsonPath("$.employeeId").value(employeeId));
+
+        mockMvc.perform(post("/api/auth/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/auth/session").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void tamperedTokenIsRejected() throws Exception {
+        String token = sessionTokenService.issue(SessionTokenService.ROLE_EMPLOYEE, employeeId, "token-user").token();
+        String forged = sessionTokenService.issue(SessionTokenService.ROLE_ADMIN, employeeId, "token-user").token();
+        // 別トークンのペイロードに署名を付け替える
+        String tampered = forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'));
+
+        assertThat(sessionTokenService.verify(token)).isNotNull();
+        assertThat(sessionTokenService.verify(tampered)).isNull();
+        mockMvc.perform(get("/api/auth/session").header(HttpHeaders.AUTHORIZATION, "Bearer " + tampered))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void revokingSubjectInvalidatesIssuedTokens() {
+        String token = sessionTokenService.issue(SessionTokenService.ROLE_USER_ADMIN, employeeId, "token-user").token();
+        String adminToken = sessionTokenService.issue(SessionTokenService.ROLE_ADMIN, employeeId, "admin").token();
+
+        sessionTokenService.revokeSubject(SessionTokenService.ROLE_EMPLOYEE, employeeId);
+
+        assertThat(sessionTokenService.verify(token)).isNull();
+        assertThat(sessionTokenService.verify(adminToken)).isNotNull();
+    }
+}
@@ -0,0 +1,129 @@
+package com.kintai.perf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 負荷試験・並行試験用：処理種別ごとの所要時間と失敗件数を集計する
+ * 1フェーズ（start から stop まで）を1インスタンスで集計し、スループットはフェーズの経過時間で算出する。
+ */
+public final class LoadStats {
+
+    private final String phase;
+
+    private final Map<String, Operation> operations = new ConcurrentHashMap<>();
+
+    private long startNanos;
+
+    private long elapsedNanos;
+
+    public LoadStats(String phase) {
+        this.phase = phase;
+    }
+
+    public LoadStats start() {
+        startNanos = System.nanoTime();
+        return this;
+    }
+
+    public LoadStats stop() {
+        elapsedNanos = System.nanoTime() - startNanos;
+        return this;
+    }
+
+    /**
+     * 1件の処理結果を記録
+     * @param operation 処理種別
+     * @param nanos 所要時間（ナノ秒）
+     * @param failure 失敗時の分類（HTTPステータス・エラーコードなど）、成功時は null
+     */
+    public void record(String operation, long nanos, String failure) {
+        Operation op = operations.computeIfAbsent(operation, key -> new Operation());
+        op.latencies.add(nanos);
+        if (failure != null) {
+            op.failures.merge(failure, 1L, Long::sum);
+        }
+    }
+
+    public String getPhase() {
+        return phase;
+    }
+
+    public double getElapsedSeconds() {
+        return elapsedNanos / 1_000_000_000.0;
+    }
+
+    public List<Summary> summaries() {
+        List<Summary> summaries = new ArrayList<>();
+        new TreeMap<>(operations).forEach((name, op) -> summaries.add(op.summarize(name, getElapsedSeconds())));
+        return summaries;
+    }
+
+    /**
+     * 集計結果を表形式で出力
+     */
+    public String format() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.ROOT, "[%s] %.2fs%n", phase, getElapsedSeconds()));
+        sb.append(String.format(Locale.ROOT, "  %-18s %8s %7s %8s %9s %9s %9s %10s%n",
+                "operation", "requests", "errors", "err%", "p50(ms)", "p99(ms)", "max(ms)", "req/s"));
+        for (Summary s : summaries()) {
+            sb.append(String.format(Locale.ROOT, "  %-18s %8d %7d %7.2f%% %9.1f %9.1f %9.1f %10.1f%n",
+                    s.operation(), s.requests(), s.errors(), s.errorRate() * 100,
+                    s.p50Ms(), s.p99Ms(), s.maxMs(), s.throughput()));
+            if (!s.failures().isEmpty()) {
+                sb.append("    failures: ").append(s.failures()).append(System.lineSeparator());
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 処理種別ごとの集計結果
+     * @param throughput 1秒あたりの処理件数（フェーズの経過時間で算出）
+     */
+    public record Summary(String operation, long requests, long errors, double p50Ms, double p99Ms, double maxMs,
+                          double throughput, Map<String, Long> failures) {
+
+        public double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+    }
+
+    private static final class Operation {
+
+        private final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+        private final Map<String, Long> failures = new ConcurrentHashMap<>();
+
+        Summary summarize(String name, double elapsedSeconds) {
+            long[] sorted = latencies.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            long errors = failures.values().stream().mapToLong(Long::longValue).sum();
+            return new Summary(name, sorted.length, errors,
+                    percentileMs(sorted, 0.50), percentileMs(sorted, 0.99),
+                    sorted.length == 0 ? 0 : toMs(sorted[sorted.length - 1]),
+                    elapsedSeconds > 0 ? sorted.length / elapsedSeconds : 0,
+                    new TreeMap<>(failures));
+        }
+
+        private static double percentileMs(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return toMs(sorted[Math.max(index, 0)]);
+        }
+
+        private static double toMs(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package com.kintai.perf;
+
+import com.kintai.dto.AdjustmentRequestDto;
+import com.kintai.dto.ClockInRequest;
+import com.kintai.dto.ClockOutRequest;
+import com.kintai.dto.LeaveRequestDto;
+import com.kintai.dto.WorkPatternChangeRequestDto;
+import com.kintai.entity.AdjustmentRequest;
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.Employee;
+import com.kintai.entity.LeaveRequest;
+import com.kintai.entity.LeaveStatus;
+import com.kintai.entity.LeaveTimeUnit;
+import com.kintai.entity.LeaveType;
+import com.kintai.entity.WorkPatternChangeRequest;
+import com.kintai.exception.AttendanceException;
+import com.kintai.exception.VacationException;
+import com.kintai.repository.AdjustmentRequestRepository;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.repository.LeaveBalanceRepository;
+import com.kintai.repository.LeaveRequestRepository;
+import com.kintai.repository.WorkPatternChangeRequestRepository;
+import com.kintai.service.AdjustmentRequestService;
+import com.kintai.service.AttendanceService;
+import com.kintai.service.LeaveRequestService;
+import com.kintai.service.WorkPatternChangeRequestService;
+import com.kintai.util.BusinessDayCalculator;
+import com.kintai.util.TimeCalculator;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 打刻と承認の競合を再現する並行試験
+ * 同じ従業員・同じ日に対して、出勤打刻・退勤打刻（複数スレッドから繰り返し）・修正申請の承認・
+ * 勤務時間変更の承認・休暇申請の承認（複数件、同じ申請を2人の承認者が同時に承認）を同時に開始し、
+ * 終了後に次の不変条件を検証する。
+ * <ul>
+ *   <li>勤怠記録は1人1日1件</li>
+ *   <li>保存済みの休憩・残業・深夜・遅刻・早退が打刻時刻と承認済みの勤務時間変更から再計算した値と一致する</li>
+ *   <li>承認済みの修正申請の時刻が後続の打刻で上書きされていない（更新の消失がない）</li>
+ *   <li>休暇残数が承認された申請の日数だけ正確に減っている（更新の消失がない）</li>
+ * </ul>
+ * 競合による失敗（楽観的ロック等で承認が成立しなかった場合）は許容し、成立した操作の結果のみを検証する。
+ * 通常のテストでは実行しない（mvn -Pstress-test test）。規模は -Dkintai.stress.* で変更できる。
+ * 操作種別ごとのスループット・p50/p99 を出力し、結果は target/load-reports にも出力する。
+ */
+@Tag("stress")
+@SpringBootTest(properties = {
+        "spring.jpa.show-sql=false",
+        "logging.level.com.kintai=INFO"
+})
+@DirtiesContext
+class PunchApprovalStressTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PunchApprovalStressTest.class);
+
+    private static final LocalTime PATTERN_START = LocalTime.of(0, 0);
+
+    private static final LocalTime PATTERN_END = LocalTime.of(23, 59);
+
+    @Autowired
+    private AttendanceService attendanceService;
+
+    @Autowired
+    private AdjustmentRequestService adjustmentRequestService;
+
+    @Autowired
+    private WorkPatternChangeRequestService workPatternChangeRequestService;
+
+    @Autowired
+    private LeaveRequestService leaveRequestService;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private AttendanceRecordRepository attendanceRecordRepository;
+
+    @Autowired
+    private AdjustmentRequestRepository adjustmentRequestRepository;
+
+    @Autowired
+    private WorkPatternChangeRequestRepository workPatternChangeRequestRepository;
+
+    @Autowired
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+
+    @Autowired
+    private TimeCalculator timeCalculator;
+
+    @Autowired
+    private BusinessDayCalculator businessDayCalculator;
+
+    /** 試行回数（1回ごとに従業員を1人作成し、その従業員の当日に操作を集中させる） */
+    @Value("${kintai.stress.rounds:20}")
+    private int rounds;
+
+    /** 打刻を送るスレッド数（各スレッドが出勤→退勤を繰り返す） */
+    @Value("${kintai.stress.punch-threads:8}")
+    private int punchThreads;
+
+    /** 打刻スレッド1本あたりの出勤→退勤の繰り返し回数 */
+    @Value("${kintai.stress.punches-per-thread:5}")
+    private int punchesPerThread;
+
+    /** 1回の試行で同時に承認する休暇申請の件数 */
+    @Value("${kintai.stress.leave-requests:4}")
+    private int leaveRequests;
+
+    @Value("${kintai.load.report-dir:target/load-reports}")
+    private String reportDir;
+
+    private Long approverId;
+
+    @Test
+    void concurrentPunchesAndApprovalsKeepInvariants() throws Exception {
+        approverId = employeeRepository.save(new Employee(code("STRA"))).getEmployeeId();
+        int threads = punchThreads + 2 + leaveRequests * 2;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        LoadStats stats = new LoadStats("punch/approval race");
+        List<Outcome> outcomes = new ArrayList<>();
+        try {
+            stats.start();
+            for (int round = 0; round < rounds; round++) {
+                outcomes.add(runRound(executor, stats));
+            }
+            stats.stop();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        String report = report(stats, outcomes);
+        log.info("打刻と承認の並行試験結果（{}回、打刻{}スレッド×{}回、休暇{}件）{}{}",
+                rounds, punchThreads, punchesPerThread, leaveRequests, System.lineSeparator(), report);
+        writeReport(report);
+
+        for (Outcome outcome : outcomes) {
+            verify(outcome);
+        }
+    }
+
+    /**
+     * 1回分の試行：申請を用意してから全スレッドを同時に開始する
+     */
+    private Outcome runRound(ExecutorService executor, LoadStats stats) throws Exception {
+        Employee employee = new Employee(code("STR"));
+        employee.setHireDate(LocalDate.of(2020, 4, 1));
+        Long employeeId = employeeRepository.save(employee).getEmployeeId();
+        LocalDate today = timeCalculator.getCurrentTokyoTime().toLocalDate();
+
+        AdjustmentRequest adjustment = adjustmentRequestService.createAdjustmentRequest(new AdjustmentRequestDto(
+                employeeId, today, today.atTime(9, 0), today.atTime(18, 0), "打刻修正", 60));
+        WorkPatternChangeRequest pattern = workPatternChangeRequestService.createRequest(patternDto(employeeId, today));
+        List<Long> leaveIds = new ArrayList<>();
+        for (LocalDate date : leaveDates(today)) {
+            LeaveRequestDto dto = leaveRequestService.createLeaveRequest(employeeId, LeaveType.PAID_LEAVE,
+                    LeaveTimeUnit.FULL_DAY, date, date, "年休取得");
+            leaveIds.add(((LeaveRequestDto.LeaveData) dto.getData()).getLeaveRequestId());
+        }
+        BigDecimal remainingBefore = remainingPaidLeave(employeeId);
+
+        CountDownLatch ready = new CountDownLatch(punchThreads + 2 + leaveIds.size() * 2);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < punchThreads; t++) {
+            futures.add(executor.submit(gated(ready, start, () -> {
+                for (int i = 0; i < punchesPerThread; i++) {
+                    call(stats, "clock-in", () -> attendanceService.clockIn(new ClockInRequest(employeeId)));
+                    call(stats, "clock-out", () -> attendanceService.clockOut(new ClockOutRequest(employeeId)));
+                }
+            })));
+        }
+        futures.add(executor.submit(gated(ready, start, () -> call(stats, "approve-adjustment",
+                () -> adjustmentRequestService.approveAdjustmentRequest(adjustment.getAdjustmentRequestId(), approverId)))));
+        futures.add(executor.submit(gated(ready, start, () -> call(stats, "approve-pattern",
+                () -> workPatternChangeRequestService.approveRequest(pattern.getRequestId(), approverId)))));
+        for (Long leaveId : leaveIds) {
+            for (int duplicate = 0; duplicate < 2; duplicate++) {
+                futures.add(executor.submit(gated(ready, start, () -> call(stats, "approve-leave",
+                        () -> leaveRequestService.updateStatus(leaveId, LeaveStatus.APPROVED, approverId, null)))));
+            }
+        }
+
+        assertThat(ready.await(30, TimeUnit.SECONDS)).isTrue();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        return new Outcome(employeeId, today, adjustment.getAdjustmentRequestId(), pattern.getRequestId(),
+                leaveIds, remainingBefore);
+    }
+
+    /**
+     * 試行後の不変条件を検証
+     */
+    private void verify(Outcome outcome) {
+        Long employeeId = outcome.employeeId();
+        List<AttendanceRecord> records = attendanceRecordRepository
+                .findDuplicatesByEmployeeIdAndAttendanceDate(employeeId, outcome.date());
+        assertThat(records).as("従業員%dの%sの勤怠記録", employeeId, outcome.date()).hasSize(1);
+        AttendanceRecord record = records.get(0);
+
+        AdjustmentRequest adjustment = adjustmentRequestRepository.findById(outcome.adjustmentRequestId()).orElseThrow();
+        if (adjustment.getStatus() == AdjustmentRequest.AdjustmentStatus.APPROVED) {
+            assertThat(record.getClockInTime()).as("承認済み修正の出勤時刻").isEqualTo(adjustment.getNewClockIn());
+            assertThat(record.getClockOutTime()).as("承認済み修正の退勤時刻").isEqualTo(adjustment.getNewClockOut());
+            assertThat(record.getBreakMinutes()).as("承認済み修正の休憩").isEqualTo(adjustment.getNewBreakMinutes());
+        } else {
+            assertThat(adjustment.getStatus()).isEqualTo(AdjustmentRequest.AdjustmentStatus.PENDING);
+        }
+        assertThat(record.getClockInTime()).isNotNull();
+        if (record.getClockOutTime() != null) {
+            assertThat(record.getClockOutTime()).isAfterOrEqualTo(record.getClockInTime());
+        }
+
+        WorkPatternChangeRequest pattern = workPatternChangeRequestRepository.findById(outcome.patternRequestId()).orElseThrow();
+        assertThat(pattern.getStatus()).isIn(WorkPatternChangeRequest.Status.APPROVED, WorkPatternChangeRequest.Status.PENDING);
+        assertThat(metricsOf(record)).as("従業員%dの集計値（勤務時間変更: %s）", employeeId, pattern.getStatus())
+                .isEqualTo(metricsOf(recalculated(record)));
+
+        List<LeaveRequest> leaves = leaveRequestRepository.findAllById(outcome.leaveRequestIds());
+        BigDecimal approvedDays = leaves.stream()
+                .filter(leave -> leave.getStatus() == LeaveStatus.APPROVED)
+                .map(LeaveRequest::getDays)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertThat(leaves).extracting(LeaveRequest::getStatus).isSubsetOf(LeaveStatus.APPROVED, LeaveStatus.PENDING);
+        assertThat(remainingPaidLeave(employeeId)).as("従業員%dの有休残数", employeeId)
+                .isEqualByComparingTo(outcome.remainingBefore().subtract(approvedDays));
+    }
+
+    /**
+     * 保存済みの打刻時刻・休憩から集計値を再計算（承認済みの勤務時間変更はDBの状態で引き当てる）
+     */
+    private AttendanceRecord recalculated(AttendanceRecord stored) {
+        AttendanceRecord record = new AttendanceRecord(stored.getEmployeeId(), stored.getAttendanceDate());
+        record.setClockInTime(stored.getClockInTime());
+        record.setClockOutTime(stored.getClockOutTime());
+        record.setBreakMinutes(stored.getBreakMinutes());
+        timeCalculator.calculateAttendanceMetrics(record);
+        workPatternChangeRequestService.applyPatternMetrics(record);
+        timeCalculator.normalizeMetrics(record);
+        return record;
+    }
+
+    private static List<Integer> metricsOf(AttendanceRecord record) {
+        return List.of(record.getBreakMinutes(), record.getOvertimeMinutes(), record.getNightShiftMinutes(),
+                record.getLateMinutes(), record.getEarlyLeaveMinutes());
+    }
+
+    private BigDecimal remainingPaidLeave(Long employeeId) {
+        return leaveBalanceRepository.findByEmployeeIdAndLeaveType(employeeId, LeaveType.PAID_LEAVE)
+                .orElseThrow()
+                .getRemainingDays();
+    }
+
+    /**
+     * 休暇申請の対象日（当日の打刻と重ならないよう翌月以降の営業日）
+     */
+    private List<LocalDate> leaveDates(LocalDate today) {
+        List<LocalDate> dates = new ArrayList<>();
+        LocalDate date = today.plusMonths(1);
+        while (dates.size() < leaveRequests) {
+            if (businessDayCalculator.isBusinessDay(date)) {
+                dates.add(date);
+            }
+            date = date.plusDays(1);
+        }
+        return dates;
+    }
+
+    /**
+     * 当日を含む前後1週間・全曜日に適用する勤務時間変更（遅刻・早退が必ず発生する始業・終業時刻）
+     */
+    private static WorkPatternChangeRequestDto patternDto(Long employeeId, LocalDate today) {
+        WorkPatternChangeRequestDto dto = new WorkPatternChangeRequestDto();
+        dto.setEmployeeId(employeeId);
+        dto.setStartDate(today.minusDays(7));
+        dto.setEndDate(today.plusDays(7));
+        dto.setStartTime(PATTERN_START);
+        dto.setEndTime(PATTERN_END);
+        dto.setBreakMinutes(60);
+        dto.setActiveDays(Set.of("MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY", "SUNDAY", "HOLIDAY"));
+        dto.setReason("並行試験");
+        return dto;
+    }
+
+    /**
+     * 全スレッドの準備完了を待ってから一斉に開始する
+     */
+    private static Runnable gated(CountDownLatch ready, CountDownLatch start, Runnable body) {
+        return () -> {
+            ready.countDown();
+            try {
+                start.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            // 開始直後の順序が毎回同じにならないよう少しずらす
+            if (ThreadLocalRandom.current().nextBoolean()) {
+                Thread.yield();
+            }
+            body.run();
+        };
+    }
+
+    /**
+     * 1件の操作を実行して所要時間と結果を記録（業務例外は競合による失敗として分類）
+     */
+    private static void call(LoadStats stats, String operation, Runnable body) {
+        long started = System.nanoTime();
+        String failure = null;
+        try {
+            body.run();
+        } catch (AttendanceException e) {
+            failure = e.getErrorCode();
+        } catch (VacationException e) {
+            failure = e.getErrorCode();
+        } catch (RuntimeException e) {
+            failure = e.getClass().getSimpleName();
+        }
+        stats.record(operation, System.nanoTime() - started, failure);
+    }
+
+    private String report(LoadStats stats, List<Outcome> outcomes) {
+        long approvedAdjustments = outcomes.stream()
+                .filter(outcome -> adjustmentRequestRepository.findById(outcome.adjustmentRequestId())
+                        .map(request -> request.getStatus() == AdjustmentRequest.AdjustmentStatus.APPROVED)
+                        .orElse(false))
+                .count();
+        long approvedPatterns = outcomes.stream()
+                .filter(outcome -> workPatternChangeRequestRepository.findById(outcome.patternRequestId())
+                        .map(request -> request.getStatus() == WorkPatternChangeRequest.Status.APPROVED)
+                        .orElse(false))
+                .count();
+        return stats.format() + String.format(Locale.ROOT, "  approved: adjustments %d/%d, patterns %d/%d%n",
+                approvedAdjustments, outcomes.size(), approvedPatterns, outcomes.size());
+    }
+
+    private void writeReport(String report) throws IOException {
+        Path dir = Paths.get(reportDir);
+        Files.createDirectories(dir);
+        String name = "punch-approval-stress-"
+                + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt";
+        String header = String.format(Locale.ROOT, "rounds=%d punch-threads=%d punches-per-thread=%d leave-requests=%d%n",
+                rounds, punchThreads, punchesPerThread, leaveRequests);
+        Files.writeString(dir.resolve(name), header + report, StandardCharsets.UTF_8);
+    }
+
+    private static String code(String prefix) {
+        return prefix + Long.toString(System.nanoTime(), 36).toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * 1回分の試行で作成した対象
+     */
+    private record Outcome(Long employeeId, LocalDate date, Long adjustmentRequestId, Long patternRequestId,
+                           List<Long> leaveRequestIds, BigDecimal remainingBefore) {
+
+        Outcome {
+            leaveRequestIds = Collections.unmodifiableList(leaveRequestIds);
+        }
+    }
+}
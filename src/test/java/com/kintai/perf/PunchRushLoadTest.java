@@ -0,0 +1,291 @@
+package com.kintai.perf;
+
+import com.kintai.entity.Employee;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.service.SessionTokenService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 朝の出勤打刻集中（9:00前後）を再現する負荷試験
+ * アプリケーションを dev プロファイル（H2・認証不要）で起動し、署名付きトークンで本人としてアクセスする。
+ * 従業員を投入したうえで、出勤打刻 → 参照（当日・履歴・月別カレンダー・カスタム休日）→ 退勤打刻 を
+ * 実際のHTTPエンドポイントに並行して送り、処理種別ごとのp50/p99・スループット・エラー率と、
+ * エンドポイントごとのSQL文の数（kintai.sql.statements）を出力する。
+ * 通常のテストでは実行しない（mvn -Pload-test test）。規模は -Dkintai.load.* で変更できる。
+ * 結果は target/load-reports にも出力し、変更前後の比較に使う。
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "kintai.auth.mode=token",
+        "spring.jpa.show-sql=false",
+        "logging.level.com.kintai=INFO",
+        "logging.level.org.springframework.web=INFO"
+})
+@DirtiesContext
+class PunchRushLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(PunchRushLoadTest.class);
+
+    private static final Pattern ERROR_CODE = Pattern.compile("\"errorCode\"\\s*:\\s*\"([^\"]+)\"");
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private SessionTokenService sessionTokenService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    /** 投入する従業員数（出勤・退勤はそれぞれ1人1回） */
+    @Value("${kintai.load.employees:300}")
+    private int employees;
+
+    /** 同時に送信するリクエスト数の上限 */
+    @Value("${kintai.load.concurrency:32}")
+    private int concurrency;
+
+    /** 従業員1人あたりの参照リクエスト数（当日・履歴・月別・カスタム休日を順に送る） */
+    @Value("${kintai.load.reads-per-employee:4}")
+    private int readsPerEmployee;
+
+    /** 計測前に送る参照リクエスト数（JIT・接続プールのウォームアップ） */
+    @Value("${kintai.load.warmup-requests:100}")
+    private int warmupRequests;
+
+    /** 許容するエラー率（超えた場合はテスト失敗） */
+    @Value("${kintai.load.max-error-rate:0.01}")
+    private double maxErrorRate;
+
+    @Value("${kintai.load.report-dir:target/load-reports}")
+    private String reportDir;
+
+    private HttpClient client;
+
+    private String baseUrl;
+
+    @Test
+    void morningPunchRush() throws Exception {
+        baseUrl = "http://localhost:" + port;
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(executor)
+                .build();
+        try {
+            List<Actor> actors = seed();
+            YearMonth month = YearMonth.now();
+
+            run(new LoadStats("warmup"), actors.subList(0, Math.min(actors.size(), warmupRequests)), (actor, i) ->
+                    get("today", "/api/attendance/today/" + actor.employeeId(), actor));
+
+            List<LoadStats> phases = new ArrayList<>();
+            phases.add(run(new LoadStats("clock-in rush"), actors, (actor, i) ->
+                    post("clock-in", "/api/attendance/clock-in", actor)));
+            phases.add(run(new LoadStats("reads"), repeat(actors, readsPerEmployee), new Reader(month)));
+            phases.add(run(new LoadStats("clock-out rush"), actors, (actor, i) ->
+                    post("clock-out", "/api/attendance/clock-out", actor)));
+
+            String report = report(phases);
+            log.info("朝の打刻集中の負荷試験結果（従業員{}人、同時{}件）{}{}",
+                    employees, concurrency, System.lineSeparator(), report);
+            writeReport(report);
+
+            for (LoadStats phase : phases) {
+                for (LoadStats.Summary summary : phase.summaries()) {
+                    assertThat(summary.errorRate())
+                            .as("%s / %s のエラー率 %s", phase.getPhase(), summary.operation(), summary.failures())
+                            .isLessThanOrEqualTo(maxErrorRate);
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Actor> seed() {
+        List<Actor> actors = new ArrayList<>(employees);
+        List<Employee> batch = new ArrayList<>();
+        for (int i = 1; i <= employees; i++) {
+            Employee employee = new Employee(String.format(Locale.ROOT, "LOAD%06d", i));
+            employee.setHireDate(LocalDate.of(2020, 4, 1));
+            batch.add(employee);
+            if (batch.size() == 500 || i == employees) {
+                for (Employee saved : employeeRepository.saveAll(batch)) {
+                    String username = saved.getEmployeeCode().toLowerCase(Locale.ROOT);
+                    String token = sessionTokenService
+                            .issue(SessionTokenService.ROLE_EMPLOYEE, saved.getEmployeeId(), username).token();
+                    actors.add(new Actor(saved.getEmployeeId(), token));
+                }
+                batch.clear();
+            }
+        }
+        return actors;
+    }
+
+    private static List<Actor> repeat(List<Actor> actors, int times) {
+        List<Actor> repeated = new ArrayList<>(actors.size() * times);
+        for (int i = 0; i < times; i++) {
+            repeated.addAll(actors);
+        }
+        return repeated;
+    }
+
+    private LoadStats run(LoadStats stats, List<Actor> actors, RequestFactory factory) throws InterruptedException {
+        Semaphore permits = new Semaphore(concurrency);
+        List<CompletableFuture<?>> inFlight = new ArrayList<>(actors.size());
+        stats.start();
+        for (int i = 0; i < actors.size(); i++) {
+            Call call = factory.create(actors.get(i), i);
+            permits.acquire();
+            long started = System.nanoTime();
+            inFlight.add(client.sendAsync(call.request(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                    .whenComplete((response, error) -> {
+                        long elapsed = System.nanoTime() - started;
+                        permits.release();
+                        stats.record(call.operation(), elapsed, failureOf(response, error));
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).exceptionally(e -> null).join();
+        return stats.stop();
+    }
+
+    /**
+     * 失敗の分類（成功時は null）
+     * HTTPステータスが2xxでも success=false の場合はエラーコードで分類する
+     */
+    private static String failureOf(HttpResponse<String> response, Throwable error) {
+        if (error != null) {
+            return error.getClass().getSimpleName();
+        }
+        String body = response.body();
+        if (response.statusCode() < 300 && (body == null || !body.contains("\"success\":false"))) {
+            return null;
+        }
+        Matcher matcher = ERROR_CODE.matcher(body == null ? "" : body);
+        return response.statusCode() + (matcher.find() ? " " + matcher.group(1) : "");
+    }
+
+    private Call get(String operation, String path, Actor actor) {
+        return new Call(operation, authorized(path, actor).GET().build());
+    }
+
+    private Call post(String operation, String path, Actor actor) {
+        return new Call(operation, authorized(path, actor)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"employeeId\":" + actor.employeeId() + "}"))
+                .build());
+    }
+
+    private HttpRequest.Builder authorized(String path, Actor actor) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + actor.token());
+    }
+
+    /**
+     * 結果の出力（処理種別ごとの集計と、エンドポイントごとのSQL文の数）
+     */
+    private String report(List<LoadStats> phases) {
+        StringBuilder sb = new StringBuilder();
+        phases.forEach(phase -> sb.append(phase.format()));
+        sb.append(String.format(Locale.ROOT, "[sql statements per request]%n"));
+        sb.append(String.format(Locale.ROOT, "  %-56s %8s %8s %8s %10s%n", "endpoint", "requests", "mean", "max", "total"));
+        meterRegistry.find("kintai.sql.statements").summaries().stream()
+                .sorted((a, b) -> (a.getId().getTag("method") + a.getId().getTag("endpoint"))
+                        .compareTo(b.getId().getTag("method") + b.getId().getTag("endpoint")))
+                .forEach(summary -> {
+                    HistogramSnapshot snapshot = summary.takeSnapshot();
+                    sb.append(String.format(Locale.ROOT, "  %-56s %8d %8.1f %8.0f %10.0f%n",
+                            summary.getId().getTag("method") + " " + summary.getId().getTag("endpoint"),
+                            snapshot.count(), snapshot.mean(), snapshot.max(), snapshot.total()));
+                });
+        return sb.toString();
+    }
+
+    private void writeReport(String report) throws IOException {
+        Path dir = Paths.get(reportDir);
+        Files.createDirectories(dir);
+        String name = "punch-rush-" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".txt";
+        String header = String.format(Locale.ROOT, "employees=%d concurrency=%d reads-per-employee=%d%n",
+                employees, concurrency, readsPerEmployee);
+        Files.writeString(dir.resolve(name), header + report, StandardCharsets.UTF_8);
+    }
+
+    private record Actor(Long employeeId, String token) {
+    }
+
+    private record Call(String operation, HttpRequest request) {
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+
+        Call create(Actor actor, int index);
+    }
+
+    /**
+     * 参照リクエストを 当日 → 過去30日の履歴 → 月別（カレンダー） → カスタム休日（カレンダー） の順に送る
+     */
+    private class Reader implements RequestFactory {
+
+        private final YearMonth month;
+
+        Reader(YearMonth month) {
+            this.month = month;
+        }
+
+        @Override
+        public Call create(Actor actor, int index) {
+            Long id = actor.employeeId();
+            return switch (index / employees % 4) {
+                case 0 -> get("today", "/api/attendance/today/" + id, actor);
+                case 1 -> get("history", "/api/attendance/history/" + id, actor);
+                case 2 -> get("history-month", "/api/attendance/history/" + id
+                        + "?year=" + month.getYear() + "&month=" + month.getMonthValue(), actor);
+                default -> get("custom-holidays", "/api/custom-holidays/employee/" + id + "/range?startDate="
+                        + month.atDay(1) + "&endDate=" + month.atEndOfMonth(), actor);
+            };
+        }
+    }
+}
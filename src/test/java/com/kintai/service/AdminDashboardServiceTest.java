@@ -43,6 +43,9 @@ class AdminDashboardServiceTest {
     @Autowired
     private HolidayRequestRepository holidayRequestRepository;
 
+    @Autowired
+    private PendingRequestCounter pendingRequestCounter;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -88,6 +91,9 @@ class AdminDashboardServiceTest {
         holidayRequest.setReason("test");
         holidayRequestRepository.save(holidayRequest);
 
+        // リポジトリ直接保存はカウンターを経由しないためDBと突き合わせる
+        pendingRequestCounter.reconcile();
+
         var summary = adminDashboardService.getSummary();
 
         // JSONにシリアライズした際のフィールド名を確認（フロント連携用）
@@ -101,4 +107,15 @@ class AdminDashboardServiceTest {
         assertThat(summary.leavePending()).isEqualTo(1L);
         assertThat(summary.holidayPending()).isEqualTo(1L);
     }
+
+    @Test
+    void counterChangesAreAppliedOnlyAfterCommit() {
+        pendingRequestCounter.reconcile();
+        long before = pendingRequestCounter.get(PendingRequestCounter.RequestKind.LEAVE);
+
+        pendingRequestCounter.increment(PendingRequestCounter.RequestKind.LEAVE);
+
+        // テストトランザクションはロールバックされるため件数は変わらない
+        assertThat(adminDashboardService.getSummary().leavePending()).isEqualTo(before);
+    }
 }
@@ -0,0 +1,36 @@
+package com.kintai.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttendancePartitionMaintainerTest {
+
+    @Test
+    void missingMonthsStartAfterLastMonthlyPartition() {
+        List<String> partitions = List.of("p_archive", "p202611", "p202612", "p_future");
+
+        assertThat(AttendancePartitionMaintainer.missingMonths(partitions, YearMonth.of(2027, 3)))
+                .containsExactly(YearMonth.of(2027, 1), YearMonth.of(2027, 2), YearMonth.of(2027, 3));
+        assertThat(AttendancePartitionMaintainer.missingMonths(partitions, YearMonth.of(2026, 12))).isEmpty();
+    }
+
+    @Test
+    void missingMonthsWithoutMonthlyPartitionsCreatesOnlyTargetMonth() {
+        assertThat(AttendancePartitionMaintainer.missingMonths(List.of("p_archive", "p_future"), YearMonth.of(2027, 1)))
+                .containsExactly(YearMonth.of(2027, 1));
+    }
+
+    @Test
+    void reorganizeStatementSplitsFuturePartition() {
+        String sql = AttendancePartitionMaintainer.reorganizeStatement(List.of(YearMonth.of(2026, 12), YearMonth.of(2027, 1)));
+
+        assertThat(sql).isEqualTo("ALTER TABLE attendance_records REORGANIZE PARTITION p_future INTO ("
+                + "PARTITION p202612 VALUES LESS THAN ('2027-01-01'), "
+                + "PARTITION p202701 VALUES LESS THAN ('2027-02-01'), "
+                + "PARTITION p_future VALUES LESS THAN (MAXVALUE))");
+    }
+}
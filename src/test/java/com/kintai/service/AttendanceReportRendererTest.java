@@ -0,0 +1,102 @@
+package com.kintai.service;
+
+import com.itextpdf.html2pdf.HtmlConverter;
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.AttendanceStatus;
+import com.kintai.entity.Employee;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AttendanceReportRendererTest {
+
+    private final AttendanceReportRenderer renderer = new AttendanceReportRenderer();
+
+    @Test
+    void renderHtmlEscapesEmployeeCode() {
+        Employee employee = new Employee("EMP<&>'\"");
+
+        String html = renderer.renderHtml(employee, "2025-10", List.of());
+
+        assertThat(html).contains("社員コード: EMP&lt;&amp;&gt;&#39;&quot;");
+        assertThat(html).contains("対象年月: 2025年10月");
+        assertThat(html).contains("データなし");
+    }
+
+    @Test
+    void renderWritesPdfAndKeepsStreamOpen() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                throw new AssertionError("出力ストリームはクローズしない");
+            }
+        };
+
+        renderer.render(new Employee("EMP001"), "2025-10", monthOfRecords(), out);
+
+        assertThat(new String(out.toByteArray(), 0, 5, StandardCharsets.US_ASCII)).isEqualTo("%PDF-");
+    }
+
+    /**
+     * 従来方式（毎回フォント読み込み・既定設定で変換）との比較ベンチマーク
+     * 実行: mvn test -Dtest=AttendanceReportRendererTest -Dkintai.benchmark=true
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "kintai.benchmark", matches = "true")
+    void benchmarkAgainstPerCallConverter() {
+        Employee employee = new Employee("EMP001");
+        List<AttendanceRecord> records = monthOfRecords();
+        int warmup = 20;
+        int iterations = 100;
+
+        for (int i = 0; i < warmup; i++) {
+            renderLegacy(employee, records);
+            renderer.render(employee, "2025-10", records, new ByteArrayOutputStream());
+        }
+
+        long legacyStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            renderLegacy(employee, records);
+        }
+        long legacyNanos = System.nanoTime() - legacyStart;
+
+        long cachedStart = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            renderer.render(employee, "2025-10", records, new ByteArrayOutputStream());
+        }
+        long cachedNanos = System.nanoTime() - cachedStart;
+
+        double legacyPerSecond = iterations / (legacyNanos / 1_000_000_000.0);
+        double cachedPerSecond = iterations / (cachedNanos / 1_000_000_000.0);
+        System.out.printf("[ReportBenchmark] legacy=%.1f reports/s, cached=%.1f reports/s, speedup=%.2fx%n",
+                legacyPerSecond, cachedPerSecond, cachedPerSecond / legacyPerSecond);
+        assertThat(cachedPerSecond).isGreaterThan(legacyPerSecond);
+    }
+
+    private void renderLegacy(Employee employee, List<AttendanceRecord> records) {
+        String html = renderer.renderHtml(employee, "2025-10", records);
+        HtmlConverter.convertToPdf(html, new ByteArrayOutputStream());
+    }
+
+    private List<AttendanceRecord> monthOfRecords() {
+        List<AttendanceRecord> records = new ArrayList<>();
+        for (int day = 1; day <= 31; day++) {
+            LocalDate date = LocalDate.of(2025, 10, day);
+            AttendanceRecord record = new AttendanceRecord(1L, date);
+            record.setClockInTime(LocalDateTime.of(date.getYear(), date.getMonth(), day, 9, 0));
+            record.setClockOutTime(LocalDateTime.of(date.getYear(), date.getMonth(), day, 19, 30));
+            record.setOvertimeMinutes(90);
+            record.setAttendanceStatus(AttendanceStatus.OVERTIME);
+            records.add(record);
+        }
+        return records;
+    }
+}
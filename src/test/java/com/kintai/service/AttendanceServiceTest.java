@@ -4,7 +4,6 @@ import com.kintai.dto.ClockResponse;
 import com.kintai.entity.AttendanceRecord;
 import com.kintai.repository.AdjustmentRequestRepository;
 import com.kintai.repository.AttendanceRecordRepository;
-import com.kintai.repository.EmployeeRepository;
 import com.kintai.util.TimeCalculator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,7 +26,7 @@ class AttendanceServiceTest {
     private AttendanceRecordRepository attendanceRecordRepository;
 
     @Mock
-    private EmployeeRepository employeeRepository;
+    private PrincipalCache principalCache;
 
     @Mock
     private AdjustmentRequestRepository adjustmentRequestRepository;
@@ -38,7 +37,7 @@ class AttendanceServiceTest {
     void setUp() {
         attendanceService = new AttendanceService();
         ReflectionTestUtils.setField(attendanceService, "attendanceRecordRepository", attendanceRecordRepository);
-        ReflectionTestUtils.setField(attendanceService, "employeeRepository", employeeRepository);
+        ReflectionTestUtils.setField(attendanceService, "principalCache", principalCache);
         ReflectionTestUtils.setField(attendanceService, "adjustmentRequestRepository", adjustmentRequestRepository);
         ReflectionTestUtils.setField(attendanceService, "timeCalculator", new TimeCalculator());
     }
@@ -0,0 +1,78 @@
+package com.kintai.service;
+
+import com.kintai.entity.Employee;
+import com.kintai.repository.EmployeeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class EmployeeCodeAllocatorTest {
+
+    @Autowired
+    private EmployeeCodeAllocator employeeCodeAllocator;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Test
+    void allocateReturnsUnusedSequentialCodes() {
+        String first = employeeCodeAllocator.allocate();
+        String second = employeeCodeAllocator.allocate();
+
+        assertThat(first).matches("EMP\\d{3,}");
+        assertThat(employeeRepository.findByEmployeeCode(first)).isEmpty();
+        assertThat(Long.parseLong(second.substring(3))).isGreaterThan(Long.parseLong(first.substring(3)));
+    }
+
+    @Test
+    void allocateSkipsCodesAlreadyInUse() {
+        long next = employeeCodeAllocator.peekNextNumber();
+        employeeRepository.save(new Employee(EmployeeCodeAllocator.format(next)));
+
+        String allocated = employeeCodeAllocator.allocate();
+
+        assertThat(allocated).isNotEqualTo(EmployeeCodeAllocator.format(next));
+    }
+
+    @Test
+    void reserveReturnsContiguousBlock() {
+        List<String> codes = employeeCodeAllocator.reserve(5);
+
+        assertThat(codes).hasSize(5).doesNotHaveDuplicates();
+        long first = Long.parseLong(codes.get(0).substring(3));
+        assertThat(codes.get(4)).isEqualTo(EmployeeCodeAllocator.format(first + 4));
+        assertThat(employeeCodeAllocator.allocate()).isNotIn(codes);
+    }
+
+    @Test
+    void concurrentAllocationsNeverCollide() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<String>> tasks = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                tasks.add(employeeCodeAllocator::allocate);
+            }
+            Set<String> codes = new HashSet<>();
+            for (Future<String> future : pool.invokeAll(tasks)) {
+                codes.add(future.get());
+            }
+            assertThat(codes).hasSize(64);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
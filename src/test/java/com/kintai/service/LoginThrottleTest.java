@@ -0,0 +1,87 @@
+package com.kintai.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoginThrottleTest {
+
+    private final LoginThrottle throttle = new LoginThrottle(3, 60, 5, 60);
+
+    @Test
+    void blocksUsernameAfterRepeatedFailures() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.tryAcquire("Taro", "10.0.0.1")).isZero();
+        }
+
+        // ユーザー名は大文字小文字を区別しない
+        assertThat(throttle.tryAcquire("TARO", "10.0.0.2")).isBetween(1L, 60L);
+        assertThat(throttle.tryAcquire("hanako", "10.0.0.2")).isZero();
+    }
+
+    @Test
+    void blocksIpAcrossUsernames() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(throttle.tryAcquire("user" + i, "10.0.0.9")).isZero();
+        }
+
+        assertThat(throttle.tryAcquire("someone-else", "10.0.0.9")).isPositive();
+        assertThat(throttle.tryAcquire("someone-else", "10.0.0.10")).isZero();
+    }
+
+    @Test
+    void successClearsUsernameFailuresAndReturnsIpToken() {
+        throttle.tryAcquire("jiro", "10.0.0.3");
+        throttle.tryAcquire("jiro", "10.0.0.3");
+        throttle.tryAcquire("jiro", "10.0.0.3");
+        throttle.recordSuccess("jiro", "10.0.0.3");
+        throttle.tryAcquire("jiro", "10.0.0.3");
+        throttle.tryAcquire("jiro", "10.0.0.3");
+
+        assertThat(throttle.tryAcquire("jiro", "10.0.0.3")).isZero();
+    }
+
+    @Test
+    void releasedAttemptsDoNotCount() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(throttle.tryAcquire("saburo", "10.0.0.4")).isZero();
+            throttle.release("saburo", "10.0.0.4");
+        }
+    }
+
+    @Test
+    void concurrentAttemptsNeverExceedTheRemainingTokens() throws Exception {
+        int attempts = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < attempts; i++) {
+                // 接続元IPは試行ごとに変え、ユーザー名の上限だけが効くようにする
+                String clientIp = "10.0.1." + i;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return throttle.tryAcquire("shiro", clientIp);
+                }));
+            }
+            start.countDown();
+            int acquired = 0;
+            for (Future<Long> result : results) {
+                if (result.get(10, TimeUnit.SECONDS) == 0) {
+                    acquired++;
+                }
+            }
+            assertThat(acquired).isEqualTo(3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
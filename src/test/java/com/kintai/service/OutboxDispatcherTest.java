@@ -0,0 +1,240 @@
+package com.kintai.service;
+
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.OutboxEvent;
+import com.kintai.event.DomainChangeEvent;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.OutboxEventRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 他のテストのコンテキストのディスパッチャーが同じDBのイベントを配信しないよう専用のDBを使い、
+// 定期実行による配信がテスト中の手動配信と重ならないようポーリング間隔を延ばす
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox_dispatcher_test",
+        "kintai.outbox.poll-interval-ms=3600000"
+})
+@Import(OutboxDispatcherTest.CapturingListenerConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxDispatcherTest {
+
+    private static final Long EMPLOYEE_ID = 1L;
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private AttendanceRecordRepository attendanceRecordRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CapturingListener listener;
+
+    private final List<Long> createdRecordIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        createdRecordIds.forEach(attendanceRecordRepository::deleteById);
+        outboxDispatcher.dispatchPending();
+        createdRecordIds.forEach(id -> jdbcTemplate.update(
+                "DELETE FROM outbox_events WHERE aggregate_type = 'AttendanceRecord' AND aggregate_id = ?", id));
+    }
+
+    @Test
+    void changesAreRecordedWithTheTransactionAndDispatched() throws Exception {
+        // 同じトランザクションでの作成と更新は作成1件にまとまる
+        Long recordId = transactionTemplate.execute(status -> {
+            AttendanceRecord record = attendanceRecordRepository.saveAndFlush(
+                    new AttendanceRecord(EMPLOYEE_ID, LocalDate.of(2032, 1, 5)));
+            record.setClockInTime(LocalDateTime.of(2032, 1, 5, 9, 0));
+            return record.getAttendanceId();
+        });
+        createdRecordIds.add(recordId);
+
+        // 明示的な save なしの変更（コミット時のフラッシュで検知される更新）も記録される
+        transactionTemplate.executeWithoutResult(status -> attendanceRecordRepository.findById(recordId).orElseThrow()
+                .setClockOutTime(LocalDateTime.of(2032, 1, 5, 18, 0)));
+
+        // ロールバックされた変更は記録されない
+        transactionTemplate.executeWithoutResult(status -> {
+            attendanceRecordRepository.findById(recordId).orElseThrow().setOvertimeMinutes(30);
+            attendanceRecordRepository.flush();
+            status.setRollbackOnly();
+        });
+
+        assertThat(outboxEvents(recordId)).extracting(OutboxEvent::getChangeType)
+                .containsExactly(DomainChangeEvent.ChangeType.CREATED, DomainChangeEvent.ChangeType.UPDATED);
+
+        awaitDelivery(recordId, 2);
+        assertThat(listener.received(recordId)).extracting(DomainChangeEvent::changeType)
+                .containsExactly(DomainChangeEvent.ChangeType.CREATED, DomainChangeEvent.ChangeType.UPDATED);
+        assertThat(outboxEvents(recordId)).allMatch(event -> event.getDispatchedAt() != null);
+
+        // 保持期間を過ぎた配信済みイベントは削除される
+        jdbcTemplate.update("UPDATE outbox_events SET dispatched_at = ? WHERE aggregate_type = 'AttendanceRecord' AND aggregate_id = ?",
+                LocalDateTime.of(2000, 1, 1, 0, 0), recordId);
+        assertThat(outboxDispatcher.compact()).isGreaterThanOrEqualTo(2);
+        assertThat(outboxEvents(recordId)).isEmpty();
+    }
+
+    @Test
+    void failedDeliveryIsRetried() throws Exception {
+        AttendanceRecord record = attendanceRecordRepository.save(new AttendanceRecord(EMPLOYEE_ID, LocalDate.of(2032, 1, 6)));
+        createdRecordIds.add(record.getAttendanceId());
+        listener.failOnce(record.getAttendanceId());
+
+        awaitDelivery(record.getAttendanceId(), 1);
+
+        OutboxEvent event = outboxEvents(record.getAttendanceId()).get(0);
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(event.getLastError()).contains("テスト用の配信失敗");
+        assertThat(event.getDispatchedAt()).isNotNull();
+    }
+
+    @Test
+    void laterEventsOfAnAggregateWaitForItsFailedEvent() {
+        AttendanceRecord record = attendanceRecordRepository.save(new AttendanceRecord(EMPLOYEE_ID, LocalDate.of(2032, 1, 7)));
+        Long recordId = record.getAttendanceId();
+        createdRecordIds.add(recordId);
+        updateClockIn(recordId, 9);
+        updateClockIn(recordId, 10);
+        listener.failOnce(recordId);
+
+        // 作成の配信に失敗した場合、同じ集約の更新は配信しない
+        outboxDispatcher.dispatchPending();
+        assertThat(listener.received(recordId)).isEmpty();
+        assertThat(outboxEvents(recordId)).allMatch(event -> event.getDispatchedAt() == null && event.getClaimedBy() == null);
+
+        // 再送時は記録順に配信し、続く更新は最後の1件にまとめる
+        outboxDispatcher.dispatchPending();
+        assertThat(listener.received(recordId)).extracting(DomainChangeEvent::changeType)
+                .containsExactly(DomainChangeEvent.ChangeType.CREATED, DomainChangeEvent.ChangeType.UPDATED);
+        assertThat(outboxEvents(recordId)).allMatch(event -> event.getDispatchedAt() != null);
+    }
+
+    @Test
+    void supersededUpdatesStayPendingWhenTheLatestUpdateFails() {
+        AttendanceRecord record = attendanceRecordRepository.save(new AttendanceRecord(EMPLOYEE_ID, LocalDate.of(2032, 1, 8)));
+        Long recordId = record.getAttendanceId();
+        createdRecordIds.add(recordId);
+        outboxDispatcher.dispatchPending();
+        assertThat(listener.received(recordId)).hasSize(1);
+
+        updateClockIn(recordId, 9);
+        updateClockIn(recordId, 10);
+        listener.failOnce(recordId);
+        outboxDispatcher.dispatchPending();
+        assertThat(listener.received(recordId)).hasSize(1);
+        assertThat(outboxEvents(recordId)).filteredOn(event -> event.getDispatchedAt() == null).hasSize(2);
+
+        outboxDispatcher.dispatchPending();
+        assertThat(listener.received(recordId)).extracting(DomainChangeEvent::changeType)
+                .containsExactly(DomainChangeEvent.ChangeType.CREATED, DomainChangeEvent.ChangeType.UPDATED);
+        assertThat(outboxEvents(recordId)).allMatch(event -> event.getDispatchedAt() != null);
+    }
+
+    @Test
+    void eventsClaimedByAnotherNodeAreLeftUntilTheClaimExpires() {
+        AttendanceRecord record = attendanceRecordRepository.save(new AttendanceRecord(EMPLOYEE_ID, LocalDate.of(2032, 1, 9)));
+        Long recordId = record.getAttendanceId();
+        createdRecordIds.add(recordId);
+        jdbcTemplate.update("UPDATE outbox_events SET claimed_by = 'other-node/1', claimed_until = ? " +
+                "WHERE aggregate_type = 'AttendanceRecord' AND aggregate_id = ?", LocalDateTime.now().plusHours(1), recordId);
+
+        outboxDispatcher.dispatchPending();
+        assertThat(listener.received(recordId)).isEmpty();
+
+        // 確保したノードが停止して期限が切れた場合は確保し直して配信する
+        jdbcTemplate.update("UPDATE outbox_events SET claimed_until = ? " +
+                "WHERE aggregate_type = 'AttendanceRecord' AND aggregate_id = ?", LocalDateTime.now().minusMinutes(1), recordId);
+        outboxDispatcher.dispatchPending();
+        assertThat(listener.received(recordId)).hasSize(1);
+    }
+
+    private void updateClockIn(Long recordId, int hour) {
+        transactionTemplate.executeWithoutResult(status -> {
+            AttendanceRecord record = attendanceRecordRepository.findById(recordId).orElseThrow();
+            record.setClockInTime(record.getAttendanceDate().atTime(hour, 0));
+        });
+    }
+
+    private void awaitDelivery(Long recordId, int expected) throws InterruptedException {
+        for (int attempt = 0; attempt < 50 && listener.received(recordId).size() < expected; attempt++) {
+            outboxDispatcher.dispatchPending();
+            Thread.sleep(100);
+        }
+        assertThat(listener.received(recordId)).hasSize(expected);
+    }
+
+    private List<OutboxEvent> outboxEvents(Long recordId) {
+        return outboxEventRepository.findAll().stream()
+                .filter(event -> event.getAggregateType().equals("AttendanceRecord") && event.getAggregateId().equals(recordId))
+                .sorted((a, b) -> a.getId().compareTo(b.getId()))
+                .toList();
+    }
+
+    @TestConfiguration
+    static class CapturingListenerConfig {
+
+        @Bean
+        CapturingListener capturingListener() {
+            return new CapturingListener();
+        }
+    }
+
+    static class CapturingListener {
+
+        private final List<DomainChangeEvent> events = new CopyOnWriteArrayList<>();
+        private final Set<Long> failOnce = ConcurrentHashMap.newKeySet();
+
+        @EventListener
+        public void onChange(DomainChangeEvent event) {
+            if (!event.aggregateType().equals("AttendanceRecord")) {
+                return;
+            }
+            if (failOnce.remove(event.aggregateId())) {
+                throw new IllegalStateException("テスト用の配信失敗");
+            }
+            events.add(event);
+        }
+
+        void failOnce(Long aggregateId) {
+            failOnce.add(aggregateId);
+        }
+
+        List<DomainChangeEvent> received(Long aggregateId) {
+            return events.stream()
+                    .filter(event -> event.aggregateId().equals(aggregateId)
+                            && event.changeType() != DomainChangeEvent.ChangeType.DELETED)
+                    .toList();
+        }
+    }
+}
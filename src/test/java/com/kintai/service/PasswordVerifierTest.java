@@ -0,0 +1,68 @@
+package com.kintai.service;
+
+import com.kintai.exception.AttendanceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordVerifierTest {
+
+    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(4);
+
+    /** 1スレッド・キューなしの実行プール */
+    private final ThreadPoolTaskExecutor executor = singleThreadExecutor(0);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void matchesOnDedicatedPool() {
+        ThreadPoolTaskExecutor queued = singleThreadExecutor(10);
+        try {
+            PasswordVerifier verifier = new PasswordVerifier(encoder, queued, 5000);
+            String hash = encoder.encode("secret");
+
+            assertThat(verifier.matches("secret", hash)).isTrue();
+            assertThat(verifier.matches("wrong", hash)).isFalse();
+        } finally {
+            queued.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsImmediatelyWhenPoolIsSaturated() {
+        PasswordVerifier verifier = new PasswordVerifier(encoder, executor, 5000);
+        // 唯一のスレッドを塞ぎ、キューなしの状態で照合を依頼する
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertThatThrownBy(() -> verifier.matches("secret", encoder.encode("secret")))
+                .isInstanceOf(AttendanceException.class)
+                .extracting("errorCode").isEqualTo(PasswordVerifier.LOGIN_BUSY);
+    }
+
+    private static ThreadPoolTaskExecutor singleThreadExecutor(int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.initialize();
+        return executor;
+    }
+}
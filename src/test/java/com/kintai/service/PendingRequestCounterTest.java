@@ -0,0 +1,80 @@
+package com.kintai.service;
+
+import com.kintai.entity.AdjustmentRequest;
+import com.kintai.entity.HolidayRequest;
+import com.kintai.entity.LeaveStatus;
+import com.kintai.entity.WorkPatternChangeRequest;
+import com.kintai.repository.AdjustmentRequestRepository;
+import com.kintai.repository.HolidayRequestRepository;
+import com.kintai.repository.LeaveRequestRepository;
+import com.kintai.repository.WorkPatternChangeRequestRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PendingRequestCounterTest {
+
+    @Mock
+    private AdjustmentRequestRepository adjustmentRequestRepository;
+
+    @Mock
+    private WorkPatternChangeRequestRepository workPatternChangeRequestRepository;
+
+    @Mock
+    private LeaveRequestRepository leaveRequestRepository;
+
+    @Mock
+    private HolidayRequestRepository holidayRequestRepository;
+
+    private PendingRequestCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        counter = new PendingRequestCounter();
+        ReflectionTestUtils.setField(counter, "adjustmentRequestRepository", adjustmentRequestRepository);
+        ReflectionTestUtils.setField(counter, "workPatternChangeRequestRepository", workPatternChangeRequestRepository);
+        ReflectionTestUtils.setField(counter, "leaveRequestRepository", leaveRequestRepository);
+        ReflectionTestUtils.setField(counter, "holidayRequestRepository", holidayRequestRepository);
+        when(adjustmentRequestRepository.countByStatus(AdjustmentRequest.AdjustmentStatus.PENDING)).thenReturn(0L);
+        when(workPatternChangeRequestRepository.countByStatus(WorkPatternChangeRequest.Status.PENDING)).thenReturn(0L);
+        when(holidayRequestRepository.countByStatus(HolidayRequest.Status.PENDING)).thenReturn(0L);
+    }
+
+    @Test
+    void reconcileReplacesCounterWithDatabaseCount() {
+        counter.increment(PendingRequestCounter.RequestKind.LEAVE);
+        counter.increment(PendingRequestCounter.RequestKind.LEAVE);
+        when(leaveRequestRepository.countByStatus(LeaveStatus.PENDING)).thenReturn(5L);
+
+        counter.reconcile();
+
+        assertThat(counter.get(PendingRequestCounter.RequestKind.LEAVE)).isEqualTo(5L);
+    }
+
+    @Test
+    void changesCommittedWhileCountingAreKept() {
+        // 件数の取得後にコミットされた申請・承認は件数に含まれないため、その増減を加算する
+        when(leaveRequestRepository.countByStatus(LeaveStatus.PENDING)).thenAnswer(invocation -> {
+            counter.increment(PendingRequestCounter.RequestKind.LEAVE);
+            counter.increment(PendingRequestCounter.RequestKind.LEAVE);
+            counter.decrement(PendingRequestCounter.RequestKind.LEAVE);
+            return 3L;
+        });
+
+        counter.reconcile();
+
+        assertThat(counter.get(PendingRequestCounter.RequestKind.LEAVE)).isEqualTo(4L);
+
+        // 突き合わせの後の増減は記録しない
+        when(leaveRequestRepository.countByStatus(LeaveStatus.PENDING)).thenReturn(4L);
+        counter.reconcile();
+        assertThat(counter.get(PendingRequestCounter.RequestKind.LEAVE)).isEqualTo(4L);
+    }
+}
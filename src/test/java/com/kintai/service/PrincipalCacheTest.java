@@ -0,0 +1,101 @@
+package com.kintai.service;
+
+import com.kintai.entity.Employee;
+import com.kintai.entity.UserAccount;
+import com.kintai.repository.EmployeeRepository;
+import com.kintai.repository.UserAccountRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PrincipalCacheTest {
+
+    @Mock
+    private UserAccountRepository userAccountRepository;
+
+    @Mock
+    private EmployeeRepository employeeRepository;
+
+    private PrincipalCache principalCache;
+
+    @BeforeEach
+    void setUp() {
+        principalCache = newCache(30);
+    }
+
+    @Test
+    void employeeStatusIsServedFromCacheUntilInvalidated() {
+        Employee employee = new Employee("EMP900");
+        employee.setEmployeeId(900L);
+        employee.setHireDate(LocalDate.of(2020, 4, 1));
+        when(employeeRepository.findByEmployeeId(900L)).thenReturn(Optional.of(employee));
+
+        assertThat(principalCache.findEmployeeStatus(900L)).get()
+                .satisfies(status -> assertThat(status.isRetired()).isFalse());
+        employee.setIsActive(false);
+        assertThat(principalCache.findEmployeeStatus(900L).get().isRetired()).isFalse();
+        verify(employeeRepository, times(1)).findByEmployeeId(900L);
+
+        principalCache.invalidateEmployee(900L);
+
+        assertThat(principalCache.findEmployeeStatus(900L).get().isRetired()).isTrue();
+        verify(employeeRepository, times(2)).findByEmployeeId(900L);
+    }
+
+    @Test
+    void invalidatingEmployeeAlsoDropsLinkedAccount() {
+        UserAccount account = new UserAccount("cached-user", "hash", UserAccount.UserRole.EMPLOYEE, 901L);
+        when(userAccountRepository.findByUsernameAndEnabled("cached-user", true)).thenReturn(Optional.of(account));
+
+        assertThat(principalCache.findEnabledAccount("cached-user")).containsSame(account);
+        assertThat(principalCache.findEnabledAccount("cached-user")).containsSame(account);
+        verify(userAccountRepository, times(1)).findByUsernameAndEnabled("cached-user", true);
+
+        principalCache.invalidateEmployee(901L);
+        principalCache.findEnabledAccount("cached-user");
+        verify(userAccountRepository, times(2)).findByUsernameAndEnabled("cached-user", true);
+    }
+
+    @Test
+    void loginWindowFollowsHireAndRetirementDates() {
+        PrincipalCache.EmployeeStatus status = new PrincipalCache.EmployeeStatus(
+                1L, true, LocalDate.of(2024, 4, 1), LocalDate.of(2025, 3, 31));
+
+        assertThat(status.canLoginOn(LocalDate.of(2024, 3, 31))).isFalse();
+        assertThat(status.canLoginOn(LocalDate.of(2024, 4, 1))).isTrue();
+        assertThat(status.canLoginOn(LocalDate.of(2025, 3, 30))).isTrue();
+        assertThat(status.canLoginOn(LocalDate.of(2025, 3, 31))).isFalse();
+    }
+
+    @Test
+    void zeroTtlDisablesCaching() {
+        principalCache = newCache(0);
+        Employee employee = new Employee("EMP902");
+        employee.setEmployeeId(902L);
+        when(employeeRepository.findByEmployeeId(902L)).thenReturn(Optional.of(employee));
+
+        principalCache.findEmployeeStatus(902L);
+        principalCache.findEmployeeStatus(902L);
+
+        verify(employeeRepository, times(2)).findByEmployeeId(902L);
+    }
+
+    private PrincipalCache newCache(long ttlSeconds) {
+        PrincipalCache cache = new PrincipalCache(ttlSeconds);
+        ReflectionTestUtils.setField(cache, "userAccountRepository", userAccountRepository);
+        ReflectionTestUtils.setField(cache, "employeeRepository", employeeRepository);
+        return cache;
+    }
+}
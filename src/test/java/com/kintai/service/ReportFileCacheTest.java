@@ -0,0 +1,52 @@
+package com.kintai.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReportFileCacheTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replacesEntryWhenDataHashChanges() throws Exception {
+        ReportFileCache cache = newCache(1024);
+
+        ReportFileCache.CachedReport first = cache.put(1L, "2025-10", "aaaa", Instant.EPOCH, out -> out.write(new byte[10]));
+        ReportFileCache.CachedReport second = cache.put(1L, "2025-10", "bbbb", Instant.EPOCH, out -> out.write(new byte[20]));
+
+        assertThat(cache.get(1L, "2025-10", "aaaa")).isEmpty();
+        assertThat(cache.get(1L, "2025-10", "bbbb")).contains(second);
+        assertThat(Files.exists(first.path())).isFalse();
+        assertThat(cache.totalBytes()).isEqualTo(20);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedWhenOverCapacity() throws Exception {
+        ReportFileCache cache = newCache(100);
+
+        ReportFileCache.CachedReport oldest = cache.put(1L, "2025-10", "h1", Instant.EPOCH, out -> out.write(new byte[40]));
+        cache.put(2L, "2025-10", "h2", Instant.EPOCH, out -> out.write(new byte[40]));
+        // 1件目を参照して最近使ったものにする
+        assertThat(cache.get(1L, "2025-10", "h1")).isPresent();
+        cache.put(3L, "2025-10", "h3", Instant.EPOCH, out -> out.write(new byte[40]));
+
+        assertThat(cache.get(2L, "2025-10", "h2")).isEmpty();
+        assertThat(cache.get(1L, "2025-10", "h1")).isPresent();
+        assertThat(cache.get(3L, "2025-10", "h3")).isPresent();
+        assertThat(Files.exists(oldest.path())).isTrue();
+        assertThat(cache.totalBytes()).isEqualTo(80);
+    }
+
+    private ReportFileCache newCache(long maxBytes) throws Exception {
+        ReportFileCache cache = new ReportFileCache(directory.toString(), maxBytes);
+        cache.initialize();
+        return cache;
+    }
+}
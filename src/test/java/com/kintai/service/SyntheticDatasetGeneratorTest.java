@@ -0,0 +1,100 @@
+package com.kintai.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class SyntheticDatasetGeneratorTest {
+
+    private static final SyntheticDatasetGenerator.Options OPTIONS =
+            new SyntheticDatasetGenerator.Options(40, 1, LocalDate.of(2029, 12, 31), 42L, 7, "pass");
+
+    @Autowired
+    private SyntheticDatasetGenerator syntheticDatasetGenerator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EmployeeTableVersion employeeTableVersion;
+
+    @Test
+    void generatesConsistentHistoryForEveryEmployee() {
+        long lastEmployeeId = lastEmployeeId();
+        long version = employeeTableVersion.current();
+
+        SyntheticDatasetGenerator.Result result = syntheticDatasetGenerator.generate(OPTIONS);
+
+        assertThat(result.rows()).containsEntry("employees", 40L).containsEntry("user_accounts", 40L)
+                .containsEntry("leave_balances", 160L);
+        assertThat(result.rows().get("attendance_records")).isGreaterThan(40L * 100);
+        assertThat(result.rows().get("leave_requests")).isPositive();
+        assertThat(result.rows().get("leave_grants")).isPositive();
+        assertThat(count("SELECT COUNT(*) FROM attendance_records WHERE employee_id > ?", lastEmployeeId))
+                .isEqualTo(result.rows().get("attendance_records"));
+
+        // 1人1日1件、退勤は出勤より後
+        assertThat(count("SELECT COUNT(*) FROM (SELECT employee_id, attendance_date FROM attendance_records"
+                + " WHERE employee_id > ? GROUP BY employee_id, attendance_date HAVING COUNT(*) > 1) d", lastEmployeeId))
+                .isZero();
+        assertThat(count("SELECT COUNT(*) FROM attendance_records WHERE employee_id > ? AND clock_out_time <= clock_in_time",
+                lastEmployeeId)).isZero();
+        // 生成した勤怠記録・申請はアウトボックスに作成として記録され、社員一覧のバージョンも進む
+        assertThat(result.rows().get("outbox_events")).isEqualTo(result.rows().get("attendance_records")
+                + result.rows().get("leave_requests") + result.rows().get("adjustment_requests")
+                + result.rows().get("work_pattern_change_requests"));
+        assertThat(count("SELECT COUNT(*) FROM outbox_events WHERE employee_id > ? AND change_type = 'CREATED'",
+                lastEmployeeId)).isEqualTo(result.rows().get("outbox_events"));
+        assertThat(employeeTableVersion.current()).isGreaterThan(version);
+        // 夜勤は翌日に退勤する
+        assertThat(count("SELECT COUNT(*) FROM attendance_records WHERE employee_id > ?"
+                + " AND CAST(clock_out_time AS DATE) > attendance_date AND night_shift_minutes > 0", lastEmployeeId))
+                .isPositive();
+        // 有休を取得した日は勤怠記録がない
+        assertThat(count("SELECT COUNT(*) FROM leave_requests l JOIN attendance_records a"
+                + " ON a.employee_id = l.employee_id AND a.attendance_date = l.start_date"
+                + " WHERE l.employee_id > ? AND l.status = 'APPROVED'", lastEmployeeId)).isZero();
+    }
+
+    @Test
+    void sameSeedProducesSameData() {
+        long beforeFirst = lastEmployeeId();
+        SyntheticDatasetGenerator.Result first = syntheticDatasetGenerator.generate(OPTIONS);
+        long beforeSecond = lastEmployeeId();
+        SyntheticDatasetGenerator.Result second = syntheticDatasetGenerator.generate(OPTIONS);
+
+        assertThat(second.rows()).isEqualTo(first.rows());
+        assertThat(attendanceOf(firstEmployeeAfter(beforeSecond)))
+                .isEqualTo(attendanceOf(firstEmployeeAfter(beforeFirst)))
+                .isNotEmpty();
+    }
+
+    private long lastEmployeeId() {
+        Long id = jdbcTemplate.queryForObject("SELECT MAX(employee_id) FROM employees", Long.class);
+        return id == null ? 0 : id;
+    }
+
+    private long firstEmployeeAfter(long employeeId) {
+        return jdbcTemplate.queryForObject("SELECT MIN(employee_id) FROM employees WHERE employee_id > ?",
+                Long.class, employeeId);
+    }
+
+    private List<Map<String, Object>> attendanceOf(long employeeId) {
+        return jdbcTemplate.queryForList("SELECT attendance_date, clock_in_time, clock_out_time, overtime_minutes,"
+                + " attendance_status FROM attendance_records WHERE employee_id = ? ORDER BY attendance_date", employeeId);
+    }
+
+    private long count(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+}
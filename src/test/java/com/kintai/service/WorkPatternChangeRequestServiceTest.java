@@ -0,0 +1,177 @@
+package com.kintai.service;
+
+import com.kintai.entity.AttendanceRecord;
+import com.kintai.entity.AttendanceStatus;
+import com.kintai.entity.WorkPatternChangeRequest;
+import com.kintai.entity.WorkPatternRecalculationJob;
+import com.kintai.repository.AttendanceRecordRepository;
+import com.kintai.repository.WorkPatternChangeRequestRepository;
+import com.kintai.repository.WorkPatternRecalculationJobRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@Transactional
+class WorkPatternChangeRequestServiceTest {
+
+    private static final Long EMPLOYEE_ID = 1L;
+
+    @Autowired
+    private WorkPatternChangeRequestService workPatternChangeRequestService;
+
+    @Autowired
+    private WorkPatternChangeRequestRepository workPatternChangeRequestRepository;
+
+    @Autowired
+    private AttendanceRecordRepository attendanceRecordRepository;
+
+    @Autowired
+    private WorkPatternRecalculationJobService recalculationJobService;
+
+    @Autowired
+    private WorkPatternRecalculationJobRepository recalculationJobRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void approveRecalculatesAttendanceForWholePeriod() {
+        // 2030/1/7(月)〜1/13(日)
+        LocalDate monday = LocalDate.of(2030, 1, 7);
+        AttendanceRecord record = new AttendanceRecord(EMPLOYEE_ID, monday);
+        record.setClockInTime(LocalDateTime.of(monday, LocalTime.of(10, 15)));
+        record.setClockOutTime(LocalDateTime.of(monday, LocalTime.of(19, 0)));
+        attendanceRecordRepository.save(record);
+
+        WorkPatternChangeRequest request = workPatternChangeRequestRepository.save(
+                weekdayPattern(monday, monday.plusDays(6)));
+
+        workPatternChangeRequestService.approveRequest(request.getRequestId(), 2L);
+
+        Map<LocalDate, AttendanceRecord> recordsByDate = attendanceRecordRepository
+                .findByEmployeeIdAndAttendanceDateBetweenOrderByAttendanceDateDesc(EMPLOYEE_ID, monday, monday.plusDays(6))
+                .stream()
+                .collect(Collectors.toMap(AttendanceRecord::getAttendanceDate, r -> r));
+
+        assertThat(recordsByDate.get(monday).getLateMinutes()).isEqualTo(15);
+        assertThat(recordsByDate.get(monday).getAttendanceStatus()).isEqualTo(AttendanceStatus.LATE);
+        // 土日は休日レコードが作成され、打刻のない平日は作成されない
+        assertThat(recordsByDate.get(monday.plusDays(5)).getAttendanceStatus()).isEqualTo(AttendanceStatus.HOLIDAY);
+        assertThat(recordsByDate.get(monday.plusDays(6)).getAttendanceStatus()).isEqualTo(AttendanceStatus.HOLIDAY);
+        assertThat(recordsByDate).doesNotContainKey(monday.plusDays(1));
+        // 短期間の申請は同期で再計算されるため、ジョブは登録されない
+        assertThat(recalculationJobService.getProgress(request.getRequestId())).isEmpty();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void bulkApproveLeavesUnchangedRecordsUntouched() {
+        // 一括承認は従業員ごとに別トランザクションで処理するため、テストデータはコミットしておく
+        LocalDate monday = LocalDate.of(2030, 2, 4);
+        LocalDate saturday = monday.plusDays(5);
+        AttendanceRecord holiday = new AttendanceRecord(EMPLOYEE_ID, saturday);
+        holiday.setAttendanceStatus(AttendanceStatus.HOLIDAY);
+        holiday = attendanceRecordRepository.saveAndFlush(holiday);
+        Long versionBefore = holiday.getVersion();
+
+        WorkPatternChangeRequest first = workPatternChangeRequestRepository.save(
+                weekdayPattern(monday, monday.plusDays(6)));
+        WorkPatternChangeRequest second = workPatternChangeRequestRepository.save(
+                weekdayPattern(monday.plusDays(7), monday.plusDays(13)));
+        try {
+            workPatternChangeRequestService.decideRequests(
+                    List.of(first.getRequestId(), second.getRequestId()), true, 2L, null);
+
+            List<AttendanceRecord> records = attendanceRecordRepository
+                    .findByEmployeeIdAndAttendanceDateBetweenOrderByAttendanceDateDesc(EMPLOYEE_ID, monday, monday.plusDays(13));
+            assertThat(records).hasSize(4);
+            assertThat(records).allMatch(record -> record.getAttendanceStatus() == AttendanceStatus.HOLIDAY);
+            // 既に休日として記録済みの日は値が変わらないため更新されない
+            assertThat(attendanceRecordRepository.findById(holiday.getAttendanceId()).orElseThrow().getVersion())
+                    .isEqualTo(versionBefore);
+        } finally {
+            jdbcTemplate.update("DELETE FROM attendance_records WHERE employee_id = ? AND attendance_date BETWEEN ? AND ?",
+                    EMPLOYEE_ID, monday, monday.plusDays(13));
+            workPatternChangeRequestRepository.deleteAllById(List.of(first.getRequestId(), second.getRequestId()));
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void longRecalculationIsPersistedAndResumedAfterInterruption() throws Exception {
+        // 閾値（93日）を超える期間は承認と同じトランザクションでジョブを登録し、コミット後に非同期で再計算する
+        LocalDate start = LocalDate.of(2031, 1, 1);
+        LocalDate end = LocalDate.of(2031, 5, 31);
+        WorkPatternChangeRequest request = workPatternChangeRequestRepository.save(weekdayPattern(start, end));
+        Long requestId = request.getRequestId();
+        try {
+            workPatternChangeRequestService.approveRequest(requestId, 2L);
+            assertThat(recalculationJobRepository.findById(requestId)).isPresent();
+            awaitCompleted(requestId);
+
+            // 再計算の途中で停止したジョブ（実行中のまま更新が止まったもの）は残りの区間から再開する
+            jdbcTemplate.update("DELETE FROM attendance_records WHERE employee_id = ? AND attendance_date BETWEEN ? AND ?",
+                    EMPLOYEE_ID, start.plusMonths(2), end);
+            jdbcTemplate.update("UPDATE work_pattern_recalc_jobs SET status = 'RUNNING', next_date = ?, processed_days = 59, " +
+                    "updated_at = ?, finished_at = NULL WHERE request_id = ?",
+                    start.plusMonths(2), LocalDateTime.now().minusHours(1), requestId);
+
+            recalculationJobService.resumeUnfinished();
+            WorkPatternRecalculationJob resumed = awaitCompleted(requestId);
+            assertThat(resumed.getProcessedDays()).isEqualTo(resumed.getTotalDays());
+            assertThat(attendanceRecordRepository.findByEmployeeIdAndAttendanceDateBetweenOrderByAttendanceDateDesc(
+                    EMPLOYEE_ID, start.plusMonths(2), end))
+                    .isNotEmpty()
+                    .allMatch(record -> record.getAttendanceStatus() == AttendanceStatus.HOLIDAY);
+        } finally {
+            jdbcTemplate.update("DELETE FROM attendance_records WHERE employee_id = ? AND attendance_date BETWEEN ? AND ?",
+                    EMPLOYEE_ID, start, end);
+            recalculationJobRepository.deleteById(requestId);
+            workPatternChangeRequestRepository.deleteById(requestId);
+        }
+    }
+
+    private WorkPatternRecalculationJob awaitCompleted(Long requestId) throws InterruptedException {
+        WorkPatternRecalculationJob job = null;
+        for (int attempt = 0; attempt < 100; attempt++) {
+            job = recalculationJobRepository.findById(requestId).orElseThrow();
+            if (job.getStatus() == WorkPatternRecalculationJob.Status.COMPLETED) {
+                return job;
+            }
+            assertThat(job.getStatus()).isNotEqualTo(WorkPatternRecalculationJob.Status.FAILED);
+            Thread.sleep(100);
+        }
+        assertThat(job.getStatus()).isEqualTo(WorkPatternRecalculationJob.Status.COMPLETED);
+        return job;
+    }
+
+    private WorkPatternChangeRequest weekdayPattern(LocalDate startDate, LocalDate endDate) {
+        WorkPatternChangeRequest request = new WorkPatternChangeRequest();
+        request.setEmployeeId(EMPLOYEE_ID);
+        request.setStartDate(startDate);
+        request.setEndDate(endDate);
+        request.setStartTime(LocalTime.of(10, 0));
+        request.setEndTime(LocalTime.of(19, 0));
+        request.setBreakMinutes(60);
+        request.setWorkingMinutes((9 * 60) - 60);
+        request.setApplyMonday(true);
+        request.setApplyTuesday(true);
+        request.setApplyWednesday(true);
+        request.setApplyThursday(true);
+        request.setApplyFriday(true);
+        return request;
+    }
+}